@@ -10,7 +10,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_BATCHED;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_OVERFLOW_POLICY;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
 
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.privileged.context.notification.OptimisedNotificationHandler;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -110,6 +116,13 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase {
     assertFalse("not specified at all", manager.isNotificationEnabled(Event3.class));
   }
 
+  @Test
+  public void invalidOverflowPolicyFallsBackToDefault() throws Exception {
+    manager.setMuleContext(mock(MuleContext.class, RETURNS_DEEP_STUBS));
+    testWithSystemProperty(MULE_NOTIFICATIONS_BATCHED, "true",
+                           () -> testWithSystemProperty(MULE_NOTIFICATIONS_OVERFLOW_POLICY, "invalid", manager::initialise));
+  }
+
   /**
    * A new policy should only be generated when the configuration changes
    */
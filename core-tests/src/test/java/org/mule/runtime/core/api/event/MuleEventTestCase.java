@@ -7,6 +7,7 @@
 package org.mule.runtime.core.api.event;
 
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertArrayEquals;
@@ -25,7 +26,9 @@ import org.mule.runtime.core.api.security.DefaultMuleCredentials;
 import org.mule.runtime.core.api.transformer.AbstractTransformer;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
 import org.mule.runtime.core.internal.security.DefaultSecurityContextFactory;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.core.privileged.transformer.simple.ByteArrayToObject;
@@ -38,6 +41,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.ByteArrayInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -128,6 +132,32 @@ public class MuleEventTestCase extends AbstractMuleContextTestCase {
     assertArrayEquals((byte[]) testEvent.getMessage().getPayload().getValue(), payload.toString().getBytes());
   }
 
+  @Test
+  public void variablesKeepSerializedFormOfPreviousVersions() throws Exception {
+    ObjectStreamClass streamClass = ObjectStreamClass.lookup(InternalEventImplementation.class);
+    assertThat(streamClass.getSerialVersionUID(), is(1L));
+    assertThat(streamClass.getField("variables").getType(), is(sameInstance((Object) CaseInsensitiveHashMap.class)));
+  }
+
+  @Test
+  public void variablesSerialization() throws Exception {
+    CoreEvent event = getEventBuilder()
+        .message(of("whatever"))
+        .addVariable("Foo", "bar")
+        .build();
+    currentMuleContext.set(muleContext);
+    byte[] serializedEvent = muleContext.getObjectSerializer().getExternalProtocol().serialize(event);
+    CoreEvent deserialized = muleContext.getObjectSerializer().getExternalProtocol().deserialize(serializedEvent);
+
+    assertThat(deserialized, is(instanceOf(InternalEventImplementation.class)));
+    assertThat(deserialized.getCorrelationId(), is(event.getCorrelationId()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), is("whatever"));
+    assertThat(deserialized.getVariables().get("foo").getValue(), is("bar"));
+    deserialized = CoreEvent.builder(deserialized).addVariable("FOO", "baz").build();
+    assertThat(deserialized.getVariables().size(), is(1));
+    assertThat(deserialized.getVariables().get("foo").getValue(), is("baz"));
+  }
+
   private void createAndRegisterTransformersEndpointBuilderService() throws Exception {
     Transformer trans1 = new TestEventTransformer();
     trans1.setName("OptimusPrime");
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ConcurrentConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_ACTIVE = 2;
+  private static final long MAX_WAIT = 100;
+
+  private PoolableObjectFactory<Object> factory;
+  private ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+  private ConcurrentConnectionPool<Object> pool;
+  private ExecutorService executor;
+
+  @Before
+  public void before() throws Exception {
+    factory = mock(PoolableObjectFactory.class);
+    when(factory.makeObject()).thenAnswer(invocation -> new Object());
+    executor = newSingleThreadExecutor();
+  }
+
+  @After
+  public void after() throws Exception {
+    executor.shutdownNow();
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void reusesReturnedConnection() throws Exception {
+    pool = createPool(MAX_ACTIVE, MAX_ACTIVE, WHEN_EXHAUSTED_FAIL);
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+    assertThat(pool.getNumActive(), is(1));
+    assertThat(pool.getNumIdle(), is(0));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void failWhenExhausted() throws Exception {
+    pool = createPool(MAX_ACTIVE, MAX_ACTIVE, WHEN_EXHAUSTED_FAIL);
+    pool.borrowObject();
+    pool.borrowObject();
+    pool.borrowObject();
+  }
+
+  @Test
+  public void growWhenExhausted() throws Exception {
+    pool = createPool(MAX_ACTIVE, MAX_ACTIVE, WHEN_EXHAUSTED_GROW);
+    pool.borrowObject();
+    pool.borrowObject();
+    pool.borrowObject();
+
+    assertThat(pool.getNumActive(), is(MAX_ACTIVE + 1));
+  }
+
+  @Test
+  public void waitTimesOutWhenExhausted() throws Exception {
+    pool = createPool(MAX_ACTIVE, MAX_ACTIVE, WHEN_EXHAUSTED_WAIT);
+    pool.borrowObject();
+    pool.borrowObject();
+
+    try {
+      pool.borrowObject();
+      throw new AssertionError("Was expecting the pool to be exhausted");
+    } catch (NoSuchElementException e) {
+      assertThat(metrics.getWaitCount(), is(1L));
+      assertThat(metrics.getTotalWaitNanos(), is(greaterThanOrEqualTo(MILLISECONDS.toNanos(MAX_WAIT))));
+    }
+  }
+
+  @Test
+  public void returnedConnectionHandedOffToWaitingBorrower() throws Exception {
+    pool = createPool(1, 1, WHEN_EXHAUSTED_WAIT, -1);
+    Object connection = pool.borrowObject();
+
+    Future<Object> waiting = executor.submit(pool::borrowObject);
+    pool.returnObject(connection);
+
+    assertThat(waiting.get(5, SECONDS), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void invalidatedConnectionMakesRoomForWaitingBorrower() throws Exception {
+    pool = createPool(1, 1, WHEN_EXHAUSTED_WAIT, -1);
+    Object connection = pool.borrowObject();
+
+    Future<Object> waiting = executor.submit(pool::borrowObject);
+    pool.invalidateObject(connection);
+
+    assertThat(waiting.get(5, SECONDS), is(not(sameInstance(connection))));
+    verify(factory).destroyObject(connection);
+  }
+
+  @Test
+  public void destroyConnectionsOverMaxIdle() throws Exception {
+    pool = createPool(MAX_ACTIVE, 1, WHEN_EXHAUSTED_FAIL);
+    Object connection1 = pool.borrowObject();
+    Object connection2 = pool.borrowObject();
+    pool.returnObject(connection1);
+    pool.returnObject(connection2);
+
+    assertThat(pool.getNumIdle(), is(1));
+    verify(factory, never()).destroyObject(connection1);
+    verify(factory).destroyObject(connection2);
+  }
+
+  @Test
+  public void evictionKeepsRecentlyUsedConnectionsWithoutValidating() throws Exception {
+    PoolingProfile poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, MAX_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    poolingProfile.setMinEvictionMillis(SECONDS.toMillis(60));
+    pool = new ConcurrentConnectionPool<>(factory, poolingProfile, metrics, null);
+
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    pool.evict();
+
+    assertThat(pool.getNumIdle(), is(1));
+    verify(factory, never()).validateObject(any());
+    verify(factory, never()).destroyObject(connection);
+  }
+
+  @Test
+  public void evictIdleConnections() throws Exception {
+    PoolingProfile poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, MAX_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    poolingProfile.setMinEvictionMillis(1);
+    pool = new ConcurrentConnectionPool<>(factory, poolingProfile, metrics, null);
+
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    Thread.sleep(10);
+    pool.evict();
+
+    assertThat(pool.getNumIdle(), is(0));
+    verify(factory).destroyObject(connection);
+  }
+
+  @Test
+  public void closeDestroysConnectionsAndWakesUpWaitingBorrowers() throws Exception {
+    pool = createPool(1, 1, WHEN_EXHAUSTED_WAIT, -1);
+    Object connection = pool.borrowObject();
+
+    Future<Object> waiting = executor.submit(pool::borrowObject);
+    pool.close();
+
+    try {
+      waiting.get(5, SECONDS);
+      throw new AssertionError("Was expecting the pool to be closed");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+    }
+
+    pool.returnObject(connection);
+    verify(factory).destroyObject(connection);
+  }
+
+  private ConcurrentConnectionPool<Object> createPool(int maxActive, int maxIdle, int exhaustedAction) {
+    return createPool(maxActive, maxIdle, exhaustedAction, MAX_WAIT);
+  }
+
+  private ConcurrentConnectionPool<Object> createPool(int maxActive, int maxIdle, int exhaustedAction, long maxWait) {
+    PoolingProfile poolingProfile = new PoolingProfile(maxActive, maxIdle, maxWait, exhaustedAction, INITIALISE_NONE);
+    return new ConcurrentConnectionPool<>(factory, poolingProfile, metrics, null);
+  }
+}
@@ -132,6 +132,22 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
     verify(connectionProvider, times(2)).disconnect(any(Object.class));
   }
 
+  @Test
+  public void metricsListener() throws Exception {
+    PoolingMetricsListener<Object> metricsListener = mock(PoolingMetricsListener.class);
+    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, metricsListener, muleContext,
+                                                         () -> null);
+    verify(metricsListener).onPoolCreated(strategy.getMetrics());
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    assertThat(strategy.getMetrics().getBorrowCount(), is(1L));
+    assertThat(strategy.getMetrics().getNumActive(), is(1));
+
+    connectionHandler.release();
+    assertThat(strategy.getMetrics().getNumActive(), is(0));
+    assertThat(strategy.getMetrics().getNumIdle(), is(1));
+  }
+
   @Test(expected = ConnectionException.class)
   public void failDueToInvalidConnection() throws ConnectionException {
     when(connectionProvider.validate(anyVararg())).thenReturn(ConnectionValidationResult
@@ -154,7 +170,8 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
   }
 
   private void initStrategy() {
-    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext);
+    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                         () -> null);
   }
 
   private <T> void verifyThat(Assertion<T> assertion) throws Exception {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.construct.AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+@SmallTest
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final long FAST = MILLISECONDS.toNanos(1);
+  private static final long SLOW = MILLISECONDS.toNanos(10);
+
+  private long now = 0;
+
+  @Test
+  public void limitInFlightEvents() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_VALUE, now);
+    for (int i = 0; i < DEFAULT_INITIAL_LIMIT; ++i) {
+      assertThat(limiter.tryAcquire(), is(true));
+    }
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getInFlight(), is(DEFAULT_INITIAL_LIMIT));
+
+    limiter.release(FAST, now);
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void acquireWaitsForSlot() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, now);
+    limiter.acquire();
+    limiter.acquire();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiting = new Thread(() -> {
+      try {
+        limiter.acquire();
+        acquired.countDown();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    });
+    waiting.start();
+    assertThat(acquired.await(50, MILLISECONDS), is(false));
+
+    limiter.release(FAST, now);
+    assertThat(acquired.await(5, SECONDS), is(true));
+    assertThat(limiter.getInFlight(), is(2));
+  }
+
+  @Test
+  public void discardFreesSlot() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, now);
+    assertThat(limiter.tryAcquire(), is(true));
+    limiter.discard();
+    assertThat(limiter.getInFlight(), is(0));
+    assertThat(limiter.getLimit(), is(1));
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void overloadReducesLimit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_VALUE, now);
+    assertThat(limiter.tryAcquire(), is(true));
+    limiter.overloaded();
+    assertThat(limiter.getLimit(), lessThan(DEFAULT_INITIAL_LIMIT));
+    assertThat(limiter.getInFlight(), is(0));
+
+    for (int i = 0; i < 100; ++i) {
+      limiter.acquire();
+      limiter.overloaded();
+    }
+    assertThat(limiter.getLimit(), is(1));
+  }
+
+  @Test
+  public void limitGrowsWhileLatencyIsStable() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_VALUE, now);
+    for (int i = 0; i < 20; ++i) {
+      saturatedWindow(limiter, FAST);
+    }
+    assertThat(limiter.getLimit(), greaterThan(DEFAULT_INITIAL_LIMIT));
+  }
+
+  @Test
+  public void limitShrinksWhenLatencyGrows() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_VALUE, now);
+    for (int i = 0; i < 20; ++i) {
+      saturatedWindow(limiter, FAST);
+    }
+    int stableLimit = limiter.getLimit();
+
+    for (int i = 0; i < 5; ++i) {
+      saturatedWindow(limiter, SLOW);
+    }
+    assertThat(limiter.getLimit(), lessThan(stableLimit));
+  }
+
+  @Test
+  public void limitBoundedByMaxConcurrency() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(25, now);
+    for (int i = 0; i < 100; ++i) {
+      saturatedWindow(limiter, FAST);
+    }
+    assertThat(limiter.getLimit(), is(25));
+  }
+
+  @Test
+  public void limitDoesNotGrowWhenNotReached() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(MAX_VALUE, now);
+    for (int i = 0; i < 20; ++i) {
+      for (int j = 0; j < DEFAULT_INITIAL_LIMIT / 2 - 1; ++j) {
+        limiter.tryAcquire();
+      }
+      now += MILLISECONDS.toNanos(200);
+      for (int j = 0; j < DEFAULT_INITIAL_LIMIT / 2 - 1; ++j) {
+        limiter.release(FAST, now);
+      }
+    }
+    assertThat(limiter.getLimit(), is(DEFAULT_INITIAL_LIMIT));
+  }
+
+  private void saturatedWindow(AdaptiveConcurrencyLimiter limiter, long latency) {
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      ++acquired;
+    }
+    now += MILLISECONDS.toNanos(200);
+    for (int i = 0; i < acquired; ++i) {
+      limiter.release(latency, now);
+    }
+  }
+}
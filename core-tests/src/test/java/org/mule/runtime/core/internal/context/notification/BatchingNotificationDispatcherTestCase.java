@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.MAX_BATCH_SIZE;
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowPolicy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowPolicy.DROP_NEWEST;
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowPolicy.DROP_OLDEST;
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+@SmallTest
+public class BatchingNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private final List<Runnable> submitted = new ArrayList<>();
+  private final List<Notification> received = synchronizedList(new ArrayList<>());
+  private final NotificationListener<Notification> listener = received::add;
+
+  @Test
+  public void singleSubmissionPerBatch() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(16, BLOCK, submitted::add, submitted::add);
+    Notification first = mock(Notification.class);
+    Notification second = mock(Notification.class);
+
+    dispatcher.dispatch(listener, first);
+    dispatcher.dispatch(listener, second);
+    assertThat(submitted, hasSize(1));
+
+    submitted.remove(0).run();
+    assertThat(received, contains(first, second));
+    assertThat(submitted, hasSize(0));
+  }
+
+  @Test
+  public void resubmitWhenBatchIsFull() {
+    BatchingNotificationDispatcher dispatcher =
+        new BatchingNotificationDispatcher(MAX_BATCH_SIZE * 2, BLOCK, submitted::add, submitted::add);
+    for (int i = 0; i < MAX_BATCH_SIZE + 1; ++i) {
+      dispatcher.dispatch(listener, mock(Notification.class));
+    }
+
+    submitted.remove(0).run();
+    assertThat(received, hasSize(MAX_BATCH_SIZE));
+    assertThat(submitted, hasSize(1));
+
+    submitted.remove(0).run();
+    assertThat(received, hasSize(MAX_BATCH_SIZE + 1));
+  }
+
+  @Test
+  public void dropNewest() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(2, DROP_NEWEST, submitted::add, submitted::add);
+    List<Notification> notifications = dispatchNotifications(dispatcher, 3);
+
+    submitted.remove(0).run();
+    assertThat(received, is(asList(notifications.get(0), notifications.get(1))));
+    assertThat(dispatcher.getDroppedNotifications(), is(1L));
+    assertThat(dispatcher.getDroppedNotifications(listener), is(1L));
+  }
+
+  @Test
+  public void dropOldest() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(2, DROP_OLDEST, submitted::add, submitted::add);
+    List<Notification> notifications = dispatchNotifications(dispatcher, 3);
+
+    submitted.remove(0).run();
+    assertThat(received, is(asList(notifications.get(1), notifications.get(2))));
+    assertThat(dispatcher.getDroppedNotifications(), is(1L));
+  }
+
+  @Test
+  public void blockDeliversPendingNotifications() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(2, BLOCK, submitted::add, submitted::add);
+    List<Notification> notifications = dispatchNotifications(dispatcher, 3);
+
+    assertThat(received, is(asList(notifications.get(0), notifications.get(1))));
+    dispatcher.flush();
+    assertThat(received, is(notifications));
+    assertThat(dispatcher.getDroppedNotifications(), is(0L));
+  }
+
+  @Test
+  public void blockNeverDeliversToBlockingListenerInFiringThread() throws Exception {
+    final Thread firingThread = currentThread();
+    final List<Thread> deliveringThreads = synchronizedList(new ArrayList<>());
+    NotificationListener<Notification> blockingListener = new NotificationListener<Notification>() {
+
+      @Override
+      public boolean isBlocking() {
+        return true;
+      }
+
+      @Override
+      public void onNotification(Notification notification) {
+        deliveringThreads.add(currentThread());
+        received.add(notification);
+      }
+    };
+    ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    try {
+      BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(2, BLOCK, submitted::add, ioExecutor);
+      List<Notification> notifications = new ArrayList<>();
+      for (int i = 0; i < 16; ++i) {
+        Notification notification = mock(Notification.class);
+        notifications.add(notification);
+        dispatcher.dispatch(blockingListener, notification);
+      }
+
+      new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> received.size() == notifications.size()));
+      assertThat(received, is(notifications));
+      assertThat(deliveringThreads, not(hasItem(firingThread)));
+      assertThat(submitted, hasSize(0));
+      assertThat(dispatcher.getDroppedNotifications(), is(0L));
+    } finally {
+      ioExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void flushDeliversToBlockingListenerInIoExecutor() throws Exception {
+    final Thread flushingThread = currentThread();
+    final List<Thread> deliveringThreads = synchronizedList(new ArrayList<>());
+    NotificationListener<Notification> blockingListener = new NotificationListener<Notification>() {
+
+      @Override
+      public boolean isBlocking() {
+        return true;
+      }
+
+      @Override
+      public void onNotification(Notification notification) {
+        deliveringThreads.add(currentThread());
+        received.add(notification);
+      }
+    };
+    final AtomicBoolean flushing = new AtomicBoolean();
+    ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    try {
+      // the drain tasks submitted while dispatching are never run, only the ones submitted by the flush are
+      BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(16, BLOCK, submitted::add, command -> {
+        if (flushing.get()) {
+          ioExecutor.execute(command);
+        } else {
+          submitted.add(command);
+        }
+      });
+      List<Notification> notifications = dispatchNotifications(dispatcher, blockingListener, 3);
+      assertThat(received, hasSize(0));
+
+      flushing.set(true);
+      dispatcher.flush();
+      assertThat(received, is(notifications));
+      assertThat(deliveringThreads, not(hasItem(flushingThread)));
+    } finally {
+      ioExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void failingListenerDoesNotStopDelivery() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(16, BLOCK, submitted::add, submitted::add);
+    NotificationListener<Notification> failingListener = notification -> {
+      received.add(notification);
+      throw new RuntimeException("Expected");
+    };
+    dispatcher.dispatch(failingListener, mock(Notification.class));
+    dispatcher.dispatch(failingListener, mock(Notification.class));
+
+    submitted.remove(0).run();
+    assertThat(received, hasSize(2));
+  }
+
+  @Test
+  public void concurrentProducersKeepOrderPerProducer() throws Exception {
+    final int producers = 4;
+    final int notificationsPerProducer = 10000;
+    ExecutorService executor = Executors.newFixedThreadPool(producers + 1);
+    try {
+      BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(64, BLOCK, executor, executor);
+      List<List<Notification>> sent = new ArrayList<>();
+      CountDownLatch done = new CountDownLatch(producers);
+      for (int i = 0; i < producers; ++i) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int j = 0; j < notificationsPerProducer; ++j) {
+          notifications.add(mock(Notification.class));
+        }
+        sent.add(notifications);
+        executor.submit(() -> {
+          notifications.forEach(notification -> dispatcher.dispatch(listener, notification));
+          done.countDown();
+        });
+      }
+
+      assertThat(done.await(30, SECONDS), is(true));
+      dispatcher.flush();
+
+      assertThat(received, hasSize(producers * notificationsPerProducer));
+      for (List<Notification> notifications : sent) {
+        Set<Notification> fromProducer = new HashSet<>(notifications);
+        assertThat(received.stream().filter(fromProducer::contains).collect(toList()), is(notifications));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<Notification> dispatchNotifications(BatchingNotificationDispatcher dispatcher, int count) {
+    return dispatchNotifications(dispatcher, listener, count);
+  }
+
+  private List<Notification> dispatchNotifications(BatchingNotificationDispatcher dispatcher,
+                                                   NotificationListener<Notification> listener, int count) {
+    List<Notification> notifications = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      Notification notification = mock(Notification.class);
+      notifications.add(notification);
+      dispatcher.dispatch(listener, notification);
+    }
+    return notifications;
+  }
+}
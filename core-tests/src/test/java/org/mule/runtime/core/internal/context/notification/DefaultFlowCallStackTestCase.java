@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.System.lineSeparator;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.SerializationUtils.deserialize;
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ObjectStreamClass;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Stack;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowCallStackTestCase extends AbstractMuleTestCase {
+
+  private final DefaultFlowCallStack stack = new DefaultFlowCallStack();
+
+  @Test
+  public void elementsFromTopToBottom() {
+    stack.push(new FlowStackElement("flow", null));
+    stack.push(new FlowStackElement("subFlow", null));
+    stack.setCurrentProcessorPath("subFlow/processors/0");
+
+    assertThat(flowNames(), contains("subFlow", "flow"));
+    assertThat(stack.getElements().get(0).getProcessorPath(), is("subFlow/processors/0"));
+    assertThat(stack.toString(), is("at subFlow(subFlow/processors/0)" + lineSeparator() + "at flow"));
+
+    assertThat(stack.pop().getFlowName(), is("subFlow"));
+    assertThat(flowNames(), contains("flow"));
+  }
+
+  @Test
+  public void cloneIsIndependent() {
+    stack.push(new FlowStackElement("flow", null));
+    DefaultFlowCallStack cloned = stack.clone();
+
+    cloned.push(new FlowStackElement("subFlow", null));
+    stack.setCurrentProcessorPath("flow/processors/1");
+
+    assertThat(flowNames(), contains("flow"));
+    assertThat(cloned.getElements().size(), is(2));
+    assertThat(cloned.getElements().get(1).getProcessorPath(), is((String) null));
+
+    cloned.pop();
+    cloned.pop();
+    assertThat(cloned.getElements(), is(empty()));
+    assertThat(flowNames(), contains("flow"));
+  }
+
+  @Test(expected = EmptyStackException.class)
+  public void popEmpty() {
+    stack.pop();
+  }
+
+  @Test
+  public void setProcessorPathOnEmpty() {
+    stack.setCurrentProcessorPath("flow/processors/0");
+    assertThat(stack.getElements(), is(empty()));
+  }
+
+  @Test
+  public void serializedFormOfPreviousVersions() {
+    ObjectStreamClass streamClass = ObjectStreamClass.lookup(DefaultFlowCallStack.class);
+    assertThat(streamClass.getSerialVersionUID(), is(-8683711977929802819L));
+    assertThat(streamClass.getFields().length, is(1));
+    assertThat(streamClass.getField("innerStack").getType() == Stack.class, is(true));
+  }
+
+  @Test
+  public void serialization() {
+    stack.push(new FlowStackElement("flow", null));
+    stack.push(new FlowStackElement("subFlow", null));
+    stack.setCurrentProcessorPath("subFlow/processors/0");
+
+    DefaultFlowCallStack deserialized = deserialize(serialize(stack));
+
+    assertThat(deserialized.toString(), is(stack.toString()));
+    assertThat(deserialized.pop().getFlowName(), is("subFlow"));
+    assertThat(deserialized.pop().getFlowName(), is("flow"));
+  }
+
+  private List<String> flowNames() {
+    return stack.getElements().stream().map(FlowStackElement::getFlowName).collect(toList());
+  }
+}
@@ -53,6 +53,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.CompiledExpression;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.streaming.StreamingManager;
@@ -201,6 +202,35 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
     assertThat(expressionManager.evaluate(flowVars, eventBuilder.build()).getValue(), is(value));
   }
 
+  @Test
+  @Description("Verifies that compiled expressions are evaluated like their text, with and without fast paths.")
+  public void compiledExpressions() throws MuleException {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable(MY_VAR, "Leda").build();
+    Object object = new Object();
+    BindingContext context = builder().addBinding(MY_VAR, new TypedValue(object, OBJECT)).build();
+
+    assertThat(evaluateCompiled("#[payload]", event, NULL_BINDING_CONTEXT), is(TEST_PAYLOAD));
+    assertThat(evaluateCompiled("#[vars.myVar]", event, NULL_BINDING_CONTEXT), is("Leda"));
+    assertThat(evaluateCompiled("#[vars.other]", event, NULL_BINDING_CONTEXT), nullValue());
+    assertThat(evaluateCompiled("#[\"wow\"]", event, NULL_BINDING_CONTEXT), is("wow"));
+    assertThat(evaluateCompiled("#[\"wow\"]", null, NULL_BINDING_CONTEXT), is("wow"));
+    assertThat(evaluateCompiled("#[myVar]", event, context), equalTo(object));
+    assertThat(evaluateCompiled("#['this is ' ++ payload]", event, NULL_BINDING_CONTEXT),
+               is(format("this is %s", TEST_PAYLOAD)));
+    assertThat(expressionManager.evaluate(expressionManager.compile("#[flow.name]"), event,
+                                          fromSingleComponent("myFlowName"), NULL_BINDING_CONTEXT)
+        .getValue(), is("myFlowName"));
+
+    TypedValue result = expressionManager.evaluate(expressionManager.compile("payload"), BYTE_ARRAY, NULL_BINDING_CONTEXT,
+                                                   event, null, false);
+    assertThat(result.getValue(), is(TEST_PAYLOAD.getBytes()));
+    assertThat(result.getDataType(), is(BYTE_ARRAY));
+  }
+
+  private Object evaluateCompiled(String expression, CoreEvent event, BindingContext context) {
+    return expressionManager.evaluate(expressionManager.compile(expression), event, null, context).getValue();
+  }
+
   @Test
   @Description("Verifies that a simple transformation works.")
   public void transformation() throws MuleException {
@@ -248,6 +278,17 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
                is(String.format("this is %s", TEST_PAYLOAD)));
   }
 
+  @Test
+  @Description("Verifies that compiled log templates are parsed like their text for both DW and MVEL.")
+  public void parseCompiledLog() throws MuleException {
+    for (String template : asList("this is #[mel:payload]", "this is #[payload]", "#[payload] is #[payload]!",
+                                  "#[vars.missing]", "no expressions here")) {
+      CompiledExpression compiled = expressionManager.compileLogTemplate(template);
+      assertThat(expressionManager.parseLogTemplate(compiled, testEvent(), TEST_CONNECTOR_LOCATION, NULL_BINDING_CONTEXT),
+                 is(expressionManager.parseLogTemplate(template, testEvent(), TEST_CONNECTOR_LOCATION, NULL_BINDING_CONTEXT)));
+    }
+  }
+
   @Test
   @Description("Verifies that parsing works for log template scenarios for both DW and MVEL using the message.")
   public void parseLogMessage() throws MuleException {
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+@SmallTest
+public class EventBindingContextTestCase extends AbstractMuleContextTestCase {
+
+  private static final String ID = "id";
+
+  @Test
+  public void sameBindingsAsEagerContext() throws Exception {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable(ID, "value").build();
+    BindingContext eager = addEventBindings(event, NULL_BINDING_CONTEXT);
+    BindingContext lazy = new EventBindingContext(event);
+
+    assertThat(lazy.lookup(PAYLOAD).get(), is(sameInstance(event.getMessage().getPayload())));
+    assertThat(lazy.lookup(CORRELATION_ID).get().getValue(), is(eager.lookup(CORRELATION_ID).get().getValue()));
+    assertThat(((Map<String, TypedValue<?>>) lazy.lookup(VARS).get().getValue()).get(ID).getValue(), is("value"));
+    assertThat(lazy.identifiers(), containsInAnyOrder(eager.identifiers().toArray()));
+    assertThat(lazy.lookup(ID).isPresent(), is(false));
+  }
+
+  @Test
+  public void sharedByEvent() throws Exception {
+    CoreEvent event = testEvent();
+    assertThat(EventBindingContext.of(event), is(sameInstance(EventBindingContext.of(event))));
+  }
+
+  @Test
+  public void compositePrecedence() throws Exception {
+    TypedValue<String> value = new TypedValue<>("value", STRING);
+    TypedValue<String> payload = new TypedValue<>("other", STRING);
+    BindingContext base = BindingContext.builder().addBinding(ID, value).addBinding(PAYLOAD, payload).build();
+    BindingContext composite = new CompositeBindingContext(base, EventBindingContext.of(testEvent()));
+
+    assertThat(composite.lookup(ID).get(), is(sameInstance(value)));
+    assertThat(composite.lookup(PAYLOAD).get().getValue(), is(TEST_PAYLOAD));
+    assertThat(composite.identifiers(), hasItems(ID, PAYLOAD, VARS));
+  }
+}
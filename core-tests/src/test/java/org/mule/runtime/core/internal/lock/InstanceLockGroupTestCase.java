@@ -20,6 +20,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Test;
 import org.mockito.Answers;
@@ -67,6 +72,128 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     Mockito.verify(mockLockProvider, VerificationModeFactory.times(1)).createLock("lockId");
   }
 
+  @Test
+  public void testLockCreatedAgainAfterRelease() {
+    mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+    instanceLockGroup.lock("lockId");
+    instanceLockGroup.unlock("lockId");
+    instanceLockGroup.lock("lockId");
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void testFailedTryLockReleasesLock() throws Exception {
+    mockLockProvider = Mockito.mock(LockProvider.class);
+    Lock lock = Mockito.mock(Lock.class);
+    Mockito.when(mockLockProvider.createLock("lockId")).thenReturn(lock);
+    Mockito.when(lock.tryLock()).thenReturn(false);
+    Mockito.when(lock.tryLock(100, TimeUnit.MILLISECONDS)).thenReturn(false);
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+
+    assertThat(instanceLockGroup.tryLock("lockId"), is(false));
+    assertThat(instanceLockGroup.tryLock("lockId", 100, TimeUnit.MILLISECONDS), is(false));
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void testLockNotGrantedToOtherThreadWhileUnlocking() throws Exception {
+    AtomicReference<Boolean> acquiredWhileHeld = new AtomicReference<>();
+    AtomicReference<InstanceLockGroup> lockGroup = new AtomicReference<>();
+    lockGroup.set(new InstanceLockGroup(lockId -> new ReentrantLock() {
+
+      @Override
+      public void unlock() {
+        if (acquiredWhileHeld.get() == null && isHeldByCurrentThread()) {
+          Thread contender = new Thread(() -> acquiredWhileHeld.set(lockGroup.get().tryLock(lockId)));
+          contender.start();
+          try {
+            contender.join();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        super.unlock();
+      }
+    }));
+
+    lockGroup.get().lock("lockId");
+    lockGroup.get().unlock("lockId");
+    assertThat(acquiredWhileHeld.get(), is(false));
+  }
+
+  @Test
+  public void testMutualExclusionWhileLockIsReleasedAndCreatedAgain() throws Exception {
+    AtomicBoolean overlapped = new AtomicBoolean(false);
+    int[] holders = new int[1];
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          threadStartLatch.await(5000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int j = 0; j < 10000; j++) {
+          instanceLockGroup.lock(sharedKeyA);
+          try {
+            if (holders[0]++ != 0) {
+              overlapped.set(true);
+            }
+            holders[0]--;
+          } finally {
+            instanceLockGroup.unlock(sharedKeyA);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    threadStartLatch.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(overlapped.get(), is(false));
+  }
+
+  @Test
+  public void testManyLockIds() throws Exception {
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      IncrementKeyValueThread incrementKeyValueThread = new IncrementKeyValueThread("key-" + (i % 10), i % 2 == 0);
+      threads.add(incrementKeyValueThread);
+      incrementKeyValueThread.start();
+    }
+    threadStartLatch.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (int i = 0; i < 10; i++) {
+      assertThat(objectStore.retrieve("key-" + i), is(THREAD_COUNT / 10 * ITERATIONS_PER_THREAD));
+    }
+  }
+
+  @Test
+  public void testSingleServerReadWriteLock() {
+    ReadWriteLock readWriteLock = new SingleServerLockProvider().createReadWriteLock("lockId", true);
+    readWriteLock.readLock().lock();
+    try {
+      assertThat(readWriteLock.readLock().tryLock(), is(true));
+      readWriteLock.readLock().unlock();
+      assertThat(readWriteLock.writeLock().tryLock(), is(false));
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+    assertThat(readWriteLock.writeLock().tryLock(), is(true));
+  }
+
+  @Test
+  public void testDefaultReadWriteLockIsExclusive() {
+    LockProvider lockProvider = lockId -> new ReentrantLock();
+    ReadWriteLock readWriteLock = lockProvider.createReadWriteLock("lockId", false);
+    assertThat(readWriteLock.readLock() == readWriteLock.writeLock(), is(true));
+  }
+
 
 
   private void testHighConcurrency(boolean useTryLock) throws InterruptedException, ObjectStoreException {
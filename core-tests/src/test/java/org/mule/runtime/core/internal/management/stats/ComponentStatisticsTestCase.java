@@ -10,6 +10,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
 
@@ -150,4 +151,35 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void executionTimeSnapshot() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (long i = 1; i <= 100; ++i) {
+      stats.addExecutionTime(i);
+    }
+
+    LatencySnapshot snapshot = stats.getExecutionTimeSnapshot();
+    assertThat(snapshot.getCount(), equalTo(100L));
+    assertThat(snapshot.getMin(), equalTo(1L));
+    assertThat(snapshot.getMax(), equalTo(100L));
+    assertThat(snapshot.getMean(), equalTo(50L));
+    assertThat(snapshot.getPercentile(100), equalTo(100L));
+
+    stats.clear();
+    assertThat(stats.getExecutionTimeSnapshot().getCount(), equalTo(0L));
+    assertThat(snapshot.getCount(), equalTo(100L));
+  }
+
+  @Test
+  public void branchTimesRecordedInSnapshotOnCompletion() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.addExecutionBranchTime(true, 25L, 25L);
+    stats.addExecutionBranchTime(false, 25L, 50L);
+    assertThat(stats.getExecutionTimeSnapshot().getCount(), equalTo(0L));
+
+    stats.addCompleteExecutionTime(50L);
+    assertThat(stats.getExecutionTimeSnapshot().getCount(), equalTo(1L));
+    assertThat(stats.getExecutionTimeSnapshot().getMax(), equalTo(50L));
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.exception.NullExceptionHandler;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ProcessorExecutionTimerTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCATION = "flow/processors/0";
+  private static final String INNER_LOCATION = "flow/processors/0/processors/0";
+
+  private final AllStatistics statistics = new AllStatistics();
+  private final ProcessorExecutionTimer timer = new ProcessorExecutionTimer(statistics, LOCATION);
+  private BaseEventContext eventContext;
+  private CoreEvent event;
+
+  @Before
+  public void before() {
+    statistics.setEnabled(true);
+    eventContext = (BaseEventContext) create("id", getClass().getName(), TEST_CONNECTOR_LOCATION,
+                                             NullExceptionHandler.getInstance());
+    event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(eventContext);
+  }
+
+  @Test
+  public void eventTimedEveryTimeItGoesThroughProcessor() {
+    timer.start(event);
+    timer.stop(eventContext);
+    timer.stop(eventContext);
+    timer.start(event);
+    timer.stop(eventContext);
+
+    assertThat(statistics.getProcessorStatistics(LOCATION).getExecutedEvents(), is(2L));
+  }
+
+  @Test
+  public void eventTimedInNestedProcessors() {
+    ProcessorExecutionTimer innerTimer = new ProcessorExecutionTimer(statistics, INNER_LOCATION);
+    timer.start(event);
+    innerTimer.start(event);
+    innerTimer.stop(eventContext);
+    timer.stop(eventContext);
+
+    assertThat(statistics.getProcessorStatistics(LOCATION).getExecutedEvents(), is(1L));
+    assertThat(statistics.getProcessorStatistics(INNER_LOCATION).getExecutedEvents(), is(1L));
+  }
+
+  @Test
+  public void startTimeDiscardedWhenEventTerminates() {
+    timer.start(event);
+    eventContext.success();
+    timer.stop(eventContext);
+
+    assertThat(statistics.getProcessorStatistics(LOCATION).getExecutedEvents(), is(0L));
+  }
+
+  @Test
+  public void nothingTimedWhileStatisticsDisabled() {
+    statistics.setEnabled(false);
+    timer.start(event);
+    statistics.setEnabled(true);
+    timer.stop(eventContext);
+
+    assertThat(statistics.getProcessorStatistics(LOCATION).getExecutedEvents(), is(0L));
+  }
+}
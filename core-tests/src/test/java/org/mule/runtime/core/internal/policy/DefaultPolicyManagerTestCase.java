@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.policy.PolicyProvider;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
+import org.mule.runtime.core.internal.registry.MuleRegistry;
+import org.mule.runtime.policy.api.OperationPolicyPointcutParametersFactory;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+import org.mule.runtime.policy.api.SourcePolicyPointcutParametersFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+
+@SmallTest
+public class DefaultPolicyManagerTestCase extends AbstractMuleTestCase {
+
+  private final MuleContextWithRegistries muleContext = mock(MuleContextWithRegistries.class);
+  private final MuleRegistry registry = mock(MuleRegistry.class);
+  private final PolicyProvider policyProvider = mock(PolicyProvider.class);
+  private final Component operation = mockComponent("flow/processors/0");
+  private final Component source = mockComponent("flow/source");
+  private final CoreEvent event = mock(CoreEvent.class, RETURNS_DEEP_STUBS);
+  private final Map<String, Object> operationParameters = mock(Map.class);
+  private final OperationExecutionFunction operationExecutionFunction = mock(OperationExecutionFunction.class);
+  private final DefaultPolicyManager policyManager = new DefaultPolicyManager();
+
+  @Before
+  public void before() {
+    when(muleContext.getRegistry()).thenReturn(registry);
+    when(registry.lookupLocalObjects(PolicyProvider.class)).thenReturn(singletonList(policyProvider));
+    when(policyProvider.supportsChangeNotification()).thenReturn(true);
+    when(policyProvider.findSourceParameterizedPolicies(any())).thenReturn(emptyList());
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(emptyList());
+    policyManager.setMuleContext(muleContext);
+  }
+
+  @Test
+  public void operationPoliciesResolvedOncePerLocation() throws Exception {
+    policyManager.initialise();
+    Component otherOperation = mockComponent("flow/processors/1");
+
+    createOperationPolicy(operation);
+    createOperationPolicy(operation);
+    createOperationPolicy(otherOperation);
+
+    verify(policyProvider).findOperationParameterizedPolicies(argThat(hasComponent(operation)));
+    verify(policyProvider).findOperationParameterizedPolicies(argThat(hasComponent(otherOperation)));
+  }
+
+  @Test
+  public void sourcePoliciesResolvedOncePerLocation() throws Exception {
+    policyManager.initialise();
+
+    createSourcePolicy();
+    createSourcePolicy();
+
+    verify(policyProvider).findSourceParameterizedPolicies(argThat(hasComponent(source)));
+  }
+
+  @Test
+  public void policiesResolvedAgainWhenChanged() throws Exception {
+    policyManager.initialise();
+    ArgumentCaptor<Runnable> policiesChangedCallback = ArgumentCaptor.forClass(Runnable.class);
+    verify(policyProvider).onPoliciesChanged(policiesChangedCallback.capture());
+
+    createOperationPolicy(operation);
+    createSourcePolicy();
+    policiesChangedCallback.getValue().run();
+    createOperationPolicy(operation);
+    createSourcePolicy();
+
+    verify(policyProvider, times(2)).findOperationParameterizedPolicies(any());
+    verify(policyProvider, times(2)).findSourceParameterizedPolicies(any());
+  }
+
+  @Test
+  public void policiesResolvedPerEventWithoutChangeNotification() throws Exception {
+    when(policyProvider.supportsChangeNotification()).thenReturn(false);
+    policyManager.initialise();
+
+    createOperationPolicy(operation);
+    createOperationPolicy(operation);
+    createSourcePolicy();
+    createSourcePolicy();
+
+    verify(policyProvider, never()).onPoliciesChanged(any());
+    verify(policyProvider, times(2)).findOperationParameterizedPolicies(argThat(hasComponent(operation)));
+    verify(policyProvider, times(2)).findSourceParameterizedPolicies(argThat(hasComponent(source)));
+  }
+
+  @Test
+  public void operationPoliciesResolvedPerEventWithPointcutParametersFactory() throws Exception {
+    OperationPolicyPointcutParametersFactory pointcutFactory = mock(OperationPolicyPointcutParametersFactory.class);
+    ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+    when(pointcutFactory.supportsOperationIdentifier(operationIdentifier)).thenReturn(true);
+    when(registry.lookupObjects(OperationPolicyPointcutParametersFactory.class)).thenReturn(asList(pointcutFactory));
+    policyManager.initialise();
+
+    createOperationPolicy(operation);
+    createOperationPolicy(operation);
+
+    verify(pointcutFactory).supportsOperationIdentifier(operationIdentifier);
+    verify(pointcutFactory, times(2)).createPolicyPointcutParameters(same(operation), anyMap());
+    verify(policyProvider, times(2)).findOperationParameterizedPolicies(any());
+  }
+
+  @Test
+  public void sourcePoliciesResolvedPerEventWithPointcutParametersFactory() throws Exception {
+    SourcePolicyPointcutParametersFactory pointcutFactory = mock(SourcePolicyPointcutParametersFactory.class);
+    ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+    when(pointcutFactory.supportsSourceIdentifier(sourceIdentifier)).thenReturn(true);
+    when(registry.lookupObjects(SourcePolicyPointcutParametersFactory.class)).thenReturn(asList(pointcutFactory));
+    policyManager.initialise();
+
+    createSourcePolicy();
+    createSourcePolicy();
+
+    verify(pointcutFactory).supportsSourceIdentifier(sourceIdentifier);
+    verify(pointcutFactory, times(2)).createPolicyPointcutParameters(same(source), any());
+    verify(policyProvider, times(2)).findSourceParameterizedPolicies(any());
+  }
+
+  private void createOperationPolicy(Component operation) {
+    policyManager.createOperationPolicy(operation, event, operationParameters, operationExecutionFunction);
+  }
+
+  private void createSourcePolicy() {
+    policyManager.createSourcePolicyInstance(source, event, mock(Processor.class),
+                                             mock(MessageSourceResponseParametersProcessor.class));
+  }
+
+  private static Component mockComponent(String location) {
+    Component component = mock(Component.class, RETURNS_DEEP_STUBS);
+    when(component.getLocation().getLocation()).thenReturn(location);
+    return component;
+  }
+
+  private static ArgumentMatcher<PolicyPointcutParameters> hasComponent(Component component) {
+    return new ArgumentMatcher<PolicyPointcutParameters>() {
+
+      @Override
+      public boolean matches(Object argument) {
+        return ((PolicyPointcutParameters) argument).getComponent() == component;
+      }
+    };
+  }
+}
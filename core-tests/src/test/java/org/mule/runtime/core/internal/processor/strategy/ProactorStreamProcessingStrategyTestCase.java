@@ -223,7 +223,7 @@ public class ProactorStreamProcessingStrategyTestCase extends AbstractProcessing
   }
 
   @Test
-  @Description("If IO pool is busy OVERLOAD error is thrown")
+  @Description("If IO pool is busy, events wait in the pending queue of the flow until it has room for them")
   public void blockingRejectedExecution() throws Exception {
     Scheduler blockingSchedulerSpy = spy(blocking);
     Scheduler rejectingSchedulerSpy = spy(new RejectingScheduler(blockingSchedulerSpy));
@@ -252,7 +252,7 @@ public class ProactorStreamProcessingStrategyTestCase extends AbstractProcessing
   }
 
   @Test
-  @Description("If CPU INTENSIVE pool is busy OVERLOAD error is thrown")
+  @Description("If CPU INTENSIVE pool is busy, events wait in the pending queue of the flow until it has room for them")
   public void cpuIntensiveRejectedExecution() throws Exception {
     Scheduler cpuIntensiveSchedulerSpy = spy(cpuIntensive);
     Scheduler rejectingSchedulerSpy = spy(new RejectingScheduler(cpuIntensiveSchedulerSpy));
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class QueueingExecutorServiceDecoratorTestCase extends AbstractMuleTestCase {
+
+  // Rejects tasks while its only thread is busy.
+  private final ThreadPoolExecutor delegate = new ThreadPoolExecutor(1, 1, 0, MILLISECONDS, new SynchronousQueue<>());
+  private final ScheduledExecutorService retryScheduler = mock(ScheduledExecutorService.class);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final List<String> executed = new CopyOnWriteArrayList<>();
+
+  @After
+  public void after() {
+    release.countDown();
+    delegate.shutdownNow();
+  }
+
+  @Test
+  public void submitsToDelegateWithRoom() throws Exception {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+
+    executor.submit(() -> executed.add("first")).get(5, SECONDS);
+
+    assertThat(executed, contains("first"));
+    assertThat(executor.getQueuedTaskCount(), is(0L));
+    assertThat(executor.getWaitTimes().getCount(), is(0L));
+  }
+
+  @Test
+  public void pendingTasksRunWhenRunningTaskCompletes() throws Exception {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+
+    executor.submit(this::block);
+    executor.submit(() -> executed.add("second"));
+    Future<?> last = executor.submit(() -> executed.add("third"));
+    assertThat(executor.getPendingTaskCount(), is(2));
+    assertThat(executed, hasSize(0));
+
+    release.countDown();
+    last.get(5, SECONDS);
+
+    assertThat(executed, contains("blocked", "second", "third"));
+    assertThat(executor.getPendingTaskCount(), is(0));
+    assertThat(executor.getQueuedTaskCount(), is(2L));
+    assertThat(executor.getWaitTimes().getCount(), is(2L));
+    verify(retryScheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  public void retryScheduledWhenDelegateBusyWithOtherTasks() throws Exception {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+    delegate.submit(this::block);
+
+    executor.submit(() -> executed.add("pending"));
+
+    assertThat(executor.getPendingTaskCount(), is(1));
+    verify(retryScheduler).schedule(any(Runnable.class), eq(2L), eq(MILLISECONDS));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectWhenQueueIsFull() {
+    QueueingExecutorServiceDecorator executor = createExecutor(1);
+    executor.submit(this::block);
+    executor.submit(() -> executed.add("pending"));
+
+    executor.submit(() -> executed.add("rejected"));
+  }
+
+  @Test
+  public void shutdownRunsPendingTasks() throws Exception {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+    executor.submit(this::block);
+    executor.submit(() -> executed.add("pending"));
+
+    executor.shutdown();
+    assertThat(executor.isTerminated(), is(false));
+    release.countDown();
+
+    assertThat(executor.awaitTermination(5, SECONDS), is(true));
+    assertThat(executed, contains("blocked", "pending"));
+    assertThat(executor.getPendingTaskCount(), is(0));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectAfterShutdown() {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+    executor.shutdown();
+
+    executor.submit(() -> executed.add("rejected"));
+  }
+
+  @Test
+  public void shutdownNowHandsOffPendingTasks() throws Exception {
+    QueueingExecutorServiceDecorator executor = createExecutor(2);
+    executor.submit(this::block);
+    executor.submit(() -> executed.add("pending"));
+
+    List<Runnable> notRun = executor.shutdownNow();
+    assertThat(notRun, hasSize(1));
+    release.countDown();
+    assertThat(executor.awaitTermination(5, SECONDS), is(true));
+    notRun.forEach(Runnable::run);
+
+    assertThat(executed, contains("blocked", "pending"));
+  }
+
+  private QueueingExecutorServiceDecorator createExecutor(int maxPendingTasks) {
+    return new QueueingExecutorServiceDecorator(delegate, "test", maxPendingTasks, retryScheduler, 2);
+  }
+
+  private void block() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executed.add("blocked");
+  }
+}
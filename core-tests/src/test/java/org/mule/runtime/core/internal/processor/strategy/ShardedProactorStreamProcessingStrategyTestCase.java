@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Integer.MAX_VALUE;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.CORES;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_WAIT_STRATEGY;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.PROACTOR;
+import static reactor.util.concurrent.Queues.XS_BUFFER_SIZE;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.ShardedProactorStreamProcessingStrategyFactory.ShardedProactorStreamProcessingStrategy;
+
+import org.junit.After;
+import org.junit.Before;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(PROCESSING_STRATEGIES)
+@Story(PROACTOR)
+public class ShardedProactorStreamProcessingStrategyTestCase extends ProactorStreamProcessingStrategyTestCase {
+
+  private static final int SHARDS = 2;
+
+  private Scheduler shardedRingBuffer;
+
+  public ShardedProactorStreamProcessingStrategyTestCase(Mode mode) {
+    super(mode);
+  }
+
+  @Before
+  public void createShardedRingBuffer() {
+    // Each ring-buffer subscriber takes a thread for as long as the flow runs, so there has to be one for each shard.
+    shardedRingBuffer = new TestScheduler(SHARDS, RING_BUFFER, true) {
+
+      @Override
+      public void execute(Runnable command) {
+        submit(command);
+      }
+    };
+  }
+
+  @Override
+  @After
+  public void after() throws MuleException {
+    super.after();
+    shardedRingBuffer.stop();
+  }
+
+  @Override
+  protected ProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
+    return new ShardedProactorStreamProcessingStrategy(() -> shardedRingBuffer,
+                                                       XS_BUFFER_SIZE,
+                                                       SHARDS,
+                                                       DEFAULT_WAIT_STRATEGY,
+                                                       () -> cpuLight,
+                                                       () -> blocking,
+                                                       () -> cpuIntensive,
+                                                       CORES,
+                                                       MAX_VALUE,
+                                                       SHARDS);
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import reactor.core.publisher.FluxSink;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class ShardedSinkTestCase extends AbstractMuleTestCase {
+
+  private static final int SHARDS = 3;
+
+  private final FluxSink<CoreEvent>[] fluxSinks = new FluxSink[SHARDS];
+  private final ReactorSink[] shards = new ReactorSink[SHARDS];
+  private final Consumer<CoreEvent> onEventConsumer = mock(Consumer.class);
+  private final reactor.core.Disposable disposable = mock(reactor.core.Disposable.class);
+  private final CoreEvent event = mock(CoreEvent.class);
+  private int affinity;
+  private ShardedSink sink;
+
+  @Before
+  public void before() {
+    for (int i = 0; i < SHARDS; ++i) {
+      fluxSinks[i] = mock(FluxSink.class);
+      when(fluxSinks[i].requestedFromDownstream()).thenReturn(Long.MAX_VALUE);
+      shards[i] = new ReactorSink(fluxSinks[i], () -> {
+      }, e -> {
+      }, 1024);
+    }
+    affinity = (int) (currentThread().getId() % SHARDS);
+    sink = new ShardedSink(shards, onEventConsumer, disposable);
+  }
+
+  @Test
+  public void emitToShardOfCurrentThread() {
+    assertThat(sink.emit(event), is(true));
+    verify(fluxSinks[affinity]).next(event);
+    verify(onEventConsumer).accept(event);
+  }
+
+  @Test
+  public void emitToNextShardWhenFull() {
+    when(fluxSinks[affinity].requestedFromDownstream()).thenReturn(0L);
+    assertThat(sink.emit(event), is(true));
+    verify(fluxSinks[affinity], never()).next(event);
+    verify(fluxSinks[(affinity + 1) % SHARDS]).next(event);
+  }
+
+  @Test
+  public void emitFailsWhenAllShardsFull() {
+    for (FluxSink<CoreEvent> fluxSink : fluxSinks) {
+      when(fluxSink.requestedFromDownstream()).thenReturn(0L);
+    }
+    assertThat(sink.emit(event), is(false));
+    for (FluxSink<CoreEvent> fluxSink : fluxSinks) {
+      verify(fluxSink, never()).next(event);
+    }
+  }
+
+  @Test
+  public void acceptWaitsOnShardOfCurrentThreadWhenAllShardsFull() {
+    for (FluxSink<CoreEvent> fluxSink : fluxSinks) {
+      when(fluxSink.requestedFromDownstream()).thenReturn(0L);
+    }
+    sink.accept(event);
+    verify(fluxSinks[affinity]).next(event);
+    verify(onEventConsumer, times(1)).accept(event);
+  }
+
+  @Test
+  public void disposeAllShards() {
+    sink.dispose();
+    for (FluxSink<CoreEvent> fluxSink : fluxSinks) {
+      verify(fluxSink).complete();
+    }
+    verify(disposable).dispose();
+  }
+
+}
@@ -19,6 +19,7 @@ import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.message.Message.of;
 
 import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
@@ -33,6 +34,7 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.weave.v2.el.ByteArrayBasedCursorStreamProvider;
 import org.mule.weave.v2.el.WeaveDefaultExpressionLanguageFactoryService;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,6 +54,11 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     idempotent.setMuleContext(muleContext);
   }
 
+  @After
+  public void stopValidator() throws MuleException {
+    idempotent.stop();
+  }
+
   @Rule
   public ExpectedException expected = none();
 
@@ -202,6 +209,48 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertNotNull(processedEvent);
   }
 
+  @Test
+  public void idempotentReceiverWithBloomFilter() throws Exception {
+    idempotent.getObjectStore().store("0", "0");
+    idempotent.setUseBloomFilter(true);
+    idempotent.initialise();
+    idempotent.start();
+
+    final BaseEventContext contextA = mock(BaseEventContext.class);
+    when(contextA.getCorrelationId()).thenReturn("1");
+    CoreEvent event = CoreEvent.builder(contextA).message(of("OK")).build();
+    assertThat(idempotent.isNewMessage(event), is(true));
+    assertThat(idempotent.process(event), sameInstance(event));
+    assertThat(idempotent.isNewMessage(event), is(false));
+
+    // an id stored before the validator was started is also detected
+    final BaseEventContext contextB = mock(BaseEventContext.class);
+    when(contextB.getCorrelationId()).thenReturn("0");
+    event = CoreEvent.builder(contextB).message(of("OK")).build();
+    assertThat(idempotent.isNewMessage(event), is(false));
+
+    expected.expect(ValidationException.class);
+    idempotent.process(event);
+  }
+
+  @Test
+  public void bloomFilterDoesNotHideIdsStoredByOthersInSharedStore() throws Exception {
+    idempotent.setUseBloomFilter(true);
+    idempotent.initialise();
+    idempotent.start();
+
+    // the referenced store may be written by another validator or node, without passing through this filter
+    idempotent.getObjectStore().store("1", "1");
+
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn("1");
+    CoreEvent event = CoreEvent.builder(context).message(of("OK")).build();
+    assertThat(idempotent.isNewMessage(event), is(false));
+
+    expected.expect(ValidationException.class);
+    idempotent.process(event);
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
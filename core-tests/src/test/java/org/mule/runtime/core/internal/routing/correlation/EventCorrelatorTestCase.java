@@ -174,6 +174,45 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).getMessageCollectionEvent();
   }
 
+  @Test
+  public void expiresGroupStoredByOtherNodeAfterStart() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    when(mockMuleContext.getClusterId()).thenReturn("cluster");
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    memoryObjectStore.remove(TEST_GROUP_ID, "prefix.eventGroups");
+
+    eventCorrelator.start();
+
+    try {
+      // let the store be looked up for groups while it is still empty
+      Thread.sleep(100);
+      // another node of the cluster stores a group without this node processing any event for it
+      memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, "prefix.eventGroups");
+
+      Prober prober = new PollingProber(5000, 50);
+      prober.check(new Probe() {
+
+        @Override
+        public boolean isSatisfied() {
+          try {
+            return !memoryObjectStore.contains(TEST_GROUP_ID, "prefix.eventGroups");
+          } catch (ObjectStoreException e) {
+            LOGGER.debug("Could not access object store.");
+            return false;
+          }
+        }
+
+        @Override
+        public String describeFailure() {
+          return "Event group stored after start not expired.";
+        }
+      });
+    } finally {
+      eventCorrelator.stop();
+    }
+  }
+
   private EventCorrelator createEventCorrelator() throws Exception {
     registerIntoMockContext(mockMuleContext, OBJECT_STORE_MANAGER, mockObjectStoreManager);
     memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, "prefix.eventGroups");
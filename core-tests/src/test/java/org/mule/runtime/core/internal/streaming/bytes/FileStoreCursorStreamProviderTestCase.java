@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.toIntExact;
+import static java.lang.System.getProperty;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends AbstractByteStreamingTestCase {
+
+  private static final int WINDOW_SIZE = 1024;
+  private static final int DATA_SIZE = WINDOW_SIZE * 10 + 100;
+
+  private final PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
+  private FileStoreCursorStreamProvider streamProvider;
+  private Set<File> previousBufferFiles;
+
+  public FileStoreCursorStreamProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    previousBufferFiles = bufferFiles();
+    streamProvider = createStreamProvider(data);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    streamProvider.releaseResources();
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void readSpilledData() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+    }
+  }
+
+  @Test
+  public void rereadSpilledData() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+
+      seekAndAssert(cursor, 0, 10);
+      seekAndAssert(cursor, WINDOW_SIZE * 3 + 10, WINDOW_SIZE);
+      seekAndAssert(cursor, WINDOW_SIZE - 20, 40);
+      seekAndAssert(cursor, WINDOW_SIZE * 9 + 50, WINDOW_SIZE);
+    }
+  }
+
+  @Test
+  public void rereadSpilledDataWhileStreamNotFullyConsumed() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      seekAndAssert(cursor, 0, WINDOW_SIZE * 5);
+      seekAndAssert(cursor, WINDOW_SIZE + 10, WINDOW_SIZE);
+      seekAndAssert(cursor, WINDOW_SIZE * 5, DATA_SIZE - WINDOW_SIZE * 5);
+    }
+  }
+
+  @Test
+  public void twoCursorsReadSpilledData() throws Exception {
+    try (CursorStream cursor1 = streamProvider.openCursor(); CursorStream cursor2 = streamProvider.openCursor()) {
+      seekAndAssert(cursor1, 0, DATA_SIZE);
+      seekAndAssert(cursor2, 0, DATA_SIZE);
+      seekAndAssert(cursor1, WINDOW_SIZE * 2, WINDOW_SIZE);
+    }
+  }
+
+  @Test
+  public void bufferFileDeletedOnRelease() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+    }
+
+    Set<File> createdFiles = createdBufferFiles();
+    assertThat(createdFiles.size(), is(1));
+
+    streamProvider.close();
+    streamProvider.releaseResources();
+
+    createdFiles.removeIf(file -> !file.exists());
+    assertThat(createdFiles, is(empty()));
+  }
+
+  @Test
+  public void streamSmallerThanWindowDoesNotSpill() throws Exception {
+    streamProvider.close();
+    streamProvider.releaseResources();
+
+    data = data.substring(0, WINDOW_SIZE / 2);
+    streamProvider = createStreamProvider(data);
+
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+      seekAndAssert(cursor, 10, 100);
+    }
+
+    assertThat(createdBufferFiles(), is(empty()));
+  }
+
+  private FileStoreCursorStreamProvider createStreamProvider(String data) {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(WINDOW_SIZE, BYTE));
+    return new FileStoreCursorStreamProvider(new ByteArrayInputStream(data.getBytes()), config, bufferManager);
+  }
+
+  private void seekAndAssert(CursorStream cursor, long position, int length) throws Exception {
+    byte[] dest = new byte[length];
+    cursor.seek(position);
+
+    assertThat(cursor.read(dest, 0, length), is(length));
+    assertThat(toString(dest), equalTo(data.substring(toIntExact(position), toIntExact(position + length))));
+  }
+
+  private Set<File> createdBufferFiles() {
+    Set<File> files = bufferFiles();
+    files.removeAll(previousBufferFiles);
+    return files;
+  }
+
+  private Set<File> bufferFiles() {
+    File[] files = new File(getProperty("java.io.tmpdir")).listFiles((dir, name) -> name.startsWith("mule-buffer-"));
+    return files == null ? new HashSet<>() : new HashSet<>(asList(files));
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Test;
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class MagazineByteBufferManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int CAPACITY = 100;
+  private static final int SAME_CLASS_CAPACITY = 120;
+  private static final int OTHER_CLASS_CAPACITY = 200;
+
+  private MagazineByteBufferManager bufferManager = new MagazineByteBufferManager();
+
+  @After
+  public void after() {
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void pooling() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+    assertThat(newBuffer.array(), is(sameInstance(buffer.array())));
+  }
+
+  @Test
+  public void grow() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+
+    assertThat(newBuffer.array(), not(sameInstance(buffer.array())));
+  }
+
+  @Test
+  public void capacitiesInSameSizeClassShareBlocks() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(SAME_CLASS_CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+    assertThat(newBuffer.array(), is(sameInstance(buffer.array())));
+    assertThat(newBuffer.capacity(), is(CAPACITY));
+  }
+
+  @Test
+  public void smallerBlockInSameSizeClassIsNotReused() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(SAME_CLASS_CAPACITY);
+    assertThat(newBuffer.array(), not(sameInstance(buffer.array())));
+    assertThat(newBuffer.array().length, is(SAME_CLASS_CAPACITY));
+  }
+
+  @Test
+  public void differentSizeClasses() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(OTHER_CLASS_CAPACITY);
+    assertThat(newBuffer.array(), not(sameInstance(buffer.array())));
+  }
+
+  @Test
+  public void capacity() throws Exception {
+    assertCapacity(CAPACITY);
+    assertCapacity(SAME_CLASS_CAPACITY);
+    assertCapacity(OTHER_CLASS_CAPACITY);
+    assertCapacity(1);
+  }
+
+  @Test
+  public void directBuffers() throws Exception {
+    bufferManager.dispose();
+    bufferManager = new MagazineByteBufferManager(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT, true);
+
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    assertThat(buffer.isDirect(), is(true));
+    assertThat(buffer.capacity(), is(CAPACITY));
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(SAME_CLASS_CAPACITY);
+    assertThat(newBuffer.isDirect(), is(true));
+    assertThat(newBuffer.capacity(), is(SAME_CLASS_CAPACITY));
+    bufferManager.deallocate(newBuffer);
+  }
+
+  @Test
+  public void limitTotalMemory() throws Exception {
+    final int bufferCapacity = 1024;
+    final long waitTimeoutMillis = SECONDS.toMillis(2);
+
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(bufferCapacity * 4L);
+
+    bufferManager = new MagazineByteBufferManager(memoryManager, waitTimeoutMillis, false);
+
+    ByteBuffer buffer1 = bufferManager.allocate(bufferCapacity);
+    ByteBuffer buffer2 = bufferManager.allocate(bufferCapacity);
+    assertThat(buffer1.capacity(), is(bufferCapacity));
+    assertThat(buffer2.capacity(), is(bufferCapacity));
+
+    Latch latch = new Latch();
+    Reference<Boolean> maxMemoryExhausted = new Reference<>(false);
+
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(bufferCapacity);
+        latch.release();
+      } catch (Exception e) {
+        maxMemoryExhausted.set(e.getCause() instanceof MaxStreamingMemoryExceededException);
+      }
+    }).start();
+
+    assertThat(latch.await(waitTimeoutMillis * 2, MILLISECONDS), is(false));
+    assertThat(maxMemoryExhausted.get(), is(true));
+
+    Latch secondLatch = new Latch();
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(bufferCapacity);
+        maxMemoryExhausted.set(false);
+      } finally {
+        secondLatch.release();
+      }
+    }).start();
+
+    bufferManager.deallocate(buffer1);
+
+    assertThat(secondLatch.await(waitTimeoutMillis, MILLISECONDS), is(true));
+    assertThat(maxMemoryExhausted.get(), is(false));
+  }
+
+  @Test
+  public void memoryIsAccountedByExactCapacity() throws Exception {
+    final int bufferCapacity = 1100;
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(bufferCapacity * 6 * 2L);
+    bufferManager = new MagazineByteBufferManager(memoryManager, 100, false);
+
+    for (int i = 0; i < 6; i++) {
+      assertThat(bufferManager.allocate(bufferCapacity).capacity(), is(bufferCapacity));
+    }
+
+    try {
+      bufferManager.allocate(bufferCapacity);
+      fail("Max streaming memory should have been exceeded");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), is(instanceOf(MaxStreamingMemoryExceededException.class)));
+    }
+  }
+
+  @Test
+  public void deallocateFromOtherThread() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+
+    Thread thread = new Thread(() -> bufferManager.deallocate(buffer));
+    thread.start();
+    thread.join();
+
+    ByteBuffer first = bufferManager.allocate(CAPACITY);
+    ByteBuffer second = bufferManager.allocate(CAPACITY);
+    assertThat(first.array(), not(sameInstance(buffer.array())));
+    assertThat(second.array(), not(sameInstance(buffer.array())));
+
+    bufferManager.deallocate(first);
+    bufferManager.deallocate(buffer);
+    assertThat(bufferManager.allocate(CAPACITY).array(), is(sameInstance(first.array())));
+  }
+
+  @Test
+  public void zeroCapacity() throws Exception {
+    assertCapacity(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeCapacity() throws Exception {
+    bufferManager.allocate(-1);
+  }
+
+  @Test
+  public void foreignBufferIsNotPooled() throws Exception {
+    ByteBuffer foreign = ByteBuffer.allocate(128);
+    bufferManager.deallocate(foreign);
+
+    ByteBuffer buffer = bufferManager.allocate(OTHER_CLASS_CAPACITY / 2);
+    assertThat(buffer.array(), not(sameInstance(foreign.array())));
+  }
+
+  @Test
+  public void doubleDeallocationIsIgnored() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer first = bufferManager.allocate(CAPACITY);
+    ByteBuffer second = bufferManager.allocate(CAPACITY);
+    assertThat(first.array(), not(sameInstance(second.array())));
+  }
+
+  @Test
+  public void blocksCachedByDeadThreadsAreReclaimed() throws Exception {
+    final int bufferCapacity = 1024;
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(bufferCapacity * 8L);
+    bufferManager = new MagazineByteBufferManager(memoryManager, SECONDS.toMillis(1), false);
+
+    Thread thread = new Thread(() -> {
+      ByteBuffer[] buffers = new ByteBuffer[3];
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = bufferManager.allocate(bufferCapacity);
+      }
+      for (ByteBuffer buffer : buffers) {
+        bufferManager.deallocate(buffer);
+      }
+    });
+    thread.start();
+    thread.join();
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(bufferManager.allocate(bufferCapacity).capacity(), is(bufferCapacity));
+    }
+  }
+
+  private void assertCapacity(int capacity) {
+    ByteBuffer buffer = bufferManager.allocate(capacity);
+    try {
+      assertThat(buffer.capacity(), is(capacity));
+    } finally {
+      bufferManager.deallocate(buffer);
+    }
+  }
+}
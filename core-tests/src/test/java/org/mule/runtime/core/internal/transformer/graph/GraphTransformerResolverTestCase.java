@@ -56,11 +56,48 @@ public class GraphTransformerResolverTestCase extends AbstractTransformationGrap
     Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
     assertNotNull(transformer1);
 
+    Converter inputStreamToJson =
+        new MockConverterBuilder().named("inputStreamToJson").from(INPUT_STREAM_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    graphResolver.transformerChange(inputStreamToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertNotSame(transformer1, transformer2);
+    assertSame(inputStreamToJson, transformer2);
+  }
+
+  @Test
+  public void keepsCacheWhenAddsUnrelatedConverter() throws ResolverException {
+    Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml =
+        new MockConverterBuilder().named("inputStreamToXml").from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertNotNull(transformer1);
+
     Converter xmlToString = new MockConverterBuilder().named("xmlToString").from(XML_DATA_TYPE).to(STRING_DATA_TYPE).build();
     graphResolver.transformerChange(xmlToString, TransformerResolver.RegistryAction.ADDED);
 
     Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
-    assertNotSame(transformer1, transformer2);
+    assertSame(transformer1, transformer2);
+  }
+
+  @Test
+  public void cachesMissingConverterUntilOneIsAdded() throws ResolverException {
+    Converter inputStreamToXml =
+        new MockConverterBuilder().named("inputStreamToXml").from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+
+    assertNull(graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+    assertNull(graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+
+    Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertTrue(transformer instanceof CompositeConverter);
   }
 
   @Test
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SmallTest
+public class CaseInsensitivePersistentMapTestCase extends AbstractMuleTestCase {
+
+  private final CaseInsensitivePersistentMap<String> empty = CaseInsensitivePersistentMap.empty();
+
+  @Test
+  public void caseInsensitiveKeys() {
+    CaseInsensitivePersistentMap<String> map = empty.with("FlowVar", "a");
+
+    assertThat(map.get("flowvar"), is("a"));
+    assertThat(map.get("FLOWVAR"), is("a"));
+    assertThat(map.containsKey("fLoWvAr"), is(true));
+
+    map = map.with("FLOWVAR", "b");
+    assertThat(map.size(), is(1));
+    assertThat(map.get("flowVar"), is("b"));
+    assertThat(map.keySet(), contains("FLOWVAR"));
+
+    assertThat(map.without("flowvar").isEmpty(), is(true));
+  }
+
+  @Test
+  public void derivedMapsDontChangeOriginal() {
+    CaseInsensitivePersistentMap<String> original = empty.with("a", "1").with("b", "2");
+    CaseInsensitivePersistentMap<String> added = original.with("c", "3");
+    CaseInsensitivePersistentMap<String> removed = original.without("A");
+
+    assertThat(original.size(), is(2));
+    assertThat(original.get("c"), is(nullValue()));
+    assertThat(original.get("a"), is("1"));
+    assertThat(added.size(), is(3));
+    assertThat(removed.size(), is(1));
+    assertThat(removed.get("a"), is(nullValue()));
+  }
+
+  @Test
+  public void removeMissingReturnsSameMap() {
+    CaseInsensitivePersistentMap<String> map = empty.with("a", "1");
+    assertThat(map.without("b"), is(sameInstance(map)));
+    assertThat(empty.without("b"), is(sameInstance(empty)));
+  }
+
+  @Test
+  public void copyOfPersistentMapIsSame() {
+    CaseInsensitivePersistentMap<String> map = empty.with("a", "1");
+    assertThat(CaseInsensitivePersistentMap.copyOf(map), is(sameInstance(map)));
+  }
+
+  @Test
+  public void collidingKeys() {
+    // "aa" and "c#" have the same case-insensitive hash
+    CaseInsensitivePersistentMap<String> map = empty.with("AA", "1").with("c#", "2").with("x", "3");
+
+    assertThat(map.size(), is(3));
+    assertThat(map.get("aa"), is("1"));
+    assertThat(map.get("C#"), is("2"));
+
+    map = map.without("aA");
+    assertThat(map.size(), is(2));
+    assertThat(map.get("aa"), is(nullValue()));
+    assertThat(map.get("c#"), is("2"));
+  }
+
+  @Test
+  public void sameEntriesAsHashMap() throws Exception {
+    Random random = new Random(0);
+    Map<String, String> expected = new HashMap<>();
+    CaseInsensitivePersistentMap<String> map = empty;
+
+    for (int i = 0; i < 5000; ++i) {
+      String key = "var" + random.nextInt(1000);
+      if (random.nextInt(4) == 0) {
+        map = map.without(key.toUpperCase());
+        expected.remove(key);
+      } else {
+        map = map.with(key, key + i);
+        expected.put(key, key + i);
+      }
+    }
+
+    assertThat(map, is(expected));
+    assertThat(serializeAndDeserialize(map), is(expected));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    empty.with("a", "1").put("b", "2");
+  }
+
+  private <T> T serializeAndDeserialize(T object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (T) in.readObject();
+    }
+  }
+}
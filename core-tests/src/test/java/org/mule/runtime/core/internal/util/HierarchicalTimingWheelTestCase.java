@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SmallTest
+public class HierarchicalTimingWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK = 10;
+
+  private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 3, 0);
+
+  @Test
+  public void expiresAtDeadline() {
+    wheel.schedule("a", 55);
+
+    assertThat(wheel.advance(50), is(empty()));
+    assertThat(wheel.advance(60), contains("a"));
+    assertThat(wheel.isScheduled("a"), is(false));
+    assertThat(wheel.advance(1000), is(empty()));
+  }
+
+  @Test
+  public void pastDeadlineExpiresOnNextAdvance() {
+    wheel.advance(500);
+    wheel.schedule("a", 100);
+
+    assertThat(wheel.advance(500), contains("a"));
+  }
+
+  @Test
+  public void scheduleTwiceKeepsFirstDeadline() {
+    assertThat(wheel.schedule("a", 100), is(true));
+    assertThat(wheel.schedule("a", 10000), is(false));
+
+    assertThat(wheel.advance(100), contains("a"));
+  }
+
+  @Test
+  public void cancelled() {
+    wheel.schedule("a", 100);
+    wheel.advance(10);
+    wheel.cancel("a");
+
+    assertThat(wheel.size(), is(0));
+    assertThat(wheel.advance(1000), is(empty()));
+  }
+
+  @Test
+  public void beyondWheelSpan() {
+    // 3 levels of 64 slots of 10 ms span 2621440 ms
+    wheel.schedule("a", 10000000);
+
+    assertThat(wheel.advance(9999990), is(empty()));
+    assertThat(wheel.advance(10000000), contains("a"));
+  }
+
+  @Test
+  public void randomDeadlines() {
+    final Random random = new Random(42);
+    final Map<String, Long> deadlines = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      long deadline = random.nextInt(3000000);
+      deadlines.put("key" + i, deadline);
+      wheel.schedule("key" + i, deadline);
+    }
+
+    long now = 0;
+    int expiredCount = 0;
+    while (now < 4000000) {
+      now += random.nextInt(20000);
+      for (String key : wheel.advance(now)) {
+        long deadline = deadlines.get(key);
+        assertThat(now, greaterThanOrEqualTo(deadline));
+        // expired as soon as the advance reached its tick
+        assertThat(now - deadline < 20000 + TICK, is(true));
+        expiredCount++;
+      }
+    }
+    assertThat(expiredCount, is(deadlines.size()));
+    assertThat(wheel.size(), is(0));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.util.LatencyHistogram.BUCKETS;
+import static org.mule.runtime.core.internal.util.LatencyHistogram.bucketFor;
+import static org.mule.runtime.core.internal.util.LatencyHistogram.emptySnapshot;
+import static org.mule.runtime.core.internal.util.LatencyHistogram.highestEquivalentValue;
+import org.mule.runtime.core.internal.util.LatencyHistogram.Snapshot;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void bucketsKeepRelativeError() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; ++i) {
+      long value = i < 1000 ? i : random.nextLong() >>> (21 + random.nextInt(43));
+      int bucket = bucketFor(value);
+      long highest = highestEquivalentValue(bucket);
+
+      assertThat(highest, greaterThanOrEqualTo(value));
+      assertThat(highest - value, lessThanOrEqualTo(value / 16));
+      if (bucket > 0) {
+        assertThat(highestEquivalentValue(bucket - 1), lessThan(value));
+      }
+    }
+  }
+
+  @Test
+  public void hugeValuesInLastBucket() {
+    assertThat(bucketFor(Long.MAX_VALUE), is(BUCKETS - 1));
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+    assertThat(histogram.snapshot().getPercentile(50), is(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; ++i) {
+      histogram.record(i);
+    }
+
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(1000L));
+    assertThat(snapshot.getTotal(), is(500500L));
+    assertThat(snapshot.getMin(), is(1L));
+    assertThat(snapshot.getMax(), is(1000L));
+    assertThat(snapshot.getMean(), is(500L));
+    assertThat(snapshot.getPercentile(0), is(1L));
+    assertThat(snapshot.getPercentile(50), greaterThanOrEqualTo(500L));
+    assertThat(snapshot.getPercentile(50), lessThanOrEqualTo(500L + 500L / 16));
+    assertThat(snapshot.getPercentile(99), greaterThanOrEqualTo(990L));
+    assertThat(snapshot.getPercentile(100), is(1000L));
+  }
+
+  @Test
+  public void negativeValuesRecordedAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    assertThat(histogram.snapshot().getMin(), is(0L));
+    assertThat(histogram.snapshot().getMax(), is(0L));
+  }
+
+  @Test
+  public void emptySnapshotValues() {
+    Snapshot snapshot = new LatencyHistogram().snapshot();
+    assertThat(snapshot, sameInstance(emptySnapshot()));
+    assertThat(snapshot.getCount(), is(0L));
+    assertThat(snapshot.getMin(), is(0L));
+    assertThat(snapshot.getMax(), is(0L));
+    assertThat(snapshot.getMean(), is(0L));
+    assertThat(snapshot.getPercentile(99), is(0L));
+  }
+
+  @Test
+  public void merge() {
+    LatencyHistogram fast = new LatencyHistogram();
+    LatencyHistogram slow = new LatencyHistogram();
+    for (int i = 0; i < 99; ++i) {
+      fast.record(10);
+    }
+    slow.record(10000);
+
+    Snapshot merged = fast.snapshot().merge(slow.snapshot());
+    assertThat(merged.getCount(), is(100L));
+    assertThat(merged.getMin(), is(10L));
+    assertThat(merged.getMax(), is(10000L));
+    assertThat(merged.getPercentile(99), is(10L));
+    assertThat(merged.getPercentile(100), is(10000L));
+
+    assertThat(emptySnapshot().merge(merged), sameInstance(merged));
+    assertThat(merged.merge(emptySnapshot()), sameInstance(merged));
+  }
+
+  @Test
+  public void reset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+    Snapshot snapshot = histogram.snapshot();
+
+    histogram.reset();
+    assertThat(histogram.getCount(), is(0L));
+    assertThat(histogram.snapshot().getCount(), is(0L));
+    assertThat(snapshot.getCount(), is(1L));
+  }
+}
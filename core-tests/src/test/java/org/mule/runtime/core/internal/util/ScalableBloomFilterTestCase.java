@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class ScalableBloomFilterTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void noFalseNegativesWhileGrowing() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(16, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      filter.put("id-" + i);
+    }
+
+    assertThat(filter.count(), is(10000L));
+    for (int i = 0; i < 10000; i++) {
+      assertThat(filter.mightContain("id-" + i), is(true));
+    }
+  }
+
+  @Test
+  public void falsePositiveProbabilityIsBounded() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(16, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      filter.put("id-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (filter.mightContain("other-" + i)) {
+        ++falsePositives;
+      }
+    }
+    // twice the requested probability, to leave room for randomness
+    assertThat(falsePositives, lessThan(200));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidProbability() {
+    new ScalableBloomFilter(16, 1);
+  }
+}
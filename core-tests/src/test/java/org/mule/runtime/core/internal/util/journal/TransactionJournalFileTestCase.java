@@ -10,15 +10,21 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -30,6 +36,8 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+  private Scheduler writerScheduler;
+
   @Test
   public void largeQueueName() throws Exception {
     final String queueName = RandomStringUtils.randomAlphanumeric(129);
@@ -51,11 +59,106 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void groupCommitConcurrentWriters() throws Exception {
+    final int threads = 8;
+    final int entriesPerThread = 200;
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal =
+        openJournal(new GroupCommitJournalWriter.Settings(16, 100));
+    final CountDownLatch start = new CountDownLatch(1);
+
+    List<Thread> writers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int txId = t;
+      Thread writer = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < entriesPerThread; i++) {
+          journal.awaitLogged(journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 6, "queue", i)));
+        }
+      });
+      writer.start();
+      writers.add(writer);
+    }
+    start.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    journal.close();
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal(null);
+    for (int t = 0; t < threads; t++) {
+      List<LocalQueueTxJournalEntry> entries = new ArrayList<>(reopened.getLogEntries(t));
+      assertThat(entries.size(), equalTo(entriesPerThread));
+      for (int i = 0; i < entriesPerThread; i++) {
+        assertThat(entries.get(i).getValue(), equalTo((Serializable) i));
+      }
+    }
+    reopened.close();
+  }
+
+  @Test
+  public void groupCommitAppendsMoreEntriesThanFitInTheRing() throws Exception {
+    final int entries = 2000;
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal =
+        openJournal(new GroupCommitJournalWriter.Settings(16, 0));
+
+    long lastPosition = -1;
+    for (int i = 0; i < entries; i++) {
+      lastPosition = journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, "queue", i));
+    }
+    journal.awaitLogged(lastPosition);
+    journal.close();
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal(null);
+    List<LocalQueueTxJournalEntry> logged = new ArrayList<>(reopened.getLogEntries(1));
+    assertThat(logged.size(), equalTo(entries));
+    for (int i = 0; i < entries; i++) {
+      assertThat(logged.get(i).getValue(), equalTo((Serializable) i));
+    }
+    reopened.close();
+  }
+
+  @Test
+  public void groupCommitLoggedLengthIncludesEntriesNotWrittenYet() throws Exception {
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal =
+        openJournal(new GroupCommitJournalWriter.Settings(16, 0));
+
+    long lastPosition = -1;
+    long previousLength = journal.loggedLength();
+    for (int i = 0; i < 100; i++) {
+      lastPosition = journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, "queue", i));
+      assertThat(journal.loggedLength() > previousLength, is(true));
+      previousLength = journal.loggedLength();
+    }
+    journal.awaitLogged(lastPosition);
+
+    assertThat(journal.loggedLength(), equalTo(journal.fileLength()));
+    journal.close();
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
+    return openJournal(null);
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(GroupCommitJournalWriter.Settings settings) {
     File journalFile = new File(temporaryFolder.getRoot(), "journal");
     JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
 
-    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500);
+    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500, settings, writerScheduler);
+  }
+
+  @Before
+  public void createWriterScheduler() {
+    writerScheduler = muleContext.getSchedulerService().ioScheduler();
+  }
+
+  @After
+  public void stopWriterScheduler() {
+    writerScheduler.stop();
   }
 
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SEGMENT_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SYNC_INTERVAL_MILLIS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SYNC_POLICY;
+import static org.mule.runtime.core.internal.util.queue.MappedSegmentQueueStoreDelegate.getQueueDirectory;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+@SmallTest
+public class MappedSegmentQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int SEGMENT_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(MULE_QUEUE_SEGMENT_SIZE, String.valueOf(SEGMENT_SIZE));
+
+  private MuleContext mockMuleContext;
+  private MappedSegmentQueueStoreDelegate queue;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+    queue = createQueue();
+  }
+
+  @After
+  public void after() {
+    queue.dispose();
+  }
+
+  @Test
+  public void fifoOrder() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      queue.putNow(i);
+    }
+
+    assertThat(queue.getSize(), is(10));
+    assertThat(queue.peek(), is(0));
+    for (int i = 0; i < 10; i++) {
+      assertThat(queue.poll(0), is(i));
+    }
+    assertThat(queue.poll(0), is(nullValue()));
+    assertThat(queue.getSize(), is(0));
+  }
+
+  @Test
+  public void untakeGoesToHead() throws Exception {
+    queue.putNow("a");
+    queue.putNow("b");
+    Serializable first = queue.poll(0);
+    queue.untake(first);
+    queue.untake("z");
+
+    assertElements("z", "a", "b");
+  }
+
+  @Test
+  public void recoverAfterClose() throws Exception {
+    queue.addAll(Arrays.asList("a", "b", "c", "d"));
+    queue.poll(0);
+    queue.untake("z");
+    queue.close();
+
+    queue = createQueue();
+    assertThat(queue.getSize(), is(4));
+    assertElements("z", "b", "c", "d");
+  }
+
+  @Test
+  public void segmentsAreRecycled() throws Exception {
+    for (int round = 0; round < 50; round++) {
+      for (int i = 0; i < 20; i++) {
+        queue.putNow(round * 100 + i);
+      }
+      for (int i = 0; i < 20; i++) {
+        assertThat(queue.poll(0), is(round * 100 + i));
+      }
+    }
+
+    assertThat(segmentFiles(), lessThanOrEqualTo(3));
+  }
+
+  @Test
+  public void oversizedEntry() throws Exception {
+    char[] chars = new char[SEGMENT_SIZE * 4];
+    Arrays.fill(chars, 'x');
+    String big = new String(chars);
+
+    queue.putNow("small");
+    queue.putNow(big);
+    queue.putNow("other");
+    queue.close();
+
+    queue = createQueue();
+    assertThat(queue.poll(0), is("small"));
+    assertThat(queue.poll(0), is(big));
+    assertThat(queue.poll(0), is("other"));
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    queue.addAll(Arrays.asList("a", "b", "c"));
+
+    assertThat(queue.contains("b"), is(true));
+    queue.remove("b");
+    assertThat(queue.contains("b"), is(false));
+    assertThat(queue.getSize(), is(2));
+    assertElements("a", "c");
+  }
+
+  @Test
+  public void offerRespectsCapacity() throws Exception {
+    queue.dispose();
+    queue = new MappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                                mockMuleContext, 2);
+
+    assertThat(queue.offer("a", 0, 0), is(true));
+    assertThat(queue.offer("b", 0, 0), is(true));
+    assertThat(queue.offer("c", 0, 10), is(false));
+    queue.poll(0);
+    assertThat(queue.offer("c", 0, 0), is(true));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      queue.putNow(i);
+    }
+    queue.clear();
+    assertThat(queue.getSize(), is(0));
+
+    queue.putNow("a");
+    queue.close();
+    queue = createQueue();
+    assertElements("a");
+  }
+
+  @Test
+  public void nameWithInvalidCharacters() {
+    String[] testNames = new String[] {"test:/test", "test?test", "test:\\test", "test|test",
+        "this$is%a#really/big\\name@that?has<a>lot*of+invalid^characters!this$is%a#really/big\\name@that?has<a>lot*of+invalid^chars!"};
+
+    for (String testName : testNames) {
+      new MappedSegmentQueueStoreDelegate(testName, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0)
+          .dispose();
+    }
+  }
+
+  @Test
+  public void intervalSyncPolicyForcesChangesPeriodically() throws Exception {
+    Scheduler syncScheduler = mock(Scheduler.class);
+    ScheduledFuture syncTask = mock(ScheduledFuture.class);
+    when(syncScheduler.scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any())).thenReturn(syncTask);
+    queue.dispose();
+
+    testWithSystemProperty(MULE_QUEUE_SYNC_POLICY, "interval",
+                           () -> testWithSystemProperty(MULE_QUEUE_SYNC_INTERVAL_MILLIS, "0", () -> {
+                             // a zero interval forces the changes on every operation, there's nothing to schedule
+                             createQueue(syncScheduler).dispose();
+                             verify(syncScheduler, never()).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                                                                                   any());
+                           }));
+
+    testWithSystemProperty(MULE_QUEUE_SYNC_POLICY, "interval",
+                           () -> testWithSystemProperty(MULE_QUEUE_SYNC_INTERVAL_MILLIS, "50",
+                                                        () -> queue = createQueue(syncScheduler)));
+    ArgumentCaptor<Runnable> sync = ArgumentCaptor.forClass(Runnable.class);
+    verify(syncScheduler).scheduleWithFixedDelay(sync.capture(), eq(50L), eq(50L), eq(MILLISECONDS));
+
+    queue.putNow("a");
+    Thread.sleep(50);
+    sync.getValue().run();
+    queue.close();
+    // the scheduler is shared with other queues, only the task of this one is cancelled
+    verify(syncTask).cancel(false);
+    verify(syncScheduler, never()).stop();
+    // the periodic sync does nothing once the queue is closed
+    sync.getValue().run();
+
+    queue = createQueue();
+    assertElements("a");
+  }
+
+  @Test
+  public void invalidSyncPolicyFallsBackToAlways() throws Exception {
+    queue.dispose();
+    testWithSystemProperty(MULE_QUEUE_SYNC_POLICY, "invalid", () -> queue = createQueue());
+
+    queue.putNow("a");
+    queue.close();
+    queue = createQueue();
+    assertElements("a");
+  }
+
+  private MappedSegmentQueueStoreDelegate createQueue() {
+    return new MappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext,
+                                               0);
+  }
+
+  private MappedSegmentQueueStoreDelegate createQueue(Scheduler syncScheduler) {
+    return new MappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext,
+                                               0, () -> syncScheduler);
+  }
+
+  private void assertElements(Serializable... expected) {
+    assertThat(queue.allElements(), contains(expected));
+  }
+
+  private int segmentFiles() {
+    File[] files = getQueueDirectory(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath()).listFiles();
+    return files == null ? 0 : files.length;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final long SMALL_SEGMENT_SIZE = 256;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = newPartition();
+    partition.open();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    partition.close();
+  }
+
+  @Test
+  public void storeAndRetrieve() throws Exception {
+    partition.store(KEY, VALUE);
+    assertThat(partition.contains(KEY), is(true));
+    assertThat(partition.retrieve(KEY), equalTo(VALUE));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store(KEY, VALUE);
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test
+  public void remove() throws Exception {
+    partition.store(KEY, VALUE);
+    assertThat(partition.remove(KEY), equalTo(VALUE));
+    assertThat(partition.contains(KEY), is(false));
+
+    partition.store(KEY, VALUE + 2);
+    assertThat(partition.retrieve(KEY), equalTo(VALUE + 2));
+  }
+
+  @Test
+  public void reloadFromDisk() throws Exception {
+    storeKeys(20);
+    partition.remove(KEY + 3);
+    partition.close();
+
+    assertThat(LogStructuredObjectStorePartition.isLogStructuredPartition(objectStoreFolder.getRoot()), is(true));
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    partition.open();
+
+    assertThat(partition.getPartitionName(), equalTo("test"));
+    assertThat(partition.allKeys().size(), is(19));
+    assertThat(partition.contains(KEY + 3), is(false));
+    assertThat(partition.retrieve(KEY + 10), equalTo(VALUE + 10));
+  }
+
+  @Test
+  public void discardIncompleteRecordOnReload() throws Exception {
+    storeKeys(3);
+    partition.close();
+
+    File[] segments = objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+    File lastSegment = segments[segments.length - 1];
+    try (RandomAccessFile file = new RandomAccessFile(lastSegment, "rw")) {
+      file.setLength(file.length() - 1);
+    }
+
+    partition = newPartition();
+    partition.open();
+    assertThat(partition.allKeys(), contains(KEY + 0, KEY + 1));
+
+    partition.store(KEY + 2, VALUE + 2);
+    assertThat(partition.retrieve(KEY + 2), equalTo(VALUE + 2));
+  }
+
+  @Test
+  public void expireByMaxEntries() throws Exception {
+    storeKeys(10);
+    partition.expire(UNBOUNDED, 4);
+
+    assertThat(partition.allKeys(), contains(KEY + 6, KEY + 7, KEY + 8, KEY + 9));
+  }
+
+  @Test
+  public void expireByTtl() throws Exception {
+    storeKeys(5);
+    Thread.sleep(50);
+    partition.store(KEY, VALUE);
+
+    partition.expire(40, UNBOUNDED);
+    assertThat(partition.allKeys(), contains(KEY));
+  }
+
+  @Test
+  public void compaction() throws Exception {
+    storeKeys(50);
+    final int segmentsBefore = countSegments();
+
+    partition.expire(UNBOUNDED, 5);
+
+    assertThat(countSegments(), lessThan(segmentsBefore));
+    assertThat(partition.allKeys(), contains(KEY + 45, KEY + 46, KEY + 47, KEY + 48, KEY + 49));
+    assertThat(partition.retrieve(KEY + 45), equalTo(VALUE + 45));
+
+    partition.close();
+    partition = newPartition();
+    partition.open();
+    assertThat(partition.allKeys(), contains(KEY + 45, KEY + 46, KEY + 47, KEY + 48, KEY + 49));
+    assertThat(partition.retrieve(KEY + 49), equalTo(VALUE + 49));
+  }
+
+  @Test
+  public void operationsDuringCompaction() throws Exception {
+    storeKeys(50);
+    for (int i = 0; i < 40; i++) {
+      partition.remove(KEY + i);
+    }
+
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread compactor = new Thread(() -> {
+      try {
+        for (int i = 0; i < 20; i++) {
+          partition.compact();
+        }
+      } catch (Exception e) {
+        failure.set(e);
+      }
+    });
+    compactor.start();
+    for (int i = 40; i < 50; i++) {
+      partition.remove(KEY + i);
+      partition.store(KEY + i, VALUE + i + "b");
+      partition.store(KEY + (i + 50), VALUE + (i + 50));
+    }
+    compactor.join();
+    assertThat(failure.get(), is(nullValue()));
+
+    partition.compact();
+    partition.close();
+    partition = newPartition();
+    partition.open();
+    assertThat(partition.allKeys().size(), is(20));
+    for (int i = 40; i < 50; i++) {
+      assertThat(partition.retrieve(KEY + i), equalTo(VALUE + i + "b"));
+      assertThat(partition.retrieve(KEY + (i + 50)), equalTo(VALUE + (i + 50)));
+    }
+  }
+
+  @Test
+  public void interruptedCompactionIsDiscarded() throws Exception {
+    storeKeys(3);
+    partition.close();
+    new File(objectStoreFolder.getRoot(), "00000000000000000001.compacting").createNewFile();
+
+    partition = newPartition();
+    partition.open();
+    assertThat(partition.allKeys().size(), is(3));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    storeKeys(10);
+    partition.clear();
+    assertThat(partition.allKeys().size(), is(0));
+
+    partition.store(KEY, VALUE);
+    assertThat(partition.retrieve(KEY), equalTo(VALUE));
+  }
+
+  private LogStructuredObjectStorePartition<String> newPartition() {
+    return new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), SMALL_SEGMENT_SIZE, true);
+  }
+
+  private void storeKeys(int count) throws ObjectStoreException {
+    for (int i = 0; i < count; i++) {
+      partition.store(KEY + i, VALUE + i);
+    }
+  }
+
+  private int countSegments() {
+    return objectStoreFolder.getRoot().list((dir, name) -> name.endsWith(".log")).length;
+  }
+}
@@ -259,6 +259,21 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     assertEquals("0123", process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue());
   }
 
+  @Test
+  public void processorsTimedWhenStatisticsEnabled() throws Exception {
+    muleContext.getStatistics().setEnabled(true);
+    try {
+      DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+      builder.chain(getTimedAppendingMP("1", "flow/processors/0"), getTimedAppendingMP("2", "flow/processors/1"));
+      assertEquals("012", process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue());
+
+      assertThat(muleContext.getStatistics().getProcessorStatistics("flow/processors/0").getExecutedEvents(), is(1L));
+      assertThat(muleContext.getStatistics().getProcessorStatistics("flow/processors/1").getExecutedEvents(), is(1L));
+    } finally {
+      muleContext.getStatistics().setEnabled(false);
+    }
+  }
+
   @Test
   public void testMPChainWithBuilder() throws Exception {
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
@@ -872,6 +887,18 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     return new NonBlockingAppendingMP(append);
   }
 
+  private AppendingMP getTimedAppendingMP(String append, String location) {
+    ComponentLocation componentLocation = mock(ComponentLocation.class);
+    when(componentLocation.getLocation()).thenReturn(location);
+    return new NonBlockingAppendingMP(append) {
+
+      @Override
+      public ComponentLocation getLocation() {
+        return componentLocation;
+      }
+    };
+  }
+
   static class TestNonIntercepting implements Processor {
 
     @Override
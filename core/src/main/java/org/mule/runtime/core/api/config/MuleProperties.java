@@ -195,6 +195,26 @@ public class MuleProperties {
   public static final String MULE_SECURITY_PROVIDER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "security.provider";
   public static final String MULE_STREAMING_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "streaming.bufferSize";
   public static final String MULE_STREAMING_MAX_MEMORY = SYSTEM_PROPERTY_PREFIX + "max.streaming.memory";
+  public static final String MULE_STREAMING_BUFFER_MANAGER = SYSTEM_PROPERTY_PREFIX + "streaming.bufferManager";
+  public static final String MULE_STREAMING_DIRECT_BUFFERS = SYSTEM_PROPERTY_PREFIX + "streaming.directBuffers";
+  public static final String MULE_OBJECT_STORE_LOG_STRUCTURED = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured";
+  public static final String MULE_QUEUE_MAPPED_SEGMENTS = SYSTEM_PROPERTY_PREFIX + "queue.mappedSegments";
+  public static final String MULE_QUEUE_SEGMENT_SIZE = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+  public static final String MULE_QUEUE_SYNC_POLICY = SYSTEM_PROPERTY_PREFIX + "queue.syncPolicy";
+  public static final String MULE_QUEUE_SYNC_BATCH_SIZE = SYSTEM_PROPERTY_PREFIX + "queue.syncBatchSize";
+  public static final String MULE_QUEUE_SYNC_INTERVAL_MILLIS = SYSTEM_PROPERTY_PREFIX + "queue.syncIntervalMillis";
+  public static final String MULE_IDEMPOTENT_BLOOM_FILTER = SYSTEM_PROPERTY_PREFIX + "idempotent.bloomFilter";
+  public static final String MULE_DYNAMIC_CONFIG_MAX_INSTANCES = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.maxInstances";
+  public static final String MULE_JOURNAL_GROUP_COMMIT = SYSTEM_PROPERTY_PREFIX + "journal.groupCommit";
+  public static final String MULE_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE =
+      SYSTEM_PROPERTY_PREFIX + "journal.groupCommit.maxBatchSize";
+  public static final String MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS =
+      SYSTEM_PROPERTY_PREFIX + "journal.groupCommit.maxLatencyMicros";
+  public static final String MULE_CONNECTION_POOL = SYSTEM_PROPERTY_PREFIX + "connection.pool";
+  public static final String MULE_NOTIFICATIONS_BATCHED = SYSTEM_PROPERTY_PREFIX + "notifications.batched";
+  public static final String MULE_NOTIFICATIONS_QUEUE_SIZE = SYSTEM_PROPERTY_PREFIX + "notifications.queueSize";
+  public static final String MULE_NOTIFICATIONS_OVERFLOW_POLICY = SYSTEM_PROPERTY_PREFIX + "notifications.overflowPolicy";
+  public static final String MULE_FLOW_ADAPTIVE_CONCURRENCY = SYSTEM_PROPERTY_PREFIX + "flow.adaptiveConcurrency";
   public static final String MULE_SIMPLE_LOG = SYSTEM_PROPERTY_PREFIX + "simpleLog";
   public static final String MULE_FORCE_CONSOLE_LOG = SYSTEM_PROPERTY_PREFIX + "forceConsoleLog";
   public static final String MULE_LOG_CONTEXT_DISPOSE_DELAY_MILLIS = SYSTEM_PROPERTY_PREFIX + "log.context.dispose.delay.millis";
@@ -6,9 +6,15 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_BATCHED;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_OVERFLOW_POLICY;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_QUEUE_SIZE;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -48,6 +54,8 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher;
+import org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowPolicy;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.privileged.context.notification.OptimisedNotificationHandler;
@@ -91,6 +99,8 @@ import org.slf4j.Logger;
 public class ServerNotificationManager implements ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
+  private static final int DEFAULT_NOTIFICATIONS_QUEUE_SIZE = 1024;
+  private static final OverflowPolicy DEFAULT_NOTIFICATIONS_OVERFLOW_POLICY = OverflowPolicy.BLOCK;
 
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
@@ -100,6 +110,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private BatchingNotificationDispatcher batchingDispatcher;
 
   @Override
   public boolean isNotificationDynamic() {
@@ -118,10 +129,34 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   /**
    * Do not make this object {@link org.mule.runtime.api.lifecycle.Initialisable}. It needs to be initialised before every other
    * object to send notifications.
+   * <p>
+   * If the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_NOTIFICATIONS_BATCHED} system property is set, asynchronous
+   * notifications are delivered through a {@link BatchingNotificationDispatcher} instead of submitting a task for each listener
+   * and notification.
    */
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
     notificationsIoScheduler = muleContext.getSchedulerService().ioScheduler();
+
+    if (getBoolean(MULE_NOTIFICATIONS_BATCHED)) {
+      batchingDispatcher =
+          new BatchingNotificationDispatcher(getInteger(MULE_NOTIFICATIONS_QUEUE_SIZE, DEFAULT_NOTIFICATIONS_QUEUE_SIZE),
+                                             getOverflowPolicy(), notificationsLiteScheduler, notificationsIoScheduler);
+    }
+  }
+
+  private OverflowPolicy getOverflowPolicy() {
+    final String overflowPolicy = getProperty(MULE_NOTIFICATIONS_OVERFLOW_POLICY);
+    if (overflowPolicy == null) {
+      return DEFAULT_NOTIFICATIONS_OVERFLOW_POLICY;
+    }
+    try {
+      return OverflowPolicy.valueOf(overflowPolicy.trim().replace('-', '_').toUpperCase());
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid value '{}' for system property {}, using {} instead", overflowPolicy,
+                  MULE_NOTIFICATIONS_OVERFLOW_POLICY, DEFAULT_NOTIFICATIONS_OVERFLOW_POLICY);
+      return DEFAULT_NOTIFICATIONS_OVERFLOW_POLICY;
+    }
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -152,6 +187,9 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    if (batchingDispatcher != null) {
+      batchingDispatcher.remove(listener);
+    }
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -191,6 +229,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (batchingDispatcher != null) {
+        notifyListeners(notification, batchingDispatcher::dispatch);
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -239,6 +279,11 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
     }
 
+    if (batchingDispatcher != null) {
+      // pending notifications of blocking listeners are delivered in the io scheduler, so this has to be done before stopping it
+      batchingDispatcher.flush();
+      batchingDispatcher = null;
+    }
     if (notificationsLiteScheduler != null) {
       notificationsLiteScheduler.stop();
       notificationsLiteScheduler = null;
@@ -285,6 +330,15 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     return disposed.get();
   }
 
+  /**
+   * @return the number of asynchronous notifications discarded because the queue of their listener was full. Always {@code 0}
+   *         unless notifications are batched.
+   */
+  public long getDroppedNotifications() {
+    final BatchingNotificationDispatcher dispatcher = batchingDispatcher;
+    return dispatcher == null ? 0 : dispatcher.getDroppedNotifications();
+  }
+
   /**
    * @return a {@link ServerNotificationManager} with the default configuration for Mule notifications
    */
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.el;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * A handle to an expression or log template which was analyzed once by an {@link ExtendedExpressionManager}, so that evaluating
+ * it for each event does not repeat that work.
+ * <p>
+ * Instances are obtained through {@link ExtendedExpressionManager#compile(String)} or
+ * {@link ExtendedExpressionManager#compileLogTemplate(String)}, usually when the component that owns the expression is
+ * initialised, and may only be evaluated by the manager that created them.
+ *
+ * @since 4.2
+ */
+@NoImplement
+public interface CompiledExpression {
+
+  /**
+   * @return the expression or template this handle was compiled from.
+   */
+  String getExpression();
+
+}
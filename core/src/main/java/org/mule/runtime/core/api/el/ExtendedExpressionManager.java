@@ -9,6 +9,7 @@ package org.mule.runtime.core.api.el;
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -83,4 +84,81 @@ public interface ExtendedExpressionManager extends ExpressionManager {
   @Deprecated
   String parse(String expression, CoreEvent event, ComponentLocation componentLocation) throws ExpressionRuntimeException;
 
+  /**
+   * Analyzes the given expression once so that it can be evaluated repeatedly through
+   * {@link #evaluate(CompiledExpression, CoreEvent, ComponentLocation, BindingContext)} without repeating that analysis.
+   *
+   * @param expression the expression to compile
+   * @return a handle to the compiled expression
+   * @since 4.2
+   */
+  default CompiledExpression compile(String expression) {
+    return () -> expression;
+  }
+
+  /**
+   * Analyzes the given log template once so that it can be parsed repeatedly through
+   * {@link #parseLogTemplate(CompiledExpression, CoreEvent, ComponentLocation, BindingContext)} without repeating that analysis.
+   *
+   * @param template the template to compile
+   * @return a handle to the compiled template
+   * @since 4.2
+   */
+  default CompiledExpression compileLogTemplate(String template) {
+    return () -> template;
+  }
+
+  /**
+   * Evaluates an expression compiled through {@link #compile(String)}.
+   *
+   * @param expression the compiled expression
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param context the bindings to consider
+   * @return the result of execution of the expression.
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   * @since 4.2
+   */
+  default TypedValue evaluate(CompiledExpression expression, CoreEvent event, ComponentLocation componentLocation,
+                              BindingContext context)
+      throws ExpressionRuntimeException {
+    return evaluate(expression.getExpression(), event, componentLocation, context);
+  }
+
+  /**
+   * Evaluates an expression compiled through {@link #compile(String)}, transforming its result to the given type.
+   *
+   * @param expression the compiled expression
+   * @param outputType the expected output type
+   * @param context the bindings to consider
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param failOnNull whether a {@code null} result is an error
+   * @return the result of execution of the expression.
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   * @since 4.2
+   */
+  default TypedValue evaluate(CompiledExpression expression, DataType outputType, BindingContext context, CoreEvent event,
+                              ComponentLocation componentLocation, boolean failOnNull)
+      throws ExpressionRuntimeException {
+    return evaluate(expression.getExpression(), outputType, context, event, componentLocation, failOnNull);
+  }
+
+  /**
+   * Parses a log template compiled through {@link #compileLogTemplate(String)}.
+   *
+   * @param template the compiled template
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param bindingContext the bindings to consider
+   * @return the result of the parsing
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expressions in the template
+   * @since 4.2
+   */
+  default String parseLogTemplate(CompiledExpression template, CoreEvent event, ComponentLocation componentLocation,
+                                  BindingContext bindingContext)
+      throws ExpressionRuntimeException {
+    return parseLogTemplate(template.getExpression(), event, componentLocation, bindingContext);
+  }
+
 }
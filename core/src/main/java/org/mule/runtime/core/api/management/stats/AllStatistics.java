@@ -6,12 +6,15 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.util.Collections.unmodifiableMap;
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.core.internal.management.stats.ApplicationStatistics;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <code>AllStatistics</code> TODO
@@ -23,6 +26,7 @@ public class AllStatistics {
   private long startTime;
   private ApplicationStatistics appStats;
   private Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<String, FlowConstructStatistics>();
+  private final ConcurrentMap<String, ComponentStatistics> processorStats = new ConcurrentHashMap<>();
 
   /**
    * 
@@ -38,6 +42,9 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : getServiceStatistics()) {
       statistics.clear();
     }
+    for (ComponentStatistics statistics : processorStats.values()) {
+      statistics.clear();
+    }
     startTime = System.currentTimeMillis();
   }
 
@@ -57,6 +64,9 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : flowConstructStats.values()) {
       statistics.setEnabled(b);
     }
+    for (ComponentStatistics statistics : processorStats.values()) {
+      statistics.setEnabled(b);
+    }
   }
 
   public synchronized long getStartTime() {
@@ -86,4 +96,28 @@ public class AllStatistics {
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
+
+  /**
+   * Provides the statistics of the processor at the given location, creating them if needed. The execution times of processors
+   * are recorded in milliseconds, like those of flows.
+   *
+   * @param location the location of a processor in the application
+   * @return the statistics of the processor
+   * @since 4.2
+   */
+  public ComponentStatistics getProcessorStatistics(String location) {
+    return processorStats.computeIfAbsent(location, l -> {
+      ComponentStatistics statistics = new ComponentStatistics();
+      statistics.setEnabled(isStatisticsEnabled);
+      return statistics;
+    });
+  }
+
+  /**
+   * @return the statistics of the processors that have been executed while statistics were enabled, by location
+   * @since 4.2
+   */
+  public Map<String, ComponentStatistics> getProcessorStatistics() {
+    return unmodifiableMap(processorStats);
+  }
 }
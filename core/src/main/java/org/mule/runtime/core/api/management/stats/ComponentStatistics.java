@@ -6,15 +6,24 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.lang.System.currentTimeMillis;
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.core.api.util.StringUtils;
+import org.mule.runtime.core.internal.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not thread-safe -
- * occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api.
+ * <p>
+ * Recording an execution time only updates striped counters and a {@link LatencyHistogram}, without locking, so statistics may
+ * be kept enabled under load. The flip side is that the values read while executions are being recorded, or while the
+ * {@link #clear()} method is running, may not be consistent with each other.
  */
 @NoExtend
 public class ComponentStatistics implements Statistics {
@@ -24,16 +33,16 @@ public class ComponentStatistics implements Statistics {
   /**
    * Serial version
    */
-  private static final long serialVersionUID = -2086999226732861674L;
-
-  private long minExecutionTime = 0;
-  private long maxExecutionTime = 0;
-  private long averageExecutionTime = 0;
-  private long executedEvent = 0;
-  private long totalExecTime = 0;
-  private boolean enabled = false;
+  private static final long serialVersionUID = -2086999226732861675L;
+
+  private final LongAccumulator minExecutionTime = new LongAccumulator(Long::min, Long.MAX_VALUE);
+  private final LongAccumulator maxExecutionTime = new LongAccumulator(Long::max, 0);
+  private final LongAdder executedEvent = new LongAdder();
+  private final LongAdder totalExecTime = new LongAdder();
+  private final LatencyHistogram executionTimes = new LatencyHistogram();
+  private volatile boolean enabled = false;
   private long intervalTime = 0;
-  private long currentIntervalStartTime = 0;
+  private final AtomicLong currentIntervalStartTime = new AtomicLong();
   private boolean statIntervalTimeEnabled = false;
 
   /**
@@ -65,11 +74,11 @@ public class ComponentStatistics implements Statistics {
    * If called while a branch is being executed, then statistics may be slightly erroneous.
    */
   public void clear() {
-    minExecutionTime = 0;
-    maxExecutionTime = 0;
-    executedEvent = 0;
-    totalExecTime = 0;
-    averageExecutionTime = 0;
+    minExecutionTime.reset();
+    maxExecutionTime.reset();
+    executedEvent.reset();
+    totalExecTime.reset();
+    executionTimes.reset();
   }
 
   /**
@@ -102,7 +111,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been started.
    */
   public long getMaxExecutionTime() {
-    return maxExecutionTime;
+    return maxExecutionTime.get();
   }
 
   /**
@@ -111,7 +120,8 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been completed.
    */
   public long getMinExecutionTime() {
-    return minExecutionTime;
+    final long min = minExecutionTime.get();
+    return min == Long.MAX_VALUE ? 0 : min;
   }
 
   /**
@@ -121,7 +131,7 @@ public class ComponentStatistics implements Statistics {
    * @return The total cumulative execution time, in milliseconds.
    */
   public long getTotalExecutionTime() {
-    return totalExecTime;
+    return totalExecTime.sum();
   }
 
   /**
@@ -133,7 +143,19 @@ public class ComponentStatistics implements Statistics {
    * @return The number of events executed since last cleared.
    */
   public long getExecutedEvents() {
-    return executedEvent;
+    return executedEvent.sum();
+  }
+
+  /**
+   * The distribution of the complete execution times of the events since last cleared.
+   * <p/>
+   * When branch times are recorded, only the times reported through {@link #addCompleteExecutionTime(long)} are part of it.
+   *
+   * @return a snapshot of the execution times, in milliseconds, which can be taken without blocking the recording of new ones.
+   * @since 4.2
+   */
+  public LatencySnapshot getExecutionTimeSnapshot() {
+    return executionTimes.snapshot();
   }
 
   /**
@@ -143,34 +165,20 @@ public class ComponentStatistics implements Statistics {
    * @param branch the time to execute this branch
    * @param total the total time (so far) for processing this event
    */
-  public synchronized void addExecutionBranchTime(boolean first, long branch, long total) {
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
     // TODO MULE-9151 - ComponentStatistics should really create distinct Event
     // objects that can be used to aggregate statistics and then atomically
     // log them at completion time.
 
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+    resetIfIntervalElapsed();
 
     if (first) {
-      executedEvent++;
+      executedEvent.increment();
     }
 
-    if (executedEvent > 0) {
-      totalExecTime += ProcessingTime.getEffectiveTime(branch);
-      long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-      if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime) {
-        maxExecutionTime = effectiveTotal;
-      }
-      averageExecutionTime = totalExecTime / executedEvent;
+    if (executedEvent.sum() > 0) {
+      totalExecTime.add(ProcessingTime.getEffectiveTime(branch));
+      maxExecutionTime.accumulate(ProcessingTime.getEffectiveTime(total));
     }
   }
 
@@ -181,12 +189,11 @@ public class ComponentStatistics implements Statistics {
    * 
    * @param time the total time required to process this event
    */
-  public synchronized void addCompleteExecutionTime(long time) {
-    if (executedEvent > 0) {
+  public void addCompleteExecutionTime(long time) {
+    if (executedEvent.sum() > 0) {
       long effectiveTime = ProcessingTime.getEffectiveTime(time);
-      if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-        minExecutionTime = effectiveTime;
-      }
+      minExecutionTime.accumulate(effectiveTime);
+      executionTimes.record(effectiveTime);
     }
   }
 
@@ -195,33 +202,31 @@ public class ComponentStatistics implements Statistics {
    * <p/>
    * Do not use when reporting branch execution times; instead see {@link #addCompleteExecutionTime(long)}.
    *
-   * @param time The total event time to be logged/recorded.
+   * @param time The total event time to be logged/recorded, in milliseconds.
    */
-  public synchronized void addExecutionTime(long time) {
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+  public void addExecutionTime(long time) {
+    resetIfIntervalElapsed();
 
-    executedEvent++;
+    executedEvent.increment();
 
     long effectiveTime = ProcessingTime.getEffectiveTime(time);
-    totalExecTime += effectiveTime;
+    totalExecTime.add(effectiveTime);
+    minExecutionTime.accumulate(effectiveTime);
+    maxExecutionTime.accumulate(effectiveTime);
+    executionTimes.record(effectiveTime);
+  }
 
-    if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-      minExecutionTime = time;
-    }
-    if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime) {
-      maxExecutionTime = time;
+  private void resetIfIntervalElapsed() {
+    if (statIntervalTimeEnabled) {
+      long currentTime = currentTimeMillis();
+      currentIntervalStartTime.compareAndSet(0, currentTime);
+
+      long intervalStartTime = currentIntervalStartTime.get();
+      if ((currentTime - intervalStartTime) > intervalTime
+          && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime)) {
+        clear();
+      }
     }
-    averageExecutionTime = totalExecTime / executedEvent;
   }
 
   /**
@@ -230,7 +235,8 @@ public class ComponentStatistics implements Statistics {
    * @return the total event time accumulated to this point, divided by the total number of events recorded.
    */
   public long getAverageExecutionTime() {
-    return averageExecutionTime;
+    final long events = executedEvent.sum();
+    return events == 0 ? 0 : totalExecTime.sum() / events;
   }
 
 }
@@ -64,6 +64,33 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalProcessingTime();
 
+  /**
+   * @return the distribution of the time required to process an event, which can be taken without blocking the threads that
+   *         record it.
+   * @since 4.2
+   */
+  LatencySnapshot getProcessingTimeSnapshot();
+
+  /**
+   * @return the number of events the flow currently allows to be processed concurrently when its concurrency is adaptively
+   *         limited, or {@code -1} if it isn't.
+   * @since 4.2
+   */
+  int getConcurrencyLimit();
+
+  /**
+   * @return the number of events of the flow currently waiting for a busy shared scheduler to have room for them.
+   * @since 4.2
+   */
+  int getEventsWaitingForScheduler();
+
+  /**
+   * @return the distribution of the time, in nanoseconds, the events of the flow had to wait for a busy shared scheduler to
+   *         have room for them.
+   * @since 4.2
+   */
+  LatencySnapshot getSchedulerWaitTimeSnapshot();
+
   /**
    * @return the number of execution errors at a given time
    */
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * A point in time view of the distribution of the latencies recorded by a statistic.
+ * <p>
+ * Latencies are counted in buckets whose width is proportional to the magnitude of the values they hold, so percentiles are
+ * reported with a relative error of at most 1/16th of their value.
+ *
+ * @since 4.2
+ */
+@NoImplement
+public interface LatencySnapshot {
+
+  /**
+   * @return the number of recorded latencies
+   */
+  long getCount();
+
+  /**
+   * @return the lowest recorded latency, or {@code 0} if none was recorded
+   */
+  long getMin();
+
+  /**
+   * @return the highest recorded latency, or {@code 0} if none was recorded
+   */
+  long getMax();
+
+  /**
+   * @return the average of the recorded latencies, rounded downwards, or {@code 0} if none was recorded
+   */
+  long getMean();
+
+  /**
+   * @param percentile a value between 0 and 100
+   * @return the latency below or at which the given percentage of the recorded ones fall, or {@code 0} if none was recorded
+   */
+  long getPercentile(double percentile);
+
+  /**
+   * @return a snapshot with the latencies of this one and the given one
+   */
+  LatencySnapshot merge(LatencySnapshot other);
+}
@@ -39,4 +39,34 @@ public interface PolicyProvider {
    */
   List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters);
 
+  /**
+   * Registers a callback to be invoked every time a policy is added to or removed from this provider, after the change is
+   * visible to {@link #findSourceParameterizedPolicies(PolicyPointcutParameters)} and
+   * {@link #findOperationParameterizedPolicies(PolicyPointcutParameters)}.
+   * <p>
+   * Only invoked by implementations that {@link #supportsChangeNotification() support change notification}. The default
+   * implementation does nothing.
+   *
+   * @param policiesChangedCallback the callback to invoke when the policies change
+   * @since 4.2
+   */
+  default void onPoliciesChanged(Runnable policiesChangedCallback) {
+    // Nothing to do, changes are not notified
+  }
+
+  /**
+   * Whether this provider invokes the callbacks registered through {@link #onPoliciesChanged(Runnable)} every time its
+   * policies change.
+   * <p>
+   * Users of this provider may keep the policies found for a component until the callback is invoked only when this returns
+   * {@code true}. Otherwise, the policies are looked up again every time they are needed.
+   *
+   * @return {@code true} if changes of the policies are notified, {@code false} otherwise. The default implementation returns
+   *         {@code false}.
+   * @since 4.2
+   */
+  default boolean supportsChangeNotification() {
+    return false;
+  }
+
 }
@@ -6,6 +6,11 @@
  */
 package org.mule.runtime.core.api.streaming;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.getProperty;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_BUFFER_MANAGER;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_DIRECT_BUFFERS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
@@ -25,9 +30,11 @@ import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteStreamingManager;
 import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 import org.mule.runtime.core.internal.streaming.CursorManager;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
+import org.mule.runtime.core.internal.streaming.bytes.MagazineByteBufferManager;
 import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -42,6 +49,7 @@ import org.slf4j.Logger;
 public class DefaultStreamingManager implements StreamingManager, Initialisable, Disposable {
 
   private static final Logger LOGGER = getLogger(DefaultStreamingManager.class);
+  private static final String MAGAZINE_BUFFER_MANAGER = "magazine";
 
   private ByteBufferManager bufferManager;
   private ByteStreamingManager byteStreamingManager;
@@ -68,7 +76,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
       disposalScheduler =
           schedulerService.cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig().withName("StreamingManager-dispose"));
       cursorManager = new CursorManager(statistics, disposalScheduler);
-      bufferManager = new PoolingByteBufferManager();
+      bufferManager = createByteBufferManager();
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
@@ -78,6 +86,23 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     }
   }
 
+  /**
+   * Creates the {@link ByteBufferManager} to be used by the byte streaming components. By default a
+   * {@link PoolingByteBufferManager} is used. A {@link MagazineByteBufferManager} is used instead if the
+   * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_STREAMING_BUFFER_MANAGER} system property is set to
+   * {@code magazine}.
+   *
+   * @return a new {@link ByteBufferManager}
+   */
+  protected ByteBufferManager createByteBufferManager() {
+    if (MAGAZINE_BUFFER_MANAGER.equalsIgnoreCase(getProperty(MULE_STREAMING_BUFFER_MANAGER))) {
+      return new MagazineByteBufferManager(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT,
+                                           getBoolean(MULE_STREAMING_DIRECT_BUFFERS));
+    }
+
+    return new PoolingByteBufferManager();
+  }
+
   protected ByteStreamingManager createByteStreamingManager() {
     return new DefaultByteStreamingManager(bufferManager, this);
   }
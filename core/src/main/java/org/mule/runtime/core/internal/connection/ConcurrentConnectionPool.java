@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.api.config.PoolingProfile;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.pool.BaseObjectPool;
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+
+/**
+ * An {@link ObjectPool} of connections configured through a {@link PoolingProfile} which, unlike
+ * {@link org.apache.commons.pool.impl.GenericObjectPool}, doesn't serialize borrowers and returners on a single monitor.
+ * <p>
+ * Pooled connections are kept in a concurrent bag where each one has an atomic state. Borrowing a connection is done by
+ * atomically claiming an idle one, trying first the last connection used by the current thread and then scanning the rest. When
+ * the pool is exhausted, borrowers wait on a monitor which is only notified when a connection is returned or room for a new one
+ * is made, and only if there's someone waiting. As in {@link org.apache.commons.pool.impl.GenericObjectPool} with its default
+ * settings, connections which have been idle for too long are evicted in the background, without validating the rest of them
+ * and without blocking borrowers.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.2
+ */
+final class ConcurrentConnectionPool<C> extends BaseObjectPool<C> {
+
+  private static final Logger LOGGER = getLogger(ConcurrentConnectionPool.class);
+
+  private static final int IDLE = 0;
+  private static final int IN_USE = 1;
+  private static final int RESERVED = 2;
+  private static final int REMOVED = 3;
+
+  private final PoolableObjectFactory<C> factory;
+  private final ConnectionPoolMetrics metrics;
+  private final int maxActive;
+  private final int maxIdle;
+  private final long maxWaitNanos;
+  private final int exhaustedAction;
+  private final long minEvictableIdleNanos;
+
+  private final CopyOnWriteArrayList<PooledConnection<C>> connections = new CopyOnWriteArrayList<>();
+  private final ConcurrentMap<IdentityKey, PooledConnection<C>> connectionsByIdentity = new ConcurrentHashMap<>();
+  private final ThreadLocal<WeakReference<PooledConnection<C>>> lastUsed = new ThreadLocal<>();
+  private final Object waitersMonitor = new Object();
+
+  private final AtomicInteger total = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicInteger idle = new AtomicInteger();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final AtomicLong signals = new AtomicLong();
+
+  private final ScheduledFuture<?> evictionTask;
+
+  /**
+   * Creates a new instance
+   *
+   * @param factory the factory used to create and destroy the connections
+   * @param poolingProfile the {@link PoolingProfile} which configures this pool
+   * @param metrics the {@link ConnectionPoolMetrics} where to record the time borrowers spend waiting
+   * @param evictionExecutor the executor, shared by all pools, in which eviction runs are scheduled. May be {@code null} if the
+   *        {@code poolingProfile} doesn't enable them.
+   */
+  ConcurrentConnectionPool(PoolableObjectFactory<C> factory, PoolingProfile poolingProfile, ConnectionPoolMetrics metrics,
+                           ScheduledExecutorService evictionExecutor) {
+    this.factory = factory;
+    this.metrics = metrics;
+    maxActive = poolingProfile.getMaxActive();
+    maxIdle = poolingProfile.getMaxIdle();
+    maxWaitNanos = MILLISECONDS.toNanos(poolingProfile.getMaxWait());
+    exhaustedAction = poolingProfile.getExhaustedAction();
+    minEvictableIdleNanos = MILLISECONDS.toNanos(poolingProfile.getMinEvictionMillis());
+
+    final long evictionInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    if (evictionInterval > 0 && evictionExecutor != null) {
+      evictionTask = evictionExecutor.scheduleWithFixedDelay(this::evictSafely, evictionInterval, evictionInterval, MILLISECONDS);
+    } else {
+      evictionTask = null;
+    }
+  }
+
+  @Override
+  public C borrowObject() throws Exception {
+    assertOpen();
+
+    PooledConnection<C> connection = acquireIdle();
+    if (connection != null) {
+      return connection.connection;
+    }
+
+    if (reserveCapacity()) {
+      return create().connection;
+    }
+
+    if (exhaustedAction == WHEN_EXHAUSTED_FAIL) {
+      throw new NoSuchElementException("Pool exhausted");
+    } else if (exhaustedAction == WHEN_EXHAUSTED_GROW) {
+      total.incrementAndGet();
+      return create().connection;
+    }
+
+    return awaitConnection().connection;
+  }
+
+  private PooledConnection<C> awaitConnection() throws Exception {
+    final long waitStart = nanoTime();
+    final long deadline = waitStart + maxWaitNanos;
+
+    waiters.incrementAndGet();
+    try {
+      while (true) {
+        // read before looking for a connection, so that one returned meanwhile doesn't go unnoticed
+        final long observedSignals = signals.get();
+        assertOpen();
+
+        PooledConnection<C> connection = acquireIdle();
+        if (connection != null) {
+          return connection;
+        }
+        if (reserveCapacity()) {
+          break;
+        }
+
+        long remaining = 0;
+        if (maxWaitNanos > 0) {
+          remaining = deadline - nanoTime();
+          if (remaining <= 0) {
+            throw new NoSuchElementException("Timeout waiting for idle object");
+          }
+        }
+        synchronized (waitersMonitor) {
+          if (signals.get() == observedSignals) {
+            if (maxWaitNanos > 0) {
+              NANOSECONDS.timedWait(waitersMonitor, remaining);
+            } else {
+              waitersMonitor.wait();
+            }
+          }
+        }
+      }
+    } finally {
+      waiters.decrementAndGet();
+      metrics.recordWait(nanoTime() - waitStart);
+    }
+
+    return create();
+  }
+
+  private PooledConnection<C> acquireIdle() {
+    final WeakReference<PooledConnection<C>> lastUsedReference = lastUsed.get();
+    if (lastUsedReference != null) {
+      final PooledConnection<C> connection = lastUsedReference.get();
+      if (connection != null && claim(connection)) {
+        return connection;
+      }
+    }
+
+    for (PooledConnection<C> connection : connections) {
+      if (claim(connection)) {
+        return connection;
+      }
+    }
+
+    return null;
+  }
+
+  private boolean claim(PooledConnection<C> connection) {
+    if (connection.compareAndSet(IDLE, IN_USE)) {
+      idle.decrementAndGet();
+      active.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private boolean reserveCapacity() {
+    if (maxActive < 0) {
+      total.incrementAndGet();
+      return true;
+    }
+
+    while (true) {
+      final int current = total.get();
+      if (current >= maxActive) {
+        return false;
+      }
+      if (total.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private PooledConnection<C> create() throws Exception {
+    final C connection;
+    try {
+      connection = factory.makeObject();
+    } catch (Exception | Error e) {
+      total.decrementAndGet();
+      signal();
+      throw e;
+    }
+
+    final PooledConnection<C> pooled = new PooledConnection<>(connection);
+    active.incrementAndGet();
+    connectionsByIdentity.put(new IdentityKey(connection), pooled);
+    connections.add(pooled);
+    return pooled;
+  }
+
+  @Override
+  public void returnObject(C connection) throws Exception {
+    final PooledConnection<C> pooled = connectionsByIdentity.get(new IdentityKey(connection));
+    if (pooled == null || !pooled.compareAndSet(IN_USE, RESERVED)) {
+      LOGGER.warn("Connection {} returned to a pool it doesn't belong to or which it was already returned to", connection);
+      return;
+    }
+
+    active.decrementAndGet();
+    if (isClosed() || (maxIdle >= 0 && waiters.get() == 0 && idle.get() >= maxIdle)) {
+      remove(pooled);
+      return;
+    }
+
+    pooled.lastReturned = nanoTime();
+    idle.incrementAndGet();
+    pooled.set(IDLE);
+    lastUsed.set(pooled.reference);
+
+    signal();
+  }
+
+  /**
+   * Wakes up a waiting borrower, if any, after a connection became idle or room for a new one was made. The borrower retries
+   * claiming a connection before giving up, so the signal isn't lost even if its wait timed out meanwhile.
+   */
+  private void signal() {
+    signals.incrementAndGet();
+    if (waiters.get() > 0) {
+      synchronized (waitersMonitor) {
+        waitersMonitor.notify();
+      }
+    }
+  }
+
+  @Override
+  public void invalidateObject(C connection) throws Exception {
+    final PooledConnection<C> pooled = connectionsByIdentity.get(new IdentityKey(connection));
+    if (pooled == null) {
+      factory.destroyObject(connection);
+    } else {
+      remove(pooled);
+    }
+  }
+
+  private void remove(PooledConnection<C> pooled) {
+    final int previousState = pooled.getAndSet(REMOVED);
+    if (previousState == REMOVED) {
+      return;
+    } else if (previousState == IN_USE) {
+      active.decrementAndGet();
+    } else if (previousState == IDLE) {
+      idle.decrementAndGet();
+    }
+
+    connectionsByIdentity.remove(new IdentityKey(pooled.connection));
+    connections.remove(pooled);
+    total.decrementAndGet();
+
+    try {
+      factory.destroyObject(pooled.connection);
+    } catch (Exception e) {
+      LOGGER.warn("Error destroying pooled connection", e);
+    } finally {
+      signal();
+    }
+  }
+
+  /**
+   * Runs a single eviction pass over the idle connections, destroying those which have been idle for longer than the minimum
+   * eviction time. Each connection is taken out of the pool only if it's going to be destroyed, so borrowers can still use the
+   * rest of them.
+   */
+  void evict() {
+    if (minEvictableIdleNanos <= 0) {
+      return;
+    }
+
+    for (PooledConnection<C> connection : connections) {
+      if (isClosed()) {
+        return;
+      }
+      if (!isEvictable(connection) || !connection.compareAndSet(IDLE, RESERVED)) {
+        continue;
+      }
+
+      // it may have been borrowed and returned since it was checked
+      if (isEvictable(connection)) {
+        idle.decrementAndGet();
+        remove(connection);
+      } else {
+        connection.set(IDLE);
+        signal();
+      }
+    }
+  }
+
+  private boolean isEvictable(PooledConnection<C> connection) {
+    return nanoTime() - connection.lastReturned > minEvictableIdleNanos;
+  }
+
+  private void evictSafely() {
+    try {
+      evict();
+    } catch (Throwable t) {
+      LOGGER.warn("Error evicting pooled connections", t);
+    }
+  }
+
+  @Override
+  public int getNumIdle() {
+    return idle.get();
+  }
+
+  @Override
+  public int getNumActive() {
+    return active.get();
+  }
+
+  @Override
+  public void clear() {
+    for (PooledConnection<C> connection : connections) {
+      if (connection.compareAndSet(IDLE, RESERVED)) {
+        idle.decrementAndGet();
+        remove(connection);
+      }
+    }
+  }
+
+  /**
+   * Closes this pool, destroying its idle connections. Connections which are in use are destroyed when they are returned, and
+   * borrowers waiting for a connection are woken up with an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() throws Exception {
+    super.close();
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
+
+    clear();
+
+    signals.incrementAndGet();
+    synchronized (waitersMonitor) {
+      waitersMonitor.notifyAll();
+    }
+  }
+
+  private static final class PooledConnection<C> extends AtomicInteger {
+
+    private static final long serialVersionUID = 1L;
+
+    private final C connection;
+    private final WeakReference<PooledConnection<C>> reference = new WeakReference<>(this);
+    private volatile long lastReturned;
+
+    private PooledConnection(C connection) {
+      super(IN_USE);
+      this.connection = connection;
+    }
+  }
+
+  /**
+   * Identifies a connection regardless of how it implements {@link Object#equals(Object)}.
+   */
+  private static final class IdentityKey {
+
+    private final Object connection;
+
+    private IdentityKey(Object connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof IdentityKey && ((IdentityKey) obj).connection == connection;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(connection);
+    }
+  }
+}
@@ -16,6 +16,7 @@ import org.mule.runtime.api.connection.CachedConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.PoolingConnectionProvider;
 import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
 
@@ -28,6 +29,7 @@ final class ConnectionManagementStrategyFactory {
 
   private final PoolingProfile defaultPoolingProfile;
   private final MuleContext muleContext;
+  private Scheduler evictionScheduler;
 
   /**
    * Creates a new instance
@@ -80,7 +82,26 @@ final class ConnectionManagementStrategyFactory {
         : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
                                                     (PoolingListener<C>) unwrapProviderWrapper(connectionProvider,
                                                                                                PoolingConnectionProvider.class),
-                                                    muleContext);
+                                                    muleContext, this::getEvictionScheduler);
+  }
+
+  private synchronized Scheduler getEvictionScheduler() {
+    if (evictionScheduler == null) {
+      evictionScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName("connection-pool-eviction"));
+    }
+    return evictionScheduler;
+  }
+
+  /**
+   * Stops the {@link Scheduler} in which the pools created by this factory evict their idle connections. It's created again if
+   * a pool created afterwards needs it.
+   */
+  synchronized void stop() {
+    if (evictionScheduler != null) {
+      evictionScheduler.stop();
+      evictionScheduler = null;
+    }
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
+import org.mule.runtime.core.internal.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.pool.ObjectPool;
+
+/**
+ * Live metrics of a pool of connections.
+ * <p>
+ * The time spent waiting for a connection to be returned to an exhausted pool is only measured separately from the borrow
+ * latency by the pools that support it. With any other pool, the wait is only reflected in the borrow latency.
+ *
+ * @since 4.2
+ */
+public final class ConnectionPoolMetrics {
+
+  private final LatencyHistogram borrowLatency = new LatencyHistogram();
+  private final LongAdder failedBorrows = new LongAdder();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+
+  private volatile ObjectPool<?> pool;
+
+  void setPool(ObjectPool<?> pool) {
+    this.pool = pool;
+  }
+
+  void recordBorrow(long nanos) {
+    borrowLatency.record(nanos);
+  }
+
+  void recordFailedBorrow() {
+    failedBorrows.increment();
+  }
+
+  void recordWait(long nanos) {
+    waits.increment();
+    waitNanos.add(nanos);
+  }
+
+  /**
+   * @return the distribution of the time it took to borrow a connection, including the time to create it or wait for it, in
+   *         nanoseconds.
+   */
+  public LatencySnapshot getBorrowLatency() {
+    return borrowLatency.snapshot();
+  }
+
+  /**
+   * @return the number of connections successfully borrowed
+   */
+  public long getBorrowCount() {
+    return borrowLatency.getCount();
+  }
+
+  /**
+   * @return the number of times a connection could not be borrowed, either because the pool was exhausted or because it could not
+   *         be created.
+   */
+  public long getFailedBorrowCount() {
+    return failedBorrows.sum();
+  }
+
+  /**
+   * @return the number of times a borrower had to wait for a connection to become available
+   */
+  public long getWaitCount() {
+    return waits.sum();
+  }
+
+  /**
+   * @return the total time borrowers spent waiting for a connection to become available
+   */
+  public long getTotalWaitNanos() {
+    return waitNanos.sum();
+  }
+
+  /**
+   * @return the number of connections currently borrowed from the pool
+   */
+  public int getNumActive() {
+    final ObjectPool<?> currentPool = pool;
+    return currentPool == null ? 0 : currentPool.getNumActive();
+  }
+
+  /**
+   * @return the number of connections currently idle in the pool
+   */
+  public int getNumIdle() {
+    final ObjectPool<?> currentPool = pool;
+    return currentPool == null ? 0 : currentPool.getNumIdle();
+  }
+}
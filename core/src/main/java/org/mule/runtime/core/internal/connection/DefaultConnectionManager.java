@@ -252,6 +252,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
     try {
       connections.values().stream().forEach(this::close);
       connections.clear();
+      managementStrategyFactory.stop();
     } finally {
       writeLock.unlock();
     }
@@ -6,17 +6,23 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONNECTION_POOL;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingListener;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
@@ -24,15 +30,24 @@ import org.apache.commons.pool.impl.GenericObjectPool;
 
 /**
  * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link #pool}
+ * <p>
+ * By default, the {@link #pool} is a {@link GenericObjectPool}. A {@link ConcurrentConnectionPool} is used instead if the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_CONNECTION_POOL} system property is set to {@code concurrent}. In
+ * both cases, the {@link ConnectionPoolMetrics} of the pool are handed to the {@link #poolingListener} if it is a
+ * {@link PoolingMetricsListener}.
  *
  * @param <C> the generic type of the connections to be managed
  * @since 4.0
  */
 final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
 
+  private static final String CONCURRENT_POOL = "concurrent";
+
   private final PoolingProfile poolingProfile;
   private final ObjectPool<C> pool;
   private final PoolingListener<C> poolingListener;
+  private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+  private final Supplier<Scheduler> evictionScheduler;
 
   /**
    * Creates a new instance
@@ -41,13 +56,21 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
    * @param poolingProfile the {@link PoolingProfile} which configures the {@link #pool}
    * @param poolingListener a {@link PoolingListener}
    * @param muleContext the application's {@link MuleContext}
+   * @param evictionScheduler supplies the {@link Scheduler}, shared by all the pools, in which idle connections are evicted
    */
   PoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
-                                      PoolingListener<C> poolingListener, MuleContext muleContext) {
+                                      PoolingListener<C> poolingListener, MuleContext muleContext,
+                                      Supplier<Scheduler> evictionScheduler) {
     super(connectionProvider, muleContext);
     this.poolingProfile = poolingProfile;
     this.poolingListener = poolingListener;
+    this.evictionScheduler = evictionScheduler;
     pool = createPool();
+    metrics.setPool(pool);
+
+    if (poolingListener instanceof PoolingMetricsListener) {
+      ((PoolingMetricsListener<C>) poolingListener).onPoolCreated(metrics);
+    }
   }
 
   /**
@@ -70,7 +93,16 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   private C borrowConnection() throws Exception {
-    C connection = pool.borrowObject();
+    final long start = nanoTime();
+    C connection;
+    try {
+      connection = pool.borrowObject();
+    } catch (Exception e) {
+      metrics.recordFailedBorrow();
+      throw e;
+    }
+    metrics.recordBorrow(nanoTime() - start);
+
     try {
       poolingListener.onBorrow(connection);
     } catch (Exception e) {
@@ -97,6 +129,11 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   private ObjectPool<C> createPool() {
+    if (CONCURRENT_POOL.equalsIgnoreCase(getProperty(MULE_CONNECTION_POOL))) {
+      return new ConcurrentConnectionPool<>(new ObjectFactoryAdapter(), poolingProfile, metrics,
+                                            poolingProfile.getEvictionCheckIntervalMillis() > 0 ? evictionScheduler.get() : null);
+    }
+
     GenericObjectPool.Config config = new GenericObjectPool.Config();
     config.maxIdle = poolingProfile.getMaxIdle();
     config.maxActive = poolingProfile.getMaxActive();
@@ -113,6 +150,14 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     return poolingProfile;
   }
 
+  ObjectPool<C> getPool() {
+    return pool;
+  }
+
+  ConnectionPoolMetrics getMetrics() {
+    return metrics;
+  }
+
   private class ObjectFactoryAdapter implements PoolableObjectFactory<C> {
 
     @Override
@@ -126,8 +171,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
 
     @Override
-    public boolean validateObject(C obj) {
-      return false;
+    public boolean validateObject(C connection) {
+      ConnectionValidationResult result = connectionProvider.validate(connection);
+      return result != null && result.isValid();
     }
 
     @Override
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import org.mule.runtime.api.connection.PoolingListener;
+
+/**
+ * A {@link PoolingListener} which also gets access to the metrics of the pool it listens to.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.2
+ */
+public interface PoolingMetricsListener<C> extends PoolingListener<C> {
+
+  /**
+   * Invoked when the pool this listener is bound to is created.
+   *
+   * @param metrics the live metrics of the pool
+   */
+  void onPoolCreated(ConnectionPoolMetrics metrics);
+}
@@ -6,13 +6,17 @@
  */
 package org.mule.runtime.core.internal.construct;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createInfo;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_COMPLETE;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_END;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_START;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_ADAPTIVE_CONCURRENCY;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Unhandleable.OVERLOAD;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -46,6 +50,7 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
@@ -86,6 +91,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private volatile boolean canProcessMessage = false;
   private Sink sink;
   private final int maxConcurrency;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
   private final ComponentInitialStateManager componentInitialStateManager;
 
   public AbstractPipeline(String name, MuleContext muleContext, MessageSource source, List<Processor> processors,
@@ -105,6 +111,14 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     this.componentInitialStateManager = componentInitialStateManager;
     this.processors = unmodifiableList(processors);
     this.maxConcurrency = maxConcurrency;
+    if (getBoolean(MULE_FLOW_ADAPTIVE_CONCURRENCY)) {
+      concurrencyLimiter = new AdaptiveConcurrencyLimiter(maxConcurrency, nanoTime());
+      if (flowConstructStatistics instanceof DefaultFlowConstructStatistics) {
+        ((DefaultFlowConstructStatistics) flowConstructStatistics).setConcurrencyLimit(concurrencyLimiter::getLimit);
+      }
+    } else {
+      concurrencyLimiter = null;
+    }
 
     ProcessingStrategyFactory psFactory = processingStrategyFactory.orElseGet(() -> defaultProcessingStrategy());
     if (psFactory instanceof AsyncProcessingStrategyFactory) {
@@ -213,21 +227,48 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
       // If back-pressure strategy is WAIT then use blocking `accept(Event event)` to dispatch Event
       return publisher -> Mono.from(publisher)
           .flatMap(event -> {
+            final long start = nanoTime();
+            if (concurrencyLimiter != null) {
+              // The source waits for the adaptive concurrency limit of the flow the same way it waits for room in the sink.
+              try {
+                concurrencyLimiter.acquire();
+              } catch (InterruptedException e) {
+                currentThread().interrupt();
+                return backPressureError(event, new FlowBackPressureException(getName(), e));
+              }
+            }
             try {
               sink.accept(event);
             } catch (RejectedExecutionException ree) {
-              Throwable overloadException = new FlowBackPressureException(getName(), ree);
-              MessagingException me = new MessagingException(event, overloadException, this);
-              ((BaseEventContext) event.getContext()).error(exceptionResolver.resolve(me, getMuleContext()));
+              if (concurrencyLimiter != null) {
+                concurrencyLimiter.overloaded();
+              }
+              return backPressureError(event, new FlowBackPressureException(getName(), ree));
+            } catch (RuntimeException | Error e) {
+              discardSlot();
+              throw e;
             }
-            return Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher());
+            return responsePublisher(event, start);
           });
     } else {
       // If back-pressure strategy is FAIL/DROP then using back-pressure aware `emit(Event event)` to dispatch Event
       return publisher -> Mono.from(publisher).flatMap(event -> {
-        if (sink.emit(event)) {
-          return Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher());
+        final long start = nanoTime();
+        // The event is not dispatched if the adaptive concurrency limit of the flow has been reached.
+        final boolean acquired = concurrencyLimiter == null || concurrencyLimiter.tryAcquire();
+        final boolean emitted;
+        try {
+          emitted = acquired && sink.emit(event);
+        } catch (RuntimeException | Error e) {
+          discardSlot();
+          throw e;
+        }
+        if (emitted) {
+          return responsePublisher(event, start);
         } else {
+          if (acquired && concurrencyLimiter != null) {
+            concurrencyLimiter.overloaded();
+          }
           // If Event is not accepted and the back-pressure strategy is FAIL then respond to Source with an OVERLOAD error.
           FlowBackPressureException rejectedExecutionException = new FlowBackPressureException(getName());
           return Mono.error(exceptionResolver.resolve(new MessagingException(builder(event)
@@ -242,6 +283,35 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
   }
 
+  private Mono<CoreEvent> backPressureError(CoreEvent event, Throwable overloadException) {
+    MessagingException me = new MessagingException(event, overloadException, this);
+    ((BaseEventContext) event.getContext()).error(exceptionResolver.resolve(me, getMuleContext()));
+    return Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher());
+  }
+
+  /*
+   * Frees the slot of an event that failed to be dispatched, so it isn't held forever.
+   */
+  private void discardSlot() {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.discard();
+    }
+  }
+
+  /*
+   * Response of a dispatched event, which frees its slot in the concurrency limiter when done.
+   */
+  private Mono<CoreEvent> responsePublisher(CoreEvent event, long start) {
+    final Mono<CoreEvent> response = Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher());
+    if (concurrencyLimiter == null) {
+      return response;
+    }
+    return response.doFinally(signal -> {
+      final long now = nanoTime();
+      concurrencyLimiter.release(now - start, now);
+    });
+  }
+
   protected ReactiveProcessor processFlowFunction() {
     return stream -> from(stream)
         .doOnNext(beforeProcessors())
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+import static java.lang.Math.sqrt;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of events a flow processes concurrently, adjusting the limit to the latency observed for those events.
+ * <p>
+ * The limit is updated once per sampling window, in the fashion of the gradient algorithms for TCP congestion control. The
+ * average latency of the window is compared with a long term average: while they are alike the limit grows by its square root,
+ * and as the recent latency grows above the long term one the limit is reduced proportionally. When the flow can't take an event
+ * because its internal buffers are full, the limit is reduced right away.
+ * <p>
+ * The limit never goes below {@code 1} or above the configured maximum concurrency of the flow.
+ *
+ * @since 4.2
+ */
+final class AdaptiveConcurrencyLimiter {
+
+  static final int DEFAULT_INITIAL_LIMIT = 20;
+  static final int DEFAULT_MAX_LIMIT = 1000;
+
+  private static final long SAMPLE_WINDOW_NANOS = MILLISECONDS.toNanos(100);
+  private static final int MIN_WINDOW_SAMPLES = 10;
+  private static final double LONG_TERM_SMOOTHING = 0.05;
+  private static final double LIMIT_SMOOTHING = 0.2;
+  private static final double LATENCY_TOLERANCE = 1.5;
+  private static final double OVERLOAD_BACKOFF = 0.9;
+  // Waiting sources check the limit again after this time, since it may have grown without any slot being freed.
+  private static final long SLOT_WAIT_MILLIS = 10;
+
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAccumulator maxInFlight = new LongAccumulator(Long::max, 0);
+  private final LongAdder windowLatency = new LongAdder();
+  private final LongAdder windowSamples = new LongAdder();
+  private final AtomicLong windowStart;
+  private final Object slotMonitor = new Object();
+  private final AtomicInteger waitingForSlot = new AtomicInteger();
+
+  private volatile int limit;
+  // Only accessed by the thread that wins the update of a window
+  private double longTermLatency;
+
+  /**
+   * Creates a new limiter.
+   *
+   * @param maxConcurrency the max concurrency configured for the flow, which is the highest value the limit may take.
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  AdaptiveConcurrencyLimiter(int maxConcurrency, long now) {
+    this.maxLimit = maxConcurrency == Integer.MAX_VALUE ? DEFAULT_MAX_LIMIT : maxConcurrency;
+    this.limit = min(DEFAULT_INITIAL_LIMIT, maxLimit);
+    this.windowStart = new AtomicLong(now);
+  }
+
+  /**
+   * Takes a slot for an event, unless the limit of events in flight has been reached.
+   *
+   * @return whether the event may be processed. If so, {@link #release(long, long)} has to be called once it's done.
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    maxInFlight.accumulate(current + 1);
+    return true;
+  }
+
+  /**
+   * Takes a slot for an event, waiting for one to be freed while the limit of events in flight has been reached. This is meant
+   * for sources that wait for the flow to take their events instead of failing.
+   * <p>
+   * {@link #release(long, long)} has to be called once the event is done.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting, in which case no slot is taken
+   */
+  void acquire() throws InterruptedException {
+    while (!tryAcquire()) {
+      waitingForSlot.incrementAndGet();
+      try {
+        synchronized (slotMonitor) {
+          if (inFlight.get() >= limit) {
+            slotMonitor.wait(SLOT_WAIT_MILLIS);
+          }
+        }
+      } finally {
+        waitingForSlot.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Frees the slot of an event that finished processing.
+   *
+   * @param latency the nanoseconds it took to process the event
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  void release(long latency, long now) {
+    free();
+    windowLatency.add(latency);
+    windowSamples.increment();
+
+    final long start = windowStart.get();
+    if (now - start >= SAMPLE_WINDOW_NANOS && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+        && windowStart.compareAndSet(start, now)) {
+      updateLimit(windowLatency.sumThenReset(), windowSamples.sumThenReset(), maxInFlight.getThenReset());
+    }
+  }
+
+  /**
+   * Frees the slot of an event that the flow could not take, because its internal buffers are full, reducing the limit.
+   */
+  void overloaded() {
+    limit = max(1, (int) (limit * OVERLOAD_BACKOFF));
+    free();
+  }
+
+  /**
+   * Frees the slot of an event that could not be dispatched to the flow for any reason other than its buffers being full,
+   * without taking it into account to adjust the limit.
+   */
+  void discard() {
+    free();
+  }
+
+  private void free() {
+    inFlight.decrementAndGet();
+    if (waitingForSlot.get() > 0) {
+      synchronized (slotMonitor) {
+        slotMonitor.notifyAll();
+      }
+    }
+  }
+
+  private void updateLimit(long latency, long samples, long windowMaxInFlight) {
+    if (samples == 0) {
+      return;
+    }
+
+    final double recentLatency = max(1, (double) latency / samples);
+    if (longTermLatency == 0) {
+      longTermLatency = recentLatency;
+    } else {
+      longTermLatency = longTermLatency * (1 - LONG_TERM_SMOOTHING) + recentLatency * LONG_TERM_SMOOTHING;
+      if (longTermLatency / recentLatency > 2) {
+        // Latency dropped well below the long term average, speed up its recovery.
+        longTermLatency *= 0.95;
+      }
+    }
+
+    final int currentLimit = limit;
+    if (windowMaxInFlight < currentLimit / 2) {
+      // The limit isn't what's holding the flow back, don't let it grow any further.
+      return;
+    }
+
+    final double gradient = max(0.5, min(1.0, LATENCY_TOLERANCE * longTermLatency / recentLatency));
+    final double newLimit = currentLimit * gradient + sqrt(currentLimit);
+    limit = (int) max(1, min(maxLimit, round(currentLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING)));
+  }
+
+  /**
+   * @return the current limit of events in flight
+   */
+  int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the current number of events in flight
+   */
+  int getInFlight() {
+    return inFlight.get();
+  }
+}
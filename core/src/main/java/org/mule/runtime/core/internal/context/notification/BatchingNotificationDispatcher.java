@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to their listeners in batches.
+ * <p>
+ * Each listener gets a bounded ring of pending notifications. Firing a notification only enqueues it in the ring, and a drain
+ * task is submitted to the listener's executor only when there isn't one already pending, so a burst of notifications results in
+ * a single submission. The drain task delivers the notifications of its listener in order, one batch at a time.
+ * <p>
+ * What happens when a ring is full is determined by the {@link OverflowPolicy}. Notifications discarded because of it are
+ * counted.
+ *
+ * @since 4.2
+ */
+public final class BatchingNotificationDispatcher {
+
+  private static final Logger LOGGER = getLogger(BatchingNotificationDispatcher.class);
+
+  /**
+   * The maximum amount of notifications delivered by a single drain task before yielding its thread.
+   */
+  static final int MAX_BATCH_SIZE = 256;
+
+  private static final long BLOCK_PARK_NANOS = MICROSECONDS.toNanos(50);
+  private static final long BLOCK_WAIT_MILLIS = 100;
+
+  /**
+   * What to do with a notification fired when the ring of its listener is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Wait until there is room for the notification in the ring. For non blocking listeners, the firing thread helps to deliver
+     * the pending notifications meanwhile. Notifications for {@link NotificationListener#isBlocking() blocking} listeners are
+     * never delivered in the firing thread, which waits for the drain task of the listener instead.
+     */
+    BLOCK,
+
+    /**
+     * Discard the oldest pending notification to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard the new notification.
+     */
+    DROP_NEWEST
+  }
+
+  private final Map<NotificationListener, ListenerQueue> queues = new ConcurrentHashMap<>();
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Executor liteExecutor;
+  private final Executor ioExecutor;
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Creates a new instance
+   *
+   * @param capacity the size of the ring of each listener. Rounded up to a power of two.
+   * @param overflowPolicy what to do when the ring of a listener is full
+   * @param liteExecutor where notifications for non blocking listeners are delivered
+   * @param ioExecutor where notifications for {@link NotificationListener#isBlocking() blocking} listeners are delivered
+   */
+  public BatchingNotificationDispatcher(int capacity, OverflowPolicy overflowPolicy, Executor liteExecutor,
+                                        Executor ioExecutor) {
+    checkArgument(capacity > 0, "capacity has to be greater than zero");
+    this.capacity = capacity == 1 ? 1 : highestOneBit(capacity - 1) << 1;
+    this.overflowPolicy = overflowPolicy;
+    this.liteExecutor = liteExecutor;
+    this.ioExecutor = ioExecutor;
+  }
+
+  /**
+   * Enqueues the given notification to be delivered to the given listener.
+   */
+  public void dispatch(NotificationListener listener, Notification notification) {
+    queues.computeIfAbsent(listener, ListenerQueue::new).enqueue(notification);
+  }
+
+  /**
+   * Stops enqueuing notifications for the given listener. The already pending ones are still delivered.
+   */
+  public void remove(NotificationListener listener) {
+    queues.remove(listener);
+  }
+
+  /**
+   * Delivers all the pending notifications and waits for them to be delivered. Notifications for non blocking listeners are
+   * delivered in the calling thread. The ones for {@link NotificationListener#isBlocking() blocking} listeners are delivered in the
+   * io executor, since those listeners may block the calling thread.
+   */
+  public void flush() {
+    List<CompletableFuture<Void>> blockingFlushes = new ArrayList<>();
+    for (ListenerQueue queue : queues.values()) {
+      if (queue.blocking) {
+        try {
+          blockingFlushes.add(runAsync(queue::flush, ioExecutor));
+        } catch (RejectedExecutionException e) {
+          LOGGER.warn("Unable to deliver the pending notifications to {}", queue.listener, e);
+        }
+      } else {
+        queue.flush();
+      }
+    }
+
+    for (CompletableFuture<Void> blockingFlush : blockingFlushes) {
+      try {
+        blockingFlush.get();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        LOGGER.warn("Unable to deliver the pending notifications", e.getCause());
+      }
+    }
+  }
+
+  /**
+   * @return the number of notifications discarded because of the {@link OverflowPolicy}
+   */
+  public long getDroppedNotifications() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return the number of notifications for the given listener discarded because of the {@link OverflowPolicy}
+   */
+  public long getDroppedNotifications(NotificationListener listener) {
+    final ListenerQueue queue = queues.get(listener);
+    return queue == null ? 0 : queue.dropped.sum();
+  }
+
+  /**
+   * The pending notifications of a single listener, kept in a bounded multi-producer ring.
+   * <p>
+   * Each slot of the ring has a sequence number that tells producers and consumers whether it is free to be written or ready to
+   * be read in the current lap, so slots are claimed with a single CAS on the respective cursor and without locking. Consumers
+   * are both the drain task and producers dropping the oldest notification.
+   */
+  private final class ListenerQueue implements Runnable {
+
+    private final NotificationListener listener;
+    private final boolean blocking;
+    private final Executor executor;
+    private final int mask = capacity - 1;
+    private final AtomicReferenceArray<Notification> slots = new AtomicReferenceArray<>(capacity);
+    private final AtomicLongArray sequences = new AtomicLongArray(capacity);
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder dropped = new LongAdder();
+
+    // Producers of a blocking listener waiting for room in a full ring, notified by the drain task
+    private final Object roomMonitor = new Object();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    private ListenerQueue(NotificationListener listener) {
+      this.listener = listener;
+      blocking = listener.isBlocking();
+      executor = blocking ? ioExecutor : liteExecutor;
+      for (int i = 0; i < capacity; ++i) {
+        sequences.set(i, i);
+      }
+    }
+
+    private void enqueue(Notification notification) {
+      while (!offer(notification)) {
+        if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+          drop();
+          return;
+        } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+          if (poll() != null) {
+            drop();
+          }
+        } else if (blocking) {
+          if (!awaitRoom()) {
+            drop();
+            return;
+          }
+        } else if (lock.tryLock()) {
+          // Help delivering instead of just waiting, in case the drain task can't get a thread because they are all blocked here
+          try {
+            deliverBatch();
+          } finally {
+            lock.unlock();
+          }
+        } else {
+          parkNanos(BLOCK_PARK_NANOS);
+        }
+      }
+
+      schedule();
+    }
+
+    /**
+     * Waits for the drain task of the listener to make room in the ring. Used instead of delivering the pending notifications in
+     * the firing thread, since the listener may block it.
+     *
+     * @return {@code false} if the thread was interrupted while waiting, {@code true} otherwise
+     */
+    private boolean awaitRoom() {
+      schedule();
+      waitingProducers.incrementAndGet();
+      try {
+        synchronized (roomMonitor) {
+          // The drain task may not have been scheduled if the executor rejected it, so don't wait forever
+          if (isFull()) {
+            roomMonitor.wait(BLOCK_WAIT_MILLIS);
+          }
+        }
+        return true;
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        return false;
+      } finally {
+        waitingProducers.decrementAndGet();
+      }
+    }
+
+    private void drop() {
+      dropped.increment();
+      BatchingNotificationDispatcher.this.dropped.increment();
+    }
+
+    private boolean offer(Notification notification) {
+      while (true) {
+        final long position = tail.get();
+        final int index = (int) position & mask;
+        final long delta = sequences.get(index) - position;
+        if (delta == 0) {
+          if (tail.compareAndSet(position, position + 1)) {
+            slots.lazySet(index, notification);
+            sequences.set(index, position + 1);
+            return true;
+          }
+        } else if (delta < 0) {
+          return false;
+        }
+      }
+    }
+
+    private Notification poll() {
+      while (true) {
+        final long position = head.get();
+        final int index = (int) position & mask;
+        final long delta = sequences.get(index) - (position + 1);
+        if (delta == 0) {
+          if (head.compareAndSet(position, position + 1)) {
+            final Notification notification = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            return notification;
+          }
+        } else if (delta < 0) {
+          return null;
+        }
+      }
+    }
+
+    private boolean isEmpty() {
+      return head.get() >= tail.get();
+    }
+
+    private boolean isFull() {
+      final long position = tail.get();
+      return sequences.get((int) position & mask) < position;
+    }
+
+    private void schedule() {
+      if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          scheduled.set(false);
+          LOGGER.warn("Unable to schedule the delivery of notifications to {}", listener, e);
+        }
+      }
+    }
+
+    private void flush() {
+      lock.lock();
+      try {
+        while (deliverBatch() > 0) {
+          // keep delivering
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void run() {
+      lock.lock();
+      try {
+        deliverBatch();
+      } finally {
+        lock.unlock();
+      }
+
+      scheduled.set(false);
+      if (!isEmpty()) {
+        schedule();
+      }
+    }
+
+    private int deliverBatch() {
+      int delivered = 0;
+      Notification notification;
+      while (delivered < MAX_BATCH_SIZE && (notification = poll()) != null) {
+        ++delivered;
+        try {
+          listener.onNotification(notification);
+        } catch (Throwable e) {
+          // Exceptions or errors from listeners do not affect the notification processing
+          LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener,
+                      notification, e);
+        }
+      }
+      if (delivered > 0 && waitingProducers.get() > 0) {
+        synchronized (roomMonitor) {
+          roomMonitor.notifyAll();
+        }
+      }
+      return delivered;
+    }
+  }
+}
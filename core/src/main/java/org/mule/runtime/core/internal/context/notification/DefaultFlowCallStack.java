@@ -9,6 +9,10 @@ package org.mule.runtime.core.internal.context.notification;
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.context.notification.FlowStackElement;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.ArrayList;
 import java.util.EmptyStackException;
 import java.util.List;
@@ -17,12 +21,21 @@ import java.util.Stack;
 /**
  * Keeps context information about the executing flows and its callers in order to provide augmented troubleshooting information
  * for an application developer.
+ * <p>
+ * The stack is kept as an immutable linked list of frames, so that {@link #clone()} only has to copy the reference to the top
+ * frame, and pushing and popping don't need any locking. An instance is meant to be modified by the thread processing its event
+ * at any given time.
+ * <p>
+ * It is serialized as the {@link Stack} of elements previous versions kept, so that stacks persisted by them can still be read and
+ * vice versa.
  */
 public class DefaultFlowCallStack implements FlowCallStack {
 
   private static final long serialVersionUID = -8683711977929802819L;
 
-  private Stack<FlowStackElement> innerStack = new Stack<>();
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("innerStack", Stack.class)};
+
+  private transient volatile Frame top;
 
   /**
    * Adds an element to the top of this stack
@@ -30,7 +43,7 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param flowStackElement the element to add
    */
   public void push(FlowStackElement flowStackElement) {
-    innerStack.push(flowStackElement);
+    top = new Frame(flowStackElement, top);
   }
 
   /**
@@ -40,9 +53,9 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public void setCurrentProcessorPath(String processorPath) {
-    if (!innerStack.empty()) {
-      FlowStackElement topElement = innerStack.pop();
-      innerStack.push(new FlowStackElement(topElement.getFlowName(), processorPath));
+    final Frame current = top;
+    if (current != null) {
+      top = new Frame(new FlowStackElement(current.element.getFlowName(), processorPath), current.next);
     }
   }
 
@@ -53,14 +66,20 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement pop() {
-    return innerStack.pop();
+    final Frame current = top;
+    if (current == null) {
+      throw new EmptyStackException();
+    }
+    top = current.next;
+    return current.element;
   }
 
   @Override
   public List<FlowStackElement> getElements() {
-    List<FlowStackElement> elementsCloned = new ArrayList<>();
-    for (int i = innerStack.size() - 1; i >= 0; --i) {
-      elementsCloned.add(innerStack.get(i));
+    final Frame current = top;
+    List<FlowStackElement> elementsCloned = new ArrayList<>(current == null ? 0 : current.depth);
+    for (Frame frame = current; frame != null; frame = frame.next) {
+      elementsCloned.add(frame.element);
     }
     return elementsCloned;
   }
@@ -68,22 +87,54 @@ public class DefaultFlowCallStack implements FlowCallStack {
   @Override
   public DefaultFlowCallStack clone() {
     DefaultFlowCallStack cloned = new DefaultFlowCallStack();
-    for (int i = 0; i < innerStack.size(); ++i) {
-      cloned.innerStack.push(innerStack.get(i));
-    }
-
+    // frames are immutable, so they can be shared
+    cloned.top = top;
     return cloned;
   }
 
   @Override
   public String toString() {
     StringBuilder stackString = new StringBuilder();
-    for (int i = innerStack.size() - 1; i >= 0; --i) {
-      stackString.append("at ").append(innerStack.get(i).toString());
-      if (i != 0) {
+    for (Frame frame = top; frame != null; frame = frame.next) {
+      stackString.append("at ").append(frame.element.toString());
+      if (frame.next != null) {
         stackString.append(System.lineSeparator());
       }
     }
     return stackString.toString();
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    final List<FlowStackElement> elements = getElements();
+    Stack<FlowStackElement> innerStack = new Stack<>();
+    for (int i = elements.size() - 1; i >= 0; --i) {
+      innerStack.push(elements.get(i));
+    }
+
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("innerStack", innerStack);
+    out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    Stack<FlowStackElement> innerStack = (Stack<FlowStackElement>) in.readFields().get("innerStack", null);
+    if (innerStack != null) {
+      for (FlowStackElement element : innerStack) {
+        push(element);
+      }
+    }
+  }
+
+  private static final class Frame {
+
+    private final FlowStackElement element;
+    private final Frame next;
+    private final int depth;
+
+    private Frame(FlowStackElement element, Frame next) {
+      this.element = element;
+      this.next = next;
+      this.depth = next == null ? 1 : next.depth + 1;
+    }
+  }
 }
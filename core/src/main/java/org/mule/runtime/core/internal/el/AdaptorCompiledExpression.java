@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.CompiledExpression;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+
+/**
+ * A {@link CompiledExpression} bound to the {@link ExtendedExpressionLanguageAdaptor} that has to evaluate it, so that the
+ * language does not have to be selected again for each evaluation.
+ * <p>
+ * Adaptors able to analyze their expressions up front extend this class to take advantage of that analysis.
+ *
+ * @since 4.2
+ */
+public class AdaptorCompiledExpression implements CompiledExpression {
+
+  private final String expression;
+  private final ExtendedExpressionLanguageAdaptor adaptor;
+
+  public AdaptorCompiledExpression(String expression, ExtendedExpressionLanguageAdaptor adaptor) {
+    this.expression = expression;
+    this.adaptor = adaptor;
+  }
+
+  @Override
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * Evaluates this expression.
+   *
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param context the bindings to consider
+   * @return the result of execution of the expression.
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   */
+  public TypedValue evaluate(CoreEvent event, ComponentLocation componentLocation, BindingContext context)
+      throws ExpressionRuntimeException {
+    return adaptor.evaluate(expression, event, event != null ? CoreEvent.builder(event) : null, componentLocation, context);
+  }
+
+  /**
+   * Evaluates this expression, transforming its result to the given type.
+   *
+   * @param expectedOutputType the expected output type
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param context the bindings to consider
+   * @param failOnNull whether a {@code null} result is an error
+   * @return the result of execution of the expression.
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   */
+  public TypedValue evaluate(DataType expectedOutputType, CoreEvent event, ComponentLocation componentLocation,
+                             BindingContext context, boolean failOnNull)
+      throws ExpressionRuntimeException {
+    return adaptor.evaluate(expression, expectedOutputType, event, componentLocation, context, failOnNull);
+  }
+
+  /**
+   * Evaluates this expression for logging purposes.
+   *
+   * @param event the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param context the bindings to consider
+   * @return the result of execution of the expression.
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   */
+  public TypedValue<?> evaluateLogExpression(CoreEvent event, ComponentLocation componentLocation, BindingContext context)
+      throws ExpressionRuntimeException {
+    return adaptor.evaluateLogExpression(expression, event, componentLocation, context);
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
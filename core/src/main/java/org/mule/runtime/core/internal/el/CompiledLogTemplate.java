@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import org.mule.runtime.core.api.el.CompiledExpression;
+
+/**
+ * A log template split into its literal parts and its compiled expressions.
+ * <p>
+ * Templates to be handled by MEL are not split, since MEL parsing may mutate the event.
+ *
+ * @since 4.2
+ */
+final class CompiledLogTemplate implements CompiledExpression {
+
+  private final String template;
+  private final String[] literals;
+  private final AdaptorCompiledExpression[] expressions;
+
+  /**
+   * Creates a template that has to be parsed as it is for each evaluation.
+   */
+  CompiledLogTemplate(String template) {
+    this(template, null, null);
+  }
+
+  /**
+   * @param template the original template
+   * @param literals the text before each expression, followed by the text after the last one
+   * @param expressions the compiled expressions of the template
+   */
+  CompiledLogTemplate(String template, String[] literals, AdaptorCompiledExpression[] expressions) {
+    this.template = template;
+    this.literals = literals;
+    this.expressions = expressions;
+  }
+
+  @Override
+  public String getExpression() {
+    return template;
+  }
+
+  /**
+   * @return whether this template was split, and can therefore be evaluated through {@link #getLiterals()} and
+   *         {@link #getExpressions()}.
+   */
+  boolean isSplit() {
+    return expressions != null;
+  }
+
+  String[] getLiterals() {
+    return literals;
+  }
+
+  AdaptorCompiledExpression[] getExpressions() {
+    return expressions;
+  }
+
+  @Override
+  public String toString() {
+    return template;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.stream.Collectors.toList;
+import org.mule.runtime.api.el.Binding;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.ExpressionModule;
+import org.mule.runtime.api.metadata.TypedValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link BindingContext} that exposes the bindings of two others without copying them, with the bindings of the overlay one
+ * taking precedence over the ones of the base one with the same identifier.
+ *
+ * @since 4.2
+ */
+public final class CompositeBindingContext implements BindingContext {
+
+  private final BindingContext base;
+  private final BindingContext overlay;
+
+  /**
+   * @param base the context with the bindings of lower precedence
+   * @param overlay the context with the bindings of higher precedence
+   */
+  public CompositeBindingContext(BindingContext base, BindingContext overlay) {
+    this.base = base;
+    this.overlay = overlay;
+  }
+
+  @Override
+  public Collection<Binding> bindings() {
+    final Collection<String> overlayIdentifiers = overlay.identifiers();
+    final List<Binding> bindings = new ArrayList<>(overlay.bindings());
+    bindings.addAll(base.bindings().stream()
+        .filter(binding -> !overlayIdentifiers.contains(binding.identifier()))
+        .collect(toList()));
+    return bindings;
+  }
+
+  @Override
+  public Collection<String> identifiers() {
+    final Set<String> identifiers = new LinkedHashSet<>(base.identifiers());
+    identifiers.addAll(overlay.identifiers());
+    return identifiers;
+  }
+
+  @Override
+  public Optional<TypedValue> lookup(String identifier) {
+    final Optional<TypedValue> value = overlay.lookup(identifier);
+    return value.isPresent() ? value : base.lookup(identifier);
+  }
+
+  @Override
+  public Collection<ExpressionModule> modules() {
+    final List<ExpressionModule> modules = new ArrayList<>(base.modules());
+    modules.addAll(overlay.modules());
+    return modules;
+  }
+}
@@ -29,6 +29,7 @@ import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.el.CompiledExpression;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.event.CoreEvent.Builder;
@@ -42,9 +43,12 @@ import org.mule.runtime.core.internal.util.OneTimeWarning;
 import org.mule.runtime.core.privileged.el.GlobalBindingContextProvider;
 import org.mule.runtime.core.privileged.util.TemplateParser;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
 
 import javax.inject.Inject;
 
@@ -146,6 +150,36 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
                                         event, streamingManager);
   }
 
+  @Override
+  public CompiledExpression compile(String expression) {
+    if (expressionLanguage == null) {
+      return ExtendedExpressionManager.super.compile(expression);
+    }
+    return expressionLanguage.compile(expression);
+  }
+
+  @Override
+  public TypedValue evaluate(CompiledExpression expression, CoreEvent event, ComponentLocation componentLocation,
+                             BindingContext context) {
+    if (!(expression instanceof AdaptorCompiledExpression)) {
+      return evaluate(expression.getExpression(), event, componentLocation, context);
+    }
+    return updateTypedValueForStreaming(((AdaptorCompiledExpression) expression).evaluate(event, componentLocation, context),
+                                        event, streamingManager);
+  }
+
+  @Override
+  public TypedValue evaluate(CompiledExpression expression, DataType outputType, BindingContext context, CoreEvent event,
+                             ComponentLocation componentLocation, boolean failOnNull)
+      throws ExpressionRuntimeException {
+    if (!(expression instanceof AdaptorCompiledExpression)) {
+      return evaluate(expression.getExpression(), outputType, context, event, componentLocation, failOnNull);
+    }
+    return updateTypedValueForStreaming(((AdaptorCompiledExpression) expression).evaluate(outputType, event, componentLocation,
+                                                                                          context, failOnNull),
+                                        event, streamingManager);
+  }
+
   @Override
   public TypedValue evaluate(String expression, DataType outputType) {
     return evaluate(expression, outputType, NULL_BINDING_CONTEXT);
@@ -273,26 +307,79 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
                                  BindingContext bindingContext)
       throws ExpressionRuntimeException {
 
-    if ((!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template)) {
+    if (isMelLogTemplate(template)) {
       Builder eventBuilder = CoreEvent.builder(event);
       return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
     } else {
-      return parser.parse(token -> {
-        TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
-        if (evaluation.getValue() instanceof Message) {
-          // Do not apply transformation to Message since payload will be considered then
-          return evaluation.getValue();
-        }
-        try {
-          return transform(evaluation, evaluation.getDataType(), STRING).getValue();
-        } catch (TransformerException e) {
-          throw new ExpressionRuntimeException(
-                                               createStaticMessage(format("Failed to transform %s to %s.",
-                                                                          evaluation.getDataType(),
-                                                                          STRING)),
-                                               e);
-        }
-      }, template);
+      return parser.parse(token -> logValue(expressionLanguage.evaluateLogExpression(token, event, componentLocation,
+                                                                                    bindingContext)),
+                          template);
+    }
+  }
+
+  @Override
+  public CompiledExpression compileLogTemplate(String template) {
+    if (expressionLanguage == null || isMelLogTemplate(template)) {
+      return new CompiledLogTemplate(template);
+    }
+
+    final List<String> literals = new ArrayList<>();
+    final List<AdaptorCompiledExpression> expressions = new ArrayList<>();
+    final Matcher matcher = parser.getStyle().getPattern().matcher(template);
+    int literalStart = 0;
+    while (matcher.find()) {
+      literals.add(template.substring(literalStart, matcher.start()));
+      expressions.add(expressionLanguage.compile(template.substring(matcher.start() + DEFAULT_EXPRESSION_PREFIX.length(),
+                                                                    matcher.end() - DEFAULT_EXPRESSION_POSTFIX.length())));
+      literalStart = matcher.end();
+    }
+    literals.add(template.substring(literalStart));
+
+    return new CompiledLogTemplate(template, literals.toArray(new String[literals.size()]),
+                                   expressions.toArray(new AdaptorCompiledExpression[expressions.size()]));
+  }
+
+  @Override
+  public String parseLogTemplate(CompiledExpression template, CoreEvent event, ComponentLocation componentLocation,
+                                 BindingContext bindingContext)
+      throws ExpressionRuntimeException {
+    if (!(template instanceof CompiledLogTemplate) || !((CompiledLogTemplate) template).isSplit()) {
+      return parseLogTemplate(template.getExpression(), event, componentLocation, bindingContext);
+    }
+
+    final String[] literals = ((CompiledLogTemplate) template).getLiterals();
+    final AdaptorCompiledExpression[] expressions = ((CompiledLogTemplate) template).getExpressions();
+    if (expressions.length == 0) {
+      return literals[0];
+    }
+
+    final StringBuilder result = new StringBuilder(template.getExpression().length());
+    for (int i = 0; i < expressions.length; ++i) {
+      result.append(literals[i])
+          .append(logValue(expressions[i].evaluateLogExpression(event, componentLocation, bindingContext)));
+    }
+    return result.append(literals[expressions.length]).toString();
+  }
+
+  private boolean isMelLogTemplate(String template) {
+    return (!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template);
+  }
+
+  private Object logValue(TypedValue<?> evaluation) {
+    if (evaluation.getValue() instanceof Message) {
+      // Do not apply transformation to Message since payload will be considered then
+      return evaluation.getValue();
+    }
+    try {
+      final Object value = transform(evaluation, evaluation.getDataType(), STRING).getValue();
+      // Same as the template parser does for null values
+      return value == null ? "null" : value;
+    } catch (TransformerException e) {
+      throw new ExpressionRuntimeException(
+                                           createStaticMessage(format("Failed to transform %s to %s.",
+                                                                      evaluation.getDataType(),
+                                                                      STRING)),
+                                           e);
     }
   }
 
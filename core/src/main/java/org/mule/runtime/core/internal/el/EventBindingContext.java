@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.el.BindingContextUtils.ATTRIBUTES;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
+import org.mule.runtime.api.el.Binding;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.ExpressionModule;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A {@link BindingContext} with the bindings of a {@link CoreEvent}, which are only built when needed.
+ * <p>
+ * The payload and attributes are taken straight from the message of the event. The rest of the bindings are built all together
+ * the first time any of them is looked up, and kept for the following lookups.
+ * <p>
+ * Events built by the runtime keep their context and return it from {@link CoreEvent#asBindingContext()}, so that it is shared by
+ * all the expressions evaluated on the same event. Use {@link #of(CoreEvent)} to take advantage of that.
+ *
+ * @since 4.2
+ */
+public final class EventBindingContext implements BindingContext {
+
+  private final CoreEvent event;
+  private volatile BindingContext eventBindings;
+
+  /**
+   * @param event the event to provide the bindings of
+   * @return the binding context of the given event, reusing the one kept by the event if possible.
+   */
+  public static BindingContext of(CoreEvent event) {
+    if (event instanceof InternalEventImplementation) {
+      return event.asBindingContext();
+    }
+    return new EventBindingContext(event);
+  }
+
+  /**
+   * @param event the event to provide the bindings of
+   */
+  public EventBindingContext(CoreEvent event) {
+    this.event = event;
+  }
+
+  @Override
+  public Collection<Binding> bindings() {
+    return eventBindings().bindings();
+  }
+
+  @Override
+  public Collection<String> identifiers() {
+    return eventBindings().identifiers();
+  }
+
+  @Override
+  public Optional<TypedValue> lookup(String identifier) {
+    if (PAYLOAD.equals(identifier)) {
+      return of(event.getMessage().getPayload());
+    } else if (ATTRIBUTES.equals(identifier)) {
+      return of(event.getMessage().getAttributes());
+    }
+    return eventBindings().lookup(identifier);
+  }
+
+  @Override
+  public Collection<ExpressionModule> modules() {
+    return emptyList();
+  }
+
+  private BindingContext eventBindings() {
+    BindingContext bindings = eventBindings;
+    if (bindings == null) {
+      // Building them more than once in case of a race is harmless, since the event is immutable
+      bindings = addEventBindings(event, NULL_BINDING_CONTEXT);
+      eventBindings = bindings;
+    }
+    return bindings;
+  }
+}
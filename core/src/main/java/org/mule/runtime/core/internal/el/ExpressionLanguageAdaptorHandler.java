@@ -9,7 +9,6 @@ package org.mule.runtime.core.internal.el;
 import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
-import static java.util.regex.Pattern.compile;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.join;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_MEL_AS_DEFAULT;
@@ -58,7 +57,7 @@ public class ExpressionLanguageAdaptorHandler implements ExtendedExpressionLangu
     expressionLanguages.put(DW_PREFIX, defaultExtendedExpressionLanguage);
     expressionLanguages.put(MEL_PREFIX, mvelExpressionLanguage);
 
-    exprPrefixPattern = compile(EXPR_PREFIX_PATTERN_TEMPLATE.replaceAll("LANGS", join(expressionLanguages.keySet(), '|')));
+    exprPrefixPattern = Pattern.compile(EXPR_PREFIX_PATTERN_TEMPLATE.replaceAll("LANGS", join(expressionLanguages.keySet(), '|')));
 
     melDefault = valueOf(getProperty(MULE_MEL_AS_DEFAULT, "false"));
     if (isMelDefault() && mvelExpressionLanguage == null) {
@@ -137,6 +136,16 @@ public class ExpressionLanguageAdaptorHandler implements ExtendedExpressionLangu
     selectExpressionLanguage(expression).enrich(expression, event, eventBuilder, componentLocation, value);
   }
 
+  @Override
+  public AdaptorCompiledExpression compile(String expression) {
+    final ExtendedExpressionLanguageAdaptor expressionLanguage = selectExpressionLanguage(expression);
+    if (expressionLanguage == null) {
+      // MEL is not installed, leave it to the evaluation to fail
+      return ExtendedExpressionLanguageAdaptor.super.compile(expression);
+    }
+    return expressionLanguage.compile(expression);
+  }
+
   @Override
   public Iterator<TypedValue<?>> split(String expression, CoreEvent event, ComponentLocation componentLocation,
                                        BindingContext bindingContext)
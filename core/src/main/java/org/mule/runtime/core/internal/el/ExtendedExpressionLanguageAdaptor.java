@@ -83,4 +83,15 @@ public interface ExtendedExpressionLanguageAdaptor extends ExpressionLanguageAda
   void enrich(String expression, CoreEvent event, CoreEvent.Builder eventBuilder, ComponentLocation componentLocation,
               TypedValue value);
 
+  /**
+   * Analyzes the given expression once so that it can be evaluated repeatedly without repeating that analysis.
+   *
+   * @param expression the expression to compile
+   * @return a handle to the compiled expression
+   * @since 4.2
+   */
+  default AdaptorCompiledExpression compile(String expression) {
+    return new AdaptorCompiledExpression(expression, this);
+  }
+
 }
@@ -7,10 +7,18 @@
 package org.mule.runtime.core.internal.el.dataweave;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static org.mule.runtime.api.el.BindingContextUtils.ATTRIBUTES;
+import static org.mule.runtime.api.el.BindingContextUtils.AUTHENTICATION;
+import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
+import static org.mule.runtime.api.el.BindingContextUtils.DATA_TYPE;
+import static org.mule.runtime.api.el.BindingContextUtils.ERROR;
 import static org.mule.runtime.api.el.BindingContextUtils.FLOW;
+import static org.mule.runtime.api.el.BindingContextUtils.ITEM_SEQUENCE_INFO;
+import static org.mule.runtime.api.el.BindingContextUtils.MESSAGE;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
-import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
-import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.expressionEvaluationFailed;
@@ -24,7 +32,6 @@ import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.BindingContext.Builder;
-import org.mule.runtime.api.el.BindingContextUtils;
 import org.mule.runtime.api.el.DefaultExpressionLanguageFactoryService;
 import org.mule.runtime.api.el.ExpressionExecutionException;
 import org.mule.runtime.api.el.ExpressionLanguage;
@@ -34,12 +41,20 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+import org.mule.runtime.core.internal.el.AdaptorCompiledExpression;
+import org.mule.runtime.core.internal.el.CompositeBindingContext;
+import org.mule.runtime.core.internal.el.EventBindingContext;
 import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.context.MuleInstanceContext;
 import org.mule.runtime.core.internal.el.context.ServerContext;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.inject.Inject;
 
@@ -49,6 +64,14 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   public static final String MULE = "mule";
   public static final String APP = "app";
 
+  private static final Pattern VARIABLE_EXPRESSION = Pattern.compile("^\\s*" + VARS + "\\.([a-zA-Z_][a-zA-Z0-9_]*)\\s*$");
+  private static final Pattern LITERAL_EXPRESSION =
+      Pattern.compile("^\\s*(?:'[^'\\\\$]*'|\"[^\"\\\\$]*\"|-?[0-9]+(?:\\.[0-9]+)?|true|false)\\s*$");
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-zA-Z_$][a-zA-Z0-9_$]*");
+  private static final Set<String> EVENT_BINDINGS =
+      new HashSet<>(asList(PAYLOAD, ATTRIBUTES, VARS, MESSAGE, ERROR, CORRELATION_ID, DATA_TYPE, AUTHENTICATION,
+                           ITEM_SEQUENCE_INFO));
+
   private ExpressionLanguage expressionExecutor;
   private MuleContext muleContext;
 
@@ -93,8 +116,8 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     if (isPayloadExpression(sanitized)) {
       return event.getMessage().getPayload();
     } else {
-      BindingContext.Builder contextBuilder = bindingContextBuilderFor(null, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, contextBuilder.build()));
+      BindingContext bindingContext = bindingContextFor(null, event, context);
+      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, bindingContext));
     }
   }
 
@@ -105,8 +128,8 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   @Override
   public TypedValue evaluate(String expression, DataType expectedOutputType, CoreEvent event, BindingContext context)
       throws ExpressionRuntimeException {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(null, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, contextBuilder.build()));
+    BindingContext bindingContext = bindingContextFor(null, event, context);
+    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, bindingContext));
   }
 
   @Override
@@ -114,8 +137,8 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
                              ComponentLocation componentLocation,
                              BindingContext context, boolean failOnNull)
       throws ExpressionRuntimeException {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(componentLocation, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, contextBuilder.build()));
+    BindingContext bindingContext = bindingContextFor(componentLocation, event, context);
+    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, bindingContext));
   }
 
   @Override
@@ -133,8 +156,8 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
       return event != null ? event.getMessage().getPayload()
           : context != null ? context.lookup(PAYLOAD).orElse(null) : null;
     } else {
-      BindingContext.Builder contextBuilder = bindingContextBuilderFor(componentLocation, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, contextBuilder.build()));
+      BindingContext bindingContext = bindingContextFor(componentLocation, event, context);
+      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, bindingContext));
     }
   }
 
@@ -143,7 +166,19 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
                                              BindingContext bindingContext)
       throws ExpressionRuntimeException {
     return expressionExecutor.evaluateLogExpression(sanitize(expression),
-                                                    bindingContextBuilderFor(componentLocation, event, bindingContext).build());
+                                                    bindingContextFor(componentLocation, event, bindingContext));
+  }
+
+  @Override
+  public AdaptorCompiledExpression compile(String expression) {
+    final String script;
+    try {
+      script = sanitize(expression);
+    } catch (RuntimeException e) {
+      // Leave it to the evaluation to fail, as it would have without compiling the expression
+      return ExtendedExpressionLanguageAdaptor.super.compile(expression);
+    }
+    return new CompiledScript(expression, script);
   }
 
   @Override
@@ -155,15 +190,15 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   public Iterator<TypedValue<?>> split(String expression, CoreEvent event, ComponentLocation componentLocation,
                                        BindingContext bindingContext)
       throws ExpressionRuntimeException {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(componentLocation, event, bindingContext);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.split(exp, contextBuilder.build()));
+    BindingContext context = bindingContextFor(componentLocation, event, bindingContext);
+    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.split(exp, context));
   }
 
   @Override
   public Iterator<TypedValue<?>> split(String expression, CoreEvent event, BindingContext bindingContext)
       throws ExpressionRuntimeException {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(null, event, bindingContext);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.split(exp, contextBuilder.build()));
+    BindingContext context = bindingContextFor(null, event, bindingContext);
+    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.split(exp, context));
   }
 
   @Override
@@ -201,19 +236,34 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     }
   }
 
-  private BindingContext.Builder bindingContextBuilderFor(ComponentLocation componentLocation, CoreEvent event,
-                                                          BindingContext context) {
-    Builder contextBuilder;
-    if (event != null) {
-      contextBuilder = addEventBuindingsToBuilder(event, context);
-    } else {
-      contextBuilder = BindingContext.builder(context);
+  private BindingContext bindingContextFor(ComponentLocation componentLocation, CoreEvent event, BindingContext context) {
+    if (event == null) {
+      Builder contextBuilder = BindingContext.builder(context);
+      if (componentLocation != null) {
+        contextBuilder.addBinding(FLOW, flowBinding(componentLocation));
+      }
+      return contextBuilder.build();
+    }
+
+    // The bindings of the event are shared by all the expressions evaluated on it and only built when needed, so avoid copying
+    // them into a new context
+    BindingContext bindingContext = EventBindingContext.of(event);
+    if (context != null && context != NULL_BINDING_CONTEXT
+        && !(context.identifiers().isEmpty() && context.modules().isEmpty())) {
+      bindingContext = new CompositeBindingContext(context, bindingContext);
     }
     if (componentLocation != null) {
-      contextBuilder.addBinding(FLOW, () -> new TypedValue<>(new FlowVariablesAccessor(componentLocation.getRootContainerName()),
-                                                             fromType(FlowVariablesAccessor.class)));
+      bindingContext = new CompositeBindingContext(bindingContext,
+                                                   BindingContext.builder()
+                                                       .addBinding(FLOW, flowBinding(componentLocation))
+                                                       .build());
     }
-    return contextBuilder;
+    return bindingContext;
+  }
+
+  private Supplier<TypedValue> flowBinding(ComponentLocation componentLocation) {
+    return () -> new TypedValue<>(new FlowVariablesAccessor(componentLocation.getRootContainerName()),
+                                  fromType(FlowVariablesAccessor.class));
   }
 
   private String sanitize(String expression) {
@@ -236,6 +286,87 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     return sanitizedExpression;
   }
 
+  /**
+   * A DataWeave expression analyzed up front: the script is sanitized once, the expressions that just return the payload, a
+   * variable or a literal are resolved without running the script, and only the bindings the script may reference are provided
+   * to it.
+   */
+  private final class CompiledScript extends AdaptorCompiledExpression {
+
+    private final String script;
+    private final boolean payload;
+    private final String variableName;
+    private final boolean literal;
+    private final boolean eventBindingsReferenced;
+    private final boolean flowReferenced;
+
+    private volatile TypedValue literalValue;
+
+    private CompiledScript(String expression, String script) {
+      super(expression, DataWeaveExpressionLanguageAdaptor.this);
+      this.script = script;
+      this.payload = isPayloadExpression(script);
+
+      final Matcher variableMatcher = VARIABLE_EXPRESSION.matcher(script);
+      this.variableName = variableMatcher.matches() ? variableMatcher.group(1) : null;
+      this.literal = LITERAL_EXPRESSION.matcher(script).matches();
+
+      // Identifiers within strings or comments are considered too, which may only cause a binding to be provided needlessly
+      final Set<String> identifiers = new HashSet<>();
+      final Matcher identifierMatcher = IDENTIFIER.matcher(script);
+      while (identifierMatcher.find()) {
+        identifiers.add(identifierMatcher.group());
+      }
+      this.eventBindingsReferenced = identifiers.stream().anyMatch(EVENT_BINDINGS::contains);
+      this.flowReferenced = identifiers.contains(FLOW);
+    }
+
+    @Override
+    public TypedValue evaluate(CoreEvent event, ComponentLocation componentLocation, BindingContext context) {
+      if (payload) {
+        return event != null ? event.getMessage().getPayload()
+            : context != null ? context.lookup(PAYLOAD).orElse(null) : null;
+      }
+
+      if (variableName != null && event != null) {
+        final TypedValue<?> variable = event.getVariables().get(variableName);
+        if (variable != null) {
+          return variable;
+        }
+      }
+
+      if (literal) {
+        TypedValue value = literalValue;
+        if (value == null) {
+          value = DataWeaveExpressionLanguageAdaptor.this
+              .evaluate(script, exp -> expressionExecutor.evaluate(exp, NULL_BINDING_CONTEXT));
+          literalValue = value;
+        }
+        return value;
+      }
+
+      final BindingContext bindingContext = bindingsFor(componentLocation, event, context);
+      return DataWeaveExpressionLanguageAdaptor.this.evaluate(script, exp -> expressionExecutor.evaluate(exp, bindingContext));
+    }
+
+    @Override
+    public TypedValue evaluate(DataType expectedOutputType, CoreEvent event, ComponentLocation componentLocation,
+                               BindingContext context, boolean failOnNull) {
+      final BindingContext bindingContext = bindingsFor(componentLocation, event, context);
+      return DataWeaveExpressionLanguageAdaptor.this
+          .evaluate(script, exp -> expressionExecutor.evaluate(exp, expectedOutputType, bindingContext));
+    }
+
+    @Override
+    public TypedValue<?> evaluateLogExpression(CoreEvent event, ComponentLocation componentLocation, BindingContext context) {
+      return expressionExecutor.evaluateLogExpression(script, bindingsFor(componentLocation, event, context));
+    }
+
+    private BindingContext bindingsFor(ComponentLocation componentLocation, CoreEvent event, BindingContext context) {
+      return bindingContextFor(flowReferenced ? componentLocation : null, eventBindingsReferenced ? event : null, context);
+    }
+  }
+
   private class FlowVariablesAccessor {
 
     private String name;
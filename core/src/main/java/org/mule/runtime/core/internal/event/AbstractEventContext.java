@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.event;
 
+import static java.util.Arrays.copyOf;
 import static java.util.Objects.requireNonNull;
 import static org.mule.runtime.core.api.functional.Either.left;
 import static org.mule.runtime.core.api.functional.Either.right;
@@ -29,8 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -39,10 +39,15 @@ import reactor.core.publisher.MonoSink;
 
 /**
  * Base class for implementations of {@link BaseEventContext}
+ * <p>
+ * Most contexts are created for a single event which never gets child contexts nor has more than a couple of listeners, so the
+ * state needed for those is only allocated when first used: the lists of listeners are created by the first listener registered
+ * for them, and the child contexts are kept in a linked list which new children are pushed onto without locking, and from which
+ * terminated children are unlinked as it is iterated. Likewise, the start times of the timed processors its events go through are only kept once the first one is set.
  *
  * @since 4.0
  */
-abstract class AbstractEventContext implements BaseEventContext {
+abstract class AbstractEventContext implements BaseEventContext, ProcessorTimingEventContext {
 
   private static final int STATE_READY = 0;
   private static final int STATE_RESPONSE = 1;
@@ -52,14 +57,22 @@ abstract class AbstractEventContext implements BaseEventContext {
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
-  private transient final List<BaseEventContext> childContexts = new ArrayList<>();
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ChildContext> CHILD_CONTEXTS_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ChildContext.class, "childContexts");
+
+  // The most recently added child, null if there are none.
+  private transient volatile ChildContext childContexts;
   private transient final FlowExceptionHandler exceptionHandler;
   private transient final CompletableFuture externalCompletion;
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList = new ArrayList<>();
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList = new ArrayList<>();
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList = new ArrayList<>();
 
-  private ReadWriteLock childContextsReadWriteLock = new ReentrantReadWriteLock();
+  // Guarded by this. Created by the first listener of each kind.
+  private transient List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList;
+  private transient List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList;
+  private transient List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList;
+
+  // Guarded by this. Created by the first timed processor, each key at the same index as its start time.
+  private transient Object[] processorKeys;
+  private transient long[] processorStartTimes;
 
   private volatile int state = STATE_READY;
   private volatile Either<Throwable, CoreEvent> result;
@@ -87,12 +100,10 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   void addChildContext(BaseEventContext childContext) {
-    childContextsReadWriteLock.writeLock().lock();
-    try {
-      childContexts.add(childContext);
-    } finally {
-      childContextsReadWriteLock.writeLock().unlock();
-    }
+    final ChildContext child = new ChildContext(childContext);
+    do {
+      child.next = childContexts;
+    } while (!CHILD_CONTEXTS_UPDATER.compareAndSet(this, child.next, child));
   }
 
   /**
@@ -168,17 +179,28 @@ abstract class AbstractEventContext implements BaseEventContext {
     this.result = result;
     state = STATE_RESPONSE;
     tryComplete();
-    onResponseConsumerList.stream().forEach(consumer -> signalConsumerSilently(consumer));
+    signalConsumersSilently(onResponseConsumerList);
   }
 
   protected void tryComplete() {
-    boolean allChildrenComplete;
-
-    childContextsReadWriteLock.readLock().lock();
-    try {
-      allChildrenComplete = childContexts.stream().allMatch(context -> context.isComplete());
-    } finally {
-      childContextsReadWriteLock.readLock().unlock();
+    boolean allChildrenComplete = true;
+    ChildContext previous = null;
+    for (ChildContext child = childContexts; child != null; child = child.next) {
+      if (child.context.isTerminated()) {
+        // only the most recent child is replaced when adding new ones, so the rest can be unlinked without a CAS. A child
+        // unlinked concurrently may be linked back, but only terminated ones are ever removed.
+        if (previous != null) {
+          previous.next = child.next;
+        } else {
+          CHILD_CONTEXTS_UPDATER.compareAndSet(this, child, child.next);
+        }
+        continue;
+      }
+      if (!child.context.isComplete()) {
+        allChildrenComplete = false;
+        break;
+      }
+      previous = child;
     }
 
     synchronized (this) {
@@ -187,7 +209,7 @@ abstract class AbstractEventContext implements BaseEventContext {
           LOGGER.debug(this + " completed.");
         }
         this.state = STATE_COMPLETE;
-        onCompletionConsumerList.forEach(consumer -> signalConsumerSilently(consumer));
+        signalConsumersSilently(onCompletionConsumerList);
         getParentContext().ifPresent(context -> {
           if (context instanceof AbstractEventContext) {
             ((AbstractEventContext) context).tryComplete();
@@ -204,8 +226,69 @@ abstract class AbstractEventContext implements BaseEventContext {
         LOGGER.debug(this + " terminated.");
       }
       this.state = STATE_TERMINATED;
-      onTerminatedConsumerList.forEach(consumer -> signalConsumerSilently(consumer));
+      processorKeys = null;
+      processorStartTimes = null;
+      signalConsumersSilently(onTerminatedConsumerList);
+    }
+  }
+
+  @Override
+  public synchronized void setProcessorStartTime(Object processorKey, long startTime) {
+    if (state == STATE_TERMINATED) {
+      return;
     }
+    if (processorKeys == null) {
+      processorKeys = new Object[2];
+      processorStartTimes = new long[2];
+    }
+
+    int free = -1;
+    for (int i = 0; i < processorKeys.length; ++i) {
+      if (processorKeys[i] == processorKey) {
+        processorStartTimes[i] = startTime;
+        return;
+      } else if (free < 0 && processorKeys[i] == null) {
+        free = i;
+      }
+    }
+
+    if (free < 0) {
+      free = processorKeys.length;
+      processorKeys = copyOf(processorKeys, free * 2);
+      processorStartTimes = copyOf(processorStartTimes, free * 2);
+    }
+    processorKeys[free] = processorKey;
+    processorStartTimes[free] = startTime;
+  }
+
+  @Override
+  public synchronized long removeProcessorStartTime(Object processorKey) {
+    if (processorKeys != null) {
+      for (int i = 0; i < processorKeys.length; ++i) {
+        if (processorKeys[i] == processorKey) {
+          processorKeys[i] = null;
+          return processorStartTimes[i];
+        }
+      }
+    }
+    return NO_START_TIME;
+  }
+
+  private void signalConsumersSilently(List<BiConsumer<CoreEvent, Throwable>> consumers) {
+    if (consumers != null) {
+      for (BiConsumer<CoreEvent, Throwable> consumer : consumers) {
+        signalConsumerSilently(consumer);
+      }
+    }
+  }
+
+  private static List<BiConsumer<CoreEvent, Throwable>> addConsumer(List<BiConsumer<CoreEvent, Throwable>> consumers,
+                                                                    BiConsumer<CoreEvent, Throwable> consumer) {
+    if (consumers == null) {
+      consumers = new ArrayList<>(2);
+    }
+    consumers.add(requireNonNull(consumer));
+    return consumers;
   }
 
   private void signalConsumerSilently(BiConsumer<CoreEvent, Throwable> consumer) {
@@ -246,7 +329,7 @@ abstract class AbstractEventContext implements BaseEventContext {
     if (state >= STATE_TERMINATED) {
       signalConsumerSilently(consumer);
     }
-    onTerminatedConsumerList.add(requireNonNull(consumer));
+    onTerminatedConsumerList = addConsumer(onTerminatedConsumerList, consumer);
   }
 
   @Override
@@ -254,7 +337,7 @@ abstract class AbstractEventContext implements BaseEventContext {
     if (state >= STATE_COMPLETE) {
       signalConsumerSilently(consumer);
     }
-    onCompletionConsumerList.add(requireNonNull(consumer));
+    onCompletionConsumerList = addConsumer(onCompletionConsumerList, consumer);
   }
 
   @Override
@@ -262,7 +345,7 @@ abstract class AbstractEventContext implements BaseEventContext {
     if (state >= STATE_RESPONSE) {
       signalConsumerSilently(consumer);
     }
-    onResponseConsumerList.add(requireNonNull(consumer));
+    onResponseConsumerList = addConsumer(onResponseConsumerList, consumer);
   }
 
   @Override
@@ -291,18 +374,27 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
-    childContextsReadWriteLock.readLock().lock();
-    try {
-      for (BaseEventContext context : childContexts) {
-        if (!context.isTerminated()) {
-          childConsumer.accept(context);
-          if (context instanceof AbstractEventContext) {
-            ((AbstractEventContext) context).forEachChild(childConsumer);
-          }
+    for (ChildContext child = childContexts; child != null; child = child.next) {
+      final BaseEventContext context = child.context;
+      if (!context.isTerminated()) {
+        childConsumer.accept(context);
+        if (context instanceof AbstractEventContext) {
+          ((AbstractEventContext) context).forEachChild(childConsumer);
         }
       }
-    } finally {
-      childContextsReadWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * A node of the list of child contexts.
+   */
+  private static final class ChildContext {
+
+    private final BaseEventContext context;
+    private volatile ChildContext next;
+
+    private ChildContext(BaseEventContext context) {
+      this.context = context;
     }
   }
 
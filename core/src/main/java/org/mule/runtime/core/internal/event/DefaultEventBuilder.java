@@ -13,8 +13,6 @@ import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
-import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
-import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsString;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
@@ -38,9 +36,11 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.message.GroupCorrelation;
 import org.mule.runtime.core.api.transformer.MessageTransformerException;
 import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.runtime.core.internal.el.EventBindingContext;
 import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.CaseInsensitivePersistentMap;
 import org.mule.runtime.core.privileged.connector.DefaultReplyToHandler;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -52,7 +52,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -65,7 +68,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   private BaseEventContext context;
   private Message message;
-  private Map<String, TypedValue<?>> flowVariables = new HashMap<>();
+  private CaseInsensitivePersistentMap<TypedValue<?>> flowVariables = CaseInsensitivePersistentMap.empty();
   private Map<String, Object> internalParameters = new HashMap<>(4);
   private Error error;
   private Optional<ItemSequenceInfo> itemSequenceInfo = empty();
@@ -96,7 +99,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.flowVariables.putAll(event.getVariables());
+    // the variables of an event built by this builder are shared, not copied
+    this.flowVariables = CaseInsensitivePersistentMap.copyOf(event.getVariables());
     this.internalParameters.putAll(event.getInternalParameters());
   }
 
@@ -116,13 +120,20 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    copyFromTo(flowVariables, this.flowVariables);
+    CaseInsensitivePersistentMap<TypedValue<?>> variables = CaseInsensitivePersistentMap.empty();
+    for (Map.Entry<String, ?> entry : flowVariables.entrySet()) {
+      Object value = entry.getValue();
+      variables = variables.with(entry.getKey(), value instanceof TypedValue ? (TypedValue<Object>) value
+          : new TypedValue<>(value, DataType.fromObject(value)));
+    }
+    this.flowVariables = variables;
+    this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value) {
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.with(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -130,14 +141,16 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.with(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeVariable(String key) {
-    this.modified = flowVariables.remove(key) != null || modified;
+    CaseInsensitivePersistentMap<TypedValue<?>> updated = flowVariables.without(key);
+    this.modified = updated != flowVariables || modified;
+    this.flowVariables = updated;
     return this;
   }
 
@@ -240,13 +253,6 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
-  private void copyFromTo(Map<String, ?> source, Map<String, TypedValue<?>> target) {
-    target.clear();
-    source.forEach((s, o) -> target
-        .put(s, o instanceof TypedValue ? (TypedValue<Object>) o : new TypedValue<>(o, DataType.fromObject(o))));
-    this.modified = true;
-  }
-
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
@@ -259,6 +265,25 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The serialized form of events, which keeps the variables in a {@link CaseInsensitiveHashMap} as previous versions did, so
+     * that events persisted by them can still be read and vice versa.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("context", BaseEventContext.class),
+        new ObjectStreamField("message", Message.class),
+        new ObjectStreamField("session", MuleSession.class),
+        new ObjectStreamField("securityContext", SecurityContext.class),
+        new ObjectStreamField("replyToHandler", ReplyToHandler.class),
+        new ObjectStreamField("replyToDestination", Object.class),
+        new ObjectStreamField("notificationsEnabled", boolean.class),
+        new ObjectStreamField("variables", CaseInsensitiveHashMap.class),
+        new ObjectStreamField("internalParameters", Map.class),
+        new ObjectStreamField("legacyCorrelationId", String.class),
+        new ObjectStreamField("error", Error.class),
+        new ObjectStreamField("itemSequenceInfo", ItemSequenceInfo.class)
+    };
+
     /** Immutable MuleEvent state **/
 
     private BaseEventContext context;
@@ -274,7 +299,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CaseInsensitiveHashMap<String, TypedValue<?>> variables;
+    private final CaseInsensitivePersistentMap<TypedValue<?>> variables;
     private final Map<String, ?> internalParameters;
 
     private final String legacyCorrelationId;
@@ -282,8 +307,14 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private ItemSequenceInfo itemSequenceInfo;
 
+    private transient volatile BindingContext bindingContext;
+
+    // only set on the instance read from the stream, which is then resolved into the actual event
+    private transient SerializedEvent serializedEvent;
+
     // Use this constructor from the builder
-    private InternalEventImplementation(BaseEventContext context, Message message, Map<String, TypedValue<?>> variables,
+    private InternalEventImplementation(BaseEventContext context, Message message,
+                                        CaseInsensitivePersistentMap<TypedValue<?>> variables,
                                         Map<String, ?> internalParameters, MuleSession session, SecurityContext securityContext,
                                         Object replyToDestination, ReplyToHandler replyToHandler,
                                         Optional<ItemSequenceInfo> itemSequenceInfo,
@@ -293,7 +324,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = new CaseInsensitiveHashMap<>(variables);
+      this.variables = variables;
       this.internalParameters = internalParameters;
 
       this.replyToHandler = replyToHandler;
@@ -438,8 +469,22 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     // //////////////////////////
 
     private void writeObject(ObjectOutputStream out) throws IOException {
+      ObjectOutputStream.PutField fields = out.putFields();
+      fields.put("context", context);
+      fields.put("message", message);
+      fields.put("session", session);
+      fields.put("securityContext", securityContext);
+      fields.put("replyToHandler", replyToHandler);
+      fields.put("replyToDestination", replyToDestination);
+      fields.put("notificationsEnabled", notificationsEnabled);
+      fields.put("variables", new CaseInsensitiveHashMap<>(variables));
+      fields.put("internalParameters", internalParameters);
+      fields.put("legacyCorrelationId", legacyCorrelationId);
+      fields.put("error", error);
+      fields.put("itemSequenceInfo", itemSequenceInfo);
+      out.writeFields();
+
       // TODO MULE-10013 remove this logic from here
-      out.defaultWriteObject();
       for (Map.Entry<String, TypedValue<?>> entry : variables.entrySet()) {
         Object value = entry.getValue();
         if (value != null && !(value instanceof Serializable)) {
@@ -450,13 +495,69 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       }
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      serializedEvent = new SerializedEvent(in.readFields());
+    }
+
+    /**
+     * The final fields of the instance read from the stream can't be set, so it's replaced with a new event built from its
+     * serialized state.
+     */
+    private Object readResolve() throws ObjectStreamException {
+      return serializedEvent.toEvent();
+    }
+
     private void setMessage(Message message) {
       this.message = message;
+      this.bindingContext = null;
+    }
+
+    /**
+     * The state of an event as read from its serialized form
+     */
+    private static final class SerializedEvent {
+
+      private final BaseEventContext context;
+      private final Message message;
+      private final MuleSession session;
+      private final SecurityContext securityContext;
+      private final ReplyToHandler replyToHandler;
+      private final Object replyToDestination;
+      private final boolean notificationsEnabled;
+      private final Map<String, TypedValue<?>> variables;
+      private final Map<String, ?> internalParameters;
+      private final String legacyCorrelationId;
+      private final Error error;
+      private final ItemSequenceInfo itemSequenceInfo;
+
+      private SerializedEvent(ObjectInputStream.GetField fields) throws IOException {
+        context = (BaseEventContext) fields.get("context", null);
+        message = (Message) fields.get("message", null);
+        session = (MuleSession) fields.get("session", null);
+        securityContext = (SecurityContext) fields.get("securityContext", null);
+        replyToHandler = (ReplyToHandler) fields.get("replyToHandler", null);
+        replyToDestination = fields.get("replyToDestination", null);
+        notificationsEnabled = fields.get("notificationsEnabled", false);
+        variables = (Map<String, TypedValue<?>>) fields.get("variables", null);
+        internalParameters = (Map<String, ?>) fields.get("internalParameters", null);
+        legacyCorrelationId = (String) fields.get("legacyCorrelationId", null);
+        error = (Error) fields.get("error", null);
+        itemSequenceInfo = (ItemSequenceInfo) fields.get("itemSequenceInfo", null);
+      }
+
+      private InternalEventImplementation toEvent() {
+        return new InternalEventImplementation(context, message,
+                                               variables != null ? CaseInsensitivePersistentMap.copyOf(variables)
+                                                   : CaseInsensitivePersistentMap.empty(),
+                                               internalParameters, session, securityContext, replyToDestination, replyToHandler,
+                                               ofNullable(itemSequenceInfo), error, legacyCorrelationId, notificationsEnabled);
+      }
     }
 
     @Override
     public Map<String, TypedValue<?>> getVariables() {
-      return unmodifiableMap(variables);
+      // immutable already
+      return variables;
     }
 
     @Override
@@ -510,7 +611,13 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     @Override
     public BindingContext asBindingContext() {
-      return addEventBindings(this, NULL_BINDING_CONTEXT);
+      // Shared by all the expressions evaluated on this event
+      BindingContext context = bindingContext;
+      if (context == null) {
+        context = new EventBindingContext(this);
+        bindingContext = context;
+      }
+      return context;
     }
   }
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.event;
+
+import org.mule.runtime.api.event.EventContext;
+
+/**
+ * An {@link EventContext} which carries the times at which its events entered the processors being timed, so that they don't
+ * have to be looked up elsewhere and are discarded along with it. Start times are dropped when the context terminates.
+ *
+ * @since 4.2
+ */
+public interface ProcessorTimingEventContext {
+
+  /**
+   * Returned by {@link #removeProcessorStartTime(Object)} when no start time was set.
+   */
+  long NO_START_TIME = Long.MIN_VALUE;
+
+  /**
+   * Sets the time at which an event of this context entered the processor identified by the given key, replacing the previous
+   * one, if any.
+   *
+   * @param processorKey identifies the timed processor
+   * @param startTime the value of {@link System#nanoTime()} when the event entered the processor
+   */
+  void setProcessorStartTime(Object processorKey, long startTime);
+
+  /**
+   * @param processorKey identifies the timed processor
+   * @return the time at which an event of this context entered the processor identified by the given key, or
+   *         {@link #NO_START_TIME} if it wasn't set or was already removed.
+   */
+  long removeProcessorStartTime(Object processorKey);
+}
@@ -6,77 +6,52 @@
  */
 package org.mule.runtime.core.internal.lock;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * Each lock is kept while there are threads holding or waiting for it, counting them in its {@link LockEntry}. Entries are
+ * created and counted atomically through the concurrent map that holds them, so operations over different lock ids don't
+ * contend with each other.
  */
 public class InstanceLockGroup implements LockGroup {
 
-  private Map<String, LockEntry> locks;
-  private Object lockAccessMonitor = new Object();
-  private LockProvider lockProvider;
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
 
   public InstanceLockGroup(LockProvider lockProvider) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
   }
 
   @Override
   public void lock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    lockEntry.getLock().lock();
+    acquireEntry(lockId).getLock().lock();
   }
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(key);
-        }
-        lockEntry.getLock().unlock();
-      }
-      lockAccessMonitor.notifyAll();
+    LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      // the entry must not be released while the lock is still held, or a new lock could be created for the same key
+      lockEntry.getLock().unlock();
+      releaseEntry(key, lockEntry);
     }
   }
 
   @Override
   public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    boolean lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
       }
     }
     return lockAcquired;
@@ -84,43 +59,46 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public boolean tryLock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
+    LockEntry lockEntry = acquireEntry(lockId);
     boolean lockAcquired = lockEntry.getLock().tryLock();
     if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
-      }
+      releaseEntry(lockId, lockEntry);
     }
     return lockAcquired;
   }
 
   @Override
   public void lockInterruptibly(String lockId) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockEntry.getLock().lockInterruptibly();
+      lockAcquired = true;
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
       }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
     }
-    lockEntry.getLock().lockInterruptibly();
+  }
+
+  private LockEntry acquireEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.incrementLockCount();
+      return lockEntry;
+    });
+  }
+
+  private void releaseEntry(String lockId, LockEntry released) {
+    locks.computeIfPresent(lockId, (id, lockEntry) -> {
+      if (lockEntry != released) {
+        return lockEntry;
+      }
+      lockEntry.decrementLockCount();
+      return lockEntry.hasPendingLocks() ? lockEntry : null;
+    });
   }
 
   public static class LockEntry {
@@ -151,8 +129,6 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void dispose() {
-    synchronized (lockAccessMonitor) {
-      locks.clear();
-    }
+    locks.clear();
   }
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.lock;
 import org.mule.runtime.api.lock.LockFactory;
 
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Provides abstraction in the creation and destruction of Mule locks.
@@ -27,4 +28,46 @@ public interface LockProvider {
    */
   Lock createLock(String lockId);
 
+  /**
+   * Returns an instance of a {@link Lock} with the given fairness policy.
+   * <p>
+   * Implementations that can't honor the fairness policy may ignore it, which is what the default implementation does.
+   *
+   * @param lockId id that identifies the {@link Lock} instance
+   * @param fair whether the lock has to be granted to waiting threads in the order they asked for it
+   * @return a {@link Lock} instance related to the lockId
+   * @since 4.2
+   */
+  default Lock createLock(String lockId, boolean fair) {
+    return createLock(lockId);
+  }
+
+  /**
+   * Returns an instance of a {@link ReadWriteLock}.
+   * <p>
+   * The default implementation returns a {@link ReadWriteLock} whose read and write locks are the same exclusive {@link Lock},
+   * obtained from {@link #createLock(String, boolean)}. That is correct, though readers exclude each other, so implementations
+   * that support shared locks should override it.
+   *
+   * @param lockId id that identifies the {@link ReadWriteLock} instance
+   * @param fair whether the lock has to be granted to waiting threads in the order they asked for it
+   * @return a {@link ReadWriteLock} instance related to the lockId
+   * @since 4.2
+   */
+  default ReadWriteLock createReadWriteLock(String lockId, boolean fair) {
+    final Lock lock = createLock(lockId, fair);
+    return new ReadWriteLock() {
+
+      @Override
+      public Lock readLock() {
+        return lock;
+      }
+
+      @Override
+      public Lock writeLock() {
+        return lock;
+      }
+    };
+  }
+
 }
@@ -7,7 +7,9 @@
 package org.mule.runtime.core.internal.lock;
 
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@link LockProvider} implementation for applications running in a single mule server
@@ -16,7 +18,17 @@ public class SingleServerLockProvider implements LockProvider {
 
   @Override
   public Lock createLock(String lockId) {
-    return new ReentrantLock(true);
+    return createLock(lockId, true);
+  }
+
+  @Override
+  public Lock createLock(String lockId, boolean fair) {
+    return new ReentrantLock(fair);
+  }
+
+  @Override
+  public ReadWriteLock createReadWriteLock(String lockId, boolean fair) {
+    return new ReentrantReadWriteLock(fair);
   }
 
 }
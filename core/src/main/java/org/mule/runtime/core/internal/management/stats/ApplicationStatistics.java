@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static org.mule.runtime.core.internal.util.LatencyHistogram.emptySnapshot;
 import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 
 /**
  * Aggregate statistics for all services and flows in an application. Do this by looping through all of the applications'
@@ -86,6 +88,39 @@ public class ApplicationStatistics extends DefaultFlowConstructStatistics {
     return total;
   }
 
+  @Override
+  public LatencySnapshot getProcessingTimeSnapshot() {
+    LatencySnapshot snapshot = emptySnapshot();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (!(stats instanceof ApplicationStatistics)) {
+        snapshot = snapshot.merge(stats.getProcessingTimeSnapshot());
+      }
+    }
+    return snapshot;
+  }
+
+  @Override
+  public int getEventsWaitingForScheduler() {
+    int total = 0;
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (!(stats instanceof ApplicationStatistics)) {
+        total += stats.getEventsWaitingForScheduler();
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public LatencySnapshot getSchedulerWaitTimeSnapshot() {
+    LatencySnapshot snapshot = emptySnapshot();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (!(stats instanceof ApplicationStatistics)) {
+        snapshot = snapshot.merge(stats.getSchedulerWaitTimeSnapshot());
+      }
+    }
+    return snapshot;
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static org.mule.runtime.core.internal.util.LatencyHistogram.emptySnapshot;
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatistics {
 
@@ -16,6 +20,9 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
   private final AtomicLong executionError = new AtomicLong(0);
   private final AtomicLong fatalError = new AtomicLong(0);
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
+  private transient volatile IntSupplier concurrencyLimit;
+  private transient volatile IntSupplier eventsWaitingForScheduler;
+  private transient volatile Supplier<LatencySnapshot> schedulerWaitTimeSnapshot;
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
     super(flowConstructType, name);
@@ -98,6 +105,54 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     return flowStatistics.getTotalExecutionTime();
   }
 
+  @Override
+  public LatencySnapshot getProcessingTimeSnapshot() {
+    return flowStatistics.getExecutionTimeSnapshot();
+  }
+
+  @Override
+  public int getConcurrencyLimit() {
+    final IntSupplier limit = concurrencyLimit;
+    return limit == null ? -1 : limit.getAsInt();
+  }
+
+  /**
+   * @param concurrencyLimit provides the current concurrency limit of the flow, when it's adaptively limited.
+   * @since 4.2
+   */
+  public void setConcurrencyLimit(IntSupplier concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  @Override
+  public int getEventsWaitingForScheduler() {
+    final IntSupplier waiting = eventsWaitingForScheduler;
+    return waiting == null ? 0 : waiting.getAsInt();
+  }
+
+  /**
+   * @param eventsWaitingForScheduler provides the number of events of the flow currently waiting for a busy shared scheduler.
+   * @since 4.2
+   */
+  public void setEventsWaitingForScheduler(IntSupplier eventsWaitingForScheduler) {
+    this.eventsWaitingForScheduler = eventsWaitingForScheduler;
+  }
+
+  @Override
+  public LatencySnapshot getSchedulerWaitTimeSnapshot() {
+    final Supplier<LatencySnapshot> snapshot = schedulerWaitTimeSnapshot;
+    return snapshot == null ? emptySnapshot() : snapshot.get();
+  }
+
+  /**
+   * @param schedulerWaitTimeSnapshot provides the distribution of the time the events of the flow waited for a busy shared
+   *        scheduler.
+   * @since 4.2
+   */
+  public void setSchedulerWaitTimeSnapshot(Supplier<LatencySnapshot> schedulerWaitTimeSnapshot) {
+    this.schedulerWaitTimeSnapshot = schedulerWaitTimeSnapshot;
+  }
+
   @Override
   public long getExecutionErrors() {
     return executionError.get();
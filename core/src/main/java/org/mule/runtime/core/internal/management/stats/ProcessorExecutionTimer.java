@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.internal.event.ProcessorTimingEventContext.NO_START_TIME;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.internal.event.ProcessorTimingEventContext;
+
+/**
+ * Measures the time events take to go through a processor and records it, in milliseconds, in the
+ * {@link AllStatistics#getProcessorStatistics(String) statistics of the processor}, while statistics are enabled.
+ * <p>
+ * The start time of each event is carried by its {@link ProcessorTimingEventContext} until it leaves the processor, so it's
+ * discarded along with the context if the event is dropped or cancelled inside the processor. Nothing is kept when statistics
+ * are disabled.
+ *
+ * @since 4.2
+ */
+public final class ProcessorExecutionTimer {
+
+  private final AllStatistics statistics;
+  private final String location;
+  private volatile ComponentStatistics processorStatistics;
+
+  /**
+   * Creates a new instance
+   *
+   * @param statistics the statistics of the application
+   * @param location the location of the timed processor
+   */
+  public ProcessorExecutionTimer(AllStatistics statistics, String location) {
+    this.statistics = statistics;
+    this.location = location;
+  }
+
+  /**
+   * Takes the time at which the given event entered the processor.
+   */
+  public void start(CoreEvent event) {
+    final EventContext eventContext = event.getContext();
+    if (statistics.isEnabled() && eventContext instanceof ProcessorTimingEventContext) {
+      ((ProcessorTimingEventContext) eventContext).setProcessorStartTime(this, nanoTime());
+    }
+  }
+
+  /**
+   * Records the time since the event with the given context entered the processor, if it was taken.
+   */
+  public void stop(EventContext eventContext) {
+    if (eventContext instanceof ProcessorTimingEventContext) {
+      final long startTime = ((ProcessorTimingEventContext) eventContext).removeProcessorStartTime(this);
+      if (startTime != NO_START_TIME) {
+        getProcessorStatistics().addExecutionTime(NANOSECONDS.toMillis(nanoTime() - startTime));
+      }
+    }
+  }
+
+  private ComponentStatistics getProcessorStatistics() {
+    ComponentStatistics stats = processorStatistics;
+    if (stats == null) {
+      stats = statistics.getProcessorStatistics(location);
+      processorStatistics = stats;
+    }
+    return stats;
+  }
+}
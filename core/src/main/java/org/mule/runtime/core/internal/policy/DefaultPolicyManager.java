@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.policy;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.functional.Either.right;
@@ -40,6 +41,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -47,6 +49,12 @@ import javax.inject.Inject;
 
 /**
  * Default implementation of {@link PolicyManager}.
+ * <p>
+ * When the {@link PolicyProvider} {@link PolicyProvider#supportsChangeNotification() notifies changes} of its policies, the
+ * policies applied to a component whose pointcut parameters don't depend on the event, because no pointcut parameters factory
+ * supports it, are resolved once and kept by component location until the provider notifies that the policies changed.
+ * Otherwise, they are resolved for every event. The lookup of the pointcut parameters factories and parameters transformers is done once per component
+ * identifier.
  *
  * @since 4.0
  */
@@ -63,15 +71,29 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
   private Collection<SourcePolicyPointcutParametersFactory> sourcePointcutFactories = emptyList();
   private Collection<OperationPolicyPointcutParametersFactory> operationPointcutFactories = emptyList();
   private PolicyProvider policyProvider;
+  private boolean policiesByLocationCached;
   private OperationPolicyProcessorFactory operationPolicyProcessorFactory;
   private SourcePolicyProcessorFactory sourcePolicyProcessorFactory;
 
+  private final Map<ComponentIdentifier, Optional<SourcePolicyPointcutParametersFactory>> sourcePointcutFactoryById =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<OperationPolicyPointcutParametersFactory>> operationPointcutFactoryById =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<SourcePolicyParametersTransformer>> sourceParametersTransformerById =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<OperationPolicyParametersTransformer>> operationParametersTransformerById =
+      new ConcurrentHashMap<>();
+
+  // Replaced as a whole when the policies change, so resolutions in progress at that time end up in the discarded ones.
+  private volatile Map<String, List<Policy>> sourcePoliciesByLocation = new ConcurrentHashMap<>();
+  private volatile Map<String, List<Policy>> operationPoliciesByLocation = new ConcurrentHashMap<>();
+
   @Override
   public SourcePolicy createSourcePolicyInstance(Component source, CoreEvent sourceEvent,
                                                  Processor flowExecutionProcessor,
                                                  MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
-    PolicyPointcutParameters sourcePointcutParameters = createSourcePointcutParameters(source, sourceEvent);
-    List<Policy> parameterizedPolicies = policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters);
+    ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+    List<Policy> parameterizedPolicies = findSourcePolicies(source, sourceIdentifier, sourceEvent);
     if (parameterizedPolicies.isEmpty()) {
       return event -> from(process(event, flowExecutionProcessor))
           .defaultIfEmpty(CoreEvent.builder(sourceEvent).message(of(null)).build())
@@ -89,9 +111,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
                     .apply(messagingException.getEvent()))));
           });
     }
-    return new CompositeSourcePolicy(parameterizedPolicies,
-                                     lookupSourceParametersTransformer(source.getLocation().getComponentIdentifier()
-                                         .getIdentifier()),
+    return new CompositeSourcePolicy(parameterizedPolicies, lookupSourceParametersTransformer(sourceIdentifier),
                                      sourcePolicyProcessorFactory, flowExecutionProcessor,
                                      messageSourceResponseParametersProcessor);
   }
@@ -101,28 +121,27 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
                                                Map<String, Object> operationParameters,
                                                OperationExecutionFunction operationExecutionFunction) {
 
-    PolicyPointcutParameters operationPointcutParameters =
-        createOperationPointcutParameters(operation, operationParameters);
-    List<Policy> parameterizedPolicies = policyProvider.findOperationParameterizedPolicies(operationPointcutParameters);
+    ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+    List<Policy> parameterizedPolicies = findOperationPolicies(operation, operationIdentifier, operationParameters);
     if (parameterizedPolicies.isEmpty()) {
       return (operationEvent) -> operationExecutionFunction.execute(operationParameters, operationEvent);
     }
-    return new CompositeOperationPolicy(parameterizedPolicies,
-                                        lookupOperationParametersTransformer(operation.getLocation().getComponentIdentifier()
-                                            .getIdentifier()),
+    return new CompositeOperationPolicy(parameterizedPolicies, lookupOperationParametersTransformer(operationIdentifier),
                                         operationPolicyProcessorFactory, () -> operationParameters, operationExecutionFunction);
   }
 
   private Optional<OperationPolicyParametersTransformer> lookupOperationParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return operationPolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return operationParametersTransformerById
+        .computeIfAbsent(componentIdentifier, identifier -> operationPolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
   private Optional<SourcePolicyParametersTransformer> lookupSourceParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return sourcePolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return sourceParametersTransformerById
+        .computeIfAbsent(componentIdentifier, identifier -> sourcePolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
   @Override
@@ -135,46 +154,77 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
     operationPolicyParametersTransformerCollection = registry.lookupObjects(OperationPolicyParametersTransformer.class);
     sourcePointcutFactories = registry.lookupObjects(SourcePolicyPointcutParametersFactory.class);
     operationPointcutFactories = registry.lookupObjects(OperationPolicyPointcutParametersFactory.class);
+    policiesByLocationCached = policyProvider.supportsChangeNotification();
+    if (policiesByLocationCached) {
+      policyProvider.onPoliciesChanged(this::evictResolvedPolicies);
+    }
   }
 
-  private PolicyPointcutParameters createSourcePointcutParameters(Component source,
-                                                                  CoreEvent sourceEvent) {
-    ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+  private void evictResolvedPolicies() {
+    sourcePoliciesByLocation = new ConcurrentHashMap<>();
+    operationPoliciesByLocation = new ConcurrentHashMap<>();
+  }
 
-    return createPointcutParameters(source, SourcePolicyPointcutParametersFactory.class, sourcePointcutFactories,
-                                    factory -> factory.supportsSourceIdentifier(sourceIdentifier),
-                                    factory -> factory.createPolicyPointcutParameters(source,
-                                                                                      sourceEvent.getMessage().getAttributes()));
+  private List<Policy> findSourcePolicies(Component source, ComponentIdentifier sourceIdentifier, CoreEvent sourceEvent) {
+    Optional<SourcePolicyPointcutParametersFactory> pointcutFactory = sourcePointcutFactoryById
+        .computeIfAbsent(sourceIdentifier,
+                         identifier -> findPointcutFactory(identifier, SourcePolicyPointcutParametersFactory.class,
+                                                           sourcePointcutFactories,
+                                                           factory -> factory.supportsSourceIdentifier(identifier)));
+
+    if (pointcutFactory.isPresent()) {
+      return policyProvider.findSourceParameterizedPolicies(pointcutFactory.get()
+          .createPolicyPointcutParameters(source, sourceEvent.getMessage().getAttributes()));
+    } else {
+      return findPoliciesByLocation(sourcePoliciesByLocation, source, policyProvider::findSourceParameterizedPolicies);
+    }
   }
 
-  private PolicyPointcutParameters createOperationPointcutParameters(Component operation,
-                                                                     Map<String, Object> operationParameters) {
-    ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+  private List<Policy> findOperationPolicies(Component operation, ComponentIdentifier operationIdentifier,
+                                             Map<String, Object> operationParameters) {
+    Optional<OperationPolicyPointcutParametersFactory> pointcutFactory = operationPointcutFactoryById
+        .computeIfAbsent(operationIdentifier,
+                         identifier -> findPointcutFactory(identifier, OperationPolicyPointcutParametersFactory.class,
+                                                           operationPointcutFactories,
+                                                           factory -> factory.supportsOperationIdentifier(identifier)));
+
+    if (pointcutFactory.isPresent()) {
+      return policyProvider.findOperationParameterizedPolicies(pointcutFactory.get()
+          .createPolicyPointcutParameters(operation, operationParameters));
+    } else {
+      return findPoliciesByLocation(operationPoliciesByLocation, operation, policyProvider::findOperationParameterizedPolicies);
+    }
+  }
 
-    return createPointcutParameters(operation, OperationPolicyPointcutParametersFactory.class, operationPointcutFactories,
-                                    factory -> factory.supportsOperationIdentifier(operationIdentifier),
-                                    factory -> factory.createPolicyPointcutParameters(operation, operationParameters));
+  /**
+   * Without a pointcut parameters factory the parameters only hold the component, so the policies found for them only change
+   * when the policies of the provider do.
+   */
+  private List<Policy> findPoliciesByLocation(Map<String, List<Policy>> policiesByLocation, Component component,
+                                              Function<PolicyPointcutParameters, List<Policy>> policiesFinder) {
+    if (!policiesByLocationCached) {
+      // the provider doesn't tell when its policies change, so what it returned before may be stale
+      return policiesFinder.apply(new PolicyPointcutParameters(component));
+    }
+    return policiesByLocation.computeIfAbsent(component.getLocation().getLocation(),
+                                              location -> unmodifiableList(policiesFinder
+                                                  .apply(new PolicyPointcutParameters(component))));
   }
 
-  private <T> PolicyPointcutParameters createPointcutParameters(Component component, Class<T> factoryType,
-                                                                Collection<T> factories, Predicate<T> factoryFilter,
-                                                                Function<T, PolicyPointcutParameters> policyPointcutParametersCreationFunction) {
+  private <T> Optional<T> findPointcutFactory(ComponentIdentifier componentIdentifier, Class<T> factoryType,
+                                              Collection<T> factories, Predicate<T> factoryFilter) {
     T found = null;
 
     for (T factory : factories) {
       if (factoryFilter.test(factory)) {
         if (found != null) {
-          throwMoreThanOneFactoryFoundException(component.getLocation().getComponentIdentifier().getIdentifier(), factoryType);
+          throwMoreThanOneFactoryFoundException(componentIdentifier, factoryType);
         }
         found = factory;
       }
     }
 
-    if (found == null) {
-      return new PolicyPointcutParameters(component);
-    } else {
-      return policyPointcutParametersCreationFunction.apply(found);
-    }
+    return Optional.ofNullable(found);
   }
 
   private PolicyPointcutParameters throwMoreThanOneFactoryFoundException(ComponentIdentifier sourceIdentifier,
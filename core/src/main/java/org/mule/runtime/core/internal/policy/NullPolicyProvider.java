@@ -30,4 +30,10 @@ public class NullPolicyProvider implements PolicyProvider {
   public List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
     return emptyList();
   }
+
+  @Override
+  public boolean supportsChangeNotification() {
+    // Policies never change
+    return true;
+  }
 }
@@ -156,15 +156,10 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
       final long shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
-      WorkQueueProcessor<CoreEvent> processor =
-          WorkQueueProcessor.<CoreEvent>builder().executor(ringBufferSchedulerSupplier.get()).bufferSize(bufferSize)
-              .waitStrategy(waitStrategy.getReactorWaitStrategy()).build();
-      int subscriberCount = maxConcurrency < subscribers ? maxConcurrency : subscribers;
+      WorkQueueProcessor<CoreEvent> processor = createRingBuffer(ringBufferSchedulerSupplier.get());
+      int subscriberCount = getSinkSubscriberCount();
       CountDownLatch completionLatch = new CountDownLatch(subscriberCount);
-      for (int i = 0; i < subscriberCount; i++) {
-        processor.doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader)).transform(function)
-            .doFinally(s -> completionLatch.countDown()).subscribe();
-      }
+      subscribe(processor, function, subscriberCount, completionLatch);
       return new ReactorSink(processor.sink(), () -> {
         long start = currentTimeMillis();
         processor.awaitAndShutdown(shutdownTimeout, MILLISECONDS);
@@ -176,6 +171,33 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
       }, createOnEventConsumer(), bufferSize);
     }
 
+    /**
+     * @return the number of subscribers that consume the events emitted to a {@link Sink}, which is capped by the max concurrency.
+     */
+    protected int getSinkSubscriberCount() {
+      return maxConcurrency < subscribers ? maxConcurrency : subscribers;
+    }
+
+    /**
+     * Creates a ring-buffer with the configured size and wait strategy, which runs its subscribers with the given scheduler.
+     */
+    protected WorkQueueProcessor<CoreEvent> createRingBuffer(Scheduler ringBufferScheduler) {
+      return WorkQueueProcessor.<CoreEvent>builder().executor(ringBufferScheduler).bufferSize(bufferSize)
+          .waitStrategy(waitStrategy.getReactorWaitStrategy()).build();
+    }
+
+    /**
+     * Subscribes the given function to the ring-buffer as many times as required, counting down the given latch when each
+     * subscription finishes.
+     */
+    protected void subscribe(WorkQueueProcessor<CoreEvent> processor, ReactiveProcessor function, int subscriberCount,
+                             CountDownLatch completionLatch) {
+      for (int i = 0; i < subscriberCount; i++) {
+        processor.doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader)).transform(function)
+            .doFinally(s -> completionLatch.countDown()).subscribe();
+      }
+    }
+
     protected enum WaitStrategy {
       BLOCKING(blocking()),
 
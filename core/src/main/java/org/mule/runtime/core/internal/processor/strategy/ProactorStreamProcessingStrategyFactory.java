@@ -10,27 +10,33 @@ import static java.lang.Integer.getInteger;
 import static java.lang.Long.MAX_VALUE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
-import static java.time.Duration.ofMillis;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.util.DataUnit.KB;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.IO_RW;
+import static org.mule.runtime.core.internal.util.LatencyHistogram.emptySnapshot;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Flux.just;
-import static reactor.core.publisher.Mono.delay;
 import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
 
-import java.util.concurrent.RejectedExecutionException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Publisher;
@@ -52,6 +58,7 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
 
   protected static final int STREAM_PAYLOAD_BLOCKING_IO_THRESHOLD =
       getInteger(SYSTEM_PROPERTY_PREFIX + "STREAM_PAYLOAD_BLOCKING_IO_THRESHOLD", KB.toBytes(16));
+  protected static final int MAX_PENDING_TASKS = getInteger(SYSTEM_PROPERTY_PREFIX + "MAX_PENDING_TASKS", 10000);
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
@@ -105,6 +112,9 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
     private Supplier<Scheduler> cpuIntensiveSchedulerSupplier;
     private Scheduler blockingScheduler;
     private Scheduler cpuIntensiveScheduler;
+    private QueueingExecutorServiceDecorator blockingExecutor;
+    private QueueingExecutorServiceDecorator cpuIntensiveExecutor;
+    private long shutdownTimeout;
 
     public ProactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier,
                                             int bufferSize,
@@ -128,10 +138,47 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
       super.start();
       this.blockingScheduler = blockingSchedulerSupplier.get();
       this.cpuIntensiveScheduler = cpuIntensiveSchedulerSupplier.get();
+      // Events rejected by these shared schedulers wait in a queue of this flow, dispatched as its tasks complete.
+      this.blockingExecutor = createQueueingExecutor(blockingScheduler);
+      this.cpuIntensiveExecutor = createQueueingExecutor(cpuIntensiveScheduler);
+    }
+
+    private QueueingExecutorServiceDecorator createQueueingExecutor(Scheduler scheduler) {
+      return new QueueingExecutorServiceDecorator(decorateScheduler(scheduler), scheduler.getName(), MAX_PENDING_TASKS,
+                                                  getCpuLightScheduler(), SCHEDULER_BUSY_RETRY_INTERVAL_MS);
+    }
+
+    @Override
+    public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
+      if (flowConstruct.getStatistics() instanceof DefaultFlowConstructStatistics) {
+        DefaultFlowConstructStatistics statistics = (DefaultFlowConstructStatistics) flowConstruct.getStatistics();
+        statistics.setEventsWaitingForScheduler(this::getEventsWaitingForScheduler);
+        statistics.setSchedulerWaitTimeSnapshot(this::getSchedulerWaitTimeSnapshot);
+      }
+      return super.createSink(flowConstruct, function);
+    }
+
+    private int getEventsWaitingForScheduler() {
+      return getPendingTaskCount(blockingExecutor) + getPendingTaskCount(cpuIntensiveExecutor);
+    }
+
+    private int getPendingTaskCount(QueueingExecutorServiceDecorator executor) {
+      return executor == null ? 0 : executor.getPendingTaskCount();
+    }
+
+    private LatencySnapshot getSchedulerWaitTimeSnapshot() {
+      return getWaitTimes(blockingExecutor).merge(getWaitTimes(cpuIntensiveExecutor));
+    }
+
+    private LatencySnapshot getWaitTimes(QueueingExecutorServiceDecorator executor) {
+      return executor == null ? emptySnapshot() : executor.getWaitTimes();
     }
 
     @Override
     public void stop() throws MuleException {
+      stopQueueingExecutor(blockingExecutor);
+      stopQueueingExecutor(cpuIntensiveExecutor);
       if (blockingScheduler != null) {
         blockingScheduler.stop();
       }
@@ -141,25 +188,44 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
       super.stop();
     }
 
+    private void stopQueueingExecutor(QueueingExecutorServiceDecorator executor) {
+      if (executor == null) {
+        return;
+      }
+      executor.shutdown();
+      try {
+        executor.awaitTermination(shutdownTimeout, MILLISECONDS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+      // The events of the tasks the scheduler had no room for before the timeout would never complete if they weren't run.
+      List<Runnable> notRun = executor.shutdownNow();
+      if (!notRun.isEmpty()) {
+        LOGGER.warn("{}: {} tasks were still waiting for the scheduler on stop. Running them on the stopping thread.",
+                    executor, notRun.size());
+        notRun.forEach(Runnable::run);
+      }
+    }
+
     @Override
     public ReactiveProcessor onProcessor(ReactiveProcessor processor) {
       if (processor.getProcessingType() == BLOCKING || processor.getProcessingType() == IO_RW) {
-        return proactor(processor, blockingScheduler);
+        return proactor(processor, blockingExecutor);
       } else if (processor.getProcessingType() == CPU_INTENSIVE) {
-        return proactor(processor, cpuIntensiveScheduler);
+        return proactor(processor, cpuIntensiveExecutor);
       } else {
         return super.onProcessor(processor);
       }
     }
 
-    private ReactiveProcessor proactor(ReactiveProcessor processor, Scheduler scheduler) {
+    private ReactiveProcessor proactor(ReactiveProcessor processor, ExecutorService executor) {
       return publisher -> from(publisher).flatMap(event -> {
         if (processor.getProcessingType() == IO_RW && !scheduleIoRwEvent(event)) {
           // If payload is not a stream o length is < STREAM_PAYLOAD_BLOCKING_IO_THRESHOLD (default 16KB) perform processing on
           // current thread in stead of scheduling using IO pool.
           return just(event).transform(processor);
         } else {
-          return scheduleProcessor(processor, scheduler, event);
+          return scheduleProcessor(processor, executor, event);
         }
       }, max(maxConcurrency / (getParallelism() * subscribers), 1));
     }
@@ -169,15 +235,11 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
           && event.getMessage().getPayload().getLength().orElse(MAX_VALUE) > STREAM_PAYLOAD_BLOCKING_IO_THRESHOLD;
     }
 
-    private Publisher<CoreEvent> scheduleProcessor(ReactiveProcessor processor, Scheduler scheduler, CoreEvent event) {
+    private Publisher<CoreEvent> scheduleProcessor(ReactiveProcessor processor, ExecutorService executor, CoreEvent event) {
       return just(event)
           .transform(processor)
           .publishOn(fromExecutorService(decorateScheduler(getCpuLightScheduler())))
-          .subscribeOn(fromExecutorService(decorateScheduler(scheduler)))
-          .doOnError(RejectedExecutionException.class, throwable -> LOGGER.trace("Shared scheduler " + scheduler.getName()
-              + " is busy.  Scheduling of the current event will be retried after " + SCHEDULER_BUSY_RETRY_INTERVAL_MS + "ms."))
-          .retryWhen(errors -> errors
-              .flatMap(error -> delay(ofMillis(SCHEDULER_BUSY_RETRY_INTERVAL_MS), fromExecutorService(getCpuLightScheduler()))));
+          .subscribeOn(fromExecutorService(executor));
     }
 
   }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
+import org.mule.runtime.core.internal.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link ExecutorService} decorator that, instead of failing, keeps the tasks rejected by a busy shared executor in a bounded
+ * queue of its own until there is room for them.
+ * <p>
+ * Every time one of the tasks submitted through this decorator completes, the thread that ran it goes on with the pending ones,
+ * so they are dispatched as soon as capacity frees up without polling. Only when none of the tasks of this decorator is running,
+ * which happens when the delegate is busy with tasks submitted by others, is a single retry scheduled on the given
+ * {@code retryScheduler}. Tasks are rejected only once the queue is full.
+ * <p>
+ * Once shut down, new tasks are rejected but the pending ones are still dispatched, since they carry events that would
+ * otherwise never complete.
+ *
+ * @since 4.2
+ */
+final class QueueingExecutorServiceDecorator extends AbstractExecutorService {
+
+  private static final Logger LOGGER = getLogger(QueueingExecutorServiceDecorator.class);
+
+  private final ExecutorService delegate;
+  private final String name;
+  private final int maxPendingTasks;
+  private final ScheduledExecutorService retryScheduler;
+  private final long retryIntervalMillis;
+
+  private final Deque<PendingTask> pendingTasks = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger pendingTaskCount = new AtomicInteger();
+  private final AtomicInteger runningTaskCount = new AtomicInteger();
+  private final AtomicBoolean retryScheduled = new AtomicBoolean();
+  private final LongAdder queuedTaskCount = new LongAdder();
+  private final LatencyHistogram waitTimes = new LatencyHistogram();
+  private volatile boolean shutdown;
+
+  /**
+   * Creates a new decorator.
+   *
+   * @param delegate the executor to run the tasks on
+   * @param name the name of the delegate, used for logging
+   * @param maxPendingTasks how many tasks may be waiting for the delegate before new ones are rejected
+   * @param retryScheduler the executor to schedule a retry on when there is no running task to dispatch the pending ones
+   * @param retryIntervalMillis the delay of such retries
+   */
+  QueueingExecutorServiceDecorator(ExecutorService delegate, String name, int maxPendingTasks,
+                                   ScheduledExecutorService retryScheduler, long retryIntervalMillis) {
+    if (maxPendingTasks < 1) {
+      throw new IllegalArgumentException("maxPendingTasks must be at least 1");
+    }
+    this.delegate = delegate;
+    this.name = name;
+    this.maxPendingTasks = maxPendingTasks;
+    this.retryScheduler = retryScheduler;
+    this.retryIntervalMillis = retryIntervalMillis;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor for '" + name + "' is shut down");
+    }
+
+    // Tasks already waiting go first, so new ones can't starve them.
+    if (pendingTaskCount.get() == 0 && trySubmit(command)) {
+      return;
+    }
+
+    if (pendingTaskCount.incrementAndGet() > maxPendingTasks) {
+      pendingTaskCount.decrementAndGet();
+      throw new RejectedExecutionException("Shared scheduler '" + name + "' is busy and " + maxPendingTasks
+          + " tasks are already waiting for it");
+    }
+    pendingTasks.offer(new PendingTask(command));
+    queuedTaskCount.increment();
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("Shared scheduler '{}' is busy. Task queued until it has room for it.", name);
+    }
+
+    // A running task that completes from now on will see the queued one. Otherwise, nothing would dispatch it.
+    if (runningTaskCount.get() == 0) {
+      scheduleRetry();
+    }
+  }
+
+  private boolean trySubmit(Runnable command) {
+    runningTaskCount.incrementAndGet();
+    try {
+      delegate.submit(() -> {
+        runAndContinueWithPending(command);
+        return null;
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      runningTaskCount.decrementAndGet();
+      return false;
+    }
+  }
+
+  private void runAndContinueWithPending(Runnable command) {
+    try {
+      // The thread of the delegate is handed off to the pending tasks, since resubmitting them may be rejected until this one is
+      // given back.
+      Runnable next = command;
+      while (next != null) {
+        next.run();
+        next = pollPending();
+      }
+    } finally {
+      runningTaskCount.decrementAndGet();
+      // A task may have been queued after the last poll, while this one was still accounted as running.
+      if (pendingTaskCount.get() > 0) {
+        dispatchPending();
+      }
+    }
+  }
+
+  private Runnable pollPending() {
+    final PendingTask task = pendingTasks.poll();
+    if (task == null) {
+      return null;
+    }
+    dequeued(task);
+    return task.command;
+  }
+
+  private void dispatchPending() {
+    PendingTask task;
+    while ((task = pendingTasks.poll()) != null) {
+      if (!trySubmit(task.command)) {
+        pendingTasks.offerFirst(task);
+        if (runningTaskCount.get() == 0) {
+          scheduleRetry();
+        }
+        return;
+      }
+      dequeued(task);
+    }
+  }
+
+  private void dequeued(PendingTask task) {
+    pendingTaskCount.decrementAndGet();
+    waitTimes.record(nanoTime() - task.queuedAt);
+  }
+
+  private void scheduleRetry() {
+    if (retryScheduled.compareAndSet(false, true)) {
+      try {
+        retryScheduler.schedule(() -> {
+          retryScheduled.set(false);
+          dispatchPending();
+        }, retryIntervalMillis, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        retryScheduled.set(false);
+        LOGGER.warn("Could not schedule the dispatch of the tasks waiting for shared scheduler '" + name + "'", e);
+      }
+    }
+  }
+
+  /**
+   * @return the number of tasks currently waiting for the delegate to have room for them
+   */
+  public int getPendingTaskCount() {
+    return pendingTaskCount.get();
+  }
+
+  /**
+   * @return the number of tasks that had to wait for the delegate since this decorator was created
+   */
+  public long getQueuedTaskCount() {
+    return queuedTaskCount.sum();
+  }
+
+  /**
+   * @return the time in nanoseconds the tasks that were eventually handed off to the delegate had to wait for it
+   */
+  public LatencySnapshot getWaitTimes() {
+    return waitTimes.snapshot();
+  }
+
+  /**
+   * Stops accepting tasks. The pending ones are still dispatched as the delegate has room for them, and this executor is
+   * terminated once all of them have run. The delegate is not shut down, since it is shared.
+   */
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  /**
+   * Stops accepting tasks and hands the pending ones to the caller, which becomes responsible for running them.
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    final List<Runnable> notRun = new ArrayList<>();
+    PendingTask task;
+    while ((task = pendingTasks.poll()) != null) {
+      pendingTaskCount.decrementAndGet();
+      notRun.add(task.command);
+    }
+    return notRun;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && runningTaskCount.get() == 0 && pendingTaskCount.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      if (nanoTime() - deadline >= 0) {
+        return false;
+      }
+      parkNanos(MILLISECONDS.toNanos(1));
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "QueueingExecutorServiceDecorator{" + name + ", pending=" + getPendingTaskCount() + "}";
+  }
+
+  private static final class PendingTask {
+
+    private final Runnable command;
+    private final long queuedAt = nanoTime();
+
+    private PendingTask(Runnable command) {
+      this.command = command;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.max;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.WorkQueueProcessor;
+
+/**
+ * Creates {@link ShardedProactorStreamProcessingStrategy} instances, which behave like the ones created by
+ * {@link ProactorStreamProcessingStrategyFactory} apart from the fact that incoming events are de-multiplexed onto several
+ * ring-buffers, or shards, instead of a single one.
+ * <p>
+ * Each source thread emits to the shard it has affinity with, so source threads running on different cores don't serialize on
+ * the same ring-buffer. By default there is a shard for each ring-buffer subscriber.
+ * <p/>
+ * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
+ *
+ * @since 4.2
+ */
+public class ShardedProactorStreamProcessingStrategyFactory extends ProactorStreamProcessingStrategyFactory {
+
+  protected static final int DEFAULT_SHARD_COUNT = getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SHARD_COUNT", 0);
+
+  private int shardCount = DEFAULT_SHARD_COUNT;
+
+  /**
+   * Configure the number of ring-buffers events are de-multiplexed onto. Each one gets at least one subscriber, so no more
+   * ring-buffers than subscribers are used. A value of {@code 0} or less means one ring-buffer per subscriber.
+   *
+   * @param shardCount the number of ring-buffers to use.
+   */
+  public void setShardCount(int shardCount) {
+    this.shardCount = shardCount;
+  }
+
+  protected int getShardCount() {
+    return shardCount > 0 ? shardCount : getSubscriberCount();
+  }
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    return new ShardedProactorStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                       getBufferSize(),
+                                                       getSubscriberCount(),
+                                                       getWaitStrategy(),
+                                                       getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                       () -> muleContext.getSchedulerService()
+                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                               .withName(schedulersNamePrefix + "." + BLOCKING.name())),
+                                                       () -> muleContext.getSchedulerService()
+                                                           .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                               .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
+                                                       resolveParallelism(),
+                                                       getMaxConcurrency(),
+                                                       getShardCount());
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return ShardedProactorStreamProcessingStrategy.class;
+  }
+
+  static class ShardedProactorStreamProcessingStrategy extends ProactorStreamProcessingStrategy {
+
+    private final int shardCount;
+
+    ShardedProactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier,
+                                            int bufferSize,
+                                            int subscriberCount,
+                                            String waitStrategy,
+                                            Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                            Supplier<Scheduler> blockingSchedulerSupplier,
+                                            Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                            int parallelism,
+                                            int maxConcurrency,
+                                            int shardCount) {
+      super(ringBufferSchedulerSupplier, bufferSize, subscriberCount, waitStrategy, cpuLightSchedulerSupplier,
+            blockingSchedulerSupplier, cpuIntensiveSchedulerSupplier, parallelism, maxConcurrency);
+      if (shardCount < 1) {
+        throw new IllegalArgumentException("shardCount must be at least 1");
+      }
+      this.shardCount = shardCount;
+    }
+
+    @Override
+    public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      final long shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
+      final int subscriberCount = getSinkSubscriberCount();
+      final int shards = min(shardCount, subscriberCount);
+
+      // All the ring-buffers share a scheduler, which has room for all the subscribers.
+      final Scheduler ringBufferScheduler = ringBufferSchedulerSupplier.get();
+      final WorkQueueProcessor<CoreEvent>[] processors = new WorkQueueProcessor[shards];
+      final ReactorSink[] shardSinks = new ReactorSink[shards];
+      final CountDownLatch completionLatch = new CountDownLatch(subscriberCount);
+      for (int i = 0; i < shards; i++) {
+        processors[i] = createRingBuffer(ringBufferScheduler);
+        subscribe(processors[i], function, subscriberCount / shards + (i < subscriberCount % shards ? 1 : 0), completionLatch);
+        shardSinks[i] = new ReactorSink(processors[i].sink(), () -> {
+        }, event -> {
+        }, bufferSize);
+      }
+
+      // The shards are completed before this is invoked, so their subscribers finish and the shared scheduler is terminated.
+      return new ShardedSink(shardSinks, createOnEventConsumer(), () -> {
+        long start = currentTimeMillis();
+        for (WorkQueueProcessor<CoreEvent> processor : processors) {
+          processor.awaitAndShutdown(max(start - currentTimeMillis() + shutdownTimeout, 0l), MILLISECONDS);
+        }
+        try {
+          completionLatch.await(max(start - currentTimeMillis() + shutdownTimeout, 0l), MILLISECONDS);
+        } catch (InterruptedException e) {
+          throw new MuleRuntimeException(e);
+        }
+      });
+    }
+
+    protected int getShardCount() {
+      return shardCount;
+    }
+  }
+
+}
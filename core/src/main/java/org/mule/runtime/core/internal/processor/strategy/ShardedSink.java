@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link Sink} implementation that spreads events over several {@link ReactorSink}s, or shards, each one backed by its own
+ * ring-buffer.
+ * <p>
+ * Each emitting thread has an affinity to one of the shards, so threads emitting concurrently mostly use different ring-buffers
+ * instead of contending on a single one. When the shard of a thread is full, the event is emitted to the next shard with room for
+ * it, so that a busy shard doesn't cause back-pressure while the rest are idle. Back-pressure is only applied when all the shards
+ * are full.
+ */
+class ShardedSink implements Sink, Disposable {
+
+  private final ReactorSink[] shards;
+  private final Consumer<CoreEvent> onEventConsumer;
+  private final reactor.core.Disposable disposable;
+
+  /**
+   * Creates a {@link ShardedSink}.
+   *
+   * @param shards the sinks to emit events to. These are expected not to have an event consumer of their own.
+   * @param onEventConsumer consumer invoked for every event accepted or emitted by this sink.
+   * @param disposable to be invoked after the shards are disposed.
+   */
+  ShardedSink(ReactorSink[] shards, Consumer<CoreEvent> onEventConsumer, reactor.core.Disposable disposable) {
+    this.shards = shards;
+    this.onEventConsumer = onEventConsumer;
+    this.disposable = disposable;
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    onEventConsumer.accept(event);
+    final int affinity = affinity();
+    if (!emitToShards(event, affinity)) {
+      // All shards are full, so wait for room in the one of the current thread.
+      shards[affinity].accept(event);
+    }
+  }
+
+  @Override
+  public boolean emit(CoreEvent event) {
+    onEventConsumer.accept(event);
+    return emitToShards(event, affinity());
+  }
+
+  private boolean emitToShards(CoreEvent event, int affinity) {
+    for (int i = 0; i < shards.length; ++i) {
+      if (shards[(affinity + i) % shards.length].emit(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int affinity() {
+    return (int) (currentThread().getId() % shards.length);
+  }
+
+  @Override
+  public void dispose() {
+    for (ReactorSink shard : shards) {
+      shard.dispose();
+    }
+    disposable.dispose();
+  }
+
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.registry;
 import static org.mule.runtime.api.metadata.DataType.builder;
 import static org.mule.runtime.api.metadata.MediaType.ANY;
 import static org.mule.runtime.core.internal.registry.TransformerResolver.RegistryAction.ADDED;
+import static org.mule.runtime.core.internal.registry.TransformerResolver.RegistryAction.REMOVED;
 import static org.mule.runtime.core.privileged.util.BeanUtils.getName;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -22,6 +23,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.internal.transformer.DataTypePair;
 import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
@@ -57,12 +59,11 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
   private DefaultRegistryBroker registry;
 
   /**
-   * We cache transformer searches so that we only search once
+   * We cache transformer searches so that we only search once. The caches are keyed by the data types as given by the caller,
+   * so that a cache hit doesn't need to build the normalized result data type.
    */
-  protected ConcurrentHashMap/* <String, Transformer> */ exactTransformerCache =
-      new ConcurrentHashMap/* <String, Transformer> */(8);
-  protected ConcurrentHashMap/* Map<String, List<Transformer>> */ transformerListCache =
-      new ConcurrentHashMap/* <String, List<Transformer>> */(8);
+  protected ConcurrentHashMap<DataTypePair, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
+  protected ConcurrentHashMap<DataTypePair, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
 
   private MuleContext muleContext;
 
@@ -136,22 +137,17 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public Transformer lookupTransformer(DataType source, DataType result) throws TransformerException {
-    //To maintain the previous behaviour, we don't want to consider the result mimeType when resolving a transformer
-    //and only find transformers with a targetType the same as or a super class of the expected one.
-    //The same could be done for the source but since if the source expected by the transformer is more generic that
-    //the provided, it will be found.
-    result = builder(result).mediaType(ANY).charset((Charset) null).build();
-
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = (Transformer) exactTransformerCache.get(dataTypePairHash);
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
+    Transformer cachedTransformer = exactTransformerCache.get(dataTypePair);
     if (cachedTransformer != null) {
       return cachedTransformer;
     }
 
+    result = normalizeResult(result);
     Transformer trans = resolveTransformer(source, result);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = (Transformer) exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
+      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(dataTypePair, trans);
       if (concurrentlyAddedTransformer != null) {
         return concurrentlyAddedTransformer;
       } else {
@@ -189,45 +185,35 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public List<Transformer> lookupTransformers(DataType source, DataType result) {
-    //To maintain the previous behaviour, we don't want to consider the result mimeType when resolving a transformer
-    //and only find transformers with a targetType the same as or a super class of the expected one.
-    //The same could be done for the source but since if the source expected by the transformer is more generic that
-    //the provided, it will be found.
-    result = builder(result).mediaType(ANY).charset((Charset) null).build();
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
 
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-
-    List<Transformer> results = (List<Transformer>) transformerListCache.get(dataTypePairHash);
+    List<Transformer> results = transformerListCache.get(dataTypePair);
     if (results != null) {
       return results;
     }
 
+    result = normalizeResult(result);
     results = new ArrayList<>(2);
 
     Lock readLock = transformersLock.readLock();
     readLock.lock();
     try {
       for (Transformer transformer : transformers) {
-        // The transformer must have the DiscoveryTransformer interface if we are
-        // going to find it here
-        if (!(transformer instanceof Converter)) {
-          continue;
-        }
-        if (result.isCompatibleWith(transformer.getReturnDataType()) && transformer.isSourceDataTypeSupported(source)) {
+        if (isCandidate(transformer, source, result)) {
           results.add(transformer);
         }
       }
+
+      // cached while holding the lock, so that the list can't miss a transformer added after it was built
+      List<Transformer> concurrentlyAddedTransformers = transformerListCache.putIfAbsent(dataTypePair, results);
+      if (concurrentlyAddedTransformers != null) {
+        return concurrentlyAddedTransformers;
+      } else {
+        return results;
+      }
     } finally {
       readLock.unlock();
     }
-
-    List<Transformer> concurrentlyAddedTransformers =
-        (List<Transformer>) transformerListCache.putIfAbsent(dataTypePairHash, results);
-    if (concurrentlyAddedTransformers != null) {
-      return concurrentlyAddedTransformers;
-    } else {
-      return results;
-    }
   }
 
   /**
@@ -272,9 +258,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
         transformerResolversReadLock.unlock();
       }
 
-      transformerListCache.clear();
-      exactTransformerCache.clear();
-
       Lock transformersWriteLock = transformersLock.writeLock();
       transformersWriteLock.lock();
       try {
@@ -283,12 +266,41 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
         } else {
           transformers.remove(t);
         }
+
+        // Only the lists the transformer would be part of, or is part of, are affected
+        if (action == ADDED) {
+          transformerListCache.keySet()
+              .removeIf(pair -> isCandidate(t, pair.getSource(), normalizeResult(pair.getResult())));
+        } else if (action == REMOVED) {
+          transformerListCache.values().removeIf(cachedTransformers -> cachedTransformers.contains(t));
+        } else {
+          transformerListCache.clear();
+        }
       } finally {
         transformersWriteLock.unlock();
       }
+
+      // the exact lookups go through the resolvers, which don't tell which of their resolutions depend on the transformer
+      exactTransformerCache.clear();
     }
   }
 
+  private static boolean isCandidate(Transformer transformer, DataType source, DataType normalizedResult) {
+    // The transformer must have the DiscoveryTransformer interface if we are
+    // going to find it here
+    return transformer instanceof Converter
+        && normalizedResult.isCompatibleWith(transformer.getReturnDataType())
+        && transformer.isSourceDataTypeSupported(source);
+  }
+
+  private static DataType normalizeResult(DataType result) {
+    //To maintain the previous behaviour, we don't want to consider the result mimeType when resolving a transformer
+    //and only find transformers with a targetType the same as or a super class of the expected one.
+    //The same could be done for the source but since if the source expected by the transformer is more generic that
+    //the provided, it will be found.
+    return builder(result).mediaType(ANY).charset((Charset) null).build();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -533,10 +545,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     return false;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
-  }
-
   private class TransformerResolverComparator implements Comparator<TransformerResolver> {
 
     @Override
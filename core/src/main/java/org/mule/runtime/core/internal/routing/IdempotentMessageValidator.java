@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -13,6 +15,7 @@ import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_IDEMPOTENT_BLOOM_FILTER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
@@ -20,13 +23,15 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.util.StringUtils.isEmpty;
+import static org.mule.runtime.core.internal.store.AtomicObjectStore.storeIfAbsent;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
-import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
@@ -38,6 +43,12 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
+import org.mule.runtime.core.internal.util.ScalableBloomFilter;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 
@@ -47,6 +58,14 @@ import org.slf4j.Logger;
  * of computing hashes(SHA,MD5) from the data. Note that the underlying endpoint must support unique message IDs for this to work,
  * otherwise a <code>UniqueIdNotSupportedException</code> is thrown.<br>
  * <p>
+ * Each id is checked and stored in a single operation, which is atomic for stores implementing {@link AtomicObjectStore}.
+ * Optionally, a {@link ScalableBloomFilter} of the stored ids is kept in memory, so that duplicates are detected without
+ * evaluating the value expression. The filter is built from the keys in the store when this validator is started, and again in
+ * the background each time it grows to several times that size, so that the ids that expired from the store are dropped from
+ * it. Only when the store is private to this validator and this instance is not part of a cluster, so that no ids are stored
+ * without passing through the filter, ids which were definitely never seen do not require a lookup in
+ * {@link #isNewMessage(CoreEvent)}.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
  */
@@ -55,6 +74,9 @@ public class IdempotentMessageValidator extends AbstractComponent
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
 
+  private static final int BLOOM_FILTER_MINIMUM_CAPACITY = 1024;
+  private static final double BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
+
   protected MuleContext muleContext;
 
   protected volatile ObjectStore<String> store;
@@ -64,6 +86,14 @@ public class IdempotentMessageValidator extends AbstractComponent
   protected String idExpression = format("%s%s%s", DEFAULT_EXPRESSION_PREFIX, CORRELATION_ID, DEFAULT_EXPRESSION_POSTFIX);
   protected String valueExpression = format("%s%s%s", DEFAULT_EXPRESSION_PREFIX, CORRELATION_ID, DEFAULT_EXPRESSION_POSTFIX);
 
+  private boolean useBloomFilter = getBoolean(MULE_IDEMPOTENT_BLOOM_FILTER);
+  private boolean localStore;
+  private volatile ScalableBloomFilter seenIds;
+  private volatile ScalableBloomFilter rebuiltSeenIds;
+  private volatile long bloomFilterRebuildThreshold;
+  private final AtomicBoolean rebuildingBloomFilter = new AtomicBoolean(false);
+  private volatile Scheduler bloomFilterScheduler;
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -85,6 +115,8 @@ public class IdempotentMessageValidator extends AbstractComponent
       throw new InitialisationException(createStaticMessage("Ambiguous definition of object store, both reference and private were configured"),
                                         this);
     }
+    // a referenced store may be shared with other validators or nodes, which store ids this one never sees
+    localStore = store == null && isEmpty(muleContext.getClusterId());
     if (store == null) {
       if (privateStore == null) { // If no object store was defined, create one
         this.store = createMessageIdStore();
@@ -98,13 +130,76 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+    if (useBloomFilter) {
+      bloomFilterScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName(storePrefix + ".bloom-filter"));
+      rebuildBloomFilter();
+    }
   }
 
   @Override
   public void stop() throws MuleException {
+    if (bloomFilterScheduler != null) {
+      bloomFilterScheduler.stop();
+      bloomFilterScheduler = null;
+    }
+    seenIds = null;
     stopIfNeeded(store);
   }
 
+  private void rebuildBloomFilter() {
+    final ScalableBloomFilter current = seenIds;
+    final ScalableBloomFilter filter =
+        new ScalableBloomFilter(max(current == null ? 0 : current.count() / 2, BLOOM_FILTER_MINIMUM_CAPACITY),
+                                BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY);
+    // ids stored from now on are put in the new filter by seen(), the ones stored before are among the keys read below
+    rebuiltSeenIds = filter;
+    try {
+      List<String> keys = store.allKeys();
+      for (String key : keys) {
+        filter.put(key);
+      }
+      bloomFilterRebuildThreshold = max(keys.size() * 4L, BLOOM_FILTER_MINIMUM_CAPACITY * 4L);
+      seenIds = filter;
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not build the bloom filter of processed ids, all ids will be looked up in the object store: "
+          + e.getMessage());
+      seenIds = null;
+    } finally {
+      rebuiltSeenIds = null;
+    }
+  }
+
+  private void seen(String id) {
+    // read before the current filter, so that an id missed by a rebuild that just finished is put in the filter it built
+    final ScalableBloomFilter rebuilt = rebuiltSeenIds;
+    final ScalableBloomFilter filter = seenIds;
+    if (rebuilt != null) {
+      rebuilt.put(id);
+    }
+    if (filter == null || filter == rebuilt) {
+      return;
+    }
+
+    filter.put(id);
+    final Scheduler scheduler = bloomFilterScheduler;
+    if (scheduler != null && filter.count() > bloomFilterRebuildThreshold
+        && rebuildingBloomFilter.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(() -> {
+          try {
+            rebuildBloomFilter();
+          } finally {
+            rebuildingBloomFilter.set(false);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // stopping, the filter is dropped anyway
+        rebuildingBloomFilter.set(false);
+      }
+    }
+  }
+
   @Override
   public void dispose() {
     disposeIfNeeded(store, LOGGER);
@@ -144,28 +239,53 @@ public class IdempotentMessageValidator extends AbstractComponent
   }
 
   private boolean accept(CoreEvent event) {
-    if (event != null && isNewMessage(event)) {
-      try {
-        String id = getIdForEvent(event);
-        String value = getValueForEvent(event);
-        try {
-          store.store(id, value);
-          return true;
-        } catch (ObjectAlreadyExistsException ex) {
-          return false;
-        } catch (ObjectStoreNotAvailableException e) {
-          LOGGER.error("ObjectStore not available: " + e.getMessage());
-          return false;
-        } catch (ObjectStoreException e) {
-          LOGGER.warn("ObjectStore exception: " + e.getMessage());
-          return false;
-        }
-      } catch (MuleException e) {
-        LOGGER.warn("Could not retrieve Id or Value for event: " + e.getMessage());
+    if (event == null) {
+      return false;
+    }
+
+    final String id;
+    final String value;
+    try {
+      id = getIdForEvent(event);
+      initialiseStoreIfNeeded();
+
+      // a possible duplicate, confirm it before evaluating the value
+      final ScalableBloomFilter filter = seenIds;
+      if (filter != null && filter.mightContain(id) && store.contains(id)) {
         return false;
       }
-    } else {
+
+      value = getValueForEvent(event);
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("ObjectStore exception: " + e.getMessage());
+      return false;
+    } catch (MuleException e) {
+      LOGGER.warn("Could not retrieve Id or Value for event: " + e.getMessage());
+      return false;
+    }
+
+    try {
+      if (storeIfAbsent(store, id, value)) {
+        seen(id);
+        return true;
+      }
+      return false;
+    } catch (ObjectStoreNotAvailableException e) {
+      LOGGER.error("ObjectStore not available: " + e.getMessage());
       return false;
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("ObjectStore exception: " + e.getMessage());
+      return false;
+    }
+  }
+
+  private void initialiseStoreIfNeeded() throws InitialisationException {
+    if (store == null) {
+      synchronized (this) {
+        if (store == null) {
+          initialise();
+        }
+      }
     }
   }
 
@@ -181,10 +301,10 @@ public class IdempotentMessageValidator extends AbstractComponent
   protected boolean isNewMessage(CoreEvent event) {
     try {
       String id = this.getIdForEvent(event);
-      if (store == null) {
-        synchronized (this) {
-          initialise();
-        }
+      initialiseStoreIfNeeded();
+      final ScalableBloomFilter filter = seenIds;
+      if (localStore && filter != null && !filter.mightContain(id)) {
+        return true;
       }
       return !store.contains(id);
     } catch (MuleException e) {
@@ -210,4 +330,12 @@ public class IdempotentMessageValidator extends AbstractComponent
   public void setPrivateObjectStore(ObjectStore<String> privateStore) {
     this.privateStore = privateStore;
   }
+
+  /**
+   * @param useBloomFilter whether to keep a bloom filter of the processed ids in memory. Defaults to the value of the
+   *        {@link org.mule.runtime.core.api.config.MuleProperties#MULE_IDEMPOTENT_BLOOM_FILTER} system property.
+   */
+  public void setUseBloomFilter(boolean useBloomFilter) {
+    this.useBloomFilter = useBloomFilter;
+  }
 }
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.routing.correlation;
 
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.concurrent.TimeUnit.DAYS;
@@ -18,6 +21,7 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.correlationTime
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
 import static org.mule.runtime.core.api.message.GroupCorrelation.NOT_SET;
 import static org.mule.runtime.core.api.util.StringMessageUtils.truncate;
+import static org.mule.runtime.core.api.util.StringUtils.isEmpty;
 
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
@@ -41,6 +45,7 @@ import org.mule.runtime.core.api.util.StringMessageUtils;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.routing.EventGroup;
+import org.mule.runtime.core.internal.util.HierarchicalTimingWheel;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.runtime.core.privileged.routing.RoutingException;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
@@ -54,6 +59,14 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Groups events by their correlation id and aggregates each group once it is complete, according to an
+ * {@link EventCorrelatorCallback}.
+ * <p>
+ * Operations over a group are serialized by a lock stripe chosen from the hash of the group id, so that different groups are
+ * processed concurrently. Group timeouts are tracked with a {@link HierarchicalTimingWheel}, so finding the expired groups does
+ * not require going through all of them.
+ */
 public class EventCorrelator implements Startable, Stoppable {
 
   /**
@@ -64,10 +77,21 @@ public class EventCorrelator implements Startable, Stoppable {
   public static final String NO_CORRELATION_ID = "no-id";
 
   private static final long DELAY_TIME = 10;
+  private static final int EXPIRY_WHEEL_LEVELS = 4;
+  // when in a cluster, the minimum time between lookups of the store for groups created by other nodes
+  private static final long MIN_EXPIRY_RESCAN_MILLIS = 1000;
+  private static final int LOCK_STRIPES = highestOneBit(max(getRuntime().availableProcessors() * 4 - 1, 1)) << 1;
 
+  /**
+   * @deprecated groups are no longer guarded by a single lock, see {@link #getGroupLock(Object)}. This lock is not used by this
+   *             class.
+   */
+  @Deprecated
   protected final Object groupsLock = new Object();
 
-  // @GuardedBy groupsLock
+  private final Object[] groupLocks = new Object[LOCK_STRIPES];
+
+  // @GuardedBy the lock of each group
   protected ObjectStore<Long> processedGroups = null;
 
   private long timeout = -1; // undefined
@@ -91,6 +115,7 @@ public class EventCorrelator implements Startable, Stoppable {
 
   private Scheduler scheduler;
   private ExpiringGroupMonitoringRunnable expiringGroupRunnable;
+  private volatile HierarchicalTimingWheel<String> expiryWheel;
   private final String name;
 
   private final FlowConstruct flowConstruct;
@@ -118,6 +143,19 @@ public class EventCorrelator implements Startable, Stoppable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+
+    for (int i = 0; i < groupLocks.length; i++) {
+      groupLocks[i] = new Object();
+    }
+  }
+
+  /**
+   * @param groupId the id of a group
+   * @return the lock that serializes the operations over the given group
+   */
+  protected Object getGroupLock(Object groupId) {
+    int hash = groupId.hashCode();
+    return groupLocks[(hash ^ (hash >>> 16)) & (groupLocks.length - 1)];
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -180,13 +218,17 @@ public class EventCorrelator implements Startable, Stoppable {
           EventGroup eventGroup = callback.createEventGroup(event, groupId);
           eventGroup.initEventsStore(correlatorStore);
           group = this.addEventGroup(eventGroup);
+          if (group == eventGroup) {
+            // only the thread that created the group schedules its expiry
+            scheduleExpiry(group);
+          }
         } catch (ObjectStoreException e) {
           throw new RoutingException(timeoutMessageProcessor, e);
         }
       }
 
       // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
+      synchronized (getGroupLock(groupId)) {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
@@ -258,26 +300,38 @@ public class EventCorrelator implements Startable, Stoppable {
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(groupId)) {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((String) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
       }
     }
+
+    final HierarchicalTimingWheel<String> wheel = expiryWheel;
+    if (wheel != null) {
+      wheel.cancel((String) groupId);
+    }
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       processedGroups.store((String) id, currentTimeMillis());
     }
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       return processedGroups.contains((String) id);
     }
   }
 
+  private void scheduleExpiry(EventGroup group) {
+    final HierarchicalTimingWheel<String> wheel = expiryWheel;
+    if (wheel != null) {
+      wheel.schedule((String) group.getGroupId(), group.getCreated() + getTimeout());
+    }
+  }
+
   public boolean isFailOnTimeout() {
     return failOnTimeout;
   }
@@ -352,6 +406,7 @@ public class EventCorrelator implements Startable, Stoppable {
   public void start() throws MuleException {
     logger.info("Starting event correlator: " + name);
     if (timeout != 0) {
+      expiryWheel = new HierarchicalTimingWheel<>(DELAY_TIME, EXPIRY_WHEEL_LEVELS, currentTimeMillis());
       scheduler = muleContext.getSchedulerService().customScheduler(muleContext.getSchedulerBaseConfig().withName(name)
           .withMaxConcurrentTasks(1).withShutdownTimeout(0, MILLISECONDS));
       expiringGroupRunnable = new ExpiringGroupMonitoringRunnable();
@@ -369,12 +424,20 @@ public class EventCorrelator implements Startable, Stoppable {
       expiringGroupRunnable.dispose();
       expiringGroupRunnable = null;
     }
+    expiryWheel = null;
   }
 
   private final class ExpiringGroupMonitoringRunnable implements Runnable, Expirable, Disposable {
 
     private ExpiryMonitor expiryMonitor;
 
+    /**
+     * Time at which the groups in the store not yet in the expiry wheel are scheduled. Groups are only scheduled when created by
+     * this node, so the ones created before a restart are looked up when this node becomes the primary one. When in a cluster,
+     * the ones created by other nodes are looked up again once per timeout. Zero means the store is looked up on the next run.
+     */
+    private long nextRescanMillis = 0;
+
     public ExpiringGroupMonitoringRunnable() {
       this.expiryMonitor = new ExpiryMonitor(name, MINUTES.toMillis(1), muleContext, true);
       this.expiryMonitor.addExpirable(30, MINUTES, this);
@@ -405,16 +468,43 @@ public class EventCorrelator implements Startable, Stoppable {
       //// start the thread on the primary node only, and then use a notification schema to start a new thread
       //// in a different node when the primary goes down.
       if (!muleContext.isPrimaryPollingInstance()) {
+        nextRescanMillis = 0;
+        return;
+      }
+
+      final HierarchicalTimingWheel<String> wheel = expiryWheel;
+      if (wheel == null) {
         return;
       }
 
       List<EventGroup> expired = new ArrayList<>(1);
       try {
-        for (String o : (List<String>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        final long now = currentTimeMillis();
+        if (now >= nextRescanMillis) {
+          // groups already in the wheel are not scheduled again
+          for (String o : (List<String>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+            if (!wheel.isScheduled(o)) {
+              EventGroup group = getEventGroup(o);
+              // group may have been removed by another thread right after eventGroups.allKeys()
+              if (group != null) {
+                scheduleExpiry(group);
+              }
+            }
+          }
+          nextRescanMillis = isEmpty(muleContext.getClusterId()) ? Long.MAX_VALUE
+              : now + max(getTimeout(), MIN_EXPIRY_RESCAN_MILLIS);
+        }
+
+        for (String o : wheel.advance(now)) {
           EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < currentTimeMillis()) {
+          if (group == null) {
+            continue;
+          }
+          if (group.getCreated() + getTimeout() < now) {
             expired.add(group);
+          } else {
+            // the deadline is rounded to the wheel resolution
+            scheduleExpiry(group);
           }
         }
       } catch (ObjectStoreException e) {
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+
+/**
+ * An {@link ObjectStore} which is able to check that a key is not present and store a value for it in one atomic operation,
+ * without resorting to an {@link ObjectAlreadyExistsException} to signal that it was.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.2
+ */
+public interface AtomicObjectStore<T extends Serializable> extends ObjectStore<T> {
+
+  /**
+   * Stores the given value, unless there already is one for the given key.
+   *
+   * @param key the identifier for the value
+   * @param value the value to store
+   * @return {@code true} if the value was stored, {@code false} if the key was already present
+   * @throws ObjectStoreException if the key is invalid or the value could not be stored
+   */
+  boolean storeIfAbsent(String key, T value) throws ObjectStoreException;
+
+  /**
+   * Stores the given value into the given store, unless there already is one for the given key. This is done atomically if
+   * the store is an {@link AtomicObjectStore}, and by relying on {@link ObjectStore#store(String, Serializable)} failing with an
+   * {@link ObjectAlreadyExistsException} otherwise.
+   *
+   * @param store the store to use
+   * @param key the identifier for the value
+   * @param value the value to store
+   * @return {@code true} if the value was stored, {@code false} if the key was already present
+   * @throws ObjectStoreException if the key is invalid or the value could not be stored
+   */
+  static <T extends Serializable> boolean storeIfAbsent(ObjectStore<T> store, String key, T value)
+      throws ObjectStoreException {
+    if (store instanceof AtomicObjectStore) {
+      return ((AtomicObjectStore<T>) store).storeIfAbsent(key, value);
+    }
+
+    try {
+      store.store(key, value);
+      return true;
+    } catch (ObjectAlreadyExistsException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableObjectStore;
+
+import java.io.Serializable;
+
+/**
+ * A {@link PartitionableObjectStore} which is able to check that a key is not present in a partition and store a value for it
+ * in one atomic operation, without resorting to an {@link ObjectAlreadyExistsException} to signal that it was.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.2
+ */
+public interface AtomicPartitionableObjectStore<T extends Serializable> extends PartitionableObjectStore<T> {
+
+  /**
+   * Stores the given value in the given partition, unless there already is one for the given key.
+   *
+   * @param key the identifier for the value
+   * @param value the value to store
+   * @param partitionName the partition to use
+   * @return {@code true} if the value was stored, {@code false} if the key was already present
+   * @throws ObjectStoreException if the key or partition name are invalid or the value could not be stored
+   */
+  boolean storeIfAbsent(String key, T value, String partitionName) throws ObjectStoreException;
+}
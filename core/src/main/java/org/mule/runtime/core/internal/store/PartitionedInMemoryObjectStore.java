@@ -28,7 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent {
+    implements PartitionableExpirableObjectStore<T>, AtomicPartitionableObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
@@ -51,11 +51,24 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    if (!doStoreIfAbsent(key, value, partitionName)) {
+      throw new ObjectAlreadyExistsException();
+    }
+  }
+
+  @Override
+  public boolean storeIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return doStoreIfAbsent(key, value, partitionName);
+  }
+
+  private boolean doStoreIfAbsent(String key, T value, String partitionName) {
     T oldValue = getPartition(partitionName).putIfAbsent(key, value);
     if (oldValue != null) {
-      throw new ObjectAlreadyExistsException();
+      return false;
     }
     getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
+    return true;
   }
 
   @Override
@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_OBJECT_STORE_LOG_STRUCTURED;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.api.store.ExpirableObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
@@ -17,6 +21,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 
 import java.io.File;
@@ -29,6 +34,14 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 
+/**
+ * A {@link PartitionableExpirableObjectStore} which keeps each partition in its own directory.
+ * <p>
+ * By default, partitions are implemented by {@link PersistentObjectStorePartition}. New partitions are created as
+ * {@link LogStructuredObjectStorePartition} instead if the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_OBJECT_STORE_LOG_STRUCTURED} system property is set.
+ * Previously existing partitions are always loaded with the implementation that created them.
+ */
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
     implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
 
@@ -37,7 +50,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   private MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
+  private Map<String, ExpirableObjectStore<T>> partitionsByName = new HashMap<>();
   private boolean initialized = false;
 
   public PartitionedPersistentObjectStore() {
@@ -74,13 +87,19 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   }
 
   @Override
-  public void close(String partitionName) throws ObjectStoreException {}
+  public void close(String partitionName) throws ObjectStoreException {
+    ExpirableObjectStore<T> partition = partitionsByName.get(partitionName);
+    if (partition != null) {
+      partition.close();
+    }
+  }
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
-    persistentObjectStorePartition.open();
-    partitionsByName.put(partitionName, persistentObjectStorePartition);
+    ExpirableObjectStore<T> partition = getBoolean(MULE_OBJECT_STORE_LOG_STRUCTURED)
+        ? new LogStructuredObjectStorePartition<>(muleContext, partitionName, getNewPartitionDirectory())
+        : new PersistentObjectStorePartition<>(muleContext, partitionName, getNewPartitionDirectory());
+    partition.open();
+    partitionsByName.put(partitionName, partition);
   }
 
   private File getNewPartitionDirectory() {
@@ -127,7 +146,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     getPartitionObjectStore(partitionName).clear();
   }
 
-  private PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+  private ExpirableObjectStore<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
     if (!partitionsByName.containsKey(partitionName)) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
@@ -182,10 +201,15 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
-        persistentObjectStorePartition.open();
-        partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
+        if (isLogStructuredPartition(partitionDirectory)) {
+          LogStructuredObjectStorePartition<T> partition = new LogStructuredObjectStorePartition<>(muleContext, partitionDirectory);
+          partition.open();
+          partitionsByName.put(partition.getPartitionName(), partition);
+        } else {
+          PersistentObjectStorePartition<T> partition = new PersistentObjectStorePartition<>(muleContext, partitionDirectory);
+          partition.open();
+          partitionsByName.put(partition.getPartitionName(), partition);
+        }
       } catch (Exception e) {
         LOGGER.error("Could not restore partition under directory " + partitionDirectory.getAbsolutePath());
       }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.round;
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_MEMORY;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for {@link ByteBufferManager} implementations which cap the total amount of memory that
+ * can be retained by the buffers they create.
+ * <p>
+ * The cap defaults to 50% of {@link MemoryManager#getMaxMemory()}, and can be overridden through the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_STREAMING_MAX_MEMORY} system property.
+ *
+ * @since 4.2
+ */
+public abstract class AbstractByteBufferManager implements ByteBufferManager, Disposable {
+
+  protected final AtomicLong streamingMemory = new AtomicLong(0);
+  protected final long maxStreamingMemory;
+  protected final long waitTimeoutMillis;
+
+  /**
+   * Creates a new instance
+   *
+   * @param memoryManager     a {@link MemoryManager} used to determine the runtime's max memory
+   * @param waitTimeoutMillis how long to wait when the streaming memory is exhausted
+   */
+  protected AbstractByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis) {
+    maxStreamingMemory = calculateMaxStreamingMemory(memoryManager);
+    this.waitTimeoutMillis = waitTimeoutMillis;
+  }
+
+  private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
+    String maxMemoryProperty = getProperty(MULE_STREAMING_MAX_MEMORY);
+    if (maxMemoryProperty == null) {
+      return round(memoryManager.getMaxMemory() * 0.5);
+    } else {
+      try {
+        return Long.valueOf(maxMemoryProperty);
+      } catch (Exception e) {
+        throw new IllegalArgumentException(format("Invalid value for system property '%s'. A memory size (in bytes) was "
+            + "expected, got '%s' instead",
+                                                  MULE_STREAMING_MAX_MEMORY, maxMemoryProperty));
+      }
+    }
+  }
+
+  /**
+   * @return a new {@link MaxStreamingMemoryExceededException} describing the configured memory cap
+   */
+  protected MaxStreamingMemoryExceededException maxStreamingMemoryExceeded() {
+    return new MaxStreamingMemoryExceededException(createStaticMessage(format("Max streaming memory limit of %d bytes was exceeded",
+                                                                              maxStreamingMemory)));
+  }
+}
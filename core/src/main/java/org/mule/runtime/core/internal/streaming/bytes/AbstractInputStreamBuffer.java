@@ -8,7 +8,6 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
 import static java.nio.channels.Channels.newChannel;
 import static org.mule.runtime.api.util.Preconditions.checkState;
 import org.mule.runtime.api.util.LazyValue;
@@ -170,18 +169,26 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   protected abstract boolean canDoSoftCopy();
 
   private ByteBuffer softCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer b = buffer.get();
-    return ByteBuffer.wrap(b.array(), offset, min(length, b.limit() - offset)).slice();
+    return window(position, length).slice();
   }
 
   private ByteBuffer hardCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer bf = buffer.get();
-    length = min(length, bf.limit() - offset);
+    final ByteBuffer window = window(position, length);
+    final ByteBuffer b = ByteBuffer.allocate(window.remaining());
+    b.put(window);
+    b.flip();
+    return b;
+  }
 
-    byte[] b = new byte[length];
-    arraycopy(bf.array(), offset, b, 0, length);
-    return ByteBuffer.wrap(b);
+  /**
+   * Using a view over {@link #buffer} instead of its backing array so that both heap and direct buffers
+   * are supported
+   */
+  private ByteBuffer window(long position, int length) {
+    final int offset = toIntExact(position);
+    final ByteBuffer b = buffer.get().duplicate();
+    b.limit(offset + min(length, b.limit() - offset));
+    b.position(offset);
+    return b;
   }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.core.internal.util.MappedByteBufferUtils.unmap;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which keeps a hot window of the most recently read
+ * data in memory and spills older data into a temporal file.
+ * <p>
+ * The in memory window has a fixed size given by {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}. Each time
+ * the window is full, its contents are appended to the buffer file as a new segment and the window is recycled.
+ * Spilled segments are memory mapped in read only mode, so that cursors which go back to already spilled positions
+ * read them through the OS page cache instead of consuming heap. Data read from those segments is always copied, since
+ * they're unmapped as soon as this buffer is closed.
+ * <p>
+ * The buffer file is created lazily, so streams which fit in the memory window never touch the disk.
+ *
+ * @since 4.2
+ */
+public class FileStoreInputStreamBuffer extends AbstractInputStreamBuffer {
+
+  private final int windowSize;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  private File bufferFile;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel fileChannel;
+
+  private long windowStart = 0;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the memory window
+   */
+  public FileStoreInputStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager, config.getMaxInMemorySize().toBytes());
+    windowSize = config.getMaxInMemorySize().toBytes();
+    checkArgument(windowSize > 0, "maxInMemorySize has to be greater than zero");
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    return withReadLock(releaser -> {
+
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        releaser.release();
+        return withWriteLock(() -> {
+
+          ByteBuffer refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          while (!isStreamFullyConsumed() && bufferTip <= position) {
+            try {
+              if (consumeForwardData() > 0) {
+                refetch = getFromCurrentData(position, length);
+                if (refetch != null) {
+                  return refetch;
+                }
+              }
+            } catch (IOException e) {
+              throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+            }
+          }
+
+          return getFromCurrentData(position, length);
+        });
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    });
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    if (position < windowStart) {
+      return getFromFile(position, length);
+    }
+
+    return copy(position - windowStart, min(length, toIntExact(bufferTip - position)));
+  }
+
+  private ByteBuffer getFromFile(long position, int length) {
+    final MappedByteBuffer segment = segments.get(toIntExact(position / windowSize));
+    final int offset = toIntExact(position % windowSize);
+
+    ByteBuffer slice = segment.duplicate();
+    slice.position(offset);
+    slice.limit(min(windowSize, offset + length));
+
+    ByteBuffer data = ByteBuffer.allocate(slice.remaining());
+    data.put(slice);
+    data.flip();
+
+    return data;
+  }
+
+  /**
+   * {@inheritDoc}
+   * If the memory window is full, then its contents are spilled to the buffer file before attempting to consume
+   * new information.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    ByteBuffer b = buffer.get();
+    if (!b.hasRemaining()) {
+      spill(b);
+    }
+
+    final int read = consumeStream(b);
+    if (read > 0) {
+      bufferTip += read;
+    } else {
+      streamFullyConsumed();
+      b.limit(b.position());
+    }
+
+    return read;
+  }
+
+  private void spill(ByteBuffer window) throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("stream-buffer");
+      randomAccessFile = new RandomAccessFile(bufferFile, "rw");
+      fileChannel = randomAccessFile.getChannel();
+    }
+
+    ByteBuffer data = window.duplicate();
+    data.flip();
+    long filePosition = windowStart;
+    while (data.hasRemaining()) {
+      filePosition += fileChannel.write(data, filePosition);
+    }
+
+    segments.add(fileChannel.map(READ_ONLY, windowStart, windowSize));
+    windowStart += windowSize;
+    window.clear();
+  }
+
+  /**
+   * Soft copies are only safe once the stream has been fully consumed, since until then the memory window
+   * is recycled on every spill.
+   */
+  @Override
+  protected boolean canDoSoftCopy() {
+    return isStreamFullyConsumed();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Unmaps the spilled segments and closes and deletes the buffer file, if one was created.
+   */
+  @Override
+  public void doClose() {
+    segments.forEach(segment -> unmap(segment));
+    segments.clear();
+
+    if (fileChannel != null) {
+      closeSafely(fileChannel::close);
+      closeSafely(randomAccessFile::close);
+      closeSafely(() -> {
+        if (!bufferFile.delete()) {
+          bufferFile.deleteOnExit();
+        }
+      });
+
+      fileChannel = null;
+      randomAccessFile = null;
+      bufferFile = null;
+    }
+  }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ByteBufferManager} implementation which pools buffer memory without taking locks on the allocation
+ * and deallocation paths.
+ * <p>
+ * Blocks are created with the exact requested capacity and pooled in the size class given by rounding that capacity
+ * up to the next power of two. An idle block is only reused for requests which fit in it, blocks too small for the
+ * request are released instead. Each thread keeps a small magazine of idle blocks per size class, so that in the
+ * common case in which the same thread allocates and deallocates a buffer only the uncontended monitor of that
+ * thread's cache is taken. Full magazines are exchanged through a lock-free depot per size class.
+ * <p>
+ * The returned buffers always have the exact requested capacity: they're views over the pooled block. The blocks
+ * handed out are tracked by the cache of the thread which allocated them, so that {@link #deallocate(ByteBuffer)}
+ * ignores buffers which weren't allocated by this manager or were already deallocated. Only buffers deallocated by
+ * a thread other than the one which allocated them need to look into the caches of other threads. Heap blocks are
+ * recovered through the view's backing array. Since direct buffers have no accessible backing array, views over
+ * direct blocks are tracked instead.
+ * <p>
+ * Just like {@link PoolingByteBufferManager}, all the memory retained by this manager (both in use and idle) counts
+ * against the max streaming memory. Once 90% of that memory is retained, deallocated blocks are released instead of
+ * being cached. The caches of all threads are registered in the manager, so when memory is exhausted or the manager
+ * is disposed the idle blocks of every thread are released, and the caches of threads which died are discarded as
+ * soon as a new thread starts using the manager. When exhausted, invocations to {@link #allocate(int)} block until
+ * more memory becomes available, or fail with a {@link MaxStreamingMemoryExceededException} after
+ * {@link #waitTimeoutMillis} milliseconds.
+ *
+ * @since 4.2
+ */
+public class MagazineByteBufferManager extends AbstractByteBufferManager {
+
+  private static final int MIN_SIZE_CLASS_SHIFT = 6;
+  private static final int MAX_SIZE_CLASS_SHIFT = 30;
+  private static final int SIZE_CLASSES = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+  private static final int MAGAZINE_CAPACITY = 8;
+  private static final int MAX_DEPOT_MAGAZINES = Runtime.getRuntime().availableProcessors();
+
+  private static final double HIGH_WATERMARK_RATIO = 0.9;
+
+  private final boolean direct;
+  private final long highWatermark;
+  private final Depot[] depots = new Depot[SIZE_CLASSES];
+  private final Set<ThreadCache> threadCaches = newSetFromMap(new ConcurrentHashMap<>());
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+
+  private final AtomicInteger waiters = new AtomicInteger(0);
+  private final Lock lock = new ReentrantLock();
+  private final Condition memoryAvailable = lock.newCondition();
+
+  /**
+   * Creates a new instance which uses heap buffers, allows the pool to grow up to 50% of the runtime's max memory
+   * and has a wait timeout of 10 seconds. The definition of max memory is that of {@link MemoryManager#getMaxMemory()}
+   */
+  public MagazineByteBufferManager() {
+    this(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT, false);
+  }
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()}
+   * on the given {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
+   *
+   * @param memoryManager     a {@link MemoryManager} used to determine the runtime's max memory
+   * @param waitTimeoutMillis how long to wait when the pool is exhausted
+   * @param direct            whether to allocate direct (off-heap) buffers instead of heap ones
+   */
+  public MagazineByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis, boolean direct) {
+    super(memoryManager, waitTimeoutMillis);
+    this.direct = direct;
+    highWatermark = (long) (maxStreamingMemory * HIGH_WATERMARK_RATIO);
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      depots[i] = new Depot();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    checkArgument(capacity >= 0, "capacity cannot be negative");
+    if (capacity > 1 << MAX_SIZE_CLASS_SHIFT) {
+      return allocateUnpooled(capacity);
+    }
+
+    final int sizeClass = sizeClassOf(capacity);
+    Object block = takeIdle(sizeClass, capacity);
+    if (block == null) {
+      block = create(capacity);
+      if (block == null) {
+        try {
+          block = awaitBlock(sizeClass, capacity);
+        } catch (Exception e) {
+          throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
+        }
+      }
+    }
+
+    return view(block, capacity);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void deallocate(ByteBuffer byteBuffer) {
+    final Object block = untrack(byteBuffer);
+    if (block == null) {
+      return;
+    }
+
+    final int blockSize = blockSize(block);
+    if (blockSize > 1 << MAX_SIZE_CLASS_SHIFT) {
+      release(blockSize);
+      return;
+    }
+
+    if (waiters.get() > 0 || streamingMemory.get() > highWatermark) {
+      // idle blocks cached in a thread's magazine are not reachable by other threads, so don't cache
+      // them when memory is scarce
+      release(blockSize);
+      return;
+    }
+
+    final int sizeClass = sizeClassOf(blockSize);
+    final Magazine full = threadCache.get().push(sizeClass, block);
+    if (full != null && !depots[sizeClass].offer(full)) {
+      releaseAll(full);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    trimIdle();
+    ThreadCache cache = threadCache.get();
+    if (!cache.hasOutstanding()) {
+      threadCaches.remove(cache);
+    }
+    threadCache.remove();
+    signalMemoryAvailable();
+  }
+
+  private ThreadCache newThreadCache() {
+    // threads of elastic pools come and go, so take the chance to reclaim the blocks cached by the ones which died
+    for (Iterator<ThreadCache> iterator = threadCaches.iterator(); iterator.hasNext();) {
+      ThreadCache cache = iterator.next();
+      if (!cache.isOwnerAlive()) {
+        // the buffers it handed out which are still in use are deallocated through it
+        if (!cache.hasOutstanding()) {
+          iterator.remove();
+        }
+        release(cache.drain());
+      }
+    }
+
+    ThreadCache cache = new ThreadCache(currentThread());
+    threadCaches.add(cache);
+    return cache;
+  }
+
+  private Object takeIdle(int sizeClass, int capacity) {
+    final Object block = threadCache.get().pop(sizeClass, depots[sizeClass]);
+    if (block != null && blockSize(block) < capacity) {
+      release(blockSize(block));
+      return null;
+    }
+
+    return block;
+  }
+
+  private Object create(int capacity) {
+    if (streamingMemory.addAndGet(capacity) <= maxStreamingMemory) {
+      return direct ? ByteBuffer.allocateDirect(capacity) : new byte[capacity];
+    }
+
+    streamingMemory.addAndGet(-capacity);
+    return null;
+  }
+
+  private ByteBuffer allocateUnpooled(int capacity) {
+    if (streamingMemory.addAndGet(capacity) > maxStreamingMemory) {
+      streamingMemory.addAndGet(-capacity);
+      throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer"), maxStreamingMemoryExceeded());
+    }
+
+    if (direct) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+      return track(buffer, buffer);
+    }
+
+    byte[] block = new byte[capacity];
+    return track(ByteBuffer.wrap(block), block);
+  }
+
+  private Object awaitBlock(int sizeClass, int capacity) throws InterruptedException {
+    waiters.incrementAndGet();
+    try {
+      trimIdle();
+      final long deadline = nanoTime() + MILLISECONDS.toNanos(waitTimeoutMillis);
+      lock.lock();
+      try {
+        Object block;
+        while ((block = takeOrCreate(sizeClass, capacity)) == null) {
+          long remaining = deadline - nanoTime();
+          if (remaining <= 0) {
+            throw maxStreamingMemoryExceeded();
+          }
+          memoryAvailable.awaitNanos(remaining);
+        }
+
+        return block;
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  private Object takeOrCreate(int sizeClass, int capacity) {
+    Object block = takeIdle(sizeClass, capacity);
+    return block != null ? block : create(capacity);
+  }
+
+  /**
+   * Releases all the idle blocks, that is, the ones in the depots and the ones in the magazines of every thread.
+   */
+  private void trimIdle() {
+    for (Depot depot : depots) {
+      Magazine magazine;
+      while ((magazine = depot.poll()) != null) {
+        releaseAll(magazine);
+      }
+    }
+
+    for (Iterator<ThreadCache> iterator = threadCaches.iterator(); iterator.hasNext();) {
+      ThreadCache cache = iterator.next();
+      if (!cache.isOwnerAlive() && !cache.hasOutstanding()) {
+        iterator.remove();
+      }
+      release(cache.drain());
+    }
+  }
+
+  private void releaseAll(Magazine magazine) {
+    release(magazine.drain());
+  }
+
+  private void release(long size) {
+    if (size > 0 && streamingMemory.addAndGet(-size) < maxStreamingMemory) {
+      signalMemoryAvailable();
+    }
+  }
+
+  private void signalMemoryAvailable() {
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        memoryAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private ByteBuffer view(Object block, int capacity) {
+    if (direct) {
+      ByteBuffer directBlock = (ByteBuffer) block;
+      ByteBuffer view = directBlock.duplicate();
+      view.clear();
+      view.limit(capacity);
+      return track(view.slice(), directBlock);
+    }
+
+    return track(ByteBuffer.wrap((byte[]) block, 0, capacity).slice(), block);
+  }
+
+  private ByteBuffer track(ByteBuffer view, Object block) {
+    threadCache.get().track(keyOf(view), block);
+    return view;
+  }
+
+  /**
+   * Only the blocks handed out by this manager and not deallocated yet are recovered. They're usually deallocated by
+   * the thread which allocated them, so the caches of other threads are only looked into when that's not the case.
+   */
+  private Object untrack(ByteBuffer byteBuffer) {
+    final Object key = keyOf(byteBuffer);
+    if (key == null) {
+      return null;
+    }
+
+    final ThreadCache ownCache = threadCache.get();
+    Object block = ownCache.untrack(key);
+    if (block != null) {
+      return block;
+    }
+
+    for (ThreadCache cache : threadCaches) {
+      if (cache != ownCache && (block = cache.untrack(key)) != null) {
+        return block;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * {@link ByteBuffer#equals(Object)} and {@link ByteBuffer#hashCode()} depend on the buffer's contents, so heap
+   * buffers are identified by their backing array and direct buffers by the view itself.
+   */
+  private static Object keyOf(ByteBuffer byteBuffer) {
+    if (byteBuffer.isDirect()) {
+      return byteBuffer;
+    }
+
+    return byteBuffer.hasArray() ? byteBuffer.array() : null;
+  }
+
+  private static int blockSize(Object block) {
+    return block instanceof byte[] ? ((byte[]) block).length : ((ByteBuffer) block).capacity();
+  }
+
+  private static int sizeClassOf(int capacity) {
+    if (capacity <= 1 << MIN_SIZE_CLASS_SHIFT) {
+      return 0;
+    }
+    return (32 - numberOfLeadingZeros(capacity - 1)) - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  /**
+   * The magazines of a thread, along with the blocks it handed out which weren't deallocated yet. They're mostly
+   * accessed by the thread which owns them, so their monitor is uncontended but for when the idle blocks of all the
+   * threads are released or a buffer is deallocated by a thread other than the one which allocated it.
+   */
+  private static final class ThreadCache {
+
+    private final WeakReference<Thread> owner;
+    private final Magazine[] magazines = new Magazine[SIZE_CLASSES];
+    private final Map<Object, Object> outstanding = new IdentityHashMap<>();
+
+    private ThreadCache(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private synchronized Object pop(int sizeClass, Depot depot) {
+      Magazine magazine = magazines[sizeClass];
+      if (magazine != null) {
+        Object block = magazine.pop();
+        if (block != null) {
+          return block;
+        }
+      }
+
+      Magazine full = depot.poll();
+      if (full != null) {
+        magazines[sizeClass] = full;
+        return full.pop();
+      }
+
+      return null;
+    }
+
+    /**
+     * @return the magazine which was replaced because it was full, if any
+     */
+    private synchronized Magazine push(int sizeClass, Object block) {
+      Magazine magazine = magazines[sizeClass];
+      if (magazine == null) {
+        magazine = magazines[sizeClass] = new Magazine();
+      }
+
+      if (magazine.push(block)) {
+        return null;
+      }
+
+      magazines[sizeClass] = new Magazine();
+      magazines[sizeClass].push(block);
+      return magazine;
+    }
+
+    /**
+     * @return the size of the removed blocks
+     */
+    private synchronized long drain() {
+      long size = 0;
+      for (Magazine magazine : magazines) {
+        if (magazine != null) {
+          size += magazine.drain();
+        }
+      }
+      return size;
+    }
+
+    private synchronized void track(Object key, Object block) {
+      outstanding.put(key, block);
+    }
+
+    private synchronized Object untrack(Object key) {
+      return outstanding.remove(key);
+    }
+
+    private synchronized boolean hasOutstanding() {
+      return !outstanding.isEmpty();
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+
+  /**
+   * A fixed size stack of idle blocks, only accessed by the thread which owns it or while holding the monitor of its
+   * {@link ThreadCache}
+   */
+  private static final class Magazine {
+
+    private final Object[] rounds = new Object[MAGAZINE_CAPACITY];
+    private int size = 0;
+
+    private Object pop() {
+      if (size == 0) {
+        return null;
+      }
+
+      Object block = rounds[--size];
+      rounds[size] = null;
+      return block;
+    }
+
+    private boolean push(Object block) {
+      if (size == MAGAZINE_CAPACITY) {
+        return false;
+      }
+
+      rounds[size++] = block;
+      return true;
+    }
+
+    /**
+     * Removes all the blocks of this magazine
+     *
+     * @return the size of the removed blocks
+     */
+    private long drain() {
+      long drained = 0;
+      Object block;
+      while ((block = pop()) != null) {
+        drained += blockSize(block);
+      }
+      return drained;
+    }
+  }
+
+  /**
+   * A bounded, lock-free exchange of full {@link Magazine magazines} between threads
+   */
+  private static final class Depot {
+
+    private final Queue<Magazine> magazines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    private boolean offer(Magazine magazine) {
+      if (size.incrementAndGet() > MAX_DEPOT_MAGAZINES) {
+        size.decrementAndGet();
+        return false;
+      }
+
+      magazines.offer(magazine);
+      return true;
+    }
+
+    private Magazine poll() {
+      Magazine magazine = magazines.poll();
+      if (magazine != null) {
+        size.decrementAndGet();
+      }
+
+      return magazine;
+    }
+  }
+}
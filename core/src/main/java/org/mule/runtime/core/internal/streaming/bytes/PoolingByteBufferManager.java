@@ -6,18 +6,13 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
-import static java.lang.Math.round;
-import static java.lang.String.format;
-import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_MEMORY;
 import static org.mule.runtime.core.internal.util.ConcurrencyUtils.withLock;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
-import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
@@ -29,7 +24,6 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
 
 import java.nio.ByteBuffer;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -59,15 +53,11 @@ import org.slf4j.Logger;
  *
  * @since 4.0
  */
-public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
+public class PoolingByteBufferManager extends AbstractByteBufferManager {
 
   private static final Logger LOGGER = getLogger(PoolingByteBufferManager.class);
   private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
 
-  private final AtomicLong streamingMemory = new AtomicLong(0);
-  private final long maxStreamingMemory;
-  private final long waitTimeoutMillis;
-
   /**
    * Using a cache of pools instead of a {@link KeyedObjectPool} because performance tests indicates that this
    * option is slightly faster, plus it gives us the ability to expire unfrequent capacity buffers without the use
@@ -108,23 +98,7 @@ public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
    * @param waitTimeoutMillis how long to wait when the pool is exhausted
    */
   public PoolingByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis) {
-    maxStreamingMemory = calculateMaxStreamingMemory(memoryManager);
-    this.waitTimeoutMillis = waitTimeoutMillis;
-  }
-
-  private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
-    String maxMemoryProperty = getProperty(MULE_STREAMING_MAX_MEMORY);
-    if (maxMemoryProperty == null) {
-      return round(memoryManager.getMaxMemory() * 0.5);
-    } else {
-      try {
-        return Long.valueOf(maxMemoryProperty);
-      } catch (Exception e) {
-        throw new IllegalArgumentException(format("Invalid value for system property '%s'. A memory size (in bytes) was "
-            + "expected, got '%s' instead",
-                                                  MULE_STREAMING_MAX_MEMORY, maxMemoryProperty));
-      }
-    }
+    super(memoryManager, waitTimeoutMillis);
   }
 
   /**
@@ -195,9 +169,7 @@ public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
           }
 
           streamingMemory.addAndGet(-bufferCapacity);
-          throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
-                                                                                   "Max streaming memory limit of %d bytes was exceeded",
-                                                                                   maxStreamingMemory)));
+          throw maxStreamingMemoryExceeded();
         }
 
         @Override
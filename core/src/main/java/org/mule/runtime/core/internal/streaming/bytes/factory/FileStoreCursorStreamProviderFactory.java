@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes.factory;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.factory.AbstractCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.internal.streaming.bytes.FileStoreCursorStreamProvider;
+
+import java.io.InputStream;
+
+/**
+ * An implementation of {@link AbstractCursorStreamProviderFactory} which always
+ * generates instances of {@link FileStoreCursorStreamProvider}
+ *
+ * @see FileStoreCursorStreamProvider
+ * @since 4.2
+ */
+public class FileStoreCursorStreamProviderFactory extends AbstractCursorStreamProviderFactory {
+
+  private final FileStoreCursorStreamConfig config;
+
+  /**
+   * Creates a new instance
+   *
+   * @param bufferManager    the {@link ByteBufferManager} that will be used to allocate the memory window
+   * @param config           the config for the generated providers
+   * @param streamingManager the {@link StreamingManager} which will manage the generated providers
+   */
+  public FileStoreCursorStreamProviderFactory(ByteBufferManager bufferManager,
+                                              FileStoreCursorStreamConfig config,
+                                              StreamingManager streamingManager) {
+    super(bufferManager, streamingManager);
+    this.config = config;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return a new {@link FileStoreCursorStreamProvider}
+   */
+  @Override
+  protected Object resolve(InputStream inputStream, CoreEvent event) {
+    FileStoreCursorStreamProvider provider = new FileStoreCursorStreamProvider(inputStream, config, getBufferManager());
+    provider.setAnnotations(getAnnotations());
+    return provider;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer;
+
+import org.mule.runtime.api.metadata.DataType;
+
+/**
+ * Key for caching the result of resolving a transformation from a source {@link DataType} to a result one.
+ * <p>
+ * Compares the data types by identity first, since the same instances are usually looked up over and over again, and by
+ * equality only when they are different instances.
+ *
+ * @since 4.2
+ */
+public final class DataTypePair {
+
+  private final DataType source;
+  private final DataType result;
+  private final int hash;
+
+  public DataTypePair(DataType source, DataType result) {
+    this.source = source;
+    this.result = result;
+    this.hash = 31 * source.hashCode() + result.hashCode();
+  }
+
+  public DataType getSource() {
+    return source;
+  }
+
+  public DataType getResult() {
+    return result;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DataTypePair)) {
+      return false;
+    }
+
+    final DataTypePair other = (DataTypePair) obj;
+    return hash == other.hash
+        && (source == other.source || source.equals(other.source))
+        && (result == other.result || result.equals(other.result));
+  }
+
+  @Override
+  public String toString() {
+    return source + " -> " + result;
+  }
+}
@@ -6,50 +6,72 @@
  */
 package org.mule.runtime.core.internal.transformer.graph;
 
+import static java.util.Collections.singletonList;
+import static org.mule.runtime.core.internal.registry.TransformerResolver.RegistryAction.ADDED;
+import static org.mule.runtime.core.internal.registry.TransformerResolver.RegistryAction.REMOVED;
 import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.internal.registry.TransformerResolver;
+import org.mule.runtime.core.internal.transformer.DataTypePair;
 import org.mule.runtime.core.internal.transformer.ResolverException;
-import org.mule.runtime.core.api.config.i18n.CoreMessages;
+import org.mule.runtime.core.privileged.transformer.CompositeConverter;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Resolves transformations using the {@link Converter}s registered in a {@link TransformationGraph}.
+ * <p>
+ * Resolutions, including the ones for which there is no converter, are cached by source and result {@link DataType}. Reading
+ * the cache takes no locks. When a converter is added or removed only the resolutions that it could have changed are discarded:
+ * <ul>
+ * <li>an added converter may only affect the pairs whose source can reach one of its sources and whose result can be reached
+ * from its return type.</li>
+ * <li>a removed converter may only affect the pairs that were resolved to it or to a composite converter using it.</li>
+ * </ul>
+ * In both cases the pairs for which a type became or stopped being a vertex of the graph are discarded too, since that changes
+ * the vertexes the lookup starts from.
+ */
+public class GraphTransformerResolver implements TransformerResolver {
 
-import org.apache.commons.collections.map.LRUMap;
+  private static final int MAX_CACHE_SIZE = 512;
 
-public class GraphTransformerResolver implements TransformerResolver {
+  private static final Resolution NO_CONVERTER = new Resolution(null);
 
-  private ReentrantReadWriteLock readWriteLock;
-  private SynchronizedTransformationGraph graph;
-  private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
-  private TransformationGraphLookupStrategy lookupStrategyTransformation;
+  private final SynchronizedTransformationGraph graph;
+  private final CompositeConverterFilter converterFilter;
+  private final TransformationGraphLookupStrategy lookupStrategyTransformation;
+  private final ConcurrentMap<DataTypePair, Resolution> cache = new ConcurrentHashMap<>();
+  private final AtomicLong graphVersion = new AtomicLong();
 
   public GraphTransformerResolver() {
-    this.readWriteLock = new ReentrantReadWriteLock();
     this.graph = new SynchronizedTransformationGraph();
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TypeMatchingVertexesFilter(),
                                                    new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(),
                                                    new NameConverterFilter());
-    cache = new LRUMap();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    final DataTypePair key = new DataTypePair(source, result);
 
-    readWriteLock.readLock().lock();
-    try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
-    } finally {
-      readWriteLock.readLock().unlock();
+    Resolution resolution = cache.get(key);
+    if (resolution != null) {
+      return resolution.converter;
     }
 
+    final long version = graphVersion.get();
     List<Converter> converters =
         converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
 
@@ -57,48 +79,91 @@ public class GraphTransformerResolver implements TransformerResolver {
       throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
     }
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
+    resolution = converters.isEmpty() ? NO_CONVERTER : new Resolution(converters.get(0));
+
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      cache.clear();
+    }
+    cache.put(key, resolution);
+    if (graphVersion.get() != version) {
+      // the graph changed while resolving, so the resolution may be based on the previous one
+      cache.remove(key, resolution);
+    }
+
+    return resolution.converter;
+  }
+
+  @Override
+  public synchronized void transformerChange(Transformer transformer, RegistryAction registryAction) {
+    if (!(transformer instanceof Converter)) {
+      return;
+    }
+
+    final Converter converter = (Converter) transformer;
+    final List<DataType> types = new ArrayList<>(converter.getSourceDataTypes());
+    types.add(converter.getReturnDataType());
+
+    final Set<DataType> previousVertexes = new HashSet<>();
+    for (DataType type : types) {
+      if (graph.containsVertex(type)) {
+        previousVertexes.add(type);
+      }
+    }
+
+    if (registryAction == ADDED) {
+      graph.addConverter(converter);
+    } else if (registryAction == REMOVED) {
+      graph.removeConverter(converter);
+    }
+    graphVersion.incrementAndGet();
 
+    final Set<DataType> changedVertexes = new HashSet<>();
+    for (DataType type : types) {
+      if (graph.containsVertex(type) != previousVertexes.contains(type)) {
+        changedVertexes.add(type);
+      }
+    }
 
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
-    } finally {
-      readWriteLock.writeLock().unlock();
+    final Predicate<Entry<DataTypePair, Resolution>> affected;
+    if (registryAction == ADDED) {
+      affected = reachableThrough(converter);
+    } else if (registryAction == REMOVED) {
+      affected = entry -> uses(entry.getValue(), converter);
+    } else {
+      affected = entry -> true;
     }
 
-    return converter;
+    cache.entrySet().removeIf(entry -> changedVertexes.contains(entry.getKey().getSource())
+        || changedVertexes.contains(entry.getKey().getResult())
+        || affected.test(entry));
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
+  private Predicate<Entry<DataTypePair, Resolution>> reachableThrough(Converter converter) {
+    final Set<DataType> upstream = graph.getUpstreamVertexes(converter.getSourceDataTypes());
+    final Set<DataType> downstream = graph.getDownstreamVertexes(singletonList(converter.getReturnDataType()));
 
-    return builder.toString();
+    // same compatibility checks the lookup strategy uses to find the vertexes a transformation starts and ends at
+    return entry -> upstream.stream().anyMatch(vertex -> vertex.isCompatibleWith(entry.getKey().getSource()))
+        && downstream.stream().anyMatch(vertex -> entry.getKey().getResult().isCompatibleWith(vertex));
   }
 
-  @Override
-  public void transformerChange(Transformer transformer, RegistryAction registryAction) {
-    readWriteLock.writeLock().lock();
+  private boolean uses(Resolution resolution, Converter converter) {
+    if (resolution.converter == null) {
+      return false;
+    }
+    if (resolution.converter == converter) {
+      return true;
+    }
+    return resolution.converter instanceof CompositeConverter
+        && ((CompositeConverter) resolution.converter).getConverters().contains(converter);
+  }
 
-    try {
-      if (!(transformer instanceof Converter)) {
-        return;
-      }
+  private static final class Resolution {
 
-      cache.clear();
+    private final Transformer converter;
 
-      if (registryAction == RegistryAction.ADDED) {
-        graph.addConverter((Converter) transformer);
-      } else if (registryAction == RegistryAction.REMOVED) {
-        graph.removeConverter((Converter) transformer);
-      }
-    } finally {
-      readWriteLock.writeLock().unlock();
+    private Resolution(Transformer converter) {
+      this.converter = converter;
     }
   }
 }
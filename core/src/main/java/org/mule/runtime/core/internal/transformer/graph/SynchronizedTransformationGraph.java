@@ -11,6 +11,7 @@ import com.google.common.collect.ImmutableSet;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -107,4 +108,22 @@ public class SynchronizedTransformationGraph {
     }
   }
 
+  Set<DataType> getUpstreamVertexes(Collection<DataType> vertexes) {
+    readWriteLock.readLock().lock();
+    try {
+      return transformationGraph.getUpstreamVertexes(vertexes);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  Set<DataType> getDownstreamVertexes(Collection<DataType> vertexes) {
+    readWriteLock.readLock().lock();
+    try {
+      return transformationGraph.getDownstreamVertexes(vertexes);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
 }
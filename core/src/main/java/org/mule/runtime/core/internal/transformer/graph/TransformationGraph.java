@@ -11,6 +11,9 @@ import static java.util.stream.Collectors.toList;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -122,4 +125,35 @@ public class TransformationGraph extends DirectedMultigraph<DataType, Transforma
     return !getSubVertexes(vertex).isEmpty();
   }
 
+  //Returns the vertexes from which any of the given ones can be reached, including the given ones that are in the graph.
+  Set<DataType> getUpstreamVertexes(Collection<DataType> vertexes) {
+    return traverse(vertexes, true);
+  }
+
+  //Returns the vertexes that can be reached from any of the given ones, including the given ones that are in the graph.
+  Set<DataType> getDownstreamVertexes(Collection<DataType> vertexes) {
+    return traverse(vertexes, false);
+  }
+
+  private Set<DataType> traverse(Collection<DataType> vertexes, boolean upstream) {
+    Set<DataType> visited = new HashSet<>();
+    Deque<DataType> pending = new ArrayDeque<>();
+    for (DataType vertex : vertexes) {
+      if (super.containsVertex(vertex) && visited.add(vertex)) {
+        pending.add(vertex);
+      }
+    }
+
+    while (!pending.isEmpty()) {
+      DataType vertex = pending.poll();
+      for (TransformationEdge edge : upstream ? incomingEdgesOf(vertex) : outgoingEdgesOf(vertex)) {
+        DataType next = upstream ? getEdgeSource(edge) : getEdgeTarget(edge);
+        if (visited.add(next)) {
+          pending.add(next);
+        }
+      }
+    }
+    return visited;
+  }
+
 }
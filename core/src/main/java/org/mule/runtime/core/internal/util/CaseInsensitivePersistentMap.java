@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable {@link Map} with case-insensitive {@link String} keys, backed by a hash array mapped trie.
+ * <p>
+ * Adding or removing an entry through {@link #with(String, Object)} or {@link #without(String)} creates a new map in
+ * {@code O(log n)} which shares all the nodes of the trie not in the path to the changed entry with this one, so deriving a map
+ * from another one doesn't require copying all of its entries. The mutator methods of the {@link Map} interface are not
+ * supported.
+ * <p>
+ * Keys are compared as {@link String#equalsIgnoreCase(String)} does, and the case of the last key added for each entry is
+ * preserved. {@code null} keys and values are not supported.
+ *
+ * @param <V> the type of the values
+ * @since 4.2
+ */
+public final class CaseInsensitivePersistentMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 6279420452393406736L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  // levels needed to consume a 32 bit hash, plus one for the collision nodes
+  private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS + 1;
+
+  private static final CaseInsensitivePersistentMap EMPTY = new CaseInsensitivePersistentMap<>(null, 0);
+
+  /**
+   * @return an empty map.
+   */
+  public static <V> CaseInsensitivePersistentMap<V> empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param map the entries for the new map
+   * @return a map with the entries of the given one. If the given map is already a {@link CaseInsensitivePersistentMap}, it is
+   *         returned as is.
+   */
+  public static <V> CaseInsensitivePersistentMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof CaseInsensitivePersistentMap) {
+      return (CaseInsensitivePersistentMap<V>) map;
+    }
+
+    CaseInsensitivePersistentMap<V> copy = empty();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.with(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  private final BitmapNode<V> root;
+  private final int size;
+
+  private transient Set<Entry<String, V>> entrySet;
+
+  private CaseInsensitivePersistentMap(BitmapNode<V> root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @param key the key of the entry
+   * @param value the value of the entry
+   * @return a map with the entries of this one plus the given one, replacing any entry with the same key regardless of its case.
+   */
+  public CaseInsensitivePersistentMap<V> with(String key, V value) {
+    final Leaf<V> leaf = new Leaf<>(key, value);
+    final boolean[] added = new boolean[1];
+
+    final BitmapNode<V> newRoot;
+    if (root == null) {
+      newRoot = new BitmapNode<>(bitFor(leaf.hash, 0), new Object[] {leaf});
+      added[0] = true;
+    } else {
+      newRoot = root.put(leaf, 0, added);
+    }
+
+    return new CaseInsensitivePersistentMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @param key the key of the entry to remove, in any case
+   * @return a map with the entries of this one except the one for the given key, or this same map if there is no such entry.
+   */
+  public CaseInsensitivePersistentMap<V> without(String key) {
+    if (root == null) {
+      return this;
+    }
+
+    final BitmapNode<V> newRoot = (BitmapNode<V>) root.remove(key, hash(key), 0);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new CaseInsensitivePersistentMap<>(newRoot, size - 1);
+  }
+
+  @Override
+  public V get(Object key) {
+    final Leaf<V> leaf = find(key);
+    return leaf == null ? null : leaf.getValue();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<Entry<String, V>>() {
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+          return new LeafIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  private Leaf<V> find(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+
+    final String stringKey = (String) key;
+    final int hash = hash(stringKey);
+    Object node = root;
+    int shift = 0;
+    while (true) {
+      if (node instanceof BitmapNode) {
+        final BitmapNode<V> bitmapNode = (BitmapNode<V>) node;
+        final int bit = bitFor(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+          return null;
+        }
+        node = bitmapNode.slots[bitmapNode.index(bit)];
+        shift += BITS;
+      } else if (node instanceof CollisionNode) {
+        return ((CollisionNode<V>) node).find(stringKey, hash);
+      } else {
+        final Leaf<V> leaf = (Leaf<V>) node;
+        return leaf.matches(stringKey, hash) ? leaf : null;
+      }
+    }
+  }
+
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      // same normalization as String#equalsIgnoreCase, so that keys equal for it have the same hash
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bitFor(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static Object[] insert(Object[] slots, int index, Object slot) {
+    final Object[] updated = new Object[slots.length + 1];
+    arraycopy(slots, 0, updated, 0, index);
+    updated[index] = slot;
+    arraycopy(slots, index, updated, index + 1, slots.length - index);
+    return updated;
+  }
+
+  private static Object[] replace(Object[] slots, int index, Object slot) {
+    final Object[] updated = slots.clone();
+    updated[index] = slot;
+    return updated;
+  }
+
+  private static Object[] delete(Object[] slots, int index) {
+    final Object[] updated = new Object[slots.length - 1];
+    arraycopy(slots, 0, updated, 0, index);
+    arraycopy(slots, index + 1, updated, index, slots.length - index - 1);
+    return updated;
+  }
+
+  private static final class Leaf<V> extends SimpleImmutableEntry<String, V> {
+
+    private static final long serialVersionUID = -3406620470282727064L;
+
+    private final int hash;
+
+    private Leaf(String key, V value) {
+      super(key, value);
+      this.hash = hash(key);
+    }
+
+    private boolean matches(String key, int hash) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+  }
+
+  private static abstract class Node<V> implements Serializable {
+
+    private static final long serialVersionUID = 5468716281958045377L;
+
+    /**
+     * @return the node with the given leaf added or replacing the one with the same key, which may be a new node of a different
+     *         type.
+     */
+    abstract Node<V> put(Leaf<V> leaf, int shift, boolean[] added);
+
+    /**
+     * @return the node without the leaf for the given key, this same node if there is no such leaf, or {@code null} if it was the
+     *         only one.
+     */
+    abstract Node<V> remove(String key, int hash, int shift);
+
+    /**
+     * @return the only leaf in this node, or {@code null} if it has other entries.
+     */
+    abstract Leaf<V> singleLeaf();
+
+    abstract Object[] slots();
+  }
+
+  private static final class BitmapNode<V> extends Node<V> {
+
+    private static final long serialVersionUID = -1213574358004575316L;
+
+    private final int bitmap;
+    // each slot is either a Leaf or a Node
+    private final Object[] slots;
+
+    private BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    BitmapNode<V> put(Leaf<V> leaf, int shift, boolean[] added) {
+      final int bit = bitFor(leaf.hash, shift);
+      final int index = index(bit);
+
+      if ((bitmap & bit) == 0) {
+        added[0] = true;
+        return new BitmapNode<>(bitmap | bit, insert(slots, index, leaf));
+      }
+
+      final Object slot = slots[index];
+      if (slot instanceof Leaf) {
+        final Leaf<V> existing = (Leaf<V>) slot;
+        if (existing.matches(leaf.getKey(), leaf.hash)) {
+          return new BitmapNode<>(bitmap, replace(slots, index, leaf));
+        }
+        added[0] = true;
+        return new BitmapNode<>(bitmap, replace(slots, index, merge(existing, leaf, shift + BITS)));
+      }
+
+      final Node<V> child = (Node<V>) slot;
+      return new BitmapNode<>(bitmap, replace(slots, index, child.put(leaf, shift + BITS, added)));
+    }
+
+    @Override
+    Node<V> remove(String key, int hash, int shift) {
+      final int bit = bitFor(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      final int index = index(bit);
+      final Object slot = slots[index];
+      if (slot instanceof Leaf) {
+        if (!((Leaf<V>) slot).matches(key, hash)) {
+          return this;
+        }
+        return slots.length == 1 ? null : new BitmapNode<>(bitmap ^ bit, delete(slots, index));
+      }
+
+      final Node<V> child = (Node<V>) slot;
+      final Node<V> newChild = child.remove(key, hash, shift + BITS);
+      if (newChild == child) {
+        return this;
+      } else if (newChild == null) {
+        return slots.length == 1 ? null : new BitmapNode<>(bitmap ^ bit, delete(slots, index));
+      }
+
+      // keep the trie compact, a node with just a leaf is replaced by the leaf itself
+      final Leaf<V> singleLeaf = newChild.singleLeaf();
+      return new BitmapNode<>(bitmap, replace(slots, index, singleLeaf != null ? singleLeaf : newChild));
+    }
+
+    @Override
+    Leaf<V> singleLeaf() {
+      return slots.length == 1 && slots[0] instanceof Leaf ? (Leaf<V>) slots[0] : null;
+    }
+
+    @Override
+    Object[] slots() {
+      return slots;
+    }
+
+    private static <V> Node<V> merge(Leaf<V> first, Leaf<V> second, int shift) {
+      if (first.hash == second.hash) {
+        return new CollisionNode<>(first.hash, new Leaf[] {first, second});
+      }
+
+      final int firstBit = bitFor(first.hash, shift);
+      final int secondBit = bitFor(second.hash, shift);
+      if (firstBit == secondBit) {
+        return new BitmapNode<>(firstBit, new Object[] {merge(first, second, shift + BITS)});
+      }
+      return new BitmapNode<>(firstBit | secondBit,
+                              Integer.compareUnsigned(firstBit, secondBit) < 0
+                                  ? new Object[] {first, second}
+                                  : new Object[] {second, first});
+    }
+  }
+
+  private static final class CollisionNode<V> extends Node<V> {
+
+    private static final long serialVersionUID = 1876424128440216734L;
+
+    private final int hash;
+    private final Leaf<V>[] leaves;
+
+    private CollisionNode(int hash, Leaf<V>[] leaves) {
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    private Leaf<V> find(String key, int hash) {
+      for (Leaf<V> leaf : leaves) {
+        if (leaf.matches(key, hash)) {
+          return leaf;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    Node<V> put(Leaf<V> leaf, int shift, boolean[] added) {
+      if (leaf.hash != hash) {
+        // the hashes differ in some bits above the shift, so this node has to be pushed one level down
+        return new BitmapNode<V>(bitFor(hash, shift), new Object[] {this}).put(leaf, shift, added);
+      }
+
+      for (int i = 0; i < leaves.length; ++i) {
+        if (leaves[i].matches(leaf.getKey(), leaf.hash)) {
+          return new CollisionNode<>(hash, (Leaf<V>[]) replace(leaves, i, leaf));
+        }
+      }
+      added[0] = true;
+      final Leaf<V>[] updated = new Leaf[leaves.length + 1];
+      arraycopy(leaves, 0, updated, 0, leaves.length);
+      updated[leaves.length] = leaf;
+      return new CollisionNode<>(hash, updated);
+    }
+
+    @Override
+    Node<V> remove(String key, int hash, int shift) {
+      for (int i = 0; i < leaves.length; ++i) {
+        if (leaves[i].matches(key, hash)) {
+          if (leaves.length == 1) {
+            return null;
+          }
+          final Leaf<V>[] updated = new Leaf[leaves.length - 1];
+          arraycopy(leaves, 0, updated, 0, i);
+          arraycopy(leaves, i + 1, updated, i, leaves.length - i - 1);
+          return new CollisionNode<>(hash, updated);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    Leaf<V> singleLeaf() {
+      return leaves.length == 1 ? leaves[0] : null;
+    }
+
+    @Override
+    Object[] slots() {
+      return leaves;
+    }
+  }
+
+  private static final class LeafIterator<V> implements Iterator<Entry<String, V>> {
+
+    private final Object[][] path = new Object[MAX_DEPTH][];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth;
+    private Leaf<V> next;
+
+    private LeafIterator(Node<V> root) {
+      if (root == null) {
+        depth = -1;
+      } else {
+        path[0] = root.slots();
+        advance();
+      }
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        final Object[] slots = path[depth];
+        if (positions[depth] < slots.length) {
+          final Object slot = slots[positions[depth]++];
+          if (slot instanceof Leaf) {
+            next = (Leaf<V>) slot;
+            return;
+          }
+          ++depth;
+          path[depth] = ((Node<V>) slot).slots();
+          positions[depth] = 0;
+        } else {
+          path[depth] = null;
+          --depth;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final Leaf<V> current = next;
+      advance();
+      return current;
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Math.floorDiv;
+import static java.util.Collections.emptyList;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A hierarchical timing wheel which keeps track of the deadlines of a set of keys.
+ * <p>
+ * Each level of the wheel has {@value #WHEEL_SIZE} slots. A slot in the first level spans one tick, and a slot in any other level
+ * spans a full turn of the level below it. Keys are placed in the lowest level that can hold their deadline and move down a
+ * level each time the slot they are in is reached, so finding the expired keys costs time proportional to the number of expired
+ * keys and not to the number of scheduled ones. Deadlines beyond the span of the top level are placed in its farthest slot and
+ * moved again when it is reached.
+ * <p>
+ * {@link #schedule(Object, long)} and {@link #cancel(Object)} may be called concurrently from any thread. Scheduled keys are
+ * only placed in the wheel by {@link #advance(long)}, which must not be called concurrently.
+ *
+ * @param <K> the type of the keys
+ * @since 4.2
+ */
+public class HierarchicalTimingWheel<K> {
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+  private final long tickMillis;
+  private final long startMillis;
+  private final int levels;
+  private final List<Entry<K>>[][] wheel;
+
+  private final ConcurrentMap<K, Entry<K>> scheduled = new ConcurrentHashMap<>();
+  private final Queue<Entry<K>> pending = new ConcurrentLinkedQueue<>();
+
+  private long currentTick = 0;
+  private int entriesInWheel = 0;
+
+  /**
+   * @param tickMillis the resolution of the wheel
+   * @param levels the number of levels of the wheel. Deadlines up to {@code tickMillis * 64 ^ levels} milliseconds in the future
+   *        are placed without having to be moved more than once per level.
+   * @param startMillis the time the wheel starts counting ticks from
+   */
+  public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+    checkArgument(tickMillis > 0, "tickMillis has to be greater than zero");
+    checkArgument(levels > 0 && levels * WHEEL_BITS < 63, "invalid number of levels");
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+    this.levels = levels;
+    this.wheel = new List[levels][WHEEL_SIZE];
+  }
+
+  /**
+   * Schedules the given key to expire at the given time, unless it is already scheduled.
+   *
+   * @param key the key to schedule
+   * @param deadlineMillis the time at which the key expires
+   * @return {@code true} if the key was scheduled, {@code false} if it already was
+   */
+  public boolean schedule(K key, long deadlineMillis) {
+    Entry<K> entry = new Entry<>(key, toTick(deadlineMillis));
+    if (scheduled.putIfAbsent(key, entry) != null) {
+      return false;
+    }
+    pending.add(entry);
+    return true;
+  }
+
+  /**
+   * Cancels the expiration of the given key, if it is scheduled.
+   *
+   * @param key the key to cancel
+   */
+  public void cancel(K key) {
+    Entry<K> entry = scheduled.remove(key);
+    if (entry != null) {
+      entry.cancelled = true;
+    }
+  }
+
+  /**
+   * @param key a key
+   * @return whether the key is scheduled and not yet expired or cancelled
+   */
+  public boolean isScheduled(K key) {
+    return scheduled.containsKey(key);
+  }
+
+  /**
+   * @return the number of scheduled keys
+   */
+  public int size() {
+    return scheduled.size();
+  }
+
+  /**
+   * Advances the wheel up to the given time.
+   *
+   * @param nowMillis the current time
+   * @return the keys whose deadline was reached. These are no longer scheduled.
+   */
+  public List<K> advance(long nowMillis) {
+    List<K> expired = null;
+
+    Entry<K> entry;
+    while ((entry = pending.poll()) != null) {
+      expired = place(entry, expired);
+    }
+
+    final long targetTick = floorDiv(nowMillis - startMillis, tickMillis);
+    while (currentTick < targetTick) {
+      if (entriesInWheel == 0) {
+        currentTick = targetTick;
+        break;
+      }
+
+      ++currentTick;
+      // move down the slots of the upper levels that were reached, from the top
+      for (int level = levels - 1; level > 0; --level) {
+        if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+          expired = cascade(level, slotIndex(currentTick, level), expired);
+        }
+      }
+      expired = cascade(0, slotIndex(currentTick, 0), expired);
+    }
+
+    return expired == null ? emptyList() : expired;
+  }
+
+  private List<K> cascade(int level, int slot, List<K> expired) {
+    final List<Entry<K>> entries = wheel[level][slot];
+    if (entries == null) {
+      return expired;
+    }
+
+    wheel[level][slot] = null;
+    entriesInWheel -= entries.size();
+    for (Entry<K> entry : entries) {
+      expired = place(entry, expired);
+    }
+    return expired;
+  }
+
+  private List<K> place(Entry<K> entry, List<K> expired) {
+    if (entry.cancelled) {
+      return expired;
+    }
+
+    long delta = entry.deadlineTick - currentTick;
+    if (delta <= 0) {
+      if (scheduled.remove(entry.key, entry)) {
+        if (expired == null) {
+          expired = new ArrayList<>();
+        }
+        expired.add(entry.key);
+      }
+      return expired;
+    }
+
+    int level = 0;
+    while (level < levels - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+      ++level;
+    }
+
+    long placementTick = entry.deadlineTick;
+    if (delta >= 1L << (WHEEL_BITS * levels)) {
+      // beyond the span of the wheel, park it in the farthest slot of the top level
+      placementTick = currentTick + (1L << (WHEEL_BITS * levels)) - 1;
+    }
+
+    final int slot = slotIndex(placementTick, level);
+    List<Entry<K>> entries = wheel[level][slot];
+    if (entries == null) {
+      entries = new ArrayList<>(4);
+      wheel[level][slot] = entries;
+    }
+    entries.add(entry);
+    ++entriesInWheel;
+    return expired;
+  }
+
+  private long toTick(long millis) {
+    // round up, so that keys never expire before their deadline
+    return -floorDiv(startMillis - millis, tickMillis);
+  }
+
+  private static int slotIndex(long tick, int level) {
+    return (int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+  }
+
+  private static final class Entry<K> {
+
+    private final K key;
+    private final long deadlineTick;
+    private volatile boolean cancelled = false;
+
+    private Entry(K key, long deadlineTick) {
+      this.key = key;
+      this.deadlineTick = deadlineTick;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies with log-linear buckets, in the fashion of HdrHistogram.
+ * <p>
+ * Values below {@code 16} get a bucket each. Above that, every power of two range is split in 16 buckets of the same width, so a
+ * value is never more than 1/16th of its magnitude apart from the other values in its bucket. Values of {@code 2^44} or more
+ * are all counted in the last bucket. The histogram doesn't care about the unit of the values, it's up to the user to record all
+ * of them in the same one.
+ * <p>
+ * Recording a value only increments a couple of atomic counters, so it is cheap even when done concurrently from many threads,
+ * and {@link #snapshot() snapshots} can be taken at any time without blocking the threads recording values.
+ *
+ * @since 4.2
+ */
+public final class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = 8123627389281647262L;
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_MAGNITUDE = 43;
+
+  static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0, 0, Long.MAX_VALUE, 0);
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator minValue = new LongAccumulator(Long::min, Long.MAX_VALUE);
+  private final LongAccumulator maxValue = new LongAccumulator(Long::max, 0);
+
+  /**
+   * @param value the value to record. Negative values are recorded as zero.
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    buckets.incrementAndGet(bucketFor(value));
+    count.increment();
+    total.add(value);
+    minValue.accumulate(value);
+    maxValue.accumulate(value);
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the sum of all the recorded values
+   */
+  public long getTotal() {
+    return total.sum();
+  }
+
+  /**
+   * @return a copy of the current state of this histogram. Values recorded while the snapshot is being taken may or may not be
+   *         part of it.
+   */
+  public Snapshot snapshot() {
+    final long[] counts = new long[BUCKETS];
+    long snapshotCount = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      counts[i] = buckets.get(i);
+      snapshotCount += counts[i];
+    }
+    return snapshotCount == 0 ? EMPTY
+        : new Snapshot(counts, snapshotCount, total.sum(), minValue.get(), maxValue.get());
+  }
+
+  /**
+   * Resets all the counters of this histogram.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; ++i) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    total.reset();
+    minValue.reset();
+    maxValue.reset();
+  }
+
+  /**
+   * @return a snapshot without any recorded value
+   */
+  public static Snapshot emptySnapshot() {
+    return EMPTY;
+  }
+
+  static int bucketFor(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int magnitude = Long.SIZE - 1 - numberOfLeadingZeros(value);
+    if (magnitude > MAX_MAGNITUDE) {
+      return BUCKETS - 1;
+    }
+
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long highestEquivalentValue(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    final int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+    final long lowest = (long) (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * An immutable copy of the state of a {@link LatencyHistogram}.
+   */
+  public static final class Snapshot implements LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long min;
+    private final long max;
+
+    private Snapshot(long[] counts, long count, long total, long min, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.total = total;
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * @return the sum of the recorded values
+     */
+    public long getTotal() {
+      return total;
+    }
+
+    @Override
+    public long getMin() {
+      return count == 0 ? 0 : min;
+    }
+
+    @Override
+    public long getMax() {
+      return max;
+    }
+
+    @Override
+    public long getMean() {
+      return count == 0 ? 0 : total / count;
+    }
+
+    @Override
+    public long getPercentile(double percentile) {
+      checkArgument(percentile >= 0 && percentile <= 100, "percentile has to be between 0 and 100");
+      if (count == 0) {
+        return 0;
+      }
+
+      final long target = max(1, (long) ceil(count * percentile / 100));
+      long accumulated = 0;
+      for (int i = 0; i < BUCKETS; ++i) {
+        accumulated += counts[i];
+        if (accumulated >= target) {
+          return min(max(highestEquivalentValue(i), getMin()), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public Snapshot merge(LatencySnapshot other) {
+      checkArgument(other instanceof Snapshot, "Can only merge snapshots of a " + LatencyHistogram.class.getSimpleName());
+      final Snapshot otherSnapshot = (Snapshot) other;
+      if (otherSnapshot.count == 0) {
+        return this;
+      } else if (count == 0) {
+        return otherSnapshot;
+      }
+
+      final long[] mergedCounts = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; ++i) {
+        mergedCounts[i] = counts[i] + otherSnapshot.counts[i];
+      }
+      return new Snapshot(mergedCounts, count + otherSnapshot.count, total + otherSnapshot.total,
+                          Math.min(min, otherSnapshot.min), Math.max(max, otherSnapshot.max));
+    }
+
+    @Override
+    public String toString() {
+      return "LatencySnapshot{count=" + count + ", min=" + getMin() + ", mean=" + getMean() + ", p50=" + getPercentile(50)
+          + ", p99=" + getPercentile(99) + ", p999=" + getPercentile(99.9) + ", max=" + max + "}";
+    }
+  }
+}
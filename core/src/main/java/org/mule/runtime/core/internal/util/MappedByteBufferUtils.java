@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+
+/**
+ * Utilities for memory mapped files
+ *
+ * @since 4.2
+ */
+public class MappedByteBufferUtils {
+
+  private static final Logger LOGGER = getLogger(MappedByteBufferUtils.class);
+
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private MappedByteBufferUtils() {}
+
+  /**
+   * Releases the mapping of the given {@code buffer} right away, rather than when it's garbage collected, so that its file can be
+   * deleted and its address space is given back. The JVM crashes if the buffer, or any buffer sharing its content, is accessed
+   * afterwards, so this must only be called once it's no longer referenced. Nothing is done if the JVM doesn't allow it.
+   *
+   * @param buffer a {@link MappedByteBuffer}
+   */
+  public static void unmap(MappedByteBuffer buffer) {
+    if (UNMAPPER == null || buffer == null) {
+      return;
+    }
+
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      LOGGER.warn("Could not unmap buffer, it will be unmapped when garbage collected: " + e.getMessage());
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      try {
+        // Java 9 onwards
+        final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        final Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+        final Object unsafe = unsafeField.get(null);
+        return buffer -> invokeCleaner.invoke(unsafe, buffer);
+      } catch (NoSuchMethodException e) {
+        // Java 8
+        final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        final Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        return buffer -> {
+          final Object cleaner = cleanerMethod.invoke(buffer);
+          if (cleaner != null) {
+            cleanMethod.invoke(cleaner);
+          }
+        };
+      }
+    } catch (Exception | LinkageError e) {
+      LOGGER.debug("Mapped buffers can't be unmapped explicitly, they'll be unmapped when garbage collected", e);
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(ByteBuffer buffer) throws Exception;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static com.google.common.hash.Funnels.stringFunnel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.BloomFilter;
+
+/**
+ * A Bloom filter which grows as elements are added to it, keeping its false positive probability bounded.
+ * <p>
+ * The filter is a series of fixed size {@link BloomFilter}s. Elements are added to the last one until it holds as many elements
+ * as it was sized for, at which point a new one with twice the capacity and half the false positive probability is added. The
+ * overall false positive probability is therefore bounded by twice the one of the first filter.
+ * <p>
+ * This class is thread safe.
+ *
+ * @since 4.2
+ */
+public class ScalableBloomFilter {
+
+  private static final int GROWTH_FACTOR = 2;
+  private static final double TIGHTENING_RATIO = 0.5;
+
+  private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param initialCapacity the number of elements the first filter is sized for
+   * @param falsePositiveProbability the desired overall false positive probability
+   */
+  public ScalableBloomFilter(long initialCapacity, double falsePositiveProbability) {
+    checkArgument(initialCapacity > 0, "initialCapacity has to be greater than zero");
+    checkArgument(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                  "falsePositiveProbability has to be between zero and one");
+    stages.add(new Stage(initialCapacity, falsePositiveProbability * (1 - TIGHTENING_RATIO)));
+  }
+
+  /**
+   * @param element an element
+   * @return {@code false} if the element was definitely never added to this filter, {@code true} if it might have been
+   */
+  public boolean mightContain(String element) {
+    for (Stage stage : stages) {
+      if (stage.filter.mightContain(element)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds an element to this filter.
+   *
+   * @param element the element to add
+   */
+  public void put(String element) {
+    Stage stage = stages.get(stages.size() - 1);
+    if (stage.count.incrementAndGet() > stage.capacity) {
+      stage.count.decrementAndGet();
+      stage = grow(stage);
+    }
+    stage.filter.put(element);
+  }
+
+  /**
+   * @return the number of elements added to this filter
+   */
+  public long count() {
+    long count = 0;
+    for (Stage stage : stages) {
+      count += stage.count.get();
+    }
+    return count;
+  }
+
+  private synchronized Stage grow(Stage full) {
+    Stage last = stages.get(stages.size() - 1);
+    if (last == full) {
+      last = new Stage(full.capacity * GROWTH_FACTOR, full.falsePositiveProbability * TIGHTENING_RATIO);
+      stages.add(last);
+    }
+    last.count.incrementAndGet();
+    return last;
+  }
+
+  private static final class Stage {
+
+    private final BloomFilter<CharSequence> filter;
+    private final long capacity;
+    private final double falsePositiveProbability;
+    private final AtomicLong count = new AtomicLong();
+
+    private Stage(long capacity, double falsePositiveProbability) {
+      this.filter = BloomFilter.create(stringFunnel(UTF_8), capacity, falsePositiveProbability);
+      this.capacity = capacity;
+      this.falsePositiveProbability = falsePositiveProbability;
+    }
+  }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_JOURNAL_GROUP_COMMIT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends records to a journal file using group commit.
+ * <p>
+ * Writers claim a sequence number and publish their record into a lock-free ring. A single writer task, run by the given
+ * executor, takes the published records in sequence order, writes them with one gathering write and forces the file once per
+ * batch. The writer task only runs while there are records to write: it ends once there are none, giving its thread back to the
+ * executor, and the next appended record submits it again. Callers wait for their record to be durable through {@link #awaitDurable(long)}, which allows them to do so after
+ * releasing any monitor they held while appending, so that the records of concurrent callers end up in the same batch.
+ * <p>
+ * Appending never waits. When the ring is full, the record is kept aside until the writer task reaches it. Since every caller
+ * waits for its record to be durable before appending another one, the records kept aside are bounded by the number of
+ * concurrent callers, and back pressure is applied by {@link #awaitDurable(long)}, outside of any monitor held while appending.
+ * <p>
+ * A batch is written as soon as there are records available, unless a maximum latency is configured, in which case the writer
+ * task waits up to that latency for the batch to fill up.
+ *
+ * @since 4.2
+ */
+class GroupCommitJournalWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitJournalWriter.class);
+
+  private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+  /**
+   * Group commit configuration for a journal.
+   */
+  static final class Settings {
+
+    private final int maxBatchSize;
+    private final long maxBatchLatencyNanos;
+
+    Settings(int maxBatchSize, long maxBatchLatencyMicros) {
+      this.maxBatchSize = max(maxBatchSize, 1);
+      this.maxBatchLatencyNanos = MICROSECONDS.toNanos(max(maxBatchLatencyMicros, 0));
+    }
+
+    /**
+     * @return the settings given through system properties, or {@code null} if group commit is not enabled.
+     */
+    static Settings fromSystemProperties() {
+      if (!getBoolean(MULE_JOURNAL_GROUP_COMMIT)) {
+        return null;
+      }
+      return new Settings(getInteger(MULE_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE, DEFAULT_MAX_BATCH_SIZE),
+                          getLong(MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS, 0L));
+    }
+  }
+
+  private final File file;
+  private final Settings settings;
+  private final int mask;
+  private final AtomicReferenceArray<byte[]> ring;
+  // records appended while the ring was full, by sequence number
+  private final Map<Long, byte[]> overflow = new ConcurrentHashMap<>();
+  private final AtomicLong claimed;
+  private final FileOutputStream outputStream;
+  private final FileChannel channel;
+  private final Executor executor;
+  private final AtomicBoolean writerRunning = new AtomicBoolean();
+  private final Object durableMonitor = new Object();
+
+  private volatile long consumed;
+  private volatile long durable;
+  private volatile boolean stopped = false;
+  private volatile Exception failure;
+
+  /**
+   * @param file the journal file. Records are appended to it.
+   * @param settings the group commit configuration
+   * @param initialSequence the sequence number for the first appended record. Allows a writer replacing another one for the same
+   *        journal to keep the numbering of the previous one.
+   * @param executor runs the writer task whenever there are records to write
+   */
+  GroupCommitJournalWriter(File file, Settings settings, long initialSequence, Executor executor) {
+    this.file = file;
+    this.settings = settings;
+
+    int ringSize = Integer.highestOneBit(max(settings.maxBatchSize, 64) * 4 - 1) << 1;
+    mask = ringSize - 1;
+    ring = new AtomicReferenceArray<>(ringSize);
+    claimed = new AtomicLong(initialSequence);
+    consumed = initialSequence;
+    durable = initialSequence;
+
+    try {
+      outputStream = new FileOutputStream(file, true);
+    } catch (FileNotFoundException e) {
+      throw new MuleRuntimeException(e);
+    }
+    channel = outputStream.getChannel();
+    this.executor = executor;
+  }
+
+  /**
+   * Publishes a record to be written. The record is not durable until {@link #awaitDurable(long)} returns for the returned
+   * sequence.
+   * <p>
+   * Records are written in the order their sequence numbers were claimed, so callers which need a particular order must append
+   * while holding the same monitor.
+   *
+   * @param record the serialized record
+   * @return the sequence number of the record
+   */
+  long append(byte[] record) {
+    checkUsable();
+    final long sequence = claimed.getAndIncrement();
+
+    if (sequence - consumed > mask) {
+      // the record published in this slot a full ring ago has not been taken yet
+      overflow.put(sequence, record);
+    } else {
+      ring.set((int) sequence & mask, record);
+    }
+    startWriter();
+    return sequence;
+  }
+
+  /**
+   * Blocks until the record with the given sequence number, and all the ones before it, have been written and forced.
+   *
+   * @param sequence a sequence number returned by {@link #append(byte[])}
+   */
+  void awaitDurable(long sequence) {
+    if (durable > sequence) {
+      return;
+    }
+
+    boolean interrupted = false;
+    synchronized (durableMonitor) {
+      while (durable <= sequence) {
+        checkFailure();
+        try {
+          durableMonitor.wait();
+        } catch (InterruptedException e) {
+          // the record is already in the ring and will be written regardless, so wait for it anyway
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return the sequence number the next appended record will get.
+   */
+  long nextSequence() {
+    return claimed.get();
+  }
+
+  /**
+   * Waits for all the already published records to be written and closes the file.
+   */
+  void close() {
+    stopped = true;
+    boolean interrupted = false;
+    synchronized (durableMonitor) {
+      // a record claimed before stopping starts the writer task once it's published, which notifies when it ends
+      while (writerRunning.get() || (failure == null && durable < claimed.get())) {
+        try {
+          durableMonitor.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+
+    closeOutputStream();
+  }
+
+  private void closeOutputStream() {
+    try {
+      outputStream.close();
+    } catch (IOException e) {
+      LOGGER.warn(e.getMessage());
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Error closing transaction journal file", e);
+      }
+    }
+  }
+
+  private void startWriter() {
+    if (writerRunning.get() || !writerRunning.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(this::writeLoop);
+    } catch (RejectedExecutionException e) {
+      LOGGER.error("Could not start the writer of transaction journal file " + file.getAbsolutePath(), e);
+      synchronized (durableMonitor) {
+        failure = e;
+        writerRunning.set(false);
+        durableMonitor.notifyAll();
+      }
+    }
+  }
+
+  private void writeLoop() {
+    final ByteBuffer[] batch = new ByteBuffer[settings.maxBatchSize];
+
+    try {
+      while (true) {
+        final long first = consumed;
+        int count = collect(first, 0, batch);
+
+        if (count == 0) {
+          if (leave(first)) {
+            return;
+          }
+          continue;
+        }
+
+        if (settings.maxBatchLatencyNanos > 0) {
+          final long deadline = nanoTime() + settings.maxBatchLatencyNanos;
+          while (count < settings.maxBatchSize && !stopped) {
+            final long remaining = deadline - nanoTime();
+            if (remaining <= 0) {
+              break;
+            }
+            parkNanos(this, remaining);
+            count = collect(first, count, batch);
+          }
+        }
+
+        consumed = first + count;
+        write(batch, count);
+        channel.force(false);
+
+        synchronized (durableMonitor) {
+          durable = first + count;
+          durableMonitor.notifyAll();
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.error("Error writing transaction journal file " + file.getAbsolutePath(), e);
+      synchronized (durableMonitor) {
+        failure = e;
+        writerRunning.set(false);
+        durableMonitor.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Takes the records published after the ones already in the batch, stopping at the first unpublished one.
+   */
+  private int collect(long first, int count, ByteBuffer[] batch) {
+    while (count < batch.length) {
+      final int slot = (int) (first + count) & mask;
+      byte[] record = ring.get(slot);
+      if (record != null) {
+        ring.set(slot, null);
+      } else if (overflow.isEmpty() || (record = overflow.remove(first + count)) == null) {
+        break;
+      }
+      batch[count++] = ByteBuffer.wrap(record);
+    }
+    return count;
+  }
+
+  /**
+   * Ends the writer task, unless the next record was published while leaving and no other writer task was started for it.
+   *
+   * @return whether the writer task has to end
+   */
+  private boolean leave(long next) {
+    synchronized (durableMonitor) {
+      writerRunning.set(false);
+      durableMonitor.notifyAll();
+    }
+    // check again after leaving, so that a record published in between is not missed. Appending starts the writer task once it
+    // sees it has left.
+    if (ring.get((int) next & mask) == null && !overflow.containsKey(next)) {
+      return true;
+    }
+    return !writerRunning.compareAndSet(false, true);
+  }
+
+  private void write(ByteBuffer[] batch, int count) throws IOException {
+    int offset = 0;
+    while (offset < count) {
+      channel.write(batch, offset, count - offset);
+      while (offset < count && !batch[offset].hasRemaining()) {
+        batch[offset++] = null;
+      }
+    }
+  }
+
+  private void checkUsable() {
+    checkFailure();
+    if (stopped) {
+      throw new IllegalStateException("Transaction journal file " + file.getAbsolutePath() + " is closed");
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write to transaction journal file "
+          + file.getAbsolutePath()), failure);
+    }
+  }
+}
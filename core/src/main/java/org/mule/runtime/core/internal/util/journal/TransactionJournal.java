@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -14,6 +15,7 @@ import com.google.common.collect.Multimap;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,10 +60,30 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   private Long clearFileMinimumSizeInBytes;
 
   /**
+   * Where the journal files are written when group commit is enabled, {@code null} otherwise.
+   */
+  private final Scheduler groupCommitScheduler;
+
+  /**
+   * Creates a journal which writes each entry as it is logged.
+   *
    * @param logFilesDirectory directory used to store the journal files.
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, null);
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param groupCommitSchedulerSupplier provides the scheduler where the journal files are written when group commit is enabled
+   *        through {@link org.mule.runtime.core.api.config.MuleProperties#MULE_JOURNAL_GROUP_COMMIT}. Only invoked in that case,
+   *        and the provided scheduler is stopped when this journal is closed. If {@code null}, each entry is written as it is
+   *        logged.
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            Supplier<Scheduler> groupCommitSchedulerSupplier) {
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -72,10 +94,13 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    GroupCommitJournalWriter.Settings groupCommitSettings =
+        groupCommitSchedulerSupplier == null ? null : GroupCommitJournalWriter.Settings.fromSystemProperties();
+    this.groupCommitScheduler = groupCommitSettings == null ? null : groupCommitSchedulerSupplier.get();
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, groupCommitSettings, groupCommitScheduler);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, groupCommitSettings, groupCommitScheduler);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +117,15 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    TransactionJournalFile logFile;
+    long position;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      position = logFile.logOperation(journalEntry);
+    }
+    // wait outside of the lock so that concurrent operations may be written together
+    logFile.awaitLogged(position);
   }
 
   /**
@@ -104,12 +135,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    TransactionJournalFile logFile;
+    long position;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      position = logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    logFile.awaitLogged(position);
   }
 
   /**
@@ -140,6 +176,9 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   public synchronized void close() {
     currentLogFile.close();
     notCurrentLogFile.close();
+    if (groupCommitScheduler != null) {
+      groupCommitScheduler.stop();
+    }
   }
 
   /**
@@ -162,7 +201,7 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
         changeCurrentLogFile();
       }
     } else {
-      if (currentLogFile.fileLength() > maximumFileSizeInBytes && notCurrentLogFile.size() == 0) {
+      if (currentLogFile.loggedLength() > maximumFileSizeInBytes && notCurrentLogFile.size() == 0) {
         debugLogFilesSwap();
         changeCurrentLogFile();
       }
@@ -172,8 +211,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   private void debugLogFilesSwap() {
     if (logger.isDebugEnabled()) {
-      logger.debug("Changing files, current file size: " + currentLogFile.fileLength() + " other file size: "
-          + notCurrentLogFile.fileLength());
+      logger.debug("Changing files, current file size: " + currentLogFile.loggedLength() + " other file size: "
+          + notCurrentLogFile.loggedLength());
     }
   }
 
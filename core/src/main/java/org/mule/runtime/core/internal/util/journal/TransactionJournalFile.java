@@ -12,6 +12,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -23,6 +24,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -30,6 +32,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * By default each entry is written to the file as it is logged. If {@link GroupCommitJournalWriter.Settings} are given, entries
+ * are instead handed to a {@link GroupCommitJournalWriter} running on the given executor, and callers must use
+ * {@link #awaitLogged(long)} to wait for them to be durable.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -47,11 +53,16 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final File journalFile;
   private final JournalEntrySerializer<T, K> journalEntrySerializer;
   private final Long clearFileMinimumSizeInBytes;
+  private final GroupCommitJournalWriter.Settings groupCommitSettings;
+  private final Executor groupCommitExecutor;
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
   private DataOutputStream logFileOutputStream;
+  private volatile GroupCommitJournalWriter groupCommitWriter;
   private int journalOperations = 0;
+  // length of the file once all the logged entries are written, which group commit writes after logging them
+  private long loggedLength;
 
   /**
    * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
@@ -61,9 +72,26 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, null, null);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommitSettings the group commit configuration, or {@code null} to write each entry as it is logged.
+   * @param groupCommitExecutor where the {@link GroupCommitJournalWriter} runs. Only used if {@code groupCommitSettings} are
+   *        given.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                GroupCommitJournalWriter.Settings groupCommitSettings, Executor groupCommitExecutor) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommitSettings = groupCommitSettings;
+    this.groupCommitExecutor = groupCommitExecutor;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -74,11 +102,33 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Adds a journal entry for an operation done over a transactional resource
    * 
    * @param journalEntry operation details
+   * @return the position to pass to {@link #awaitLogged(long)} in order to wait for the entry to be durable
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized long logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    if (groupCommitWriter == null) {
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+      return -1;
+    }
+
+    ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(serialized));
+    loggedLength += serialized.size();
+    return groupCommitWriter.append(serialized.toByteArray());
+  }
+
+  /**
+   * Waits for the entry logged at the given position to be durable. Does nothing if group commit is not enabled, since in that
+   * case entries are written as they are logged.
+   *
+   * @param position the position returned by {@link #logOperation(JournalEntry)}
+   */
+  public void awaitLogged(long position) {
+    final GroupCommitJournalWriter writer = groupCommitWriter;
+    if (writer != null) {
+      writer.awaitDurable(position);
+    }
   }
 
   /**
@@ -103,7 +153,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   protected void clearFileIfNeeded() {
     if (this.entries.isEmpty()) {
       if (clearFileMinimumSizeInBytes != null) {
-        if (fileLength() > clearFileMinimumSizeInBytes) {
+        if (loggedLength() > clearFileMinimumSizeInBytes) {
           clear();
           journalOperations = 0;
         }
@@ -120,6 +170,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Will not remove the transaction context.
    */
   public synchronized void close() {
+    if (groupCommitWriter != null) {
+      groupCommitWriter.close();
+      return;
+    }
     try {
       logFileOutputStream.close();
     } catch (IOException e) {
@@ -170,6 +224,14 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
         throw new MuleRuntimeException(e);
       }
     }
+    loggedLength = journalFile.length();
+    if (groupCommitSettings != null) {
+      // keep numbering positions after the ones given by the previous writer, which are all durable once it is closed
+      long initialSequence = groupCommitWriter == null ? 0 : groupCommitWriter.nextSequence();
+      this.groupCommitWriter =
+          new GroupCommitJournalWriter(journalFile, groupCommitSettings, initialSequence, groupCommitExecutor);
+      return;
+    }
     try {
       this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
     } catch (FileNotFoundException e) {
@@ -251,5 +313,13 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public long fileLength() {
     return journalFile.length();
   }
+
+  /**
+   * @return the length in bytes the file has once all the logged entries are written. Unlike {@link #fileLength()}, this
+   *         includes the entries that group commit has not written yet.
+   */
+  public synchronized long loggedLength() {
+    return groupCommitWriter == null ? fileLength() : loggedLength;
+  }
 }
 
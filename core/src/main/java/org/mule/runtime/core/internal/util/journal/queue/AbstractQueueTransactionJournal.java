@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.util.journal.queue;
 
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.util.journal.JournalEntry;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
 import org.mule.runtime.core.internal.util.journal.TransactionCompletePredicate;
@@ -35,6 +36,15 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
 
   public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
                                          Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, journalEntrySerializer, maximumFileSizeInMegabytes, null);
+  }
+
+  /**
+   * @param muleContext provides the scheduler where the journal is written when group commit is enabled. If {@code null}, each
+   *        entry is written as it is logged.
+   */
+  public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
+                                         Integer maximumFileSizeInMegabytes, MuleContext muleContext) {
     checkArgument(maximumFileSizeInMegabytes == null || maximumFileSizeInMegabytes > 0,
                   "Maximum tx log file size needs to be greater than zero");
     this.logFile = new TransactionJournal(logFilesDirectory, new TransactionCompletePredicate() {
@@ -44,7 +54,9 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    }, journalEntrySerializer, maximumFileSizeInMegabytes, muleContext == null ? null
+        : () -> muleContext.getSchedulerService()
+            .ioScheduler(muleContext.getSchedulerBaseConfig().withName("tx-journal-writer")));
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
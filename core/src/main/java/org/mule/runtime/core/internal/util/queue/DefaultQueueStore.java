@@ -6,11 +6,15 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED_SEGMENTS;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 
 import java.io.Serializable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -23,10 +27,21 @@ public class DefaultQueueStore implements RecoverableQueueStore {
   private String name;
   private QueueStoreDelegate delegate;
   private MuleContext muleContext;
+  private Supplier<ScheduledExecutorService> syncScheduler;
 
   public DefaultQueueStore(String name, MuleContext muleContext, QueueConfiguration config) {
+    this(name, muleContext, config, () -> null);
+  }
+
+  /**
+   * @param syncScheduler supplies the scheduler, shared by all the queues, in which persistent queues force their changes to disk
+   *        periodically, if they are configured to do so
+   */
+  public DefaultQueueStore(String name, MuleContext muleContext, QueueConfiguration config,
+                           Supplier<ScheduledExecutorService> syncScheduler) {
     this.name = name;
     this.muleContext = muleContext;
+    this.syncScheduler = syncScheduler;
     setConfigAndDelegate(config);
   }
 
@@ -42,7 +57,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config == null) {
       this.config = new DefaultQueueConfiguration();
     }
-    if (this.config.isPersistent()) {
+    if (this.config.isPersistent() && getBoolean(MULE_QUEUE_MAPPED_SEGMENTS)) {
+      delegate = new MappedSegmentQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
+                                                     muleContext, this.config.getCapacity(), syncScheduler);
+    } else if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
     } else {
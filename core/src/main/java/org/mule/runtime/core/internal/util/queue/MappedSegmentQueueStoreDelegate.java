@@ -0,0 +1,793 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.getProperty;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.nameUUIDFromBytes;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SEGMENT_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SYNC_BATCH_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SYNC_INTERVAL_MILLIS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_SYNC_POLICY;
+import static org.mule.runtime.core.internal.util.MappedByteBufferUtils.unmap;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which stores the queue data in fixed size, memory mapped segment
+ * files.
+ * <p>
+ * New entries are appended to the tail segment and an in memory index keeps the location of every live entry in queue order,
+ * so adding or taking an entry is a copy into or out of the mapping plus, for takes, a single byte write which marks the entry
+ * as consumed. Entries put back at the head of the queue through {@link #untake(Serializable)} are also appended, but with a
+ * logical position lower than the current head, which is what the index is sorted by when it is rebuilt on startup.
+ * <p>
+ * Once all the entries in a segment that is not the tail have been consumed, the segment is recycled and later reused as a tail.
+ * Entries larger than a segment are written into a dedicated segment of their own, which is deleted instead of recycled. Segments
+ * are unmapped as soon as their file is closed, rather than when they are garbage collected, so that the file can be deleted.
+ * <p>
+ * Changes reach the OS page cache as soon as they are made, so they survive a crash of the JVM. When they are forced to disk
+ * depends on the {@link SyncPolicy} given by the {@link MuleProperties#MULE_QUEUE_SYNC_POLICY} system property.
+ * <p>
+ * Unlike {@link AbstractQueueStoreDelegate}, serialization and deserialization happen outside of the lock guarding the queue,
+ * and waiting producers and consumers are signalled through separate conditions.
+ *
+ * @since 4.2
+ */
+public class MappedSegmentQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  /**
+   * Determines when the changes done to the mapped segments are forced to the storage device.
+   */
+  public enum SyncPolicy {
+    /**
+     * Every operation is forced before it returns, as {@link DualRandomAccessFileQueueStoreDelegate} does
+     */
+    ALWAYS,
+
+    /**
+     * Changes are forced every {@link MuleProperties#MULE_QUEUE_SYNC_BATCH_SIZE} operations
+     */
+    BATCH,
+
+    /**
+     * Changes are forced by the first operation performed after {@link MuleProperties#MULE_QUEUE_SYNC_INTERVAL_MILLIS}
+     * milliseconds have elapsed since the last time they were. Changes not followed by other operations are forced by a task
+     * run with that same interval, in a scheduler shared by all the queues.
+     */
+    INTERVAL
+  }
+
+  private static final Logger LOGGER = getLogger(MappedSegmentQueueStoreDelegate.class);
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+  private static final SyncPolicy DEFAULT_SYNC_POLICY = SyncPolicy.ALWAYS;
+
+  private static final int SEGMENT_MAGIC = 0x4D514753;
+  private static final int SEGMENT_HEADER_SIZE = 4 + 8;
+
+  // [int length][byte state][long position][payload]
+  private static final int RECORD_HEADER_SIZE = 4 + 1 + 8;
+  private static final byte LIVE = 1;
+  private static final byte CONSUMED = 2;
+
+  private final int capacity;
+  private final ObjectSerializer serializer;
+  private final File queueDirectory;
+  private final int segmentSize;
+  private final SyncPolicy syncPolicy;
+  private final int syncBatchSize;
+  private final long syncIntervalMillis;
+  // the periodic sync of the INTERVAL policy, null for the other ones
+  private final ScheduledFuture<?> syncTask;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  private final Deque<Record> records = new ArrayDeque<>();
+  private final Deque<Segment> freeSegments = new ArrayDeque<>();
+  private final Set<Segment> dirtySegments = new HashSet<>();
+  private final List<Segment> allSegments = new ArrayList<>();
+
+  private volatile int size = 0;
+  private Segment tail;
+  private long nextSegmentSequence = 0;
+  private long headPosition = 0;
+  private long tailPosition = 0;
+  private int unsyncedOperations = 0;
+  private long lastSync = currentTimeMillis();
+  private boolean closed = false;
+
+  public MappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this(queueName, workingDirectory, muleContext, capacity, () -> null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param queueName the name of the queue
+   * @param workingDirectory the directory under which the segments of the queue are kept
+   * @param muleContext the application's {@link MuleContext}
+   * @param capacity the maximum number of entries of the queue, or 0 if unbounded
+   * @param syncScheduler supplies the scheduler, shared by all the queues, in which the changes not followed by other operations
+   *        are forced with the {@link SyncPolicy#INTERVAL} policy. Only invoked with that policy. If it supplies {@code null}, those
+   *        changes are forced by the next operation or when the queue is closed.
+   */
+  public MappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity,
+                                         Supplier<ScheduledExecutorService> syncScheduler) {
+    this.capacity = capacity;
+    serializer = muleContext.getObjectSerializer();
+    segmentSize = max(getInteger(MULE_QUEUE_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE), SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE);
+    syncPolicy = getSyncPolicy();
+    syncBatchSize = max(getInteger(MULE_QUEUE_SYNC_BATCH_SIZE, 64), 1);
+    syncIntervalMillis = max(getLong(MULE_QUEUE_SYNC_INTERVAL_MILLIS, 100L), 0L);
+
+    queueDirectory = getQueueDirectory(queueName, workingDirectory);
+    if (!queueDirectory.exists()) {
+      checkState(queueDirectory.mkdirs(), "Could not create queue store directory " + queueDirectory.getAbsolutePath());
+    }
+
+    try {
+      recover();
+    } catch (IOException e) {
+      closeSegments();
+      throw new MuleRuntimeException(createStaticMessage("Could not open queue store for queue " + queueName), e);
+    }
+
+    final ScheduledExecutorService scheduler =
+        syncPolicy == SyncPolicy.INTERVAL && syncIntervalMillis > 0 ? syncScheduler.get() : null;
+    if (scheduler != null) {
+      syncTask = scheduler.scheduleWithFixedDelay(this::syncIfDue, syncIntervalMillis, syncIntervalMillis, MILLISECONDS);
+    } else {
+      syncTask = null;
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format("Queue %s has %s messages", queueName, size));
+    }
+  }
+
+  private static SyncPolicy getSyncPolicy() {
+    final String syncPolicy = getProperty(MULE_QUEUE_SYNC_POLICY);
+    if (syncPolicy == null) {
+      return DEFAULT_SYNC_POLICY;
+    }
+    try {
+      return SyncPolicy.valueOf(syncPolicy.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Invalid value '{}' for system property {}, using {} instead", syncPolicy, MULE_QUEUE_SYNC_POLICY,
+                  DEFAULT_SYNC_POLICY);
+      return DEFAULT_SYNC_POLICY;
+    }
+  }
+
+  /**
+   * The directory name is derived from a name based UUID, so that it is valid regardless of the characters and length of the
+   * queue name.
+   */
+  static File getQueueDirectory(String queueName, String workingDirectory) {
+    return new File(new File(workingDirectory, QUEUE_STORE_DIRECTORY), "mapped-" + nameUUIDFromBytes(queueName.getBytes(UTF_8)));
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    byte[] bytes = serialize(o);
+    lock.lock();
+    try {
+      append(bytes, false);
+      afterWrite();
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] bytes = o != null ? serialize(o) : null;
+    lock.lock();
+    try {
+      if (capacity > 0) {
+        if (capacity <= room) {
+          throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+        long nanos = MILLISECONDS.toNanos(timeout);
+        while (size >= capacity - room) {
+          if (timeout < 0) {
+            // If timeout is negative then wait until signalled without a timeout.
+            notFull.await();
+          } else {
+            if (nanos <= 0L) {
+              return false;
+            }
+            nanos = notFull.awaitNanos(nanos);
+          }
+        }
+      }
+      if (bytes != null) {
+        append(bytes, false);
+        afterWrite();
+        notEmpty.signal();
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] bytes;
+    lock.lock();
+    try {
+      long nanos = MILLISECONDS.toNanos(timeout);
+      while (records.isEmpty()) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+
+      Record record = records.pollFirst();
+      bytes = read(record);
+      consume(record);
+      afterWrite();
+      notFull.signal();
+      if (!records.isEmpty()) {
+        notEmpty.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      return deserialize(bytes);
+    } catch (RuntimeException e) {
+      // leave the queue as it was so that the entry is not lost
+      lock.lock();
+      try {
+        append(bytes, true);
+        afterWrite();
+        notEmpty.signal();
+      } finally {
+        lock.unlock();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    byte[] bytes;
+    lock.lock();
+    try {
+      Record record = records.peekFirst();
+      if (record == null) {
+        return null;
+      }
+      bytes = read(record);
+    } finally {
+      lock.unlock();
+    }
+    return deserialize(bytes);
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    byte[] bytes = serialize(item);
+    lock.lock();
+    try {
+      append(bytes, true);
+      afterWrite();
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    List<byte[]> serialized = new ArrayList<>(items.size());
+    for (Serializable item : items) {
+      serialized.add(serialize(item));
+    }
+
+    lock.lock();
+    try {
+      for (byte[] bytes : serialized) {
+        append(bytes, false);
+      }
+      afterWrite();
+      notEmpty.signalAll();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    lock.lock();
+    try {
+      records.clear();
+      size = 0;
+      for (Segment segment : new ArrayList<>(allSegments)) {
+        if (!freeSegments.contains(segment)) {
+          recycle(segment);
+        }
+      }
+      tail = acquireSegment(segmentSize);
+      headPosition = 0;
+      tailPosition = 0;
+      afterWrite();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(Serializable value) {
+    lock.lock();
+    try {
+      Iterator<Record> iterator = records.iterator();
+      while (iterator.hasNext()) {
+        Record record = iterator.next();
+        if (deserialize(read(record)).equals(value)) {
+          iterator.remove();
+          consume(record);
+          afterWrite();
+          notFull.signal();
+          return;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable value) {
+    lock.lock();
+    try {
+      for (Record record : records) {
+        if (deserialize(read(record)).equals(value)) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Collection<Serializable> allElements() {
+    List<byte[]> values = new LinkedList<>();
+    lock.lock();
+    try {
+      for (Record record : records) {
+        values.add(read(record));
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    List<Serializable> elements = new ArrayList<>(values.size());
+    for (byte[] value : values) {
+      try {
+        elements.add(deserialize(value));
+      } catch (Exception e) {
+        LOGGER.warn("Failure trying to deserialize value " + e.getMessage());
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Failure trying to deserialize value", e);
+        }
+      }
+    }
+    return elements;
+  }
+
+  @Override
+  public void close() {
+    cancelSyncTask();
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      sync();
+      closeSegments();
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    cancelSyncTask();
+    lock.lock();
+    try {
+      closeSegments();
+      closed = true;
+      deleteQuietly(queueDirectory);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void recover() throws IOException {
+    File[] files = queueDirectory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX));
+    List<Segment> used = new ArrayList<>();
+    List<Record> recovered = new ArrayList<>();
+
+    if (files != null) {
+      for (File file : files) {
+        // recycled segments keep their file name, so new file names must not clash with any of them
+        long fileNumber = Long.parseLong(file.getName().substring(SEGMENT_FILE_PREFIX.length()));
+        nextSegmentSequence = max(nextSegmentSequence, fileNumber + 1);
+        Segment segment = openSegment(file, max(segmentSize, (int) file.length()));
+        allSegments.add(segment);
+        if (segment.buffer.getInt(0) == SEGMENT_MAGIC) {
+          segment.sequence = segment.buffer.getLong(4);
+          used.add(segment);
+        } else {
+          recycle(segment);
+        }
+      }
+    }
+
+    used.sort((s1, s2) -> Long.compare(s1.sequence, s2.sequence));
+    for (Segment segment : used) {
+      nextSegmentSequence = max(nextSegmentSequence, segment.sequence + 1);
+      scan(segment, recovered);
+    }
+
+    // entries that were put back in the head of the queue were appended with a lower position
+    recovered.sort((r1, r2) -> Long.compare(r1.position, r2.position));
+    records.addAll(recovered);
+    size = records.size();
+    if (!recovered.isEmpty()) {
+      headPosition = recovered.get(0).position;
+      tailPosition = recovered.get(recovered.size() - 1).position + 1;
+    }
+
+    for (int i = 0; i < used.size(); i++) {
+      Segment segment = used.get(i);
+      boolean last = i == used.size() - 1;
+      if (last && !segment.oversized) {
+        tail = segment;
+      } else if (segment.liveRecords == 0) {
+        recycle(segment);
+      }
+    }
+
+    if (tail == null) {
+      tail = acquireSegment(segmentSize);
+    }
+    sync();
+  }
+
+  private void scan(Segment segment, List<Record> recovered) {
+    final MappedByteBuffer buffer = segment.buffer;
+    int offset = SEGMENT_HEADER_SIZE;
+    while (offset + RECORD_HEADER_SIZE <= segment.capacity) {
+      int length = buffer.getInt(offset);
+      if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segment.capacity) {
+        break;
+      }
+      if (buffer.get(offset + 4) == LIVE) {
+        recovered.add(new Record(segment, offset, length, buffer.getLong(offset + 5)));
+        segment.liveRecords++;
+      }
+      offset += RECORD_HEADER_SIZE + length;
+    }
+    segment.writeOffset = offset;
+  }
+
+  private void append(byte[] bytes, boolean first) {
+    checkState(!closed, "Queue store is closed");
+    final int recordSize = RECORD_HEADER_SIZE + bytes.length;
+
+    Segment target;
+    if (SEGMENT_HEADER_SIZE + recordSize > segmentSize) {
+      target = acquireSegment(SEGMENT_HEADER_SIZE + recordSize + 4);
+    } else {
+      if (tail.writeOffset + recordSize > tail.capacity) {
+        Segment previous = tail;
+        tail = acquireSegment(segmentSize);
+        if (previous.liveRecords == 0) {
+          recycle(previous);
+        }
+      }
+      target = tail;
+    }
+
+    final long position = first ? --headPosition : tailPosition++;
+    final int offset = target.writeOffset;
+    final MappedByteBuffer buffer = target.buffer;
+
+    // the length is written last, so that a half written record is seen as the end of the segment
+    buffer.put(offset + 4, LIVE);
+    buffer.putLong(offset + 5, position);
+    ByteBuffer payload = buffer.duplicate();
+    payload.position(offset + RECORD_HEADER_SIZE);
+    payload.put(bytes);
+    if (offset + recordSize + 4 <= target.capacity) {
+      buffer.putInt(offset + recordSize, 0);
+    }
+    buffer.putInt(offset, bytes.length);
+
+    target.writeOffset = offset + recordSize;
+    target.liveRecords++;
+    dirtySegments.add(target);
+
+    Record record = new Record(target, offset, bytes.length, position);
+    if (first) {
+      records.addFirst(record);
+    } else {
+      records.addLast(record);
+    }
+    size = records.size();
+    if (size == 1) {
+      headPosition = position;
+      tailPosition = position + 1;
+    }
+  }
+
+  private byte[] read(Record record) {
+    byte[] bytes = new byte[record.length];
+    ByteBuffer payload = record.segment.buffer.duplicate();
+    payload.position(record.offset + RECORD_HEADER_SIZE);
+    payload.get(bytes);
+    return bytes;
+  }
+
+  private void consume(Record record) {
+    final Segment segment = record.segment;
+    segment.buffer.put(record.offset + 4, CONSUMED);
+    dirtySegments.add(segment);
+    size = records.size();
+
+    if (--segment.liveRecords == 0 && segment != tail) {
+      recycle(segment);
+    }
+
+    if (records.isEmpty()) {
+      headPosition = tailPosition;
+    } else {
+      headPosition = records.peekFirst().position;
+    }
+  }
+
+  private Segment acquireSegment(int minimumCapacity) {
+    Segment segment = null;
+    if (minimumCapacity <= segmentSize) {
+      segment = freeSegments.pollFirst();
+    }
+
+    try {
+      if (segment == null) {
+        File file = new File(queueDirectory, SEGMENT_FILE_PREFIX + nextSegmentSequence);
+        segment = openSegment(file, max(minimumCapacity, segmentSize));
+        allSegments.add(segment);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not create queue segment"), e);
+    }
+
+    segment.sequence = nextSegmentSequence++;
+    segment.liveRecords = 0;
+    segment.writeOffset = SEGMENT_HEADER_SIZE;
+    segment.buffer.putInt(SEGMENT_HEADER_SIZE, 0);
+    segment.buffer.putLong(4, segment.sequence);
+    segment.buffer.putInt(0, SEGMENT_MAGIC);
+    dirtySegments.add(segment);
+    return segment;
+  }
+
+  private void recycle(Segment segment) {
+    segment.buffer.putInt(0, 0);
+    segment.liveRecords = 0;
+
+    if (segment.oversized) {
+      dirtySegments.remove(segment);
+      allSegments.remove(segment);
+      segment.close();
+      deleteQuietly(segment.file);
+    } else {
+      dirtySegments.add(segment);
+      freeSegments.addLast(segment);
+    }
+  }
+
+  private Segment openSegment(File file, int capacity) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      MappedByteBuffer buffer = channel.map(READ_WRITE, 0, capacity);
+      return new Segment(file, randomAccessFile, buffer, capacity, capacity > segmentSize);
+    } catch (IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  private void afterWrite() {
+    unsyncedOperations++;
+    switch (syncPolicy) {
+      case ALWAYS:
+        sync();
+        break;
+      case BATCH:
+        if (unsyncedOperations >= syncBatchSize) {
+          sync();
+        }
+        break;
+      case INTERVAL:
+        if (currentTimeMillis() - lastSync >= syncIntervalMillis) {
+          sync();
+        }
+        break;
+    }
+  }
+
+  /**
+   * Forces the changes not followed by any operation for the sync interval. Skipped while the queue is in use, since operations
+   * force the changes themselves once the interval elapses.
+   */
+  private void syncIfDue() {
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      if (!closed && unsyncedOperations > 0 && currentTimeMillis() - lastSync >= syncIntervalMillis) {
+        sync();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void cancelSyncTask() {
+    if (syncTask != null) {
+      syncTask.cancel(false);
+    }
+  }
+
+  private void sync() {
+    for (Segment segment : dirtySegments) {
+      segment.buffer.force();
+    }
+    dirtySegments.clear();
+    unsyncedOperations = 0;
+    lastSync = currentTimeMillis();
+  }
+
+  private void closeSegments() {
+    for (Segment segment : allSegments) {
+      segment.close();
+    }
+    allSegments.clear();
+    freeSegments.clear();
+    dirtySegments.clear();
+    records.clear();
+  }
+
+  private byte[] serialize(Serializable item) {
+    return serializer.getInternalProtocol().serialize(item);
+  }
+
+  private Serializable deserialize(byte[] bytes) {
+    return serializer.getInternalProtocol().deserialize(bytes);
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private static final class Segment {
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean oversized;
+
+    private long sequence;
+    private int writeOffset = SEGMENT_HEADER_SIZE;
+    private int liveRecords = 0;
+
+    private Segment(File file, RandomAccessFile randomAccessFile, MappedByteBuffer buffer, int capacity, boolean oversized) {
+      this.file = file;
+      this.randomAccessFile = randomAccessFile;
+      this.buffer = buffer;
+      this.capacity = capacity;
+      this.oversized = oversized;
+    }
+
+    /**
+     * Unmaps the segment and closes its file. The segment must not be used afterwards.
+     */
+    private void close() {
+      unmap(buffer);
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.warn("Could not close queue segment " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+
+  private static final class Record {
+
+    private final Segment segment;
+    private final int offset;
+    private final int length;
+    private final long position;
+
+    private Record(Segment segment, int offset, int length, long position) {
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.position = position;
+    }
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.util.queue;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueSession;
@@ -36,6 +37,8 @@ public class TransactionalQueueManager extends AbstractQueueManager {
   // since queue configuration is applied after recovery and not taking into consideration once queues are created
   // for recovery. See https://www.mulesoft.org/jira/browse/MULE-7420
   private Map<String, RecoverableQueueStore> queuesAccessedForRecovery = new HashMap<String, RecoverableQueueStore>();
+  // Forces the changes of the persistent queues that do it periodically, created by the first one that needs it
+  private Scheduler queueSyncScheduler;
 
   /**
    * {@inheritDoc}
@@ -49,11 +52,25 @@ public class TransactionalQueueManager extends AbstractQueueManager {
   }
 
   protected DefaultQueueStore createQueueStore(String name, QueueConfiguration config) {
-    return new DefaultQueueStore(name, getMuleContext(), config);
+    return new DefaultQueueStore(name, getMuleContext(), config, this::getQueueSyncScheduler);
+  }
+
+  private synchronized Scheduler getQueueSyncScheduler() {
+    if (queueSyncScheduler == null) {
+      queueSyncScheduler = getMuleContext().getSchedulerService()
+          .ioScheduler(getMuleContext().getSchedulerBaseConfig().withName("queue-sync"));
+    }
+    return queueSyncScheduler;
   }
 
   @Override
   protected void doDispose() {
+    synchronized (this) {
+      if (queueSyncScheduler != null) {
+        queueSyncScheduler.stop();
+        queueSyncScheduler = null;
+      }
+    }
     if (localTxTransactionJournal != null) {
       localTxTransactionJournal.close();
     }
@@ -0,0 +1,864 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Collections.unmodifiableList;
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ExpirableObjectStore;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * A persistent partition which, unlike {@link PersistentObjectStorePartition}, doesn't write one file per key.
+ * <p>
+ * All the operations are appended as records to segmented log files. An in-memory hash index maps each live key to
+ * the location of its last record, so that retrieving a value is a single positional read and loading the partition
+ * is a sequential replay of the segments instead of a directory scan plus one deserialization per key.
+ * <p>
+ * Writes are made durable through group commit: each writer appends its record and then waits for the log to be
+ * forced up to its own record. Only one thread forces the log at a time, and a single force covers every record
+ * appended before it, so concurrent writers share the cost of the fsync.
+ * <p>
+ * Removed and expired entries leave garbage behind in the sealed segments. Each time this partition is expired, the
+ * sealed segments are compacted if at least half of their contents is garbage. Compaction copies the live records
+ * into a single segment which replaces all the sealed ones, dropping expired entries and their tombstones.
+ *
+ * @since 4.2
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements ExpirableObjectStore<T> {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  private static final String SEGMENT_FILE_EXTENSION = ".log";
+  private static final String COMPACTING_FILE_EXTENSION = ".compacting";
+  private static final String COMPACTED_FILE_EXTENSION = ".compacted";
+
+  public static final long DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final double COMPACTION_GARBAGE_RATIO = 0.5;
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+  private static final int LENGTH_SIZE = 4;
+  private static final int CRC_SIZE = 4;
+  private static final int HEADER_SIZE = 1 + 8 + 4;
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final File partitionDirectory;
+  private final long maxSegmentSize;
+  private final boolean syncOnWrite;
+  private String partitionName;
+
+  private final Map<String, Entry> index = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, String> insertionOrder = new ConcurrentSkipListMap<>();
+  private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+  /**
+   * Regular operations acquire the read lock. The write lock is only used when the segments are replaced as a whole
+   * (loading, swapping in a compacted segment, clearing and closing)
+   */
+  private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+  private final Lock appendLock = new ReentrantLock();
+  private final Lock syncLock = new ReentrantLock();
+  private final Lock compactionLock = new ReentrantLock();
+
+  private volatile boolean loaded = false;
+  private Segment activeSegment;
+  private long nextSequence = 0;
+  private long appendedBytes = 0;
+  private volatile long syncedBytes = 0;
+
+  /**
+   * Creates a new partition which forces each write to disk and uses segments of
+   * {@link #DEFAULT_MAX_SEGMENT_SIZE} bytes.
+   *
+   * @param muleContext        the {@link MuleContext} which owns this partition
+   * @param partitionName      the name of the partition
+   * @param partitionDirectory the directory in which the segments are kept
+   */
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, DEFAULT_MAX_SEGMENT_SIZE, true);
+  }
+
+  /**
+   * Creates a new partition
+   *
+   * @param muleContext        the {@link MuleContext} which owns this partition
+   * @param partitionName      the name of the partition
+   * @param partitionDirectory the directory in which the segments are kept
+   * @param maxSegmentSize     the size in bytes after which a new segment is started
+   * @param syncOnWrite        whether writes should wait for their records to be forced to disk
+   */
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                           long maxSegmentSize, boolean syncOnWrite) {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    this.maxSegmentSize = maxSegmentSize;
+    this.syncOnWrite = syncOnWrite;
+  }
+
+  /**
+   * Creates an instance for an already existing partition directory
+   *
+   * @param muleContext        the {@link MuleContext} which owns this partition
+   * @param partitionDirectory the directory in which the segments are kept
+   * @throws ObjectStoreNotAvailableException if the partition descriptor could not be read
+   */
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    this(muleContext, readPartitionFileName(partitionDirectory), partitionDirectory);
+  }
+
+  /**
+   * @param partitionDirectory a partition directory
+   * @return whether the given directory holds a partition written by this class
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    String[] files = partitionDirectory.list((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION)
+        || name.endsWith(COMPACTED_FILE_EXTENSION));
+    return files != null && files.length > 0;
+  }
+
+  private static String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      return readFileToString(partitionDescriptorFile);
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvailableException(e);
+    }
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    createDirectory(partitionDirectory);
+    createOrRetrievePartitionDescriptorFile();
+    assureLoaded();
+  }
+
+  /**
+   * Releases the open segment files. The partition is transparently loaded again if used afterwards.
+   */
+  @Override
+  public void close() throws ObjectStoreException {
+    segmentsLock.writeLock().lock();
+    try {
+      unload();
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return unmodifiableList(new ArrayList<>(insertionOrder.values()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    final byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+
+    segmentsLock.readLock().lock();
+    try {
+      long position;
+      appendLock.lock();
+      try {
+        if (index.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+
+        final long createdAt = currentTimeMillis();
+        final ByteBuffer record = encode(PUT, createdAt, keyBytes, valueBytes);
+        final int length = record.remaining();
+        final long offset = append(record);
+        final Entry entry = new Entry(activeSegment.id, offset, length, createdAt, nextSequence++);
+
+        activeSegment.liveBytes.addAndGet(length);
+        index.put(key, entry);
+        insertionOrder.put(entry.sequence, key);
+        position = appendedBytes;
+      } finally {
+        appendLock.unlock();
+      }
+
+      sync(position);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    segmentsLock.readLock().lock();
+    try {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      return load(entry);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    segmentsLock.readLock().lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>(index.size());
+      for (String key : insertionOrder.values()) {
+        Entry entry = index.get(key);
+        if (entry != null) {
+          values.put(key, load(entry));
+        }
+      }
+
+      return values;
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    segmentsLock.readLock().lock();
+    try {
+      long position;
+      T value;
+      appendLock.lock();
+      try {
+        Entry entry = index.get(key);
+        if (entry == null) {
+          throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+        }
+
+        value = load(entry);
+        appendTombstone(key, entry);
+        position = appendedBytes;
+      } finally {
+        appendLock.unlock();
+      }
+
+      sync(position);
+      return value;
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    segmentsLock.writeLock().lock();
+    try {
+      unload();
+      deleteFiles(SEGMENT_FILE_EXTENSION, COMPACTING_FILE_EXTENSION, COMPACTED_FILE_EXTENSION);
+      activeSegment = openSegment(1);
+      loaded = true;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the entries which exceed {@code maxEntries} (oldest first) or are older than {@code entryTTL}. All the
+   * tombstones are appended in one batch with a single sync. Afterwards, the sealed segments are compacted if
+   * enough garbage has been accumulated.
+   */
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    segmentsLock.readLock().lock();
+    try {
+      long position;
+      appendLock.lock();
+      try {
+        if (maxEntries != UNBOUNDED) {
+          int excess = index.size() - maxEntries;
+          while (excess-- > 0 && !insertionOrder.isEmpty()) {
+            String key = insertionOrder.firstEntry().getValue();
+            appendTombstone(key, index.get(key));
+          }
+        }
+
+        if (entryTTL != UNBOUNDED) {
+          final long now = currentTimeMillis();
+          for (String key : insertionOrder.values()) {
+            Entry entry = index.get(key);
+            if ((now - entry.createdAt) >= entryTTL) {
+              appendTombstone(key, entry);
+            } else {
+              break;
+            }
+          }
+        }
+
+        position = appendedBytes;
+      } finally {
+        appendLock.unlock();
+      }
+
+      sync(position);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    if (shouldCompact()) {
+      compact();
+    }
+  }
+
+  /**
+   * Compacts all the sealed segments into a new one which only contains the live records.
+   * <p>
+   * Sealed segments are never written, so the live records are copied from them while holding the read lock, without
+   * stopping the operations on this partition. The write lock is only held to replace the sealed segments with the
+   * compacted one. Entries removed or replaced while copying keep their new state, and the records copied for them are
+   * garbage of the compacted segment.
+   *
+   * @throws ObjectStoreException if the compaction failed
+   */
+  public void compact() throws ObjectStoreException {
+    assureLoaded();
+
+    compactionLock.lock();
+    try {
+      final List<Segment> sealed;
+      final long targetId;
+      final File compactingFile;
+      final Map<String, Entry[]> relocated = new HashMap<>();
+
+      segmentsLock.readLock().lock();
+      try {
+        appendLock.lock();
+        try {
+          sealed = new ArrayList<>(segments.headMap(activeSegment.id).values());
+        } finally {
+          appendLock.unlock();
+        }
+        if (sealed.isEmpty()) {
+          return;
+        }
+
+        targetId = sealed.get(sealed.size() - 1).id;
+        compactingFile = segmentFile(targetId, COMPACTING_FILE_EXTENSION);
+        copyLiveRecords(targetId, compactingFile, relocated);
+      } finally {
+        segmentsLock.readLock().unlock();
+      }
+
+      segmentsLock.writeLock().lock();
+      try {
+        for (Segment segment : sealed) {
+          if (segments.get(segment.id) != segment) {
+            // the partition was cleared or closed while copying
+            Files.deleteIfExists(compactingFile.toPath());
+            return;
+          }
+        }
+
+        final File compactedFile = segmentFile(targetId, COMPACTED_FILE_EXTENSION);
+        Files.move(compactingFile.toPath(), compactedFile.toPath(), ATOMIC_MOVE);
+        for (Segment segment : sealed) {
+          segment.close();
+          segments.remove(segment.id);
+          Files.delete(segment.file.toPath());
+        }
+        Files.move(compactedFile.toPath(), segmentFile(targetId, SEGMENT_FILE_EXTENSION).toPath(), ATOMIC_MOVE);
+
+        Segment compacted = openSegment(targetId);
+        long liveBytes = 0;
+        for (Map.Entry<String, Entry[]> relocation : relocated.entrySet()) {
+          final Entry[] entries = relocation.getValue();
+          if (index.replace(relocation.getKey(), entries[0], entries[1])) {
+            liveBytes += entries[1].length;
+          }
+        }
+        compacted.liveBytes.set(liveBytes);
+      } catch (IOException e) {
+        // the on disk state is consistent, but the in memory one may not be. Start over
+        unload();
+        throw new ObjectStoreException(createStaticMessage(format("Could not compact partition '%s'", partitionName)), e);
+      } finally {
+        segmentsLock.writeLock().unlock();
+      }
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  /**
+   * Copies the live records of the segments up to {@code targetId} into the given file. Has to be invoked while holding
+   * the read lock of the {@link #segmentsLock}.
+   *
+   * @param relocated the current and the relocated entry of each copied key
+   */
+  private void copyLiveRecords(long targetId, File compactingFile, Map<String, Entry[]> relocated)
+      throws ObjectStoreException {
+    long size = 0;
+    try (RandomAccessFile file = new RandomAccessFile(compactingFile, "rw")) {
+      final FileChannel channel = file.getChannel();
+      for (String key : insertionOrder.values()) {
+        Entry entry = index.get(key);
+        if (entry == null || entry.segmentId > targetId) {
+          continue;
+        }
+
+        ByteBuffer record = read(entry);
+        writeFully(channel, record, size);
+        relocated.put(key, new Entry[] {entry, new Entry(targetId, size, entry.length, entry.createdAt, entry.sequence)});
+        size += entry.length;
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      compactingFile.delete();
+      throw new ObjectStoreException(createStaticMessage(format("Could not compact partition '%s'", partitionName)), e);
+    }
+  }
+
+  private boolean shouldCompact() {
+    long sealedBytes = 0;
+    long sealedLiveBytes = 0;
+    for (Segment segment : segments.values()) {
+      if (segment != activeSegment) {
+        sealedBytes += segment.size;
+        sealedLiveBytes += segment.liveBytes.get();
+      }
+    }
+
+    return sealedBytes > 0 && (sealedBytes - sealedLiveBytes) >= sealedBytes * COMPACTION_GARBAGE_RATIO;
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      segmentsLock.writeLock().lock();
+      try {
+        if (!loaded) {
+          loadSegments();
+          loaded = true;
+        }
+      } finally {
+        segmentsLock.writeLock().unlock();
+      }
+    }
+  }
+
+  private void loadSegments() throws ObjectStoreException {
+    try {
+      finishInterruptedCompaction();
+
+      for (long id : listSegmentIds(SEGMENT_FILE_EXTENSION)) {
+        replay(openSegment(id));
+      }
+
+      activeSegment = segments.isEmpty() ? openSegment(1) : segments.lastEntry().getValue();
+    } catch (IOException e) {
+      unload();
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                partitionDirectory.getAbsolutePath())),
+                                     e);
+    }
+  }
+
+  /**
+   * A {@code .compacting} file means that a compaction didn't finish writing and the sealed segments are still
+   * in place, so it's discarded. A {@code .compacted} file means that the compaction was complete but some of the
+   * segments it replaces may not have been deleted yet.
+   */
+  private void finishInterruptedCompaction() throws IOException {
+    deleteFiles(COMPACTING_FILE_EXTENSION);
+
+    for (long compactedId : listSegmentIds(COMPACTED_FILE_EXTENSION)) {
+      for (long id : listSegmentIds(SEGMENT_FILE_EXTENSION)) {
+        if (id <= compactedId) {
+          Files.delete(segmentFile(id, SEGMENT_FILE_EXTENSION).toPath());
+        }
+      }
+      Files.move(segmentFile(compactedId, COMPACTED_FILE_EXTENSION).toPath(),
+                 segmentFile(compactedId, SEGMENT_FILE_EXTENSION).toPath(), ATOMIC_MOVE);
+    }
+  }
+
+  private void replay(Segment segment) throws IOException {
+    final long size = segment.channel.size();
+    final ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_SIZE);
+    long position = 0;
+
+    while (position + LENGTH_SIZE <= size) {
+      lengthBuffer.clear();
+      readFully(segment.channel, lengthBuffer, position);
+      final int recordLength = LENGTH_SIZE + lengthBuffer.getInt(0);
+      if (recordLength < LENGTH_SIZE + HEADER_SIZE + CRC_SIZE || position + recordLength > size) {
+        break;
+      }
+
+      final ByteBuffer record = ByteBuffer.allocate(recordLength);
+      readFully(segment.channel, record, position);
+      if (!isValid(record)) {
+        break;
+      }
+
+      final byte type = record.get(LENGTH_SIZE);
+      final long createdAt = record.getLong(LENGTH_SIZE + 1);
+      final String key = decodeKey(record);
+
+      final Entry previous = index.remove(key);
+      if (previous != null) {
+        insertionOrder.remove(previous.sequence);
+        segments.get(previous.segmentId).liveBytes.addAndGet(-previous.length);
+      }
+
+      if (type == PUT) {
+        final Entry entry = new Entry(segment.id, position, recordLength, createdAt, nextSequence++);
+        index.put(key, entry);
+        insertionOrder.put(entry.sequence, key);
+        segment.liveBytes.addAndGet(recordLength);
+      }
+
+      position += recordLength;
+    }
+
+    if (position < size) {
+      LOGGER.warn(format("Found a corrupted or incomplete record at position %d of object store file %s. "
+          + "The file will be truncated", position, segment.file.getAbsolutePath()));
+      segment.channel.truncate(position);
+    }
+
+    segment.size = position;
+  }
+
+  private void unload() {
+    for (Segment segment : segments.values()) {
+      segment.close();
+    }
+
+    segments.clear();
+    index.clear();
+    insertionOrder.clear();
+    activeSegment = null;
+    loaded = false;
+  }
+
+  private void appendTombstone(String key, Entry entry) throws ObjectStoreException {
+    final ByteBuffer record = encode(REMOVE, currentTimeMillis(), key.getBytes(UTF_8), new byte[0]);
+    append(record);
+
+    index.remove(key);
+    insertionOrder.remove(entry.sequence);
+    segments.get(entry.segmentId).liveBytes.addAndGet(-entry.length);
+  }
+
+  /**
+   * Appends the given {@code record} to the active segment, starting a new one if the active segment is full.
+   * Has to be invoked while holding the {@link #appendLock}
+   *
+   * @return the offset of the record within the active segment
+   */
+  private long append(ByteBuffer record) throws ObjectStoreException {
+    final int length = record.remaining();
+    try {
+      if (activeSegment.size > 0 && activeSegment.size + length > maxSegmentSize) {
+        if (syncOnWrite) {
+          // so that forcing the active segment is enough to make every previous write durable
+          activeSegment.channel.force(false);
+        }
+        activeSegment = openSegment(activeSegment.id + 1);
+      }
+
+      final long offset = activeSegment.size;
+      writeFully(activeSegment.channel, record, offset);
+      activeSegment.size += length;
+      appendedBytes += length;
+
+      return offset;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not write to partition '%s'", partitionName)), e);
+    }
+  }
+
+  /**
+   * Waits until every record up to {@code position} has been forced to disk. The thread which gets to force the log
+   * does it for every record appended so far, so that the threads queued behind it find their records already synced.
+   */
+  private void sync(long position) throws ObjectStoreException {
+    if (!syncOnWrite || syncedBytes >= position) {
+      return;
+    }
+
+    syncLock.lock();
+    try {
+      if (syncedBytes >= position) {
+        return;
+      }
+
+      final FileChannel channel;
+      final long target;
+      appendLock.lock();
+      try {
+        channel = activeSegment.channel;
+        target = appendedBytes;
+      } finally {
+        appendLock.unlock();
+      }
+
+      channel.force(false);
+      syncedBytes = target;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not sync partition '%s'", partitionName)), e);
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private T load(Entry entry) throws ObjectStoreException {
+    try {
+      final ByteBuffer record = read(entry);
+      final int keyLength = record.getInt(LENGTH_SIZE + 1 + 8);
+      final int valueOffset = LENGTH_SIZE + HEADER_SIZE + keyLength;
+      final byte[] valueBytes = Arrays.copyOfRange(record.array(), valueOffset, entry.length - CRC_SIZE);
+
+      T value = serializer.getInternalProtocol().deserialize(valueBytes);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private ByteBuffer read(Entry entry) throws IOException {
+    final ByteBuffer record = ByteBuffer.allocate(entry.length);
+    readFully(segments.get(entry.segmentId).channel, record, entry.offset);
+    record.flip();
+    return record;
+  }
+
+  private ByteBuffer encode(byte type, long createdAt, byte[] key, byte[] value) {
+    final int bodyLength = HEADER_SIZE + key.length + value.length;
+    final ByteBuffer record = ByteBuffer.allocate(LENGTH_SIZE + bodyLength + CRC_SIZE);
+    record.putInt(bodyLength + CRC_SIZE);
+    record.put(type);
+    record.putLong(createdAt);
+    record.putInt(key.length);
+    record.put(key);
+    record.put(value);
+
+    final CRC32 crc = new CRC32();
+    crc.update(record.array(), LENGTH_SIZE, bodyLength);
+    record.putInt((int) crc.getValue());
+    record.flip();
+
+    return record;
+  }
+
+  private boolean isValid(ByteBuffer record) {
+    final int bodyLength = record.capacity() - LENGTH_SIZE - CRC_SIZE;
+    final CRC32 crc = new CRC32();
+    crc.update(record.array(), LENGTH_SIZE, bodyLength);
+    return (int) crc.getValue() == record.getInt(LENGTH_SIZE + bodyLength);
+  }
+
+  private String decodeKey(ByteBuffer record) {
+    final int keyLength = record.getInt(LENGTH_SIZE + 1 + 8);
+    return new String(record.array(), LENGTH_SIZE + HEADER_SIZE, keyLength, UTF_8);
+  }
+
+  private Segment openSegment(long id) throws IOException {
+    final File file = segmentFile(id, SEGMENT_FILE_EXTENSION);
+    final Segment segment = new Segment(id, file, new RandomAccessFile(file, "rw"));
+    segment.size = segment.channel.size();
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private File segmentFile(long id, String extension) {
+    return new File(partitionDirectory, format("%020d%s", id, extension));
+  }
+
+  private List<Long> listSegmentIds(String extension) {
+    String[] names = partitionDirectory.list((dir, name) -> name.endsWith(extension));
+    List<Long> ids = new ArrayList<>();
+    if (names != null) {
+      for (String name : names) {
+        try {
+          ids.add(parseLong(name.substring(0, name.length() - extension.length())));
+        } catch (NumberFormatException e) {
+          LOGGER.warn("Ignoring unexpected file {} in object store directory {}", name, partitionDirectory.getAbsolutePath());
+        }
+      }
+    }
+    ids.sort(Long::compare);
+    return ids;
+  }
+
+  private void deleteFiles(String... extensions) throws IOException {
+    for (String extension : extensions) {
+      for (long id : listSegmentIds(extension)) {
+        Files.deleteIfExists(segmentFile(id, extension).toPath());
+      }
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("Unexpected end of object store file");
+      }
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  protected void createDirectory(File directory) throws ObjectStoreException {
+    try {
+      if (!directory.exists() && !directory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + directory.getAbsolutePath()));
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  protected File createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        this.partitionName = readPartitionFileName(partitionDirectory);
+        return partitionDescriptorFile;
+      }
+      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
+        fileWriter.write(partitionName);
+        fileWriter.flush();
+      }
+      return partitionDescriptorFile;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  /**
+   * The location of the last record of a live key
+   */
+  private static final class Entry {
+
+    private final long segmentId;
+    private final long offset;
+    private final int length;
+    private final long createdAt;
+    private final long sequence;
+
+    private Entry(long segmentId, long offset, int length, long createdAt, long sequence) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      this.length = length;
+      this.createdAt = createdAt;
+      this.sequence = sequence;
+    }
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final AtomicLong liveBytes = new AtomicLong(0);
+    private volatile long size;
+
+    private Segment(long id, File file, RandomAccessFile randomAccessFile) {
+      this.id = id;
+      this.file = file;
+      this.randomAccessFile = randomAccessFile;
+      channel = randomAccessFile.getChannel();
+    }
+
+    private void close() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Could not close object store file " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+}
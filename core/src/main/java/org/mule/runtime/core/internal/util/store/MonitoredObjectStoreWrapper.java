@@ -26,6 +26,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.UUID;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
 import org.slf4j.Logger;
@@ -41,7 +42,7 @@ import java.util.concurrent.ScheduledFuture;
  * The MonitoredObjectStoreWrapper wraps an ObjectStore which does not support direct expiry and adds this behavior
  */
 public class MonitoredObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
-    implements Runnable, MuleContextAware, Initialisable, Disposable {
+    implements AtomicObjectStore<T>, Runnable, MuleContextAware, Initialisable, Disposable {
 
   private static Logger logger = LoggerFactory.getLogger(MonitoredObjectStoreWrapper.class);
 
@@ -91,6 +92,13 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     getStore().store(key, new StoredObject<>(value, time, key));
   }
 
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    Long time = Long.valueOf(System.currentTimeMillis());
+    return AtomicObjectStore.storeIfAbsent(getStore(), key, new StoredObject<>(value, time, key));
+  }
+
   @Override
   protected T doRetrieve(String key) throws ObjectStoreException {
     return getStore().retrieve(key).getItem();
@@ -9,9 +9,12 @@ package org.mule.runtime.core.internal.util.store;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
+import org.mule.runtime.core.internal.store.AtomicPartitionableObjectStore;
 
 import java.io.Serializable;
 import java.util.List;
@@ -19,7 +22,8 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 
-public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements AtomicObjectStore<T>, Disposable {
 
   private static final Logger LOGGER = getLogger(ObjectStorePartition.class);
 
@@ -46,6 +50,19 @@ public class ObjectStorePartition<T extends Serializable> extends TemplateObject
     partitionedObjectStore.store(key, value, partitionName);
   }
 
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    if (partitionedObjectStore instanceof AtomicPartitionableObjectStore) {
+      return ((AtomicPartitionableObjectStore<T>) partitionedObjectStore).storeIfAbsent(key, value, partitionName);
+    }
+    try {
+      partitionedObjectStore.store(key, value, partitionName);
+      return true;
+    } catch (ObjectAlreadyExistsException e) {
+      return false;
+    }
+  }
+
   @Override
   protected T doRetrieve(String key) throws ObjectStoreException {
     return partitionedObjectStore.retrieve(key, partitionName);
@@ -14,6 +14,7 @@ import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 
 import java.io.Serializable;
 import java.util.LinkedHashMap;
@@ -22,7 +23,8 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 
-public class PartitionedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class PartitionedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
+    implements AtomicObjectStore<T>, Disposable {
 
   private static final Logger LOGGER = getLogger(PartitionedObjectStoreWrapper.class);
 
@@ -67,6 +69,12 @@ public class PartitionedObjectStoreWrapper<T extends Serializable> extends Templ
     getStore().store(partitioned(key), value);
   }
 
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    return AtomicObjectStore.storeIfAbsent(getStore(), partitioned(key), value);
+  }
+
   @Override
   protected T doRetrieve(String key) throws ObjectStoreException {
     return getStore().retrieve(partitioned(key));
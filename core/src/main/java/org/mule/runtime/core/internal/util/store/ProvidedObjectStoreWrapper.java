@@ -10,6 +10,7 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 
 import java.io.Serializable;
 import java.util.List;
@@ -23,7 +24,8 @@ import java.util.function.Supplier;
  * In the case the factory is used and a fresh object store is created, its lifecycle management will be delegated by this
  * wrapper.
  */
-public class ProvidedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class ProvidedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
+    implements AtomicObjectStore<T>, Disposable {
 
   private ObjectStore<T> wrapped;
   private final boolean provided;
@@ -54,6 +56,11 @@ public class ProvidedObjectStoreWrapper<T extends Serializable> extends Template
     getWrapped().store(key, value);
   }
 
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    return AtomicObjectStore.storeIfAbsent(getWrapped(), key, value);
+  }
+
   @Override
   protected T doRetrieve(String key) throws ObjectStoreException {
     return getWrapped().retrieve(key);
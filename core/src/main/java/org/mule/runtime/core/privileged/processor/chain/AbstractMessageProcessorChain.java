@@ -26,9 +26,11 @@ import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Operators.lift;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
@@ -54,6 +56,7 @@ import org.mule.runtime.core.api.rx.Exceptions;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.ProcessorInterceptorManager;
+import org.mule.runtime.core.internal.management.stats.ProcessorExecutionTimer;
 import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcessor;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveAroundInterceptorAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
@@ -121,7 +124,8 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
-    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = resolveInterceptors();
+    final Map<Processor, ProcessorExecutionTimer> executionTimers = createExecutionTimers();
+    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = resolveInterceptors(executionTimers);
     Flux<CoreEvent> stream = from(publisher);
     for (Processor processor : getProcessorsToExecute()) {
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
@@ -130,7 +134,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
           // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
           .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL, getLocalOperatorErrorHook(processor)))
           // #2 Register continue error strategy to handle errors without stopping the stream.
-          .errorStrategyContinue(getContinueStrategyErrorHandler(processor));
+          .errorStrategyContinue(getContinueStrategyErrorHandler(processor, executionTimers.get(processor)));
     }
     return stream.subscriberContext(ctx -> {
       ClassLoader tccl = currentThread().getContextClassLoader();
@@ -168,13 +172,17 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
    * Used to process failed events which are dropped from the reactor stream due to error. Errors are processed by invoking the
    * current EventContext error callback.
    */
-  private BiConsumer<Throwable, CoreEvent> getContinueStrategyErrorHandler(Processor processor) {
+  private BiConsumer<Throwable, CoreEvent> getContinueStrategyErrorHandler(Processor processor,
+                                                                          ProcessorExecutionTimer executionTimer) {
     return (throwable, event) -> {
       throwable = Exceptions.unwrap(throwable);
       if (throwable instanceof MessagingException) {
         // Give priority to failed event from reactor over MessagingException event.
         BaseEventContext context = (BaseEventContext) (event != null ? event.getContext()
             : ((MessagingException) throwable).getEvent().getContext());
+        if (executionTimer != null) {
+          executionTimer.stop(context);
+        }
         errorNotification(processor).andThen(e -> context.error(e))
             .accept(resolveMessagingException(processor).apply((MessagingException) throwable));
       } else {
@@ -183,6 +191,9 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
           throw new IllegalStateException(UNEXPECTED_ERROR_HANDLER_STATE_MESSAGE);
         } else {
           BaseEventContext context = ((BaseEventContext) event.getContext());
+          if (executionTimer != null) {
+            executionTimer.stop(context);
+          }
           errorNotification(processor).andThen(e -> context.error(e))
               .accept(resolveException((Component) processor, event, throwable));
         }
@@ -190,6 +201,26 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     };
   }
 
+  /*
+   * Creates the timers of the processors with a location, which time the events going through them, including the time they wait
+   * to be scheduled by the processing strategy, so it can be recorded in the processor statistics. Only done if statistics are
+   * enabled when the chain is assembled, so that chains don't pay for it otherwise.
+   */
+  private Map<Processor, ProcessorExecutionTimer> createExecutionTimers() {
+    final Map<Processor, ProcessorExecutionTimer> executionTimers = new IdentityHashMap<>();
+    if (muleContext == null || muleContext.getStatistics() == null || !muleContext.getStatistics().isEnabled()) {
+      return executionTimers;
+    }
+
+    for (Processor processor : getProcessorsToExecute()) {
+      if (processor instanceof Component && ((Component) processor).getLocation() != null) {
+        executionTimers.put(processor, new ProcessorExecutionTimer(muleContext.getStatistics(),
+                                                                   ((Component) processor).getLocation().getLocation()));
+      }
+    }
+    return executionTimers;
+  }
+
   private ReactiveProcessor applyInterceptors(List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptorsToBeExecuted,
                                               Processor processor) {
     ReactiveProcessor interceptorWrapperProcessorFunction = processor;
@@ -200,72 +231,99 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return interceptorWrapperProcessorFunction;
   }
 
-  private List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> resolveInterceptors() {
+  private List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> resolveInterceptors(Map<Processor, ProcessorExecutionTimer> executionTimers) {
     List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors =
         new ArrayList<>();
 
-    // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
-    interceptors.add((processor, next) -> stream -> from(stream)
-        .transform(doOnNextOrErrorWithContext(context -> context.getOrEmpty(TCCL_REACTOR_CTX_KEY)
-            .ifPresent(cl -> currentThread().setContextClassLoader((ClassLoader) cl))))
-        .transform(next)
-        .transform(doOnNextOrErrorWithContext(context -> context.getOrEmpty(TCCL_ORIGINAL_REACTOR_CTX_KEY)
-            .ifPresent(cl -> currentThread().setContextClassLoader((ClassLoader) cl)))));
-
-    // #2 Wrap execution, after processing strategy, on processor execution thread.
+    // #1 Update TCCL with the one from the Region of the processor to execute and set the current event, once in execution
+    // thread. Both are done by a single operator before and after the processor, rather than an operator for each of them.
     interceptors.add((processor, next) -> stream -> from(stream)
-        .cast(PrivilegedEvent.class)
-        .doOnNext(event -> {
+        .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_KEY, event -> {
           currentMuleContext.set(muleContext);
-          setCurrentEvent(event);
-        })
-        .cast(CoreEvent.class)
-        .transform(next));
+          setCurrentEvent((PrivilegedEvent) event);
+        }))
+        .transform(next)
+        .transform(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_KEY, null)));
 
-    // #3 Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
+    // #2 Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
     // threads which may be limited to avoid deadlocks.
     if (processingStrategy != null) {
       interceptors.add((processor, next) -> processingStrategy.onProcessor(new InterceptedReactiveProcessor(processor, next)));
     }
 
-    // #4 Wrap execution, before processing strategy, on flow thread.
-    interceptors.add((processor, next) -> stream -> from(stream)
-        .cast(PrivilegedEvent.class)
-        .doOnNext(preNotification(processor))
-        .cast(CoreEvent.class)
-        .transform(next)
-        .cast(PrivilegedEvent.class)
-        .map(result -> {
-          postNotification(processor).accept(result);
-          setCurrentEvent(result);
-          // If the processor returns a CursorProvider, then have the StreamingManager manage it
-          return updateEventForStreaming(streamingManager).apply(result);
-        })
-        .cast(CoreEvent.class));
-
-    // #5 Apply processor interceptors around processor and other core logic
+    // #3 Wrap execution, before processing strategy, on flow thread. Notifications can only be fired, and executions timed, for
+    // processors with a location, so the pre notification operator is not even assembled for the rest.
+    interceptors.add((processor, next) -> {
+      final boolean notifiable = processor instanceof Component && ((Component) processor).getLocation() != null;
+      final ProcessorExecutionTimer executionTimer = executionTimers.get(processor);
+      final Consumer<PrivilegedEvent> preNotification = preNotification(processor);
+      final Consumer<PrivilegedEvent> postNotification = postNotification(processor);
+      return stream -> {
+        final Function<CoreEvent, CoreEvent> streamingUpdater = updateEventForStreaming(streamingManager);
+        Flux<CoreEvent> intercepted = from(stream);
+        if (notifiable) {
+          intercepted = intercepted.doOnNext(event -> {
+            preNotification.accept((PrivilegedEvent) event);
+            if (executionTimer != null) {
+              executionTimer.start(event);
+            }
+          });
+        }
+        return intercepted
+            .transform(next)
+            .map(result -> {
+              if (executionTimer != null) {
+                executionTimer.stop(result.getContext());
+              }
+              if (notifiable) {
+                postNotification.accept((PrivilegedEvent) result);
+              }
+              setCurrentEvent((PrivilegedEvent) result);
+              // If the processor returns a CursorProvider, then have the StreamingManager manage it
+              return streamingUpdater.apply(result);
+            });
+      };
+    });
+
+    // #4 Apply processor interceptors around processor and other core logic
     interceptors.addAll(0, additionalInterceptors);
 
     return interceptors;
   }
 
-  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(Consumer<Context> contextConsumer) {
+  /*
+   * Sets the TCCL held in the subscriber context under the given key, if any, for every event or error that goes through. The
+   * class loader is looked up once on subscription instead of for each event. The given event callback, if any, is also invoked
+   * for every event.
+   */
+  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> doOnNextOrErrorWithContext(String tcclKey,
+                                                                                                         Consumer<CoreEvent> eventConsumer) {
     return lift((scannable, subscriber) -> new CoreSubscriber<CoreEvent>() {
 
-      private Context context = subscriber.currentContext();
+      private final Context context = subscriber.currentContext();
+      private final ClassLoader classLoader = context.getOrDefault(tcclKey, null);
 
       @Override
       public void onNext(CoreEvent event) {
-        contextConsumer.accept(context);
+        if (eventConsumer != null) {
+          eventConsumer.accept(event);
+        }
+        setContextClassLoader();
         subscriber.onNext(event);
       }
 
       @Override
       public void onError(Throwable throwable) {
-        contextConsumer.accept(context);
+        setContextClassLoader();
         subscriber.onError(throwable);
       }
 
+      private void setContextClassLoader() {
+        if (classLoader != null) {
+          currentThread().setContextClassLoader(classLoader);
+        }
+      }
+
       @Override
       public void onComplete() {
         subscriber.onComplete();
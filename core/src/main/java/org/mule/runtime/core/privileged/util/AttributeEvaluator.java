@@ -17,6 +17,7 @@ import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.CompiledExpression;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 
@@ -38,6 +39,7 @@ public final class AttributeEvaluator {
       asList(Object.class, InputStream.class, Iterator.class, Serializable.class);
 
   private String attributeValue;
+  private DataType expectedDataType;
   private ExtendedExpressionManager expressionManager;
   private Function<CoreEvent, TypedValue> expressionResolver;
 
@@ -61,10 +63,11 @@ public final class AttributeEvaluator {
    */
   public AttributeEvaluator(String attributeValue, DataType expectedDataType) {
     this.attributeValue = sanitize(attributeValue);
+    this.expectedDataType = expectedDataType;
 
     switch (resolveAttributeType()) {
       case EXPRESSION:
-        if (!(expectedDataType == null || BLACK_LIST_TYPES.contains(expectedDataType.getType()))) {
+        if (isCoerced()) {
           expressionResolver =
               event -> expressionManager.evaluate(this.attributeValue, expectedDataType, NULL_BINDING_CONTEXT, event);
         } else {
@@ -81,9 +84,31 @@ public final class AttributeEvaluator {
 
   public AttributeEvaluator initialize(final ExtendedExpressionManager expressionManager) {
     this.expressionManager = expressionManager;
+    if (resolveAttributeType() == AttributeType.EXPRESSION) {
+      compileExpression();
+    }
     return this;
   }
 
+  private void compileExpression() {
+    final CompiledExpression compiledExpression = expressionManager.compile(attributeValue);
+    if (compiledExpression == null) {
+      // keep evaluating it by its text
+      return;
+    }
+
+    if (isCoerced()) {
+      expressionResolver =
+          event -> expressionManager.evaluate(compiledExpression, expectedDataType, NULL_BINDING_CONTEXT, event, null, false);
+    } else {
+      expressionResolver = event -> expressionManager.evaluate(compiledExpression, event, null, NULL_BINDING_CONTEXT);
+    }
+  }
+
+  private boolean isCoerced() {
+    return !(expectedDataType == null || BLACK_LIST_TYPES.contains(expectedDataType.getType()));
+  }
+
   private String sanitize(String attributeValue) {
     if (attributeValue != null) {
       attributeValue = attributeValue.trim().replaceAll("\r", "").replaceAll("\t", "");
@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.deployment.impl.internal.application.MuleApplicationPolicyProvider.createPolicyRegistrationError;
@@ -389,4 +390,33 @@ public class MuleApplicationPolicyProviderTestCase extends AbstractMuleTestCase
     policyProvider.addPolicy(policyTemplateDescriptor1, parametrization1);
   }
 
+  @Test
+  public void notifiesPoliciesChangedOnAddAndRemove() throws Exception {
+    assertThat(policyProvider.supportsChangeNotification(), is(true));
+    Runnable policiesChangedCallback = mock(Runnable.class);
+    policyProvider.onPoliciesChanged(policiesChangedCallback);
+
+    policyProvider.addPolicy(policyTemplateDescriptor1, parametrization1);
+    verify(policiesChangedCallback).run();
+
+    policyProvider.removePolicy(parametrization1.getId());
+    verify(policiesChangedCallback, times(2)).run();
+  }
+
+  @Test
+  public void doesNotNotifyPoliciesChangedWhenNothingChanges() throws Exception {
+    Runnable policiesChangedCallback = mock(Runnable.class);
+    policyProvider.onPoliciesChanged(policiesChangedCallback);
+    policyProvider.addPolicy(policyTemplateDescriptor1, parametrization1);
+
+    assertThat(policyProvider.removePolicy(POLICY_ID3), is(false));
+    try {
+      policyProvider.addPolicy(policyTemplateDescriptor1, parametrization1);
+    } catch (PolicyRegistrationException e) {
+      // Expected, the policy was already registered
+    }
+
+    verify(policiesChangedCallback).run();
+  }
+
 }
@@ -6,10 +6,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_DYNAMIC_CONFIG_MAX_INSTANCES;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
@@ -43,12 +44,17 @@ import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A {@link ConfigurationProvider} which continuously evaluates the same {@link ResolverSet} and then uses the resulting
@@ -58,6 +64,16 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * The cache is lock free. Concurrent requests for an instance which is not yet cached wait for the single thread creating it.
+ * The cached instances are also kept in a set ordered by the last time they were known to be used, so that
+ * {@link #getExpired()} only needs to look at the instances that may have expired. Since the last used time of an instance is
+ * updated without going through this provider, an instance found to have been used since it was put in that set is put back
+ * with its current last used time.
+ * <p>
+ * Optionally, the number of cached instances can be bounded, in which case the least recently used idle instances are evicted
+ * when the bound is exceeded. Evicted instances are returned by the next invocation of {@link #getExpired()}, so that they go
+ * through the same disposal as the expired ones.
  *
  * @since 4.0.0
  */
@@ -71,10 +87,19 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private static final int MAX_EVICTION_SCAN = 64;
+  private static final long RETIRED = -1;
+
+  private final ConcurrentMap<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<ExpiryCandidate> expiryCandidates = new ConcurrentSkipListSet<>();
+  private final Queue<ConfigurationInstance> evicted = new ConcurrentLinkedQueue<>();
+  private final AtomicLong candidateSequence = new AtomicLong();
+  private final int maxInstances;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder creations = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
 
   /**
    * Creates a new instance
@@ -94,12 +119,37 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
                                       ExpirationPolicy expirationPolicy,
                                       ReflectionCache reflectionCache,
                                       MuleContext muleContext) {
+    this(name, extensionModel, configurationModel, resolverSet, connectionProviderResolver, expirationPolicy, reflectionCache,
+         getInteger(MULE_DYNAMIC_CONFIG_MAX_INSTANCES, 0), muleContext);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param name                       this provider's name
+   * @param extensionModel             the model that owns the {@code configurationModel}
+   * @param configurationModel         the model for the returned configurations
+   * @param resolverSet                the {@link ResolverSet} that provides the configuration's parameter values
+   * @param connectionProviderResolver a {@link ValueResolver} used to obtain a {@link ConnectionProvider}
+   * @param expirationPolicy           the {@link ExpirationPolicy} for the unused instances
+   * @param maxInstances               the maximum number of cached instances, or {@code 0} for no limit
+   */
+  public DynamicConfigurationProvider(String name,
+                                      ExtensionModel extensionModel,
+                                      ConfigurationModel configurationModel,
+                                      ResolverSet resolverSet,
+                                      ConnectionProviderValueResolver connectionProviderResolver,
+                                      ExpirationPolicy expirationPolicy,
+                                      ReflectionCache reflectionCache,
+                                      int maxInstances,
+                                      MuleContext muleContext) {
     super(name, extensionModel, configurationModel, muleContext);
     configurationInstanceFactory =
         new ConfigurationInstanceFactory<>(extensionModel, configurationModel, resolverSet, reflectionCache, muleContext);
     this.resolverSet = resolverSet;
     this.connectionProviderResolver = connectionProviderResolver;
     this.expirationPolicy = expirationPolicy;
+    this.maxInstances = maxInstances;
   }
 
   /**
@@ -124,34 +174,85 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult,
                                                  CoreEvent event)
       throws Exception {
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
-    try {
-      configuration = cache.get(resolverSetResult);
+    while (true) {
+      CacheEntry entry = cache.get(resolverSetResult);
+      ConfigurationInstance configuration = entry != null ? entry.configuration : null;
       if (configuration != null) {
-        // important to account between the boundaries of the lock to prevent race condition
-        updateUsageStatistic(configuration);
+        if (acquire(entry, configuration)) {
+          hits.increment();
+          return configuration;
+        }
+        continue;
+      }
+
+      misses.increment();
+      if (entry == null) {
+        CacheEntry newEntry = new CacheEntry(resolverSetResult);
+        entry = cache.putIfAbsent(resolverSetResult, newEntry);
+        if (entry == null) {
+          return create(newEntry, event);
+        }
+      }
+
+      // some other thread is creating it, wait for it instead of creating an equivalent one
+      configuration = awaitCreation(entry);
+      if (acquire(entry, configuration)) {
         return configuration;
       }
-    } finally {
-      cacheReadLock.unlock();
     }
+  }
+
+  private ConfigurationInstance create(CacheEntry entry, CoreEvent event) throws Exception {
+    final ConfigurationInstance configuration;
+    try {
+      configuration = createConfiguration(entry.key, event);
+    } catch (Throwable t) {
+      cache.remove(entry.key, entry);
+      entry.creation.completeExceptionally(t);
+      throw t;
+    }
+
+    creations.increment();
+    updateUsageStatistic(configuration);
+    entry.configuration = configuration;
+    entry.creation.complete(configuration);
+    expiryCandidates.add(new ExpiryCandidate(entry, configuration.getStatistics().getLastUsedMillis()));
+
+    if (maxInstances > 0 && cache.size() > maxInstances) {
+      evictLeastRecentlyUsed();
+    }
+    return configuration;
+  }
 
-    cacheWriteLock.lock();
+  private ConfigurationInstance awaitCreation(CacheEntry entry) throws Exception {
     try {
-      // re-check in case some other thread beat us to it...
-      configuration = cache.get(resolverSetResult);
-      if (configuration == null) {
-        configuration = createConfiguration(resolverSetResult, event);
-        cache.put(resolverSetResult, configuration);
+      return entry.creation.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
       }
+      throw (Error) cause;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
 
-      // accounting here for the same reasons as above
-      updateUsageStatistic(configuration);
-      return configuration;
-    } finally {
-      cacheWriteLock.unlock();
+  /**
+   * Accounts the usage of a cached instance, unless it was expired or evicted concurrently, in which case it is removed from the
+   * cache if it is still there.
+   *
+   * @return whether the instance can be returned
+   */
+  private boolean acquire(CacheEntry entry, ConfigurationInstance configuration) {
+    // the usage has to be accounted before touching the entry, so that a concurrent expiration either sees it or fails to retire
+    updateUsageStatistic(configuration);
+    if (entry.touch()) {
+      return true;
     }
+    cache.remove(entry.key, entry);
+    return false;
   }
 
   private void updateUsageStatistic(ConfigurationInstance configuration) {
@@ -215,20 +316,73 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
       throw new MuleRuntimeException(createStaticMessage("Could not register configuration of key " + getName()), e);
     }
 
-    super.registerConfiguration(configuration);
+    // instances for different keys may be created concurrently
+    synchronized (this) {
+      super.registerConfiguration(configuration);
+    }
   }
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    List<ConfigurationInstance> expired = new ArrayList<>();
+    ConfigurationInstance evictedConfiguration;
+    while ((evictedConfiguration = evicted.poll()) != null) {
+      expired.add(evictedConfiguration);
     }
+
+    List<ExpiryCandidate> stillInUse = new ArrayList<>();
+    ExpiryCandidate candidate;
+    while ((candidate = expiryCandidates.pollFirst()) != null) {
+      if (!expirationPolicy.isExpired(candidate.lastUsedMillis, MILLISECONDS)) {
+        // this and all the following ones were used recently enough
+        stillInUse.add(candidate);
+        break;
+      }
+
+      final CacheEntry entry = candidate.entry;
+      final long touches = entry.touches.get();
+      if (touches == RETIRED) {
+        continue;
+      }
+
+      if (isExpired(entry.configuration) && entry.retire(touches)) {
+        cache.remove(entry.key, entry);
+        expired.add(entry.configuration);
+      } else {
+        stillInUse.add(new ExpiryCandidate(entry, entry.configuration.getStatistics().getLastUsedMillis()));
+      }
+    }
+    expiryCandidates.addAll(stillInUse);
+
+    return expired;
+  }
+
+  /**
+   * Evicts the least recently used idle instances until the cache is back within {@link #maxInstances}. The last used time of
+   * the instances is only refreshed as they are examined, so this is an approximation of LRU.
+   */
+  private void evictLeastRecentlyUsed() {
+    List<ExpiryCandidate> notEvicted = new ArrayList<>();
+    int scanned = 0;
+    ExpiryCandidate candidate;
+    while (cache.size() > maxInstances && scanned++ < MAX_EVICTION_SCAN && (candidate = expiryCandidates.pollFirst()) != null) {
+      final CacheEntry entry = candidate.entry;
+      final long touches = entry.touches.get();
+      if (touches == RETIRED) {
+        continue;
+      }
+
+      final ConfigurationStats stats = entry.configuration.getStatistics();
+      if (stats.getLastUsedMillis() == candidate.lastUsedMillis && stats.getInflightOperations() == 0
+          && entry.retire(touches)) {
+        cache.remove(entry.key, entry);
+        evicted.add(entry.configuration);
+        evictions.increment();
+      } else {
+        notEvicted.add(new ExpiryCandidate(entry, stats.getLastUsedMillis()));
+      }
+    }
+    expiryCandidates.addAll(notEvicted);
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -261,4 +415,83 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   public boolean isDynamic() {
     return true;
   }
+
+  /**
+   * @return the number of requests which were served with an already cached instance
+   */
+  public long getCacheHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of requests which had to create an instance, or to wait for another request creating it
+   */
+  public long getCacheMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of instances created by this provider
+   */
+  public long getCreations() {
+    return creations.sum();
+  }
+
+  /**
+   * @return the number of instances evicted because the maximum number of instances was exceeded
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private static final class CacheEntry {
+
+    private final Pair<ResolverSetResult, ResolverSetResult> key;
+    private final CompletableFuture<ConfigurationInstance> creation = new CompletableFuture<>();
+    private final AtomicLong touches = new AtomicLong();
+    private volatile ConfigurationInstance configuration;
+
+    private CacheEntry(Pair<ResolverSetResult, ResolverSetResult> key) {
+      this.key = key;
+    }
+
+    /**
+     * @return {@code false} if this entry was already retired
+     */
+    private boolean touch() {
+      long current;
+      do {
+        current = touches.get();
+        if (current == RETIRED) {
+          return false;
+        }
+      } while (!touches.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    /**
+     * Retires this entry, unless it was touched since {@code expectedTouches} was read.
+     */
+    private boolean retire(long expectedTouches) {
+      return touches.compareAndSet(expectedTouches, RETIRED);
+    }
+  }
+
+  private final class ExpiryCandidate implements Comparable<ExpiryCandidate> {
+
+    private final CacheEntry entry;
+    private final long lastUsedMillis;
+    private final long sequence = candidateSequence.getAndIncrement();
+
+    private ExpiryCandidate(CacheEntry entry, long lastUsedMillis) {
+      this.entry = entry;
+      this.lastUsedMillis = lastUsedMillis;
+    }
+
+    @Override
+    public int compareTo(ExpiryCandidate other) {
+      int result = Long.compare(lastUsedMillis, other.lastUsedMillis);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
 }
@@ -25,4 +25,20 @@ interface ArgumentResolverDelegate {
    * @return an object array
    */
   LazyValue<Object>[] resolve(ExecutionContext executionContext, Class<?>[] parameterTypes);
+
+  /**
+   * Returns an object array with the already resolved argument values of the given {@code executionContext}
+   *
+   * @param executionContext the {@link ExecutionContext context} of an {@link ComponentModel} being currently executed
+   * @param parameterTypes
+   * @return an object array
+   */
+  default Object[] resolveValues(ExecutionContext executionContext, Class<?>[] parameterTypes) {
+    LazyValue<Object>[] lazyValues = resolve(executionContext, parameterTypes);
+    Object[] values = new Object[lazyValues.length];
+    for (int i = 0; i < lazyValues.length; ++i) {
+      values[i] = lazyValues[i].get();
+    }
+    return values;
+  }
 }
@@ -138,6 +138,7 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
   private final Method method;
   private final JavaTypeLoader typeLoader = new JavaTypeLoader(this.getClass().getClassLoader());
   private ArgumentResolver<?>[] argumentResolvers;
+  private Object[] primitiveTypeDefaultValues;
   private Map<java.lang.reflect.Parameter, ParameterGroupArgumentResolver<?>> parameterGroupResolvers;
 
   /**
@@ -156,10 +157,12 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
 
     if (isEmpty(parameterTypes)) {
       argumentResolvers = new ArgumentResolver[] {};
+      primitiveTypeDefaultValues = new Object[] {};
       return;
     }
 
     argumentResolvers = new ArgumentResolver[parameterTypes.length];
+    primitiveTypeDefaultValues = new Object[parameterTypes.length];
     Annotation[][] parameterAnnotations = method.getParameterAnnotations();
     Parameter[] parameters = method.getParameters();
     parameterGroupResolvers = getParameterGroupResolvers(parameterGroupModels);
@@ -225,6 +228,7 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
       }
 
       argumentResolvers[i] = argumentResolver;
+      primitiveTypeDefaultValues[i] = resolvePrimitiveTypeDefaultValue(parameterType);
     }
   }
 
@@ -241,6 +245,21 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
     return parameterValues;
   }
 
+  /**
+   * Resolves the values without wrapping each of them in yet another {@link LazyValue}. The default value for the primitive
+   * parameters is already known for each parameter, so there is no need to look it up by type on each invocation.
+   */
+  @Override
+  public Object[] resolveValues(ExecutionContext executionContext, Class<?>[] parameterTypes) {
+    final Object[] parameterValues = new Object[argumentResolvers.length];
+    for (int i = 0; i < argumentResolvers.length; ++i) {
+      final Object parameterValue = argumentResolvers[i].resolve(executionContext).get();
+      parameterValues[i] = parameterValue != null ? parameterValue : primitiveTypeDefaultValues[i];
+    }
+
+    return parameterValues;
+  }
+
   private LazyValue<Object> wrapWithResolvePrimitiveType(Class<?> parameterType, Supplier<?> valueSupplier) {
     return new LazyValue<>(() -> {
       Object parameterValue = valueSupplier.get();
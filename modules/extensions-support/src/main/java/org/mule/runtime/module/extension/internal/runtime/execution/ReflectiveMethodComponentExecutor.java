@@ -6,7 +6,6 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution;
 
-import static java.util.Arrays.stream;
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -15,7 +14,6 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.slf4j.LoggerFactory.getLogger;
-import static org.springframework.util.ReflectionUtils.invokeMethod;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -28,6 +26,8 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.module.extension.internal.runtime.operation.ReflectiveMethodOperationExecutor;
+import org.mule.runtime.module.extension.internal.util.MethodInvoker;
+import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -35,10 +35,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import javax.inject.Inject;
+
 import org.slf4j.Logger;
 
 /**
  * Executes a task associated to a {@link ExecutionContext} by invoking a given {@link Method}
+ * <p>
+ * The method is invoked through the {@link MethodInvoker} obtained from the {@link ReflectionCache}, which calls it from
+ * generated bytecode whenever possible.
  *
  * @param <M> the generic type of the associated {@link ComponentModel}
  * @since 4.0
@@ -49,30 +54,45 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
   private static class NoArgumentsResolverDelegate implements ArgumentResolverDelegate {
 
     private static final LazyValue[] EMPTY = new LazyValue[] {};
+    private static final Object[] EMPTY_VALUES = new Object[] {};
 
     @Override
     public LazyValue<Object>[] resolve(ExecutionContext executionContext, Class<?>[] parameterTypes) {
       return EMPTY;
     }
+
+    @Override
+    public Object[] resolveValues(ExecutionContext executionContext, Class<?>[] parameterTypes) {
+      return EMPTY_VALUES;
+    }
   }
 
   private static final Logger LOGGER = getLogger(ReflectiveMethodOperationExecutor.class);
   private static final ArgumentResolverDelegate NO_ARGS_DELEGATE = new NoArgumentsResolverDelegate();
 
   private final Method method;
+  private final Class<?>[] parameterTypes;
   private final Object componentInstance;
   private final ClassLoader extensionClassLoader;
 
   // Needs to be lazy to wait the muleContext to be injected
   private final LazyValue<ArgumentResolverDelegate> argumentResolverDelegate;
 
+  // Needs to be lazy to wait the reflectionCache to be injected
+  private final LazyValue<MethodInvoker> methodInvoker;
+
+  @Inject
+  private ReflectionCache reflectionCache;
+
   private MuleContext muleContext;
 
   public ReflectiveMethodComponentExecutor(List<ParameterGroupModel> groups, Method method, Object componentInstance) {
     this.method = method;
+    this.parameterTypes = method.getParameterTypes();
     this.componentInstance = componentInstance;
     argumentResolverDelegate =
-        isEmpty(method.getParameterTypes()) ? new LazyValue<>(NO_ARGS_DELEGATE) : getMethodArgumentResolver(groups, method);
+        isEmpty(parameterTypes) ? new LazyValue<>(NO_ARGS_DELEGATE) : getMethodArgumentResolver(groups, method);
+    methodInvoker = new LazyValue<>(() -> getReflectionCache().getMethodInvoker(method));
     extensionClassLoader = method.getDeclaringClass().getClassLoader();
   }
 
@@ -90,9 +110,16 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
 
   public Object execute(ExecutionContext<M> executionContext) {
     return withContextClassLoader(extensionClassLoader,
-                                  () -> invokeMethod(method, componentInstance,
-                                                     stream(getParameterValues(executionContext, method.getParameterTypes()))
-                                                         .map(LazyValue::get).toArray(Object[]::new)));
+                                  () -> methodInvoker.get()
+                                      .invoke(componentInstance,
+                                              argumentResolverDelegate.get().resolveValues(executionContext, parameterTypes)));
+  }
+
+  private ReflectionCache getReflectionCache() {
+    if (reflectionCache == null) {
+      reflectionCache = new ReflectionCache();
+    }
+    return reflectionCache;
   }
 
   private LazyValue<Object>[] getParameterValues(ExecutionContext<M> executionContext, Class<?>[] parameterTypes) {
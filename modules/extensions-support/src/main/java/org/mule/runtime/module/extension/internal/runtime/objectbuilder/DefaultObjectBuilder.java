@@ -7,10 +7,14 @@
 package org.mule.runtime.module.extension.internal.runtime.objectbuilder;
 
 import static java.lang.String.format;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBuilderUtils.createInstance;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.canBePreResolved;
 import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveValue;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.checkInstantiable;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getField;
@@ -19,6 +23,7 @@ import static org.mule.runtime.module.extension.internal.util.MuleExtensionUtils
 import static org.springframework.util.ReflectionUtils.setField;
 
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
@@ -26,6 +31,7 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,6 +40,9 @@ import javax.inject.Inject;
 
 /**
  * Default implementation of {@link ObjectBuilder} which creates instances through a provided {@link Class}.
+ * <p>
+ * Upon {@link #initialise() initialisation}, a {@link MethodHandle} is obtained to set each field and the values of the static
+ * resolvers are obtained once, so that building an object only requires resolving the remaining ones.
  *
  * @since 3.7.0
  */
@@ -43,6 +52,7 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable
   protected final Map<Field, ValueResolver<Object>> resolvers = new HashMap<>();
   private String name = null;
   private String encoding = null;
+  private volatile PreparedField[] preparedFields;
 
   @Inject
   private MuleContext muleContext;
@@ -78,6 +88,7 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable
 
     field.setAccessible(true);
     resolvers.put(field, (ValueResolver<Object>) resolver);
+    preparedFields = null;
     return this;
   }
 
@@ -93,8 +104,15 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable
   public T build(ValueResolvingContext context) throws MuleException {
     T object = createInstance(prototypeClass);
 
-    for (Map.Entry<Field, ValueResolver<Object>> entry : resolvers.entrySet()) {
-      setField(entry.getKey(), object, resolveValue(entry.getValue(), context));
+    final PreparedField[] preparedFields = this.preparedFields;
+    if (preparedFields != null) {
+      for (PreparedField preparedField : preparedFields) {
+        preparedField.set(object, context);
+      }
+    } else {
+      for (Map.Entry<Field, ValueResolver<Object>> entry : resolvers.entrySet()) {
+        setField(entry.getKey(), object, resolveValue(entry.getValue(), context));
+      }
     }
 
     injectFields(object, name, encoding, getReflectionCache());
@@ -114,6 +132,32 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(resolvers.values(), muleContext);
+    preparedFields = prepareFields();
+  }
+
+  private PreparedField[] prepareFields() throws InitialisationException {
+    PreparedField[] prepared = new PreparedField[resolvers.size()];
+    int i = 0;
+    for (Map.Entry<Field, ValueResolver<Object>> entry : resolvers.entrySet()) {
+      MethodHandle setter;
+      try {
+        setter = lookup().unreflectSetter(entry.getKey()).asType(methodType(void.class, Object.class, Object.class));
+      } catch (IllegalAccessException e) {
+        throw new InitialisationException(createStaticMessage(format("Could not access field '%s' of class '%s'",
+                                                                     entry.getKey().getName(), prototypeClass.getName())),
+                                          e, this);
+      }
+
+      try {
+        final ValueResolver<Object> resolver = entry.getValue();
+        prepared[i++] = canBePreResolved(resolver)
+            ? new PreparedField(setter, null, resolver.resolve(null))
+            : new PreparedField(setter, resolver, null);
+      } catch (MuleException e) {
+        throw new InitialisationException(e, this);
+      }
+    }
+    return prepared;
   }
 
   public ReflectionCache getReflectionCache() {
@@ -122,4 +166,32 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable
     }
     return reflectionCache;
   }
+
+  /**
+   * A field of the built objects along with either the {@link ValueResolver} to obtain its value for each object or the value
+   * itself, if the resolver can be pre resolved.
+   */
+  private static final class PreparedField {
+
+    private final MethodHandle setter;
+    private final ValueResolver<Object> resolver;
+    private final Object staticValue;
+
+    private PreparedField(MethodHandle setter, ValueResolver<Object> resolver, Object staticValue) {
+      this.setter = setter;
+      this.resolver = resolver;
+      this.staticValue = staticValue;
+    }
+
+    private void set(Object target, ValueResolvingContext context) throws MuleException {
+      final Object value = resolver != null ? resolveValue(resolver, context) : staticValue;
+      try {
+        setter.invokeExact(target, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new MuleRuntimeException(t);
+      }
+    }
+  }
 }
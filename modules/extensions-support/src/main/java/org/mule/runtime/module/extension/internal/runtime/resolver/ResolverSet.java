@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.canBePreResolved;
 import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveValue;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
@@ -30,6 +31,10 @@ import java.util.Map;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p>
+ * Upon {@link #initialise() initialisation}, the values of the static resolvers are obtained once and reused on every
+ * resolution, so that only the remaining ones are evaluated for each event. If all of them are static, the same
+ * {@link ResolverSetResult} is returned every time.
+ * <p>
  * Instances of this class are to be considered thread safe and reusable
  *
  * @since 3.7.0
@@ -39,6 +44,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private Map<String, ValueResolver<?>> resolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
   private final MuleContext muleContext;
+  private volatile PreResolvedResolvers preResolved;
 
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -60,6 +66,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (resolvers.put(key, resolver) != null) {
       throw new IllegalStateException("A value was already given for key " + key);
     }
+    preResolved = null;
 
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
@@ -102,6 +109,11 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
    */
   @Override
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
+    final PreResolvedResolvers preResolved = this.preResolved;
+    if (preResolved != null) {
+      return preResolved.resolve(context);
+    }
+
     ResolverSetResult.Builder builder = getResolverSetBuilder();
 
     for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
@@ -134,10 +146,71 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(resolvers.values(), muleContext);
+    preResolved = preResolve();
+  }
+
+  private PreResolvedResolvers preResolve() throws InitialisationException {
+    final int size = resolvers.size();
+    final String[] keys = new String[size];
+    final ValueResolver<?>[] perEventResolvers = new ValueResolver<?>[size];
+    final Object[] staticValues = new Object[size];
+    boolean allStatic = true;
+
+    try {
+      int i = 0;
+      for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
+        keys[i] = entry.getKey();
+        if (canBePreResolved(entry.getValue())) {
+          staticValues[i] = entry.getValue().resolve(null);
+        } else {
+          perEventResolvers[i] = entry.getValue();
+          allStatic = false;
+        }
+        ++i;
+      }
+
+      PreResolvedResolvers preResolvedResolvers = new PreResolvedResolvers(keys, perEventResolvers, staticValues);
+      if (allStatic) {
+        preResolvedResolvers.result = preResolvedResolvers.build(null);
+      }
+      return preResolvedResolvers;
+    } catch (MuleException e) {
+      throw new InitialisationException(e, this);
+    }
   }
 
   ResolverSetResult.Builder getResolverSetBuilder() {
     return ResolverSetResult.newBuilder();
   }
 
+  /**
+   * The resolvers of this set split between the ones which have to be evaluated for each event and the values of the static ones,
+   * keeping the order in which they were added.
+   */
+  private final class PreResolvedResolvers {
+
+    private final String[] keys;
+    private final ValueResolver<?>[] perEventResolvers;
+    private final Object[] staticValues;
+    private ResolverSetResult result;
+
+    private PreResolvedResolvers(String[] keys, ValueResolver<?>[] perEventResolvers, Object[] staticValues) {
+      this.keys = keys;
+      this.perEventResolvers = perEventResolvers;
+      this.staticValues = staticValues;
+    }
+
+    private ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
+      return result != null ? result : build(context);
+    }
+
+    private ResolverSetResult build(ValueResolvingContext context) throws MuleException {
+      ResolverSetResult.Builder builder = getResolverSetBuilder();
+      for (int i = 0; i < keys.length; ++i) {
+        final ValueResolver<?> resolver = perEventResolvers[i];
+        builder.add(keys[i], resolver != null ? resolveValue(resolver, context) : staticValues[i]);
+      }
+      return builder.build();
+    }
+  }
 }
@@ -108,6 +108,29 @@ public class ResolverUtils {
     return (T) resolveCursor(value);
   }
 
+  /**
+   * Whether the given {@code resolver} always provides the same value, regardless of the {@link ValueResolvingContext}, so that
+   * it can be resolved only once and its value reused instead of {@link #resolveValue(ValueResolver, ValueResolvingContext)
+   * resolving} it for each event.
+   * <p>
+   * Only resolvers of constant values are considered. Other resolvers which are not {@link ValueResolver#isDynamic() dynamic} may
+   * still depend on the config of the context or create a new value each time. Values from which a {@link Cursor} is opened on
+   * each resolution are not considered constant either.
+   *
+   * @param resolver the {@link ValueResolver} to test
+   * @return whether the value of the {@code resolver} can be obtained just once through {@code resolver.resolve(null)}
+   * @throws MuleException if the value of the {@code resolver} could not be obtained
+   * @since 4.2
+   */
+  public static boolean canBePreResolved(ValueResolver<?> resolver) throws MuleException {
+    if (resolver instanceof StaticValueResolver || resolver instanceof StaticLiteralValueResolver) {
+      Object value = resolver.resolve(null);
+      return !(value instanceof ValueResolver || value instanceof CursorProvider
+          || (value instanceof TypedValue && ((TypedValue) value).getValue() instanceof CursorProvider));
+    }
+    return false;
+  }
+
   /**
    * Obtains a {@link Cursor} based on the {@code value}, if one is available.
    *
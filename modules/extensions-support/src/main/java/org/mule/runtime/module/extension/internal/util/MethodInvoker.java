@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a given {@link Method} on random compatible instances.
+ * <p>
+ * Exceptions thrown by the method are propagated as they are if unchecked, or wrapped in an
+ * {@link java.lang.reflect.UndeclaredThrowableException} if checked, just as
+ * {@link org.springframework.util.ReflectionUtils#invokeMethod(Method, Object, Object...)} does.
+ *
+ * @since 4.2
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+  /**
+   * Invokes the method on the {@code target} instance
+   *
+   * @param target the object on which the method is to be invoked
+   * @param args the arguments for the invocation
+   * @return the value returned by the method, or {@code null} if it is {@code void}
+   */
+  Object invoke(Object target, Object[] args);
+}
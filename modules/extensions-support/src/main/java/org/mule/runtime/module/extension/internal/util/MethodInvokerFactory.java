@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.util.ReflectionUtils.handleInvocationTargetException;
+import static org.springframework.util.ReflectionUtils.invokeMethod;
+
+import org.mule.runtime.core.internal.util.CompositeClassLoader;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import net.sf.cglib.reflect.FastClass;
+import org.slf4j.Logger;
+
+/**
+ * Creates {@link MethodInvoker}s.
+ * <p>
+ * Methods which can be called from a class generated outside their package are invoked through a {@link FastClass}, which is
+ * generated bytecode that calls the method directly instead of going through {@link Method#invoke(Object, Object...)}. Any other
+ * method is invoked reflectively.
+ *
+ * @since 4.2
+ */
+final class MethodInvokerFactory {
+
+  private static final Logger LOGGER = getLogger(MethodInvokerFactory.class);
+
+  private MethodInvokerFactory() {}
+
+  /**
+   * @param method the method to invoke
+   * @return whether {@link #createGenerated(FastClass, Method)} can be used for the given {@code method}
+   */
+  static boolean canGenerate(Method method) {
+    return isPublic(method.getModifiers()) && !isStatic(method.getModifiers())
+        && isPublic(method.getDeclaringClass().getModifiers()) && method.getDeclaringClass().getClassLoader() != null;
+  }
+
+  /**
+   * Generates a {@link FastClass} for the given {@code type}.
+   *
+   * @param type the class declaring the methods to invoke
+   * @return the generated {@link FastClass}, or {@code null} if it could not be generated
+   */
+  static FastClass generateFastClass(Class<?> type) {
+    try {
+      FastClass.Generator generator = new FastClass.Generator();
+      generator.setType(type);
+
+      ClassLoader classLoader = type.getClassLoader();
+      if (FastClass.class.getClassLoader() != classLoader) {
+        // the generated class has to see both the runtime and the extension classes
+        generator.setClassLoader(new CompositeClassLoader(MethodInvokerFactory.class.getClassLoader(), classLoader));
+        generator.setUseCache(false);
+      }
+      return generator.create();
+    } catch (Exception | LinkageError e) {
+      LOGGER.warn("Could not generate invoker for class '{}', its methods will be invoked reflectively: {}", type.getName(),
+                  e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * @param fastClass the {@link FastClass} generated for the class declaring the {@code method}
+   * @param method the method to invoke
+   * @return a {@link MethodInvoker} which calls the {@code method} through the {@code fastClass}
+   */
+  static MethodInvoker createGenerated(FastClass fastClass, Method method) {
+    final int index = fastClass.getIndex(method.getName(), method.getParameterTypes());
+    if (index < 0) {
+      return createReflective(method);
+    }
+
+    return (target, args) -> {
+      try {
+        return fastClass.invoke(index, target, args);
+      } catch (InvocationTargetException e) {
+        handleInvocationTargetException(e);
+        // never reached, the above always throws
+        return null;
+      }
+    };
+  }
+
+  /**
+   * @param method the method to invoke
+   * @return a {@link MethodInvoker} which calls the {@code method} reflectively
+   */
+  static MethodInvoker createReflective(Method method) {
+    return (target, args) -> invokeMethod(method, target, args);
+  }
+}
@@ -9,7 +9,12 @@ package org.mule.runtime.module.extension.internal.util;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.Optional.ofNullable;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getAnnotatedFields;
+import static org.mule.runtime.module.extension.internal.util.MethodInvokerFactory.canGenerate;
+import static org.mule.runtime.module.extension.internal.util.MethodInvokerFactory.createGenerated;
+import static org.mule.runtime.module.extension.internal.util.MethodInvokerFactory.createReflective;
+import static org.mule.runtime.module.extension.internal.util.MethodInvokerFactory.generateFastClass;
 
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
@@ -20,12 +25,15 @@ import org.reflections.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import net.sf.cglib.reflect.FastClass;
+
 /**
  * Caches results of frequently done reflection lookups.
  *
@@ -38,6 +46,8 @@ public class ReflectionCache {
       new ConcurrentHashMap<>(3, 0.9f);
   private final ConcurrentMap<Class<?>, List<Field>> fieldsByClass = new ConcurrentHashMap<>();
   private final ConcurrentMap<Class<?>, Boolean> hasDefaultConstructorsByClass = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, Optional<FastClass>> fastClassesByClass = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Method, MethodInvoker> methodInvokers = new ConcurrentHashMap<>();
 
   public List<FieldElement> fieldElementsFor(ParameterGroupDescriptor groupDescriptor) {
     Class<?> clazz = groupDescriptor.getType().getDeclaringClass().get();
@@ -114,4 +124,38 @@ public class ReflectionCache {
     return value;
   }
 
+  /**
+   * Returns a {@link MethodInvoker} for the given {@code method}. If possible, the returned invoker calls the method from
+   * generated bytecode instead of reflectively.
+   *
+   * @param method the method to invoke
+   * @return a {@link MethodInvoker}
+   */
+  public MethodInvoker getMethodInvoker(Method method) {
+    MethodInvoker invoker = methodInvokers.get(method);
+    // This pre-check is made in order to avoid the synchronized block in the implementation of ConcurrentHashMap
+    // (https://bugs.openjdk.java.net/browse/JDK-8161372)
+    if (invoker == null) {
+      invoker = methodInvokers.computeIfAbsent(method, m -> {
+        if (!canGenerate(m)) {
+          return createReflective(m);
+        }
+
+        return getFastClass(m.getDeclaringClass())
+            .map(fastClass -> createGenerated(fastClass, m))
+            .orElseGet(() -> createReflective(m));
+      });
+    }
+    return invoker;
+  }
+
+  private Optional<FastClass> getFastClass(Class<?> clazz) {
+    Optional<FastClass> fastClass = fastClassesByClass.get(clazz);
+    // This pre-check is made in order to avoid the synchronized block in the implementation of ConcurrentHashMap
+    // (https://bugs.openjdk.java.net/browse/JDK-8161372)
+    if (fastClass == null) {
+      fastClass = fastClassesByClass.computeIfAbsent(clazz, cls -> ofNullable(generateFastClass(cls)));
+    }
+    return fastClass;
+  }
 }
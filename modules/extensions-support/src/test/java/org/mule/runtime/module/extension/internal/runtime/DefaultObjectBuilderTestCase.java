@@ -11,13 +11,17 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getField;
 
+import org.mule.runtime.core.api.Injector;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.module.extension.internal.runtime.objectbuilder.DefaultObjectBuilder;
+import org.mule.runtime.module.extension.internal.runtime.resolver.StaticValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
@@ -30,6 +34,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.lang.reflect.Field;
@@ -98,6 +103,27 @@ public class DefaultObjectBuilderTestCase extends AbstractMuleTestCase {
     assertThat(personalInfo.getAge(), is(AGE));
   }
 
+  @Test
+  public void buildAfterInitialise() throws Exception {
+    builder.addPropertyResolver(nameField.getName(), new StaticValueResolver<>(NAME));
+    ValueResolver ageResolver = getResolver(AGE, true);
+    builder.addPropertyResolver(ageField.getName(), ageResolver);
+    initialiseBuilder();
+
+    verify(builder.build(resolvingContext));
+    verify(builder.build(resolvingContext));
+    Mockito.verify(ageResolver, times(2)).resolve(resolvingContext);
+  }
+
+  @Test
+  public void addPropertyResolverAfterInitialise() throws Exception {
+    builder.addPropertyResolver(nameField.getName(), new StaticValueResolver<>(NAME));
+    initialiseBuilder();
+    builder.addPropertyResolver(ageField.getName(), new StaticValueResolver<>(AGE));
+
+    verify(builder.build(resolvingContext));
+  }
+
   @Test
   public void isStatic() throws Exception {
     populate(false);
@@ -141,6 +167,14 @@ public class DefaultObjectBuilderTestCase extends AbstractMuleTestCase {
     builder.addPropertyResolver(ageField.getName(), getResolver(AGE, dynamic));
   }
 
+  private void initialiseBuilder() throws Exception {
+    when(muleContext.getInjector()).thenReturn(mock(Injector.class));
+    Field muleContextField = DefaultObjectBuilder.class.getDeclaredField("muleContext");
+    muleContextField.setAccessible(true);
+    muleContextField.set(builder, muleContext);
+    builder.initialise();
+  }
+
   private ValueResolver getResolver(Object value, boolean dynamic) throws Exception {
     ValueResolver resolver = ExtensionsTestUtils.getResolver(value, resolvingContext, dynamic);
     resolvers.add(resolver);
@@ -13,6 +13,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
@@ -201,6 +202,46 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(configs, containsInAnyOrder(instance1, instance2));
   }
 
+  @Test
+  public void cacheStatistics() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    provider.get(event);
+    provider.get(event);
+    provider.get(event);
+
+    assertThat(provider.getCreations(), is(1L));
+    assertThat(provider.getCacheMisses(), is(1L));
+    assertThat(provider.getCacheHits(), is(2L));
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    DynamicConfigurationProvider boundedProvider =
+        new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                         connectionProviderResolver, expirationPolicy, new ReflectionCache(), 1, muleContext);
+    muleContext.getInjector().inject(boundedProvider);
+    boundedProvider.initialise();
+    boundedProvider.start();
+    try {
+      HeisenbergExtension instance1 = (HeisenbergExtension) boundedProvider.get(event).getValue();
+      timeSupplier.move(1, MINUTES);
+
+      ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
+      when(alternateResult.asMap()).thenReturn(new HashMap<>());
+      mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
+      when(resolverSet.resolve(from(event))).thenReturn(alternateResult);
+      HeisenbergExtension instance2 = (HeisenbergExtension) boundedProvider.get(event).getValue();
+
+      assertThat(boundedProvider.getEvictions(), is(1L));
+      List<Object> evicted = boundedProvider.getExpired().stream().map(config -> config.getValue()).collect(toImmutableList());
+      assertThat(evicted, contains(instance1));
+      assertThat(boundedProvider.get(event).getValue(), is(sameInstance(instance2)));
+    } finally {
+      boundedProvider.stop();
+      boundedProvider.dispose();
+    }
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
@@ -7,12 +7,20 @@
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.streaming.Cursor;
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.core.api.Injector;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -57,6 +65,7 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
 
     when(resolvingContext.getEvent()).thenReturn(event);
     when(resolvingContext.getConfig()).thenReturn(Optional.empty());
+    when(muleContext.getInjector()).thenReturn(mock(Injector.class));
 
     set = buildSet(mapping);
   }
@@ -100,6 +109,58 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void resolveAfterInitialise() throws Exception {
+    ValueResolver ageResolver = getResolver(AGE);
+    when(ageResolver.isDynamic()).thenReturn(true);
+    ResolverSet resolverSet = new ResolverSet(muleContext)
+        .add("myName", new StaticValueResolver<>(NAME))
+        .add("age", ageResolver);
+    resolverSet.initialise();
+
+    for (int i = 0; i < 2; ++i) {
+      ResolverSetResult result = resolverSet.resolve(resolvingContext);
+      assertThat(result.get("myName"), is(NAME));
+      assertThat(result.get("age"), is(AGE));
+    }
+    verify(ageResolver, times(2)).resolve(resolvingContext);
+  }
+
+  @Test
+  public void sameResultWhenAllResolversAreStatic() throws Exception {
+    ResolverSet resolverSet = new ResolverSet(muleContext)
+        .add("myName", new StaticValueResolver<>(NAME))
+        .add("age", new StaticValueResolver<>(AGE));
+    resolverSet.initialise();
+
+    ResolverSetResult result = resolverSet.resolve(resolvingContext);
+    assertThat(result.get("myName"), is(NAME));
+    assertThat(result.get("age"), is(AGE));
+    assertThat(resolverSet.resolve(resolvingContext), is(sameInstance(result)));
+  }
+
+  @Test
+  public void newCursorForStaticCursorProviderAfterInitialise() throws Exception {
+    CursorProvider cursorProvider = mock(CursorProvider.class);
+    when(cursorProvider.openCursor()).thenAnswer(invocation -> mock(Cursor.class));
+    ResolverSet resolverSet = new ResolverSet(muleContext).add("content", new StaticValueResolver<>(cursorProvider));
+    resolverSet.initialise();
+
+    Object first = resolverSet.resolve(resolvingContext).get("content");
+    Object second = resolverSet.resolve(resolvingContext).get("content");
+    assertThat(first, is(not(sameInstance(second))));
+    verify(cursorProvider, times(2)).openCursor();
+  }
+
+  @Test
+  public void addAfterInitialise() throws Exception {
+    ResolverSet resolverSet = new ResolverSet(muleContext).add("myName", new StaticValueResolver<>(NAME));
+    resolverSet.initialise();
+    resolverSet.add("age", new StaticValueResolver<>(AGE));
+
+    assertThat(resolverSet.resolve(resolvingContext).get("age"), is(AGE));
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
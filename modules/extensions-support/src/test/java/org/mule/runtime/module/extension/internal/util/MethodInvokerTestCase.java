@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.module.extension.internal.util.MethodInvokerFactory.canGenerate;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+import org.mule.tck.testmodels.fruit.Apple;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import org.junit.Test;
+
+@SmallTest
+public class MethodInvokerTestCase extends AbstractMuleTestCase {
+
+  private final ReflectionCache reflectionCache = new ReflectionCache();
+
+  @Test
+  public void generatedInvoker() throws Exception {
+    Method method = Apple.class.getMethod("setBitten", boolean.class);
+    assertThat(canGenerate(method), is(true));
+
+    Apple apple = new Apple(false);
+    assertThat(reflectionCache.getMethodInvoker(method).invoke(apple, new Object[] {true}), is(nullValue()));
+    assertThat(apple.isBitten(), is(true));
+    assertThat(reflectionCache.getMethodInvoker(Apple.class.getMethod("isBitten")).invoke(apple, new Object[0]), is(true));
+  }
+
+  @Test
+  public void invokerIsCached() throws Exception {
+    Method method = Apple.class.getMethod("isBitten");
+    assertThat(reflectionCache.getMethodInvoker(method), is(sameInstance(reflectionCache.getMethodInvoker(method))));
+  }
+
+  @Test
+  public void reflectiveInvokerForNonPublicClass() throws Exception {
+    Method method = NonPublicOperations.class.getMethod("echo", String.class);
+    assertThat(canGenerate(method), is(false));
+    assertThat(reflectionCache.getMethodInvoker(method).invoke(new NonPublicOperations(), new Object[] {"hello"}),
+               is("hello"));
+  }
+
+  @Test
+  public void uncheckedExceptionIsPropagated() throws Exception {
+    final IllegalStateException exception = new IllegalStateException();
+    try {
+      reflectionCache.getMethodInvoker(Operations.class.getMethod("fail", Exception.class))
+          .invoke(new Operations(), new Object[] {exception});
+      fail("Exception should have been propagated");
+    } catch (IllegalStateException e) {
+      assertThat(e, is(sameInstance(exception)));
+    }
+  }
+
+  @Test
+  public void checkedExceptionIsWrapped() throws Exception {
+    final IOException exception = new IOException();
+    try {
+      reflectionCache.getMethodInvoker(Operations.class.getMethod("fail", Exception.class))
+          .invoke(new Operations(), new Object[] {exception});
+      fail("Exception should have been propagated");
+    } catch (UndeclaredThrowableException e) {
+      assertThat(e.getCause(), is(instanceOf(IOException.class)));
+    }
+  }
+
+  public static class Operations {
+
+    public void fail(Exception e) throws Exception {
+      throw e;
+    }
+  }
+
+  static class NonPublicOperations {
+
+    public String echo(String value) {
+      return value;
+    }
+  }
+}
@@ -91,6 +91,7 @@ class ArtifactAwareContextSelector implements ContextSelector, Disposable {
   @Override
   public void removeContext(LoggerContext context) {
     cache.remove(context);
+    DispatchingLogger.invalidateResolvedLoggers();
   }
 
   /**
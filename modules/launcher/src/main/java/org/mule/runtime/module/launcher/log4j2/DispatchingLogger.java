@@ -6,15 +6,18 @@
  */
 package org.mule.runtime.module.launcher.log4j2;
 
+import static java.lang.Thread.currentThread;
 import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
 import static org.reflections.ReflectionUtils.getAllMethods;
 import static org.reflections.ReflectionUtils.withName;
 import static org.reflections.ReflectionUtils.withParameters;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -41,15 +44,22 @@ import org.apache.logging.log4j.spi.ExtendedLogger;
  * Because this class is a fix for issues in static loggers, it must not hold any reference to any {@link java.lang.ClassLoader}
  * since otherwise that class loader would be GC unreachable. For that reason, it uses {@link #ownerClassLoaderHash} instead of
  * the real reference
+ * <p/>
+ * The {@link Logger} resolved for the context {@link ClassLoader} of a thread is cached for that thread, so that a thread which
+ * keeps logging within the same artifact doesn't resolve it again on every call. The cache only holds weak references and is
+ * invalidated by {@link #invalidateResolvedLoggers()} whenever a {@link LoggerContext} is reconfigured, stopped or removed.
  *
  * @since 3.6.0
  */
 abstract class DispatchingLogger extends Logger {
 
+  private static final AtomicInteger resolvedLoggersGeneration = new AtomicInteger();
+
   private final Logger originalLogger;
   private Method updateConfigurationMethod = null;
   private final ContextSelector contextSelector;
   private final int ownerClassLoaderHash;
+  private final ThreadLocal<ResolvedLogger> resolvedLogger = new ThreadLocal<>();
 
   DispatchingLogger(Logger originalLogger, int ownerClassLoaderHash, LoggerContext loggerContext, ContextSelector contextSelector,
                     MessageFactory messageFactory) {
@@ -60,8 +70,35 @@ abstract class DispatchingLogger extends Logger {
   }
 
 
+  /**
+   * Discards the {@link Logger}s cached by all the instances of this class, forcing them to be resolved again.
+   */
+  static void invalidateResolvedLoggers() {
+    resolvedLoggersGeneration.incrementAndGet();
+  }
+
   private Logger getLogger() {
-    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(Thread.currentThread().getContextClassLoader());
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    if (contextClassLoader == null) {
+      return resolveLogger(null);
+    }
+
+    final int generation = resolvedLoggersGeneration.get();
+    final ResolvedLogger resolved = resolvedLogger.get();
+    if (resolved != null) {
+      final Logger logger = resolved.getLogger(contextClassLoader, generation);
+      if (logger != null) {
+        return logger;
+      }
+    }
+
+    final Logger logger = resolveLogger(contextClassLoader);
+    resolvedLogger.set(new ResolvedLogger(contextClassLoader, logger, generation));
+    return logger;
+  }
+
+  private Logger resolveLogger(ClassLoader contextClassLoader) {
+    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(contextClassLoader);
     if (useThisLoggerContextClassLoader(currentClassLoader)) {
       return originalLogger;
     }
@@ -856,4 +893,31 @@ abstract class DispatchingLogger extends Logger {
   public void warn(String message, Throwable t) {
     getLogger().warn(message, t);
   }
+
+  /**
+   * A {@link Logger} resolved for a context {@link ClassLoader}. Both are only weakly referenced, so that this doesn't prevent any
+   * of them from being collected.
+   */
+  private static final class ResolvedLogger {
+
+    private final WeakReference<ClassLoader> contextClassLoader;
+    private final WeakReference<Logger> logger;
+    private final int generation;
+
+    private ResolvedLogger(ClassLoader contextClassLoader, Logger logger, int generation) {
+      this.contextClassLoader = new WeakReference<>(contextClassLoader);
+      this.logger = new WeakReference<>(logger);
+      this.generation = generation;
+    }
+
+    /**
+     * @return the resolved {@link Logger} if it is still valid for the given {@code contextClassLoader}, {@code null} otherwise
+     */
+    private Logger getLogger(ClassLoader contextClassLoader, int currentGeneration) {
+      if (generation != currentGeneration || this.contextClassLoader.get() != contextClassLoader) {
+        return null;
+      }
+      return logger.get();
+    }
+  }
 }
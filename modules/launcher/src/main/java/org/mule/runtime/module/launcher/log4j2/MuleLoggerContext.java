@@ -88,12 +88,14 @@ class MuleLoggerContext extends LoggerContext implements LogConfigChangeSubject
     if (loggerContextConfigurer.shouldConfigureContext(this)) {
       super.reconfigure();
     }
+    DispatchingLogger.invalidateResolvedLoggers();
   }
 
   @Override
   public void updateLoggers(Configuration config) {
     loggerContextConfigurer.update(this);
     super.updateLoggers(config);
+    DispatchingLogger.invalidateResolvedLoggers();
   }
 
   @Override
@@ -155,6 +157,7 @@ class MuleLoggerContext extends LoggerContext implements LogConfigChangeSubject
     super.stop();
     // Clean up reference to avoid class loader leaks
     this.artifactDescriptor = null;
+    DispatchingLogger.invalidateResolvedLoggers();
   }
 
   @Override
@@ -162,6 +165,7 @@ class MuleLoggerContext extends LoggerContext implements LogConfigChangeSubject
     boolean result = super.stop(timeout, timeUnit);
     // Clean up reference to avoid class loader leaks
     this.artifactDescriptor = null;
+    DispatchingLogger.invalidateResolvedLoggers();
     return result;
   }
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.module.launcher.log4j2;
 
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
@@ -90,4 +91,25 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
       verify(contextSelector).getContext(LOGGER_NAME, regionClassLoader, true);
     });
   }
+
+  @Test
+  public void resolvedLoggerIsCached() {
+    RegionClassLoader regionClassLoader = mock(RegionClassLoader.class);
+    withContextClassLoader(regionClassLoader, () -> {
+      logger.info(MESSAGE);
+      logger.info(MESSAGE);
+      verify(contextSelector, times(1)).getContext(LOGGER_NAME, regionClassLoader, true);
+    });
+  }
+
+  @Test
+  public void resolvedLoggerIsInvalidated() {
+    RegionClassLoader regionClassLoader = mock(RegionClassLoader.class);
+    withContextClassLoader(regionClassLoader, () -> {
+      logger.info(MESSAGE);
+      DispatchingLogger.invalidateResolvedLoggers();
+      logger.info(MESSAGE);
+      verify(contextSelector, times(2)).getContext(LOGGER_NAME, regionClassLoader, true);
+    });
+  }
 }
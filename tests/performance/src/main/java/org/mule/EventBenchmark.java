@@ -39,6 +39,9 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith5Variables;
+  private CoreEvent eventWith50Variables;
+  private CoreEvent eventWith500Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -53,6 +56,9 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith5Variables = createMuleEvent(of(PAYLOAD), 5);
+    eventWith50Variables = createMuleEvent(of(PAYLOAD), 50);
+    eventWith500Variables = createMuleEvent(of(PAYLOAD), 500);
   }
 
   @TearDown
@@ -124,6 +130,35 @@ public class EventBenchmark extends AbstractBenchmark {
     return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
+  @Benchmark
+  public CoreEvent addVariableEventWith5Variables() {
+    return CoreEvent.builder(eventWith5Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent addVariableEventWith50Variables() {
+    return CoreEvent.builder(eventWith50Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent addVariableEventWith500Variables() {
+    return CoreEvent.builder(eventWith500Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent replaceMessageEventWith500Variables() {
+    return CoreEvent.builder(eventWith500Variables).message(of(PAYLOAD)).build();
+  }
+
+  @Benchmark
+  public CoreEvent removeVariableEventWith500Variables() {
+    return CoreEvent.builder(eventWith500Variables).removeVariable("flowVariableKey250").build();
+  }
+
+  @Benchmark
+  public Object readVariableEventWith500Variables() {
+    return eventWith500Variables.getVariables().get("flowvariablekey250");
+  }
 
   @Benchmark
   public CoreEvent copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
@@ -6,11 +6,13 @@
  */
 package org.mule;
 
+import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.exception.NullExceptionHandler.getInstance;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
 import static reactor.core.publisher.Mono.from;
@@ -101,4 +103,15 @@ public class EventContextBenchmark extends AbstractBenchmark {
     return new Object[] {result, complete};
   }
 
+  @Benchmark
+  public Object[] createEventContextWithChildAndComplete() {
+    AtomicBoolean complete = new AtomicBoolean();
+    BaseEventContext eventContext = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
+    BaseEventContext childContext = child(eventContext, empty());
+    eventContext.onTerminated((response, throwable) -> complete.set(true));
+    childContext.success(event);
+    eventContext.success(event);
+    return new Object[] {childContext, complete};
+  }
+
 }
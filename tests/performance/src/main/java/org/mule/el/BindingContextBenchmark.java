@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.el;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.el.BindingContextUtils.FLOW;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.BindingContextUtils;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.el.CompositeBindingContext;
+import org.mule.runtime.core.internal.el.EventBindingContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+@OutputTimeUnit(NANOSECONDS)
+public class BindingContextBenchmark extends AbstractBenchmark {
+
+  // PAYLOAD is the test data in AbstractBenchmark
+  private static final String PAYLOAD_BINDING = BindingContextUtils.PAYLOAD;
+  private static final TypedValue<String> FLOW_VALUE = new TypedValue<>(FLOW_NAME, STRING);
+
+  private MuleContext muleContext;
+  private CoreEvent event;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    event = CoreEvent.builder(create(createFlow(muleContext), CONNECTOR_LOCATION))
+        .message(of(PAYLOAD))
+        .addVariable(KEY, VALUE)
+        .build();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Object builderPayload() {
+    return addEventBindings(event, NULL_BINDING_CONTEXT).lookup(PAYLOAD_BINDING);
+  }
+
+  @Benchmark
+  public Object lazyPayload() {
+    return new EventBindingContext(event).lookup(PAYLOAD_BINDING);
+  }
+
+  @Benchmark
+  public Object sharedPayload() {
+    return EventBindingContext.of(event).lookup(PAYLOAD_BINDING);
+  }
+
+  @Benchmark
+  public Object builderVars() {
+    return addEventBindings(event, NULL_BINDING_CONTEXT).lookup(VARS);
+  }
+
+  @Benchmark
+  public Object lazyVars() {
+    return new EventBindingContext(event).lookup(VARS);
+  }
+
+  @Benchmark
+  public Object sharedVars() {
+    return EventBindingContext.of(event).lookup(VARS);
+  }
+
+  @Benchmark
+  public Object builderWithFlow() {
+    return addEventBuindingsToBuilder(event, NULL_BINDING_CONTEXT).addBinding(FLOW, () -> FLOW_VALUE).build()
+        .lookup(PAYLOAD_BINDING);
+  }
+
+  @Benchmark
+  public Object sharedWithFlow() {
+    BindingContext flow = BindingContext.builder().addBinding(FLOW, () -> FLOW_VALUE).build();
+    return new CompositeBindingContext(EventBindingContext.of(event), flow).lookup(PAYLOAD_BINDING);
+  }
+
+}
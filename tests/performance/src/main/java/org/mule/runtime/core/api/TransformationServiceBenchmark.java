@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
+import org.mule.runtime.core.internal.registry.MuleRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+@OutputTimeUnit(NANOSECONDS)
+public class TransformationServiceBenchmark extends AbstractBenchmark {
+
+  private MuleContext muleContext;
+  private DefaultTransformationService transformationService;
+  private MuleRegistry registry;
+
+  private byte[] payloadBytes;
+  private Message stringMessage;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    transformationService = new DefaultTransformationService(muleContext);
+    registry = ((MuleContextWithRegistries) muleContext).getRegistry();
+
+    payloadBytes = PAYLOAD.getBytes(UTF_8);
+    stringMessage = of(PAYLOAD);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Object stringToByteArray() {
+    return transformationService.transform(PAYLOAD, STRING, BYTE_ARRAY);
+  }
+
+  @Benchmark
+  public Object byteArrayToString() {
+    return transformationService.transform(payloadBytes, BYTE_ARRAY, STRING);
+  }
+
+  @Benchmark
+  public Object numberToString() {
+    return transformationService.transform(1, NUMBER, STRING);
+  }
+
+  @Benchmark
+  public Message messageToByteArray() {
+    return transformationService.transform(stringMessage, BYTE_ARRAY);
+  }
+
+  @Benchmark
+  public Transformer lookupTransformer() throws TransformerException {
+    return registry.lookupTransformer(STRING, BYTE_ARRAY);
+  }
+
+  @Benchmark
+  public Object lookupTransformers() {
+    return registry.lookupTransformers(STRING, BYTE_ARRAY);
+  }
+}
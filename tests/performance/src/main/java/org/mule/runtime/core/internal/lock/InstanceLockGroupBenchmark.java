@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@OutputTimeUnit(NANOSECONDS)
+@Threads(16)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "16", "4096"})
+  public int lockIds;
+
+  private String[] ids;
+  private InstanceLockGroup lockGroup;
+
+  @Setup
+  public void setup() {
+    ids = new String[lockIds];
+    for (int i = 0; i < lockIds; i++) {
+      ids[i] = "lock-" + i;
+    }
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+  }
+
+  @TearDown
+  public void teardown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  public String lockUnlock() {
+    String id = ids[ThreadLocalRandom.current().nextInt(lockIds)];
+    lockGroup.lock(id);
+    lockGroup.unlock(id);
+    return id;
+  }
+
+  @Benchmark
+  public boolean tryLockUnlock() {
+    String id = ids[ThreadLocalRandom.current().nextInt(lockIds)];
+    boolean acquired = lockGroup.tryLock(id);
+    if (acquired) {
+      lockGroup.unlock(id);
+    }
+    return acquired;
+  }
+}
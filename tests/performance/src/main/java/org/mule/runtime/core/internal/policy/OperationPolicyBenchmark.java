@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_POLICY_MANAGER;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_POLICY_MANAGER_STATE_HANDLER;
+import static org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory.DIRECT_PROCESSING_STRATEGY_INSTANCE;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.just;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.policy.Policy;
+import org.mule.runtime.core.api.policy.PolicyChain;
+import org.mule.runtime.core.api.policy.PolicyProvider;
+import org.mule.runtime.dsl.api.component.config.DefaultComponentLocation;
+import org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.DefaultLocationPart;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the execution of an operation through the {@link DefaultPolicyManager}, including the resolution of the policies
+ * that apply to it, with a different number of policies that just execute the next operation.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class OperationPolicyBenchmark extends AbstractBenchmark {
+
+  @Param({"0", "1", "5"})
+  public int policyCount;
+
+  private MuleContext muleContext;
+  private DefaultPolicyManager policyManager;
+  private AbstractComponent operation;
+  private CoreEvent event;
+  private final Map<String, Object> operationParameters = emptyMap();
+  private final OperationExecutionFunction operationExecutionFunction = (parameters, operationEvent) -> just(operationEvent);
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    registerObject(muleContext, OBJECT_POLICY_MANAGER_STATE_HANDLER, new DefaultPolicyStateHandler());
+
+    List<Policy> policies = new ArrayList<>();
+    for (int i = 0; i < policyCount; ++i) {
+      policies.add(new Policy(createPolicyChain("policy" + i), "policy" + i));
+    }
+    registerObject(muleContext, "benchmarkPolicyProvider", new BenchmarkPolicyProvider(policies));
+
+    policyManager = new DefaultPolicyManager();
+    registerObject(muleContext, OBJECT_POLICY_MANAGER, policyManager);
+    muleContext.start();
+
+    operation = new AbstractComponent() {};
+    operation.setAnnotations(singletonMap(LOCATION_KEY, fromSingleComponent(FLOW_NAME + "/processors/0")));
+    event = createEvent(createFlow(muleContext));
+  }
+
+  private PolicyChain createPolicyChain(String policyName) throws MuleException {
+    PolicyNextActionMessageProcessor executeNext = new PolicyNextActionMessageProcessor();
+    executeNext.setAnnotations(singletonMap(LOCATION_KEY, policyLocation(policyName, "processors", "0")));
+
+    PolicyChain policyChain = new PolicyChain();
+    policyChain.setAnnotations(singletonMap(LOCATION_KEY, policyLocation(policyName, "processors")));
+    policyChain.setProcessingStrategy(DIRECT_PROCESSING_STRATEGY_INSTANCE);
+    policyChain.setProcessors(singletonList(executeNext));
+    registerObject(muleContext, policyName, policyChain);
+    return policyChain;
+  }
+
+  private ComponentLocation policyLocation(String policyName, String... parts) {
+    List<DefaultLocationPart> locationParts = new ArrayList<>();
+    locationParts.add(new DefaultLocationPart(policyName, empty(), empty(), empty()));
+    for (String part : parts) {
+      locationParts.add(new DefaultLocationPart(part, empty(), empty(), empty()));
+    }
+    return new DefaultComponentLocation(of(policyName), locationParts);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent operation() {
+    try {
+      return from(policyManager.createOperationPolicy(operation, event, operationParameters, operationExecutionFunction)
+          .process(event)).block();
+    } finally {
+      policyManager.disposePoliciesResources(event.getContext().getCorrelationId());
+    }
+  }
+
+  private static class BenchmarkPolicyProvider implements PolicyProvider {
+
+    private final List<Policy> policies;
+
+    private BenchmarkPolicyProvider(List<Policy> policies) {
+      this.policies = policies;
+    }
+
+    @Override
+    public List<Policy> findSourceParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
+      return policies;
+    }
+
+    @Override
+    public List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
+      return policies;
+    }
+
+    @Override
+    public boolean supportsChangeNotification() {
+      // Policies never change
+      return true;
+    }
+  }
+}
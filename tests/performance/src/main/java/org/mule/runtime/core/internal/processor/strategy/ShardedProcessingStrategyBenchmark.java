@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the throughput of a flow with a single ring-buffer against one with a ring-buffer per subscriber, when many source
+ * threads dispatch events concurrently.
+ */
+@OutputTimeUnit(MICROSECONDS)
+@Threads(32)
+public class ShardedProcessingStrategyBenchmark extends AbstractBenchmark {
+
+  @Param({"proactor", "sharded"})
+  public String processingStrategy;
+
+  private MuleContext muleContext;
+  private Flow flow;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    flow = builder(FLOW_NAME, muleContext)
+        .processingStrategyFactory("sharded".equals(processingStrategy)
+            ? new ShardedProactorStreamProcessingStrategyFactory()
+            : new ProactorStreamProcessingStrategyFactory())
+        .processors(event -> event)
+        .build();
+    flow.initialise();
+    flow.start();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    flow.stop();
+    flow.dispose();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent dispatch() throws MuleException {
+    return flow.process(createEvent(flow));
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@OutputTimeUnit(NANOSECONDS)
+@Threads(16)
+public class ByteBufferManagerBenchmark extends AbstractBenchmark {
+
+  @Param({"pooling", "magazine", "magazine-direct"})
+  public String manager;
+
+  @Param({"1024", "65536", "524288"})
+  public int capacity;
+
+  private AbstractByteBufferManager bufferManager;
+
+  @Setup
+  public void setup() {
+    if ("pooling".equals(manager)) {
+      bufferManager = new PoolingByteBufferManager();
+    } else {
+      bufferManager = new MagazineByteBufferManager(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT,
+                                                    "magazine-direct".equals(manager));
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    bufferManager.dispose();
+  }
+
+  @Benchmark
+  public ByteBuffer allocateAndDeallocate() {
+    ByteBuffer buffer = bufferManager.allocate(capacity);
+    bufferManager.deallocate(buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public int allocateTwoAndDeallocate() {
+    ByteBuffer buffer = bufferManager.allocate(capacity);
+    ByteBuffer expanded = bufferManager.allocate(capacity * 2);
+    bufferManager.deallocate(buffer);
+    bufferManager.deallocate(expanded);
+    return expanded.capacity();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.nio.file.Files.createTempDirectory;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_JOURNAL_GROUP_COMMIT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the cost of logging a transaction, one update and its commit, with many concurrent writers.
+ * <p>
+ * Note that only the group commit mode forces the journal to disk, the direct mode just writes to the file.
+ */
+@Threads(16)
+public class TransactionJournalBenchmark extends AbstractBenchmark {
+
+  private static final byte UPDATE = 1;
+  private static final byte COMMIT = 2;
+  private static final byte[] VALUE = new byte[256];
+
+  @Param({"direct", "groupCommit"})
+  public String mode;
+
+  @Param({"0", "200"})
+  public long maxLatencyMicros;
+
+  private MuleContext muleContext;
+  private File directory;
+  private TransactionJournal<Integer, BenchmarkJournalEntry> journal;
+  private final AtomicInteger txIds = new AtomicInteger();
+
+  @Setup
+  public void setup() throws Exception {
+    System.setProperty(MULE_JOURNAL_GROUP_COMMIT, String.valueOf("groupCommit".equals(mode)));
+    System.setProperty(MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS, String.valueOf(maxLatencyMicros));
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    directory = createTempDirectory("tx-journal-benchmark").toFile();
+    journal = new TransactionJournal<>(directory.getAbsolutePath(), entry -> ((BenchmarkJournalEntry) entry).operation == COMMIT,
+                                       new BenchmarkJournalEntrySerializer(), 16,
+                                       () -> muleContext.getSchedulerService().ioScheduler());
+  }
+
+  @TearDown
+  public void teardown() {
+    journal.close();
+    muleContext.dispose();
+    deleteQuietly(directory);
+    System.clearProperty(MULE_JOURNAL_GROUP_COMMIT);
+    System.clearProperty(MULE_JOURNAL_GROUP_COMMIT_MAX_LATENCY_MICROS);
+  }
+
+  @Benchmark
+  public int logTransaction() {
+    int txId = txIds.incrementAndGet();
+    journal.logUpdateOperation(new BenchmarkJournalEntry(txId, UPDATE));
+    journal.logCheckpointOperation(new BenchmarkJournalEntry(txId, COMMIT));
+    return txId;
+  }
+
+  private static class BenchmarkJournalEntry implements JournalEntry<Integer> {
+
+    private final int txId;
+    private final byte operation;
+
+    private BenchmarkJournalEntry(int txId, byte operation) {
+      this.txId = txId;
+      this.operation = operation;
+    }
+
+    @Override
+    public Integer getTxId() {
+      return txId;
+    }
+  }
+
+  private static class BenchmarkJournalEntrySerializer implements JournalEntrySerializer<Integer, BenchmarkJournalEntry> {
+
+    @Override
+    public BenchmarkJournalEntry deserialize(DataInputStream inputStream) throws IOException {
+      BenchmarkJournalEntry entry = new BenchmarkJournalEntry(inputStream.readInt(), inputStream.readByte());
+      inputStream.readFully(new byte[VALUE.length]);
+      return entry;
+    }
+
+    @Override
+    public void serialize(BenchmarkJournalEntry journalEntry, DataOutputStream dataOutputStream) {
+      try {
+        dataOutputStream.writeInt(journalEntry.txId);
+        dataOutputStream.writeByte(journalEntry.operation);
+        dataOutputStream.write(VALUE);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
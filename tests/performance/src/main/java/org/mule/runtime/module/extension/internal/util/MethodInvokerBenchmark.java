@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.util.ReflectionUtils.invokeMethod;
+
+import org.mule.AbstractBenchmark;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Compares the per invocation overhead of calling an operation method reflectively, as the extensions runtime used to, with
+ * calling it through the {@link MethodInvoker} obtained from the {@link ReflectionCache}.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class MethodInvokerBenchmark extends AbstractBenchmark {
+
+  private final Operations operations = new Operations();
+  private final Object[] args = new Object[] {"value", 42, true};
+
+  private Method method;
+  private MethodInvoker methodInvoker;
+
+  @Setup
+  public void setup() throws Exception {
+    method = Operations.class.getMethod("operation", String.class, int.class, boolean.class);
+    methodInvoker = new ReflectionCache().getMethodInvoker(method);
+  }
+
+  @Benchmark
+  public Object reflective() {
+    return invokeMethod(method, operations, args);
+  }
+
+  @Benchmark
+  public Object methodInvoker() {
+    return methodInvoker.invoke(operations, args);
+  }
+
+  @Benchmark
+  public Object direct() {
+    return operations.operation((String) args[0], (Integer) args[1], (Boolean) args[2]);
+  }
+
+  public static class Operations {
+
+    public Object operation(String value, int count, boolean flag) {
+      return flag ? value : count;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the overhead {@link DispatchingLogger} adds to each logging call, both for a disabled level and for an enabled one.
+ * Logging is done with a context {@link ClassLoader} which is not the one owning the logger, so that the logger has to be
+ * resolved for it.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class DispatchingLoggerBenchmark extends AbstractBenchmark {
+
+  private MuleLoggerContext loggerContext;
+  private Logger logger;
+  private ClassLoader originalClassLoader;
+  private ClassLoader contextClassLoader;
+
+  @Setup
+  public void setup() {
+    loggerContext = new MuleLoggerContext("benchmark", new ArtifactAwareContextSelector(), true);
+    LoggerConfig rootLogger = loggerContext.getConfiguration().getRootLogger();
+    // enabled events go through the whole logging path, but are not written anywhere
+    for (String appender : new ArrayList<>(rootLogger.getAppenders().keySet())) {
+      rootLogger.removeAppender(appender);
+    }
+    rootLogger.setLevel(Level.INFO);
+    loggerContext.updateLoggers();
+
+    logger = loggerContext.getLogger(DispatchingLoggerBenchmark.class.getName());
+
+    originalClassLoader = currentThread().getContextClassLoader();
+    contextClassLoader = new URLClassLoader(new URL[0], originalClassLoader);
+    currentThread().setContextClassLoader(contextClassLoader);
+  }
+
+  @TearDown
+  public void teardown() {
+    currentThread().setContextClassLoader(originalClassLoader);
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public void disabledLevel() {
+    logger.debug("Message {}", KEY);
+  }
+
+  @Benchmark
+  public boolean isEnabled() {
+    return logger.isInfoEnabled();
+  }
+
+  @Benchmark
+  public void enabledLevel() {
+    logger.info("Message {}", KEY);
+  }
+}